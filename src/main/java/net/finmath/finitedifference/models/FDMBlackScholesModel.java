@@ -104,4 +104,10 @@ public class FDMBlackScholesModel implements FiniteDifference1DModel {
 		return solver.getValue(evaluationnTime, time, values);
 	}
 
+	@Override
+	public double[][] getValues(double evaluationTime, double time, DoubleUnaryOperator[] values, FiniteDifference1DBoundary[] boundaries) {
+		FDMThetaMethod solver = new FDMThetaMethod(this, null, time, center, theta);
+		return solver.getValues(evaluationTime, time, values, boundaries);
+	}
+
 }
@@ -0,0 +1,236 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.finitedifference.models;
+
+import java.util.function.DoubleBinaryOperator;
+
+import net.finmath.finitedifference.solvers.FDMADIMethod;
+
+/**
+ * Heston model using the (two dimensional) finite difference method.
+ *
+ * The model is
+ * \[
+ * 	dS(t) = r^{\text{c}} S(t) dt + \sqrt{V(t)} S(t) dW_{1}(t), \quad S(0) = S_{0},
+ * \]
+ * \[
+ * 	dV(t) = \kappa ( \theta - V(t) ) dt + \xi \sqrt{V(t)} dW_{2}(t), \quad V(0) = \sigma^2,
+ * \]
+ * \[
+ * 	dW_{1} dW_{2} = \rho dt
+ * \]
+ * with discounting at the rate \( r^{\text{d}} \), that is, the parametrization agrees with
+ * {@link net.finmath.fouriermethod.models.HestonModel}.
+ *
+ * The valuation is performed by an ADI scheme, see {@link FDMADIMethod}, on non-uniform grids:
+ * the asset grid is concentrated around the given center (e.g. the strike), the variance grid is concentrated around 0
+ * (see K. J. in 't Hout, S. Foulon: ADI finite difference schemes for option pricing in the Heston model with correlation, 2010).
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class FDMHestonModel implements FiniteDifference2DModel {
+
+	private final double initialValue;
+	private final double riskFreeRate;
+	private final double volatility;
+	private final double discountRate;
+	private final double theta;
+	private final double kappa;
+	private final double xi;
+	private final double rho;
+
+	/*
+	 * Solver properties - will be moved to solver.
+	 */
+	private final int numTimesteps;
+	private final int numSpacestepsAsset;
+	private final int numSpacestepsVariance;
+	private final double numStandardDeviations;
+	private final double center;
+	private final FDMADIMethod.Scheme scheme;
+
+	/**
+	 * Create a Heston model for the finite difference method.
+	 *
+	 * @param numTimesteps The number of time steps.
+	 * @param numSpacestepsAsset The number of space steps in the direction of the asset.
+	 * @param numSpacestepsVariance The number of space steps in the direction of the variance.
+	 * @param numStandardDeviations The number of standard deviations used to determine the upper end of the asset and the variance grid.
+	 * @param center The center of the asset grid (grid points are concentrated around this value, e.g. the strike).
+	 * @param scheme The ADI scheme.
+	 * @param initialValue \( S_{0} \) - spot - initial value of S
+	 * @param riskFreeRate \( r^{\text{c}} \) - the risk free rate
+	 * @param volatility \( \sigma \) the initial volatility level
+	 * @param discountRate \( r^{\text{d}} \) - the discount rate
+	 * @param theta \( \theta \) - the mean reversion level of the stochastic volatility
+	 * @param kappa \( \kappa \) - the mean reversion speed of the stochastic volatility
+	 * @param xi \( \xi \) - the volatility of volatility
+	 * @param rho \( \rho \) - the correlation of the Brownian drivers
+	 */
+	public FDMHestonModel(
+			int numTimesteps,
+			int numSpacestepsAsset,
+			int numSpacestepsVariance,
+			double numStandardDeviations,
+			double center,
+			FDMADIMethod.Scheme scheme,
+			double initialValue,
+			double riskFreeRate,
+			double volatility,
+			double discountRate,
+			double theta,
+			double kappa,
+			double xi,
+			double rho) {
+		this.initialValue = initialValue;
+		this.riskFreeRate = riskFreeRate;
+		this.volatility = volatility;
+		this.discountRate = discountRate;
+		this.theta = theta;
+		this.kappa = kappa;
+		this.xi = xi;
+		this.rho = rho;
+
+		this.numTimesteps = numTimesteps;
+		this.numSpacestepsAsset = numSpacestepsAsset;
+		this.numSpacestepsVariance = numSpacestepsVariance;
+		this.numStandardDeviations = numStandardDeviations;
+		this.center = center;
+		this.scheme = scheme;
+	}
+
+	@Override
+	public double[][] getValue(double evaluationTime, double time, DoubleBinaryOperator values, FiniteDifference2DBoundary boundary, DoubleBinaryOperator exerciseValues) {
+		FDMADIMethod solver = new FDMADIMethod(this, boundary, time, scheme);
+		return solver.getValue(evaluationTime, time, values, exerciseValues);
+	}
+
+	/**
+	 * Returns the asset grid. The grid is given by \( s_{i} = c + \alpha \sinh(\xi_{i}) \) with equidistant \( \xi_{i} \),
+	 * where c is the center and \( \alpha = c/5 \), starting in 0 and ending in
+	 * \( \max(S_{0},c) \exp(r^{\text{c}} T + n \sqrt{\bar{v} T}) \), where n is the number of standard deviations and \( \bar{v} = \max(\sigma^2, \theta) \).
+	 */
+	@Override
+	public double[] getAssetGrid(double timeHorizon) {
+		final double varianceLevel = Math.max(volatility * volatility, theta);
+		final double maximumAssetValue = Math.max(initialValue, center) * Math.exp(riskFreeRate * timeHorizon + numStandardDeviations * Math.sqrt(varianceLevel * timeHorizon));
+
+		final double scale = center / 5.0;
+		final double xiMin = asinh(-center / scale);
+		final double xiMax = asinh((maximumAssetValue - center) / scale);
+		final double[] grid = new double[numSpacestepsAsset + 1];
+		for(int i=0; i<grid.length; i++) {
+			grid[i] = center + scale * Math.sinh(xiMin + (xiMax - xiMin) * i / numSpacestepsAsset);
+		}
+		grid[0] = 0.0;
+		return grid;
+	}
+
+	/**
+	 * Returns the variance grid. The grid is given by \( v_{j} = d \sinh(\eta_{j}) \) with equidistant \( \eta_{j} \),
+	 * where \( d = v_{\text{max}} / 500 \), starting in 0 and ending in
+	 * \( v_{\text{max}} = 5 \bar{v} + n \xi \sqrt{\bar{v} T} \), where n is the number of standard deviations and \( \bar{v} = \max(\sigma^2, \theta) \).
+	 */
+	@Override
+	public double[] getVarianceGrid(double timeHorizon) {
+		final double varianceLevel = Math.max(volatility * volatility, theta);
+		final double maximumVariance = 5.0 * varianceLevel + numStandardDeviations * xi * Math.sqrt(varianceLevel * timeHorizon);
+
+		final double scale = maximumVariance / 500.0;
+		final double etaMax = asinh(maximumVariance / scale);
+		final double[] grid = new double[numSpacestepsVariance + 1];
+		for(int j=0; j<grid.length; j++) {
+			grid[j] = scale * Math.sinh(etaMax * j / numSpacestepsVariance);
+		}
+		return grid;
+	}
+
+	@Override
+	public double getVarianceOfAsset(double time, double assetValue, double variance) {
+		return assetValue * assetValue * variance;
+	}
+
+	@Override
+	public double getCovarianceOfAssetAndVariance(double time, double assetValue, double variance) {
+		return rho * xi * assetValue * variance;
+	}
+
+	@Override
+	public double getVarianceOfVariance(double time, double variance) {
+		return xi * xi * variance;
+	}
+
+	@Override
+	public double getDriftOfVariance(double time, double variance) {
+		return kappa * (theta - variance);
+	}
+
+	@Override
+	public double getInitialValue() {
+		return initialValue;
+	}
+
+	@Override
+	public double getInitialVariance() {
+		return volatility * volatility;
+	}
+
+	@Override
+	public double getRiskFreeRate() {
+		return riskFreeRate;
+	}
+
+	@Override
+	public double getDiscountRate() {
+		return discountRate;
+	}
+
+	@Override
+	public int getNumTimesteps() {
+		return numTimesteps;
+	}
+
+	public double getVolatility() {
+		return volatility;
+	}
+
+	public double getTheta() {
+		return theta;
+	}
+
+	public double getKappa() {
+		return kappa;
+	}
+
+	public double getXi() {
+		return xi;
+	}
+
+	public double getRho() {
+		return rho;
+	}
+
+	public int getNumSpacestepsAsset() {
+		return numSpacestepsAsset;
+	}
+
+	public int getNumSpacestepsVariance() {
+		return numSpacestepsVariance;
+	}
+
+	public double getNumStandardDeviations() {
+		return numStandardDeviations;
+	}
+
+	public FDMADIMethod.Scheme getScheme() {
+		return scheme;
+	}
+
+	private static double asinh(double x) {
+		return Math.log(x + Math.sqrt(x * x + 1.0));
+	}
+}
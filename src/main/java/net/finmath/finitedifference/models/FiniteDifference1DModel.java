@@ -23,6 +23,32 @@ public interface FiniteDifference1DModel extends Model {
 	 */
 	double[][] getValue(double evaluationTime, double time, DoubleUnaryOperator values, FiniteDifference1DBoundary boundary);
 
+	/**
+	 * Return the conditional expectations of several values observed at the same time (e.g., the payoffs of a strike ladder),
+	 * each contrained by its boundary conditions.
+	 *
+	 * The default implementation calls {@link #getValue(double, double, DoubleUnaryOperator, FiniteDifference1DBoundary)} for each value,
+	 * which requires that all values are calculated on the same grid of states. Implementations may roll back all values at once.
+	 *
+	 * @param evaluationTime The time at which the conditional expectation is requested.
+	 * @param time The time at which we observe values.
+	 * @param values The values.
+	 * @param boundaries The given boundary conditions (one for each value).
+	 * @return Vector of { states , values[0] , values[1] , ... }.
+	 */
+	default double[][] getValues(double evaluationTime, double time, DoubleUnaryOperator[] values, FiniteDifference1DBoundary[] boundaries) {
+		if(values.length != boundaries.length) {
+			throw new IllegalArgumentException("Number of values and number of boundary conditions must agree.");
+		}
+		double[][] statesAndValues = new double[1 + values.length][];
+		for(int i=0; i<values.length; i++) {
+			double[][] statesAndValue = getValue(evaluationTime, time, values[i], boundaries[i]);
+			statesAndValues[0] = statesAndValue[0];
+			statesAndValues[1 + i] = statesAndValue[1];
+		}
+		return statesAndValues;
+	}
+
 	double varianceOfStockPrice(double time);
 
 	double getForwardValue(double time);
@@ -0,0 +1,40 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.finitedifference.models;
+
+/**
+ * Interface for boundaries conditions provided to two dimensional finite difference solvers.
+ *
+ * The boundary conditions are Dirichlet conditions at the lower and upper end of the grid of the asset.
+ * The boundaries of the second state variable (the variance) are handled by the solver.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public interface FiniteDifference2DBoundary {
+
+	/**
+	 * Return the value of the value process at the lower boundary for a given time, asset value and variance.
+	 *
+	 * @param model The model which uses the boundary condition (provides model parameters).
+	 * @param time The time at which the boundary is observed.
+	 * @param assetValue The value of the asset specifying the location of the boundary.
+	 * @param variance The value of the variance (second state variable).
+	 * @return the value process at the lower boundary
+	 */
+	double getValueAtLowerBoundary(FiniteDifference2DModel model, double time, double assetValue, double variance);
+
+	/**
+	 * Return the value of the value process at the upper boundary for a given time, asset value and variance.
+	 *
+	 * @param model The model which uses the boundary condition (provides model parameters).
+	 * @param time The time at which the boundary is observed.
+	 * @param assetValue The value of the asset specifying the location of the boundary.
+	 * @param variance The value of the variance (second state variable).
+	 * @return the value process at the upper boundary
+	 */
+	double getValueAtUpperBoundary(FiniteDifference2DModel model, double time, double assetValue, double variance);
+}
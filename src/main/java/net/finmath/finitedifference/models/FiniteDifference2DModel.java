@@ -0,0 +1,132 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.finitedifference.models;
+
+import java.util.function.DoubleBinaryOperator;
+
+import net.finmath.modelling.Model;
+
+/**
+ * Interface two dimensional finite difference models, that is, models with an asset S and
+ * a stochastic variance V (e.g. Heston or local-stochastic-volatility models), described by the PDE
+ * \[
+ * 	\frac{\partial u}{\partial t} + \frac{1}{2} \sigma_{S}^{2} \frac{\partial^{2} u}{\partial s^{2}} + \sigma_{S,V} \frac{\partial^{2} u}{\partial s \partial v} + \frac{1}{2} \sigma_{V}^{2} \frac{\partial^{2} u}{\partial v^{2}}
+ * 	+ r^{\text{c}} s \frac{\partial u}{\partial s} + \mu_{V} \frac{\partial u}{\partial v} - r^{\text{d}} u = 0 ,
+ * \]
+ * where the coefficients \( \sigma_{S}^{2} \), \( \sigma_{S,V} \), \( \sigma_{V}^{2} \), \( \mu_{V} \) may depend on time, asset and variance.
+ *
+ * The variance of the variance \( \sigma_{V}^{2} \) has to vanish at variance 0 (as in the Heston model).
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public interface FiniteDifference2DModel extends Model {
+
+	/**
+	 * Return the conditional expectation of the given values at a given time contrained by the given boundary conditions.
+	 *
+	 * @param evaluationTime The time at which the conditional expectation is requested.
+	 * @param time The time at which we observe values.
+	 * @param values The values as a function of asset and variance.
+	 * @param boundary The given boundary conditions.
+	 * @return Vector of { asset grid , variance grid , values }, where the value at asset grid point i and variance grid point j is stored at i + j * (number of asset grid points).
+	 */
+	default double[][] getValue(double evaluationTime, double time, DoubleBinaryOperator values, FiniteDifference2DBoundary boundary) {
+		return getValue(evaluationTime, time, values, boundary, null);
+	}
+
+	/**
+	 * Return the value of a product paying the given values at a given time, which may be exercised early, receiving the given exercise values.
+	 *
+	 * @param evaluationTime The time at which the value is requested.
+	 * @param time The time at which we observe values.
+	 * @param values The values as a function of asset and variance.
+	 * @param boundary The given boundary conditions.
+	 * @param exerciseValues The values received upon (continuous) early exercise as a function of asset and variance. If null, the product cannot be exercised early.
+	 * @return Vector of { asset grid , variance grid , values }, where the value at asset grid point i and variance grid point j is stored at i + j * (number of asset grid points).
+	 */
+	double[][] getValue(double evaluationTime, double time, DoubleBinaryOperator values, FiniteDifference2DBoundary boundary, DoubleBinaryOperator exerciseValues);
+
+	/**
+	 * @return The initial value of the asset.
+	 */
+	double getInitialValue();
+
+	/**
+	 * @return The initial value of the variance.
+	 */
+	double getInitialVariance();
+
+	/**
+	 * @return The risk free rate \( r^{\text{c}} \) (drift of the asset).
+	 */
+	double getRiskFreeRate();
+
+	/**
+	 * @return The discount rate \( r^{\text{d}} \).
+	 */
+	double getDiscountRate();
+
+	/**
+	 * Returns the instantaneous variance of the asset \( \sigma_{S}^{2} \).
+	 *
+	 * @param time The time.
+	 * @param assetValue The value of the asset.
+	 * @param variance The value of the variance.
+	 * @return The instantaneous variance of the asset.
+	 */
+	double getVarianceOfAsset(double time, double assetValue, double variance);
+
+	/**
+	 * Returns the instantaneous covariance of asset and variance \( \sigma_{S,V} \).
+	 *
+	 * @param time The time.
+	 * @param assetValue The value of the asset.
+	 * @param variance The value of the variance.
+	 * @return The instantaneous covariance of asset and variance.
+	 */
+	double getCovarianceOfAssetAndVariance(double time, double assetValue, double variance);
+
+	/**
+	 * Returns the instantaneous variance of the variance \( \sigma_{V}^{2} \).
+	 *
+	 * @param time The time.
+	 * @param variance The value of the variance.
+	 * @return The instantaneous variance of the variance.
+	 */
+	double getVarianceOfVariance(double time, double variance);
+
+	/**
+	 * Returns the drift of the variance \( \mu_{V} \).
+	 *
+	 * @param time The time.
+	 * @param variance The value of the variance.
+	 * @return The drift of the variance.
+	 */
+	double getDriftOfVariance(double time, double variance);
+
+	/**
+	 * Returns the (possibly non-uniform) grid of the asset used for a valuation up to the given time horizon.
+	 *
+	 * @param timeHorizon The time horizon of the valuation.
+	 * @return The grid points of the asset (increasing).
+	 */
+	double[] getAssetGrid(double timeHorizon);
+
+	/**
+	 * Returns the (possibly non-uniform) grid of the variance used for a valuation up to the given time horizon.
+	 * The first grid point has to be 0.
+	 *
+	 * @param timeHorizon The time horizon of the valuation.
+	 * @return The grid points of the variance (increasing).
+	 */
+	double[] getVarianceGrid(double timeHorizon);
+
+	/**
+	 * @return The number of time steps used for a valuation.
+	 */
+	int getNumTimesteps();
+}
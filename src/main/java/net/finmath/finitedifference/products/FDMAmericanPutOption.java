@@ -0,0 +1,40 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.finitedifference.products;
+
+import net.finmath.finitedifference.models.FiniteDifference2DBoundary;
+import net.finmath.finitedifference.models.FiniteDifference2DModel;
+
+/**
+ * Implementation of an American put option to be valued by a the (two dimensional) finite difference method.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class FDMAmericanPutOption implements FiniteDifference2DProduct, FiniteDifference2DBoundary {
+	private final double maturity;
+	private final double strike;
+
+	public FDMAmericanPutOption(double optionMaturity, double optionStrike) {
+		this.maturity = optionMaturity;
+		this.strike = optionStrike;
+	}
+
+	@Override
+	public double[][] getValue(double evaluationTime, FiniteDifference2DModel model) {
+		return model.getValue(evaluationTime, maturity, (assetValue, variance) -> Math.max(strike - assetValue, 0), this, (assetValue, variance) -> Math.max(strike - assetValue, 0));
+	}
+
+	@Override
+	public double getValueAtLowerBoundary(FiniteDifference2DModel model, double currentTime, double assetValue, double variance) {
+		return Math.max(strike - assetValue, 0);
+	}
+
+	@Override
+	public double getValueAtUpperBoundary(FiniteDifference2DModel model, double currentTime, double assetValue, double variance) {
+		return 0;
+	}
+}
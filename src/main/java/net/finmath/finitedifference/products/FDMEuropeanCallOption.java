@@ -1,16 +1,24 @@
 package net.finmath.finitedifference.products;
 
+import java.util.function.DoubleUnaryOperator;
+
 import net.finmath.finitedifference.models.FiniteDifference1DBoundary;
 import net.finmath.finitedifference.models.FiniteDifference1DModel;
+import net.finmath.finitedifference.models.FiniteDifference2DBoundary;
+import net.finmath.finitedifference.models.FiniteDifference2DModel;
+import net.finmath.modelling.Model;
 
 /**
  * Implementation of a European option to be valued by a the finite difference method.
  *
+ * The product can be valued by one dimensional models (e.g. {@link net.finmath.finitedifference.models.FDMBlackScholesModel})
+ * and two dimensional models (e.g. {@link net.finmath.finitedifference.models.FDMHestonModel}).
+ *
  * @author Christian Fries
  * @author Ralph Rudd
  * @version 1.0
  */
-public class FDMEuropeanCallOption implements FiniteDifference1DProduct, FiniteDifference1DBoundary {
+public class FDMEuropeanCallOption implements FiniteDifference1DProduct, FiniteDifference1DBoundary, FiniteDifference2DProduct, FiniteDifference2DBoundary {
 	private final double maturity;
 	private final double strike;
 
@@ -31,6 +39,45 @@ public class FDMEuropeanCallOption implements FiniteDifference1DProduct, FiniteD
 		return model.getValue(evaluationTime, maturity, assetValue ->  Math.max(assetValue - strike, 0), boundary);
 	}
 
+	@Override
+	public double[][] getValue(double evaluationTime, FiniteDifference2DModel model) {
+		return model.getValue(evaluationTime, maturity, (assetValue, variance) -> Math.max(assetValue - strike, 0), this);
+	}
+
+	@Override
+	public Object getValue(double evaluationTime, Model model) {
+		if(model instanceof FiniteDifference2DModel) {
+			return getValue(evaluationTime, (FiniteDifference2DModel) model);
+		}
+		else {
+			return FiniteDifference1DProduct.super.getValue(evaluationTime, model);
+		}
+	}
+
+	/**
+	 * Returns the values of European call options with a common maturity and different strikes (a strike ladder).
+	 *
+	 * The payoffs are rolled back together (see {@link FiniteDifference1DModel#getValues(double, double, DoubleUnaryOperator[], FiniteDifference1DBoundary[])}),
+	 * which is much faster than valuing each option separately.
+	 *
+	 * @param evaluationTime The evaluation time.
+	 * @param model The model.
+	 * @param optionMaturity The maturity of the options.
+	 * @param optionStrikes The strikes of the options.
+	 * @return Vector of { states , values of option with strike optionStrikes[0] , values of option with strike optionStrikes[1] , ... }.
+	 */
+	public static double[][] getValues(double evaluationTime, FiniteDifference1DModel model, double optionMaturity, double[] optionStrikes) {
+		DoubleUnaryOperator[] payoffs = new DoubleUnaryOperator[optionStrikes.length];
+		FiniteDifference1DBoundary[] boundaries = new FiniteDifference1DBoundary[optionStrikes.length];
+		for(int i=0; i<optionStrikes.length; i++) {
+			final double strike = optionStrikes[i];
+			payoffs[i] = assetValue -> Math.max(assetValue - strike, 0);
+			boundaries[i] = new FDMEuropeanCallOption(optionMaturity, strike);
+		}
+
+		return model.getValues(evaluationTime, optionMaturity, payoffs, boundaries);
+	}
+
 	/*
 	 * Implementation of the interface:
 	 * @see net.finmath.finitedifference.products.FiniteDifference1DBoundary#getValueAtLowerBoundary(net.finmath.finitedifference.models.FDMBlackScholesModel, double, double)
@@ -45,4 +92,14 @@ public class FDMEuropeanCallOption implements FiniteDifference1DProduct, FiniteD
 	public double getValueAtUpperBoundary(FiniteDifference1DModel model, double currentTime, double stockPrice) {
 		return stockPrice - strike * Math.exp(-model.getRiskFreeRate()*(maturity - currentTime));
 	}
+
+	@Override
+	public double getValueAtLowerBoundary(FiniteDifference2DModel model, double currentTime, double assetValue, double variance) {
+		return 0;
+	}
+
+	@Override
+	public double getValueAtUpperBoundary(FiniteDifference2DModel model, double currentTime, double assetValue, double variance) {
+		return assetValue * Math.exp(-(model.getDiscountRate()-model.getRiskFreeRate())*(maturity - currentTime)) - strike * Math.exp(-model.getDiscountRate()*(maturity - currentTime));
+	}
 }
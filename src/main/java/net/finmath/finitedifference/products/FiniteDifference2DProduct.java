@@ -0,0 +1,42 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.finitedifference.products;
+
+import net.finmath.finitedifference.models.FiniteDifference2DModel;
+import net.finmath.modelling.Model;
+import net.finmath.modelling.Product;
+
+/**
+ * Interface two dimensional finite difference products.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public interface FiniteDifference2DProduct extends Product {
+
+	/**
+	 * Return the value of the product under the given model.
+	 *
+	 * @param evaluationTime The time at which the value (valuation) is requested.
+	 * @param model The model under which the valuation should be performed.
+	 * @return Vector of { asset grid , variance grid , values }, where the value at asset grid point i and variance grid point j is stored at i + j * (number of asset grid points).
+	 */
+	double[][] getValue(double evaluationTime, FiniteDifference2DModel model);
+
+	@Override
+	default Object getValue(double evaluationTime, Model model) {
+		if(model instanceof FiniteDifference2DModel) {
+			return getValue(evaluationTime, (FiniteDifference2DModel) model);
+		}
+		else {
+			throw new IllegalArgumentException(
+					"The product " + this.getClass()
+					+ " cannot be valued against a model " + model.getClass() + "."
+					+ "It requires a model of type " + FiniteDifference2DModel.class + "."
+					);
+		}
+	}
+}
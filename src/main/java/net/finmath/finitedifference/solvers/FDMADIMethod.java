@@ -0,0 +1,493 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.finitedifference.solvers;
+
+import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
+
+import net.finmath.finitedifference.models.FiniteDifference2DBoundary;
+import net.finmath.finitedifference.models.FiniteDifference2DModel;
+
+/**
+ * Two dimensional finite difference solver using alternating direction implicit (ADI) schemes
+ * for models of type {@link FiniteDifference2DModel} (e.g. Heston and local-stochastic-volatility models).
+ *
+ * The spatial operator is discretized with central differences on the (non-uniform) grids provided by the model
+ * and split into the mixed derivative part A<sub>0</sub>, the part in asset direction A<sub>1</sub>
+ * and the part in variance direction A<sub>2</sub> (the discounting is split equally among A<sub>1</sub> and A<sub>2</sub>).
+ * The mixed derivative part is always treated explicitly, the other parts are treated implicitly by solving tridiagonal systems
+ * along the grid lines, see {@link TridiagonalMatrix}. The line solves are performed in parallel.
+ *
+ * The available schemes are (see K. J. in 't Hout, S. Foulon: ADI finite difference schemes for option pricing in the Heston model with correlation, 2010)
+ * <ul>
+ * 	<li>Douglas scheme,</li>
+ * 	<li>Craig-Sneyd scheme,</li>
+ * 	<li>modified Craig-Sneyd scheme,</li>
+ * 	<li>Hundsdorfer-Verwer scheme.</li>
+ * </ul>
+ *
+ * Boundary conditions:
+ * At the lower and upper end of the asset grid the values are given by the {@link FiniteDifference2DBoundary} (Dirichlet conditions).
+ * At variance 0 the PDE is discretized with a one sided (upwind) difference for the drift of the variance.
+ * At the upper end of the variance grid the derivative with respect to the variance is assumed to vanish (Neumann condition).
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class FDMADIMethod {
+
+	/**
+	 * The ADI scheme.
+	 */
+	public enum Scheme {
+		/** The Douglas scheme (default theta = 1/2). */
+		DOUGLAS(0.5),
+		/** The Craig-Sneyd scheme (default theta = 1/2). */
+		CRAIG_SNEYD(0.5),
+		/** The modified Craig-Sneyd scheme (default theta = 1/3). */
+		MODIFIED_CRAIG_SNEYD(1.0/3.0),
+		/** The Hundsdorfer-Verwer scheme (default theta = 1/2 + sqrt(3)/6). */
+		HUNDSDORFER_VERWER(0.5 + Math.sqrt(3.0)/6.0);
+
+		private final double defaultTheta;
+
+		Scheme(double defaultTheta) {
+			this.defaultTheta = defaultTheta;
+		}
+
+		/**
+		 * @return The value of theta recommended for this scheme.
+		 */
+		public double getDefaultTheta() {
+			return defaultTheta;
+		}
+	}
+
+	/*
+	 * Number of grid lines processed by a single task when solving in variance direction.
+	 */
+	private static final int COLUMNS_PER_TASK = 32;
+
+	private final FiniteDifference2DModel model;
+	private final FiniteDifference2DBoundary boundaryCondition;
+	private final double timeHorizon;
+	private final Scheme scheme;
+	private final double theta;
+
+	// Grid
+	private final double[] assetGrid;
+	private final double[] varianceGrid;
+	private final int numberOfAssetPoints;
+	private final int numberOfVariancePoints;
+
+	// Weights of the difference quotients: [grid index][neighbor -1, 0, +1]
+	private final double[][] firstDerivativeAsset;
+	private final double[][] secondDerivativeAsset;
+	private final double[][] firstDerivativeVariance;
+	private final double[][] secondDerivativeVariance;
+
+	// The operators A0, A1, A2 at the current time (A1 and A2 as diagonals)
+	private final double[] mixedOperator;
+	private final double[] assetOperatorLower;
+	private final double[] assetOperatorDiagonal;
+	private final double[] assetOperatorUpper;
+	private final double[] varianceOperatorLower;
+	private final double[] varianceOperatorDiagonal;
+	private final double[] varianceOperatorUpper;
+
+	// The implicit systems (I - theta dt A1) for each line of constant variance and (I - theta dt A2)
+	private final TridiagonalMatrix[] assetSystems;
+	private TridiagonalMatrix varianceSystem;
+
+	/**
+	 * Create the solver.
+	 *
+	 * @param model The model.
+	 * @param boundaryCondition The boundary conditions at the lower and upper end of the asset grid.
+	 * @param timeHorizon The time horizon (time at which the values are observed).
+	 * @param scheme The ADI scheme.
+	 * @param theta The parameter theta of the scheme.
+	 */
+	public FDMADIMethod(FiniteDifference2DModel model, FiniteDifference2DBoundary boundaryCondition, double timeHorizon, Scheme scheme, double theta) {
+		this.model = model;
+		this.boundaryCondition = boundaryCondition;
+		this.timeHorizon = timeHorizon;
+		this.scheme = scheme;
+		this.theta = theta;
+
+		assetGrid = model.getAssetGrid(timeHorizon).clone();
+		varianceGrid = model.getVarianceGrid(timeHorizon).clone();
+		numberOfAssetPoints = assetGrid.length;
+		numberOfVariancePoints = varianceGrid.length;
+		if(numberOfAssetPoints < 3 || numberOfVariancePoints < 3) {
+			throw new IllegalArgumentException("Grids require at least 3 points.");
+		}
+		if(varianceGrid[0] != 0.0) {
+			throw new IllegalArgumentException("Variance grid has to start at 0.");
+		}
+
+		firstDerivativeAsset = new double[numberOfAssetPoints][];
+		secondDerivativeAsset = new double[numberOfAssetPoints][];
+		for(int i=1; i<numberOfAssetPoints-1; i++) {
+			firstDerivativeAsset[i] = getFirstDerivativeWeights(assetGrid, i);
+			secondDerivativeAsset[i] = getSecondDerivativeWeights(assetGrid, i);
+		}
+		firstDerivativeVariance = new double[numberOfVariancePoints][];
+		secondDerivativeVariance = new double[numberOfVariancePoints][];
+		for(int j=1; j<numberOfVariancePoints-1; j++) {
+			firstDerivativeVariance[j] = getFirstDerivativeWeights(varianceGrid, j);
+			secondDerivativeVariance[j] = getSecondDerivativeWeights(varianceGrid, j);
+		}
+
+		final int numberOfPoints = numberOfAssetPoints * numberOfVariancePoints;
+		mixedOperator = new double[numberOfPoints];
+		assetOperatorLower = new double[numberOfPoints];
+		assetOperatorDiagonal = new double[numberOfPoints];
+		assetOperatorUpper = new double[numberOfPoints];
+		varianceOperatorLower = new double[numberOfVariancePoints];
+		varianceOperatorDiagonal = new double[numberOfVariancePoints];
+		varianceOperatorUpper = new double[numberOfVariancePoints];
+		assetSystems = new TridiagonalMatrix[numberOfVariancePoints];
+	}
+
+	/**
+	 * Create the solver using the default theta of the scheme.
+	 *
+	 * @param model The model.
+	 * @param boundaryCondition The boundary conditions at the lower and upper end of the asset grid.
+	 * @param timeHorizon The time horizon (time at which the values are observed).
+	 * @param scheme The ADI scheme.
+	 */
+	public FDMADIMethod(FiniteDifference2DModel model, FiniteDifference2DBoundary boundaryCondition, double timeHorizon, Scheme scheme) {
+		this(model, boundaryCondition, timeHorizon, scheme, scheme.getDefaultTheta());
+	}
+
+	/**
+	 * Return the value of a product paying the given values at the time horizon, which may be exercised early, receiving the given exercise values.
+	 *
+	 * @param evaluationTime The evaluation time (currently only 0 is supported).
+	 * @param time The time at which the values are observed (has to agree with the time horizon).
+	 * @param valueAtMaturity The values as a function of asset and variance.
+	 * @param exerciseValue The values received upon (continuous) early exercise as a function of asset and variance. If null, the product cannot be exercised early.
+	 * @return Vector of { asset grid , variance grid , values }, where the value at asset grid point i and variance grid point j is stored at i + j * (number of asset grid points).
+	 */
+	public double[][] getValue(double evaluationTime, double time, DoubleBinaryOperator valueAtMaturity, DoubleBinaryOperator exerciseValue) {
+		if(evaluationTime != 0) {
+			throw new IllegalArgumentException("Evaluation time != 0 not supported.");
+		}
+		if(time != timeHorizon) {
+			throw new IllegalArgumentException("Given time != timeHorizon not supported.");
+		}
+
+		final int numberOfPoints = numberOfAssetPoints * numberOfVariancePoints;
+		final int numberOfTimeSteps = model.getNumTimesteps();
+		final double dt = timeHorizon / numberOfTimeSteps;
+
+		// Initialize U (and the exercise values)
+		double[] values = new double[numberOfPoints];
+		double[] valuesOfExercise = exerciseValue != null ? new double[numberOfPoints] : null;
+		for(int j=0; j<numberOfVariancePoints; j++) {
+			for(int i=0; i<numberOfAssetPoints; i++) {
+				values[i + j*numberOfAssetPoints] = valueAtMaturity.applyAsDouble(assetGrid[i], varianceGrid[j]);
+				if(exerciseValue != null) {
+					valuesOfExercise[i + j*numberOfAssetPoints] = exerciseValue.applyAsDouble(assetGrid[i], varianceGrid[j]);
+				}
+			}
+		}
+
+		final double[] mixed = new double[numberOfPoints];
+		final double[] asset = new double[numberOfPoints];
+		final double[] variance = new double[numberOfPoints];
+		final double[] mixedOfPredictor = new double[numberOfPoints];
+		final double[] assetOfPredictor = new double[numberOfPoints];
+		final double[] varianceOfPredictor = new double[numberOfPoints];
+		final double[] predictor0 = new double[numberOfPoints];
+		final double[] predictor = new double[numberOfPoints];
+		double[] corrector = new double[numberOfPoints];
+
+		// Step backward in time (from the time horizon to 0)
+		for(int timeIndex=numberOfTimeSteps-1; timeIndex>=0; timeIndex--) {
+			final double timeOfStep = timeIndex * dt;
+			setOperators(timeOfStep + 0.5 * dt, dt);
+
+			applyMixedOperator(values, mixed);
+			applyAssetOperator(values, asset);
+			applyVarianceOperator(values, variance);
+
+			// Y0 = U + dt A U (with boundary values at the new time)
+			for(int k=0; k<numberOfPoints; k++) {
+				predictor0[k] = values[k] + dt * (mixed[k] + asset[k] + variance[k]);
+			}
+			setBoundaryValues(predictor0, timeOfStep);
+
+			// Y1, Y2: implicit corrections in asset and variance direction
+			System.arraycopy(predictor0, 0, predictor, 0, numberOfPoints);
+			solveImplicitSteps(predictor, asset, variance, dt);
+
+			if(scheme == Scheme.DOUGLAS) {
+				System.arraycopy(predictor, 0, corrector, 0, numberOfPoints);
+			}
+			else {
+				applyMixedOperator(predictor, mixedOfPredictor);
+				if(scheme == Scheme.CRAIG_SNEYD) {
+					for(int k=0; k<numberOfPoints; k++) {
+						corrector[k] = predictor0[k] + 0.5 * dt * (mixedOfPredictor[k] - mixed[k]);
+					}
+					solveImplicitSteps(corrector, asset, variance, dt);
+				}
+				else {
+					applyAssetOperator(predictor, assetOfPredictor);
+					applyVarianceOperator(predictor, varianceOfPredictor);
+					if(scheme == Scheme.MODIFIED_CRAIG_SNEYD) {
+						for(int k=0; k<numberOfPoints; k++) {
+							corrector[k] = predictor0[k] + theta * dt * (mixedOfPredictor[k] - mixed[k])
+									+ (0.5 - theta) * dt * (mixedOfPredictor[k] + assetOfPredictor[k] + varianceOfPredictor[k] - mixed[k] - asset[k] - variance[k]);
+						}
+						solveImplicitSteps(corrector, asset, variance, dt);
+					}
+					else {
+						// Hundsdorfer-Verwer
+						for(int k=0; k<numberOfPoints; k++) {
+							corrector[k] = predictor0[k]
+									+ 0.5 * dt * (mixedOfPredictor[k] + assetOfPredictor[k] + varianceOfPredictor[k] - mixed[k] - asset[k] - variance[k]);
+						}
+						solveImplicitSteps(corrector, assetOfPredictor, varianceOfPredictor, dt);
+					}
+				}
+			}
+
+			// Early exercise
+			if(valuesOfExercise != null) {
+				for(int k=0; k<numberOfPoints; k++) {
+					corrector[k] = Math.max(corrector[k], valuesOfExercise[k]);
+				}
+			}
+
+			final double[] swap = values;
+			values = corrector;
+			corrector = swap;
+		}
+
+		return new double[][] { assetGrid.clone(), varianceGrid.clone(), values };
+	}
+
+	/**
+	 * Returns the value at a given state, interpolated (bi-linear) from values on a grid as returned by
+	 * {@link #getValue(double, double, DoubleBinaryOperator, DoubleBinaryOperator)}.
+	 *
+	 * @param gridAndValues Vector of { asset grid , variance grid , values }.
+	 * @param assetValue The value of the asset.
+	 * @param variance The value of the variance.
+	 * @return The interpolated value.
+	 */
+	public static double getValueByInterpolation(double[][] gridAndValues, double assetValue, double variance) {
+		final double[] assetGrid = gridAndValues[0];
+		final double[] varianceGrid = gridAndValues[1];
+		final double[] values = gridAndValues[2];
+
+		final int i = getLowerIndex(assetGrid, assetValue);
+		final int j = getLowerIndex(varianceGrid, variance);
+		final double weightAsset = (assetValue - assetGrid[i]) / (assetGrid[i+1] - assetGrid[i]);
+		final double weightVariance = (variance - varianceGrid[j]) / (varianceGrid[j+1] - varianceGrid[j]);
+
+		final int k = i + j * assetGrid.length;
+		final double valueLower = (1.0 - weightAsset) * values[k] + weightAsset * values[k+1];
+		final double valueUpper = (1.0 - weightAsset) * values[k+assetGrid.length] + weightAsset * values[k+assetGrid.length+1];
+		return (1.0 - weightVariance) * valueLower + weightVariance * valueUpper;
+	}
+
+	private static int getLowerIndex(double[] grid, double value) {
+		int index = Arrays.binarySearch(grid, value);
+		if(index < 0) {
+			index = -index - 2;
+		}
+		return Math.max(0, Math.min(index, grid.length-2));
+	}
+
+	/**
+	 * Performs the two implicit steps Y1 = Y0 + theta dt (A1 Y1 - A1 X), Y2 = Y1 + theta dt (A2 Y2 - A2 X).
+	 *
+	 * @param values On entry Y0, on exit Y2.
+	 * @param assetOperatorOfExplicit The vector A1 X.
+	 * @param varianceOperatorOfExplicit The vector A2 X.
+	 * @param dt The time step.
+	 */
+	private void solveImplicitSteps(double[] values, double[] assetOperatorOfExplicit, double[] varianceOperatorOfExplicit, double dt) {
+		for(int k=0; k<values.length; k++) {
+			values[k] -= theta * dt * assetOperatorOfExplicit[k];
+		}
+		IntStream.range(0, numberOfVariancePoints).parallel().forEach(j -> assetSystems[j].solve(values, j * numberOfAssetPoints, 1));
+
+		for(int k=0; k<values.length; k++) {
+			values[k] -= theta * dt * varianceOperatorOfExplicit[k];
+		}
+		// The lines of constant asset share the system. The boundary columns (Dirichlet) are not modified.
+		final int numberOfTasks = (numberOfAssetPoints - 2 + COLUMNS_PER_TASK - 1) / COLUMNS_PER_TASK;
+		IntStream.range(0, numberOfTasks).parallel().forEach(task -> {
+			final int firstColumn = 1 + task * COLUMNS_PER_TASK;
+			final int endColumn = Math.min(firstColumn + COLUMNS_PER_TASK, numberOfAssetPoints-1);
+			varianceSystem.solve(values, numberOfAssetPoints, firstColumn, endColumn);
+		});
+	}
+
+	/**
+	 * Calculates the operators A0, A1, A2 and the implicit systems for a given time.
+	 *
+	 * @param time The time at which the coefficients of the PDE are evaluated.
+	 * @param dt The time step.
+	 */
+	private void setOperators(double time, double dt) {
+		final double riskFreeRate = model.getRiskFreeRate();
+		final double discountRate = model.getDiscountRate();
+
+		// Asset direction (Dirichlet rows at the boundaries of the asset grid)
+		IntStream.range(0, numberOfVariancePoints).parallel().forEach(j -> {
+			final double[] lower = new double[numberOfAssetPoints];
+			final double[] diagonal = new double[numberOfAssetPoints];
+			final double[] upper = new double[numberOfAssetPoints];
+			diagonal[0] = 1.0;
+			diagonal[numberOfAssetPoints-1] = 1.0;
+			for(int i=1; i<numberOfAssetPoints-1; i++) {
+				final int k = i + j * numberOfAssetPoints;
+				final double halfVariance = 0.5 * model.getVarianceOfAsset(time, assetGrid[i], varianceGrid[j]);
+				final double drift = riskFreeRate * assetGrid[i];
+				assetOperatorLower[k] = halfVariance * secondDerivativeAsset[i][0] + drift * firstDerivativeAsset[i][0];
+				assetOperatorDiagonal[k] = halfVariance * secondDerivativeAsset[i][1] + drift * firstDerivativeAsset[i][1] - 0.5 * discountRate;
+				assetOperatorUpper[k] = halfVariance * secondDerivativeAsset[i][2] + drift * firstDerivativeAsset[i][2];
+
+				lower[i] = -theta * dt * assetOperatorLower[k];
+				diagonal[i] = 1.0 - theta * dt * assetOperatorDiagonal[k];
+				upper[i] = -theta * dt * assetOperatorUpper[k];
+
+				mixedOperator[k] = j > 0 && j < numberOfVariancePoints-1 ? model.getCovarianceOfAssetAndVariance(time, assetGrid[i], varianceGrid[j]) : 0.0;
+			}
+			assetSystems[j] = new TridiagonalMatrix(lower, diagonal, upper);
+		});
+
+		// Variance direction
+		final double[] lower = new double[numberOfVariancePoints];
+		final double[] diagonal = new double[numberOfVariancePoints];
+		final double[] upper = new double[numberOfVariancePoints];
+		for(int j=0; j<numberOfVariancePoints; j++) {
+			final double halfVariance = 0.5 * model.getVarianceOfVariance(time, varianceGrid[j]);
+			final double drift = model.getDriftOfVariance(time, varianceGrid[j]);
+			if(j == 0) {
+				// Degenerate boundary at variance 0: one sided difference for the drift
+				final double h = varianceGrid[1] - varianceGrid[0];
+				varianceOperatorLower[j] = 0.0;
+				varianceOperatorDiagonal[j] = -drift / h - 0.5 * discountRate;
+				varianceOperatorUpper[j] = drift / h;
+			}
+			else if(j == numberOfVariancePoints-1) {
+				// Neumann boundary: vanishing first derivative, second derivative via reflection
+				final double h = varianceGrid[j] - varianceGrid[j-1];
+				varianceOperatorLower[j] = 2.0 * halfVariance / (h * h);
+				varianceOperatorDiagonal[j] = -2.0 * halfVariance / (h * h) - 0.5 * discountRate;
+				varianceOperatorUpper[j] = 0.0;
+			}
+			else {
+				varianceOperatorLower[j] = halfVariance * secondDerivativeVariance[j][0] + drift * firstDerivativeVariance[j][0];
+				varianceOperatorDiagonal[j] = halfVariance * secondDerivativeVariance[j][1] + drift * firstDerivativeVariance[j][1] - 0.5 * discountRate;
+				varianceOperatorUpper[j] = halfVariance * secondDerivativeVariance[j][2] + drift * firstDerivativeVariance[j][2];
+			}
+			lower[j] = -theta * dt * varianceOperatorLower[j];
+			diagonal[j] = 1.0 - theta * dt * varianceOperatorDiagonal[j];
+			upper[j] = -theta * dt * varianceOperatorUpper[j];
+		}
+		varianceSystem = new TridiagonalMatrix(lower, diagonal, upper);
+	}
+
+	private void applyAssetOperator(double[] values, double[] result) {
+		IntStream.range(0, numberOfVariancePoints).parallel().forEach(j -> {
+			final int offset = j * numberOfAssetPoints;
+			result[offset] = 0.0;
+			result[offset + numberOfAssetPoints-1] = 0.0;
+			for(int k=offset+1; k<offset+numberOfAssetPoints-1; k++) {
+				result[k] = assetOperatorLower[k] * values[k-1] + assetOperatorDiagonal[k] * values[k] + assetOperatorUpper[k] * values[k+1];
+			}
+		});
+	}
+
+	private void applyVarianceOperator(double[] values, double[] result) {
+		IntStream.range(0, numberOfVariancePoints).parallel().forEach(j -> {
+			final int offset = j * numberOfAssetPoints;
+			final double lower = varianceOperatorLower[j];
+			final double diagonal = varianceOperatorDiagonal[j];
+			final double upper = varianceOperatorUpper[j];
+			result[offset] = 0.0;
+			result[offset + numberOfAssetPoints-1] = 0.0;
+			for(int k=offset+1; k<offset+numberOfAssetPoints-1; k++) {
+				double value = diagonal * values[k];
+				if(j > 0) {
+					value += lower * values[k-numberOfAssetPoints];
+				}
+				if(j < numberOfVariancePoints-1) {
+					value += upper * values[k+numberOfAssetPoints];
+				}
+				result[k] = value;
+			}
+		});
+	}
+
+	private void applyMixedOperator(double[] values, double[] result) {
+		IntStream.range(0, numberOfVariancePoints).parallel().forEach(j -> {
+			final int offset = j * numberOfAssetPoints;
+			if(j == 0 || j == numberOfVariancePoints-1) {
+				for(int k=offset; k<offset+numberOfAssetPoints; k++) {
+					result[k] = 0.0;
+				}
+				return;
+			}
+			result[offset] = 0.0;
+			result[offset + numberOfAssetPoints-1] = 0.0;
+			final double[] weightsVariance = firstDerivativeVariance[j];
+			for(int i=1; i<numberOfAssetPoints-1; i++) {
+				final int k = offset + i;
+				final double[] weightsAsset = firstDerivativeAsset[i];
+				double derivative = 0.0;
+				for(int l=-1; l<=1; l++) {
+					final int kl = k + l * numberOfAssetPoints;
+					derivative += weightsVariance[l+1] * (weightsAsset[0] * values[kl-1] + weightsAsset[1] * values[kl] + weightsAsset[2] * values[kl+1]);
+				}
+				result[k] = mixedOperator[k] * derivative;
+			}
+		});
+	}
+
+	private void setBoundaryValues(double[] values, double time) {
+		for(int j=0; j<numberOfVariancePoints; j++) {
+			values[j * numberOfAssetPoints] = boundaryCondition.getValueAtLowerBoundary(model, time, assetGrid[0], varianceGrid[j]);
+			values[j * numberOfAssetPoints + numberOfAssetPoints-1] = boundaryCondition.getValueAtUpperBoundary(model, time, assetGrid[numberOfAssetPoints-1], varianceGrid[j]);
+		}
+	}
+
+	/*
+	 * Weights of the central difference quotient of the first derivative on a non-uniform grid.
+	 */
+	private static double[] getFirstDerivativeWeights(double[] grid, int index) {
+		final double hLower = grid[index] - grid[index-1];
+		final double hUpper = grid[index+1] - grid[index];
+		return new double[] {
+				-hUpper / (hLower * (hLower + hUpper)),
+				(hUpper - hLower) / (hLower * hUpper),
+				hLower / (hUpper * (hLower + hUpper))
+		};
+	}
+
+	/*
+	 * Weights of the central difference quotient of the second derivative on a non-uniform grid.
+	 */
+	private static double[] getSecondDerivativeWeights(double[] grid, int index) {
+		final double hLower = grid[index] - grid[index-1];
+		final double hUpper = grid[index+1] - grid[index];
+		return new double[] {
+				2.0 / (hLower * (hLower + hUpper)),
+				-2.0 / (hLower * hUpper),
+				2.0 / (hUpper * (hLower + hUpper))
+		};
+	}
+}
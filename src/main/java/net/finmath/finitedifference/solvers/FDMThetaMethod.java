@@ -1,14 +1,7 @@
 package net.finmath.finitedifference.solvers;
 
-import java.util.Arrays;
 import java.util.function.DoubleUnaryOperator;
 
-import org.apache.commons.math3.linear.Array2DRowRealMatrix;
-import org.apache.commons.math3.linear.DecompositionSolver;
-import org.apache.commons.math3.linear.LUDecomposition;
-import org.apache.commons.math3.linear.MatrixUtils;
-import org.apache.commons.math3.linear.RealMatrix;
-
 import net.finmath.finitedifference.models.FDMBlackScholesModel;
 import net.finmath.finitedifference.models.FiniteDifference1DBoundary;
 import net.finmath.finitedifference.models.FiniteDifference1DModel;
@@ -18,6 +11,11 @@ import net.finmath.finitedifference.models.FiniteDifference1DModel;
  *
  * This is where the real stuff happens.
  *
+ * The theta scheme for the (transformed) heat equation results in tridiagonal
+ * matrices, which are handled by {@link TridiagonalMatrix} (Thomas algorithm),
+ * such that each time step requires O(n) operations. Several terminal values
+ * can be rolled back at once, see {@link #getValues(double, double, DoubleUnaryOperator[], FiniteDifference1DBoundary[])}.
+ *
  * @author Ralph Rudd
  * @author Christian Fries
  * @author Jörg Kienitz
@@ -46,12 +44,32 @@ public class FDMThetaMethod {
 	}
 
 	public double[][] getValue(double evaluationTime, double time, DoubleUnaryOperator valueAtMaturity) {
+		return getValues(evaluationTime, time, new DoubleUnaryOperator[] { valueAtMaturity }, new FiniteDifference1DBoundary[] { boundaryCondition });
+	}
+
+	/**
+	 * Roll back several terminal values (e.g. the payoffs of a strike ladder) on the same grid.
+	 *
+	 * All right hand sides are stored in one array and processed in the same sweep of the
+	 * tridiagonal solver, such that each time step requires O(n &middot; k) operations for
+	 * n grid points and k payoffs.
+	 *
+	 * @param evaluationTime The evaluation time (currently only 0 is supported).
+	 * @param time The time at which the values are observed (has to agree with the time horizon).
+	 * @param valuesAtMaturity The terminal values as functions of the state (stock price).
+	 * @param boundaryConditions The boundary conditions associated with each terminal value.
+	 * @return Vector of { states , values of valuesAtMaturity[0], values of valuesAtMaturity[1], ... }.
+	 */
+	public double[][] getValues(double evaluationTime, double time, DoubleUnaryOperator[] valuesAtMaturity, FiniteDifference1DBoundary[] boundaryConditions) {
 		if(evaluationTime != 0) {
 			throw new IllegalArgumentException("Evaluation time != 0 not supported.");
 		}
 		if(time != timeHorizon) {
 			throw new IllegalArgumentException("Given time != timeHorizonn not supported.");
 		}
+		if(valuesAtMaturity.length != boundaryConditions.length) {
+			throw new IllegalArgumentException("Number of values and number of boundary conditions must agree.");
+		}
 
 		// Grid Generation
 		double maximumStockPriceOnGrid = model.getForwardValue(timeHorizon)
@@ -78,65 +96,54 @@ public class FDMThetaMethod {
 			tau[i] = i * dtau;
 		}
 
-		// Create necessary matrices
+		// Create the (tridiagonal) matrices of the implicit part C and the explicit part D
 		double kappa = dtau / Math.pow(dx, 2);
-		double[][] C = new double[len][len];
-		double[][] D = new double[len][len];
+		TridiagonalMatrix C = new TridiagonalMatrix(len, - theta * kappa, 1 + 2 * theta * kappa, - theta * kappa);
+		TridiagonalMatrix D = new TridiagonalMatrix(len, (1 - theta) * kappa, 1 - 2 * (1 - theta) * kappa, (1 - theta) * kappa);
+
+		/*
+		 * Initialize U. The values of the different payoffs are stored interleaved,
+		 * i.e., the value of payoff j at grid point i is U[i * numberOfValues + j].
+		 */
+		int numberOfValues = valuesAtMaturity.length;
+		double[] U = new double[len * numberOfValues];
 		for (int i = 0; i < len; i++) {
-			for (int j = 0; j < len; j++) {
-				if (i == j) {
-					C[i][j] = 1 + 2 * theta * kappa;
-					D[i][j] = 1 - 2 * (1 - theta) * kappa;
-				} else if ((i == j - 1) || (i == j + 1)) {
-					C[i][j] = - theta * kappa;
-					D[i][j] = (1 - theta) * kappa;
-				} else {
-					C[i][j] = 0;
-					D[i][j] = 0;
-				}
-			}
-		}
-		RealMatrix CMatrix = new Array2DRowRealMatrix(C);
-		RealMatrix DMatrix = new Array2DRowRealMatrix(D);
-		DecompositionSolver solver = new LUDecomposition(CMatrix).getSolver();
-
-		// Create spatial boundary vector
-		double[] b = new double[len];
-		Arrays.fill(b, 0);
-
-		// Initialize U
-		double[] U = new double[len];
-		for (int i = 0; i < U.length; i++) {
 			double state = x[i];
-			U[i] = f(valueAtMaturity.applyAsDouble(f_s(state)), state, 0);
+			for (int j = 0; j < numberOfValues; j++) {
+				U[i * numberOfValues + j] = f(valuesAtMaturity[j].applyAsDouble(f_s(state)), state, 0);
+			}
 		}
-		RealMatrix UVector = MatrixUtils.createColumnRealMatrix(U);
 
 		// Solve system
+		double[] constants = new double[len * numberOfValues];
 		for (int m = 0; m < model.getNumSpacesteps(); m++) {
-			b[0] = (u_neg_inf(N_neg * dx, tau[m]) * (1 - theta) * kappa)
-					+ (u_neg_inf(N_neg * dx, tau[m + 1]) * theta * kappa);
-			b[len-1] = (u_pos_inf(N_pos * dx, tau[m]) * (1 - theta) * kappa)
-					+ (u_pos_inf(N_pos * dx, tau[m + 1]) * theta * kappa);
-
-			RealMatrix bVector = MatrixUtils.createColumnRealMatrix(b);
-			RealMatrix constantsMatrix = (DMatrix.multiply(UVector)).add(bVector);
-			UVector = solver.solve(constantsMatrix);
+			D.multiply(U, numberOfValues, constants);
+
+			// Add spatial boundary vector
+			for (int j = 0; j < numberOfValues; j++) {
+				constants[j] += (u_neg_inf(boundaryConditions[j], N_neg * dx, tau[m]) * (1 - theta) * kappa)
+						+ (u_neg_inf(boundaryConditions[j], N_neg * dx, tau[m + 1]) * theta * kappa);
+				constants[(len-1) * numberOfValues + j] += (u_pos_inf(boundaryConditions[j], N_pos * dx, tau[m]) * (1 - theta) * kappa)
+						+ (u_pos_inf(boundaryConditions[j], N_pos * dx, tau[m + 1]) * theta * kappa);
+			}
+
+			C.solve(constants, numberOfValues);
+
+			double[] swap = U;
+			U = constants;
+			constants = swap;
 		}
-		U = UVector.getColumn(0);
 
 		// Transform x to stockPrice and U to optionPrice
-		double[] optionPrice = new double[len];
-		double[] stockPrice = new double[len];
+		double[][] stockAndOptionPrice = new double[1 + numberOfValues][len];
 		for (int i = 0; i < len; i++ ){
-			optionPrice[i] = U[i] * center *
-					Math.exp(alpha * x[i] + beta * tau[model.getNumSpacesteps()]);
-			stockPrice[i] = f_s(x[i]);
+			double scaling = center * Math.exp(alpha * x[i] + beta * tau[model.getNumSpacesteps()]);
+			for (int j = 0; j < numberOfValues; j++) {
+				stockAndOptionPrice[1 + j][i] = U[i * numberOfValues + j] * scaling;
+			}
+			stockAndOptionPrice[0][i] = f_s(x[i]);
 		}
 
-		double[][] stockAndOptionPrice = new double[2][len];
-		stockAndOptionPrice[0] = stockPrice;
-		stockAndOptionPrice[1] = optionPrice;
 		return stockAndOptionPrice;
 	}
 
@@ -147,10 +154,10 @@ public class FDMThetaMethod {
 	private double f(double value, double x, double tau) { return (value / center) * Math.exp(-alpha * x - beta * tau); }
 
 	// Heat Equation Boundary Conditions
-	private double u_neg_inf(double x, double tau) {
+	private double u_neg_inf(FiniteDifference1DBoundary boundaryCondition, double x, double tau) {
 		return f(boundaryCondition.getValueAtLowerBoundary(model, f_t(tau), f_s(x)), x, tau);
 	}
-	private double u_pos_inf(double x, double tau) {
+	private double u_pos_inf(FiniteDifference1DBoundary boundaryCondition, double x, double tau) {
 		return f(boundaryCondition.getValueAtUpperBoundary(model, f_t(tau), f_s(x)), x, tau);
 	}
 }
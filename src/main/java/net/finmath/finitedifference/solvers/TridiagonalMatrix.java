@@ -0,0 +1,217 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.finitedifference.solvers;
+
+import java.util.Arrays;
+
+/**
+ * A tridiagonal matrix providing O(n) multiplication and O(n) solution of linear equations
+ * (via the Thomas algorithm) for one or many right hand sides.
+ *
+ * The forward elimination coefficients of the Thomas algorithm are calculated once in the constructor,
+ * such that repeated solves (e.g. in each time step of a finite difference scheme with constant coefficients)
+ * only require the forward and backward substitution.
+ *
+ * Multiple right hand sides are stored interleaved in a single array, that is, the element of row i
+ * of right hand side j is stored at index <code>i * numberOfColumns + j</code>. Hence, all right hand sides are
+ * processed in the same sweep and the inner loops run over contiguous memory.
+ *
+ * The Thomas algorithm does not pivot. It is stable if the matrix is diagonally dominant (as it is the case for the
+ * implicit part of the theta scheme).
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class TridiagonalMatrix {
+
+	private final double[] lowerDiagonal;
+	private final double[] diagonal;
+	private final double[] upperDiagonal;
+
+	// Coefficients of the LU decomposition (forward elimination of the Thomas algorithm)
+	private final double[] upperDiagonalEliminated;
+	private final double[] diagonalEliminatedInverse;
+
+	/**
+	 * Create a tridiagonal matrix from its diagonals.
+	 *
+	 * @param lowerDiagonal The lower diagonal. Element i is the element of row i, column i-1 (element 0 is ignored).
+	 * @param diagonal The diagonal.
+	 * @param upperDiagonal The upper diagonal. Element i is the element of row i, column i+1 (element n-1 is ignored).
+	 */
+	public TridiagonalMatrix(double[] lowerDiagonal, double[] diagonal, double[] upperDiagonal) {
+		super();
+		if(lowerDiagonal.length != diagonal.length || upperDiagonal.length != diagonal.length) {
+			throw new IllegalArgumentException("Diagonals must have the same length.");
+		}
+		this.lowerDiagonal = lowerDiagonal.clone();
+		this.diagonal = diagonal.clone();
+		this.upperDiagonal = upperDiagonal.clone();
+
+		final int n = diagonal.length;
+		upperDiagonalEliminated = new double[n];
+		diagonalEliminatedInverse = new double[n];
+		for(int i=0; i<n; i++) {
+			final double pivot = i == 0 ? diagonal[0] : diagonal[i] - lowerDiagonal[i] * upperDiagonalEliminated[i-1];
+			if(pivot == 0.0) {
+				throw new ArithmeticException("Tridiagonal matrix is singular (or requires pivoting).");
+			}
+			diagonalEliminatedInverse[i] = 1.0 / pivot;
+			upperDiagonalEliminated[i] = i < n-1 ? upperDiagonal[i] * diagonalEliminatedInverse[i] : 0.0;
+		}
+	}
+
+	/**
+	 * Create a tridiagonal matrix with constant diagonals.
+	 *
+	 * @param size The number of rows (and columns).
+	 * @param lowerDiagonal The value of the lower diagonal.
+	 * @param diagonal The value of the diagonal.
+	 * @param upperDiagonal The value of the upper diagonal.
+	 */
+	public TridiagonalMatrix(int size, double lowerDiagonal, double diagonal, double upperDiagonal) {
+		this(filled(size, lowerDiagonal), filled(size, diagonal), filled(size, upperDiagonal));
+	}
+
+	/**
+	 * @return The number of rows (and columns) of this matrix.
+	 */
+	public int getSize() {
+		return diagonal.length;
+	}
+
+	/**
+	 * Calculate the product of this matrix with one or many vectors.
+	 *
+	 * @param vectors The vectors, stored interleaved (element i of vector j at index <code>i * numberOfColumns + j</code>).
+	 * @param numberOfColumns The number of vectors.
+	 * @param result Array receiving the result (stored interleaved). Must not be the same array as <code>vectors</code>.
+	 * @return The array <code>result</code>.
+	 */
+	public double[] multiply(double[] vectors, int numberOfColumns, double[] result) {
+		final int n = diagonal.length;
+		for(int i=0; i<n; i++) {
+			final int row = i * numberOfColumns;
+			final double lower = lowerDiagonal[i];
+			final double center = diagonal[i];
+			final double upper = upperDiagonal[i];
+			if(i > 0 && i < n-1) {
+				for(int j=0; j<numberOfColumns; j++) {
+					result[row+j] = lower * vectors[row-numberOfColumns+j] + center * vectors[row+j] + upper * vectors[row+numberOfColumns+j];
+				}
+			}
+			else {
+				for(int j=0; j<numberOfColumns; j++) {
+					double value = center * vectors[row+j];
+					if(i > 0) {
+						value += lower * vectors[row-numberOfColumns+j];
+					}
+					if(i < n-1) {
+						value += upper * vectors[row+numberOfColumns+j];
+					}
+					result[row+j] = value;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Solve the linear equation A x = b for one or many right hand sides b, where A is this matrix.
+	 * The solution overwrites the right hand sides.
+	 *
+	 * @param rightHandSides The right hand sides, stored interleaved (element i of vector j at index <code>i * numberOfColumns + j</code>). Will be overwritten with the solution.
+	 * @param numberOfColumns The number of right hand sides.
+	 * @return The array <code>rightHandSides</code>, containing the solutions.
+	 */
+	public double[] solve(double[] rightHandSides, int numberOfColumns) {
+		return solve(rightHandSides, numberOfColumns, 0, numberOfColumns);
+	}
+
+	/**
+	 * Solve the linear equation A x = b for the right hand sides b with index firstColumn to endColumn-1, where A is this matrix.
+	 * The solution overwrites these right hand sides, the other right hand sides remain unchanged. Calls for disjoint
+	 * ranges of columns may be performed concurrently.
+	 *
+	 * @param rightHandSides The right hand sides, stored interleaved (element i of vector j at index <code>i * numberOfColumns + j</code>).
+	 * @param numberOfColumns The number of right hand sides stored in the array.
+	 * @param firstColumn The index of the first right hand side to solve for.
+	 * @param endColumn The index of the last right hand side to solve for plus one.
+	 * @return The array <code>rightHandSides</code>, containing the solutions.
+	 */
+	public double[] solve(double[] rightHandSides, int numberOfColumns, int firstColumn, int endColumn) {
+		final int n = diagonal.length;
+
+		// Forward substitution
+		for(int j=firstColumn; j<endColumn; j++) {
+			rightHandSides[j] *= diagonalEliminatedInverse[0];
+		}
+		for(int i=1; i<n; i++) {
+			final int row = i * numberOfColumns;
+			final double lower = lowerDiagonal[i];
+			final double pivotInverse = diagonalEliminatedInverse[i];
+			for(int j=firstColumn; j<endColumn; j++) {
+				rightHandSides[row+j] = (rightHandSides[row+j] - lower * rightHandSides[row-numberOfColumns+j]) * pivotInverse;
+			}
+		}
+
+		// Backward substitution
+		for(int i=n-2; i>=0; i--) {
+			final int row = i * numberOfColumns;
+			final double upper = upperDiagonalEliminated[i];
+			for(int j=firstColumn; j<endColumn; j++) {
+				rightHandSides[row+j] -= upper * rightHandSides[row+numberOfColumns+j];
+			}
+		}
+
+		return rightHandSides;
+	}
+
+	/**
+	 * Solve the linear equation A x = b, where A is this matrix.
+	 * The solution overwrites the right hand side.
+	 *
+	 * @param rightHandSide The right hand side. Will be overwritten with the solution.
+	 * @return The array <code>rightHandSide</code>, containing the solution.
+	 */
+	public double[] solve(double[] rightHandSide) {
+		return solve(rightHandSide, 1);
+	}
+
+	/**
+	 * Solve the linear equation A x = b, where A is this matrix and b is stored with a given offset and stride
+	 * in an array (e.g. a grid line of a two dimensional grid). The solution overwrites the right hand side.
+	 *
+	 * @param values The array containing the right hand side b at the indices <code>offset + i * stride</code>. Will be overwritten with the solution.
+	 * @param offset The index of the first element of the right hand side.
+	 * @param stride The distance of two consecutive elements of the right hand side.
+	 * @return The array <code>values</code>, containing the solution.
+	 */
+	public double[] solve(double[] values, int offset, int stride) {
+		final int n = diagonal.length;
+
+		// Forward substitution
+		values[offset] *= diagonalEliminatedInverse[0];
+		for(int i=1; i<n; i++) {
+			final int index = offset + i * stride;
+			values[index] = (values[index] - lowerDiagonal[i] * values[index-stride]) * diagonalEliminatedInverse[i];
+		}
+
+		// Backward substitution
+		for(int i=n-2; i>=0; i--) {
+			final int index = offset + i * stride;
+			values[index] -= upperDiagonalEliminated[i] * values[index+stride];
+		}
+
+		return values;
+	}
+
+	private static double[] filled(int size, double value) {
+		final double[] values = new double[size];
+		Arrays.fill(values, value);
+		return values;
+	}
+}
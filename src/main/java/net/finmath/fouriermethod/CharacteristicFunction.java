@@ -22,4 +22,37 @@ import org.apache.commons.math3.complex.Complex;
 @FunctionalInterface
 public interface CharacteristicFunction extends Function<Complex, Complex> {
 
+	/**
+	 * Evaluates the characteristic function for the arguments with index fromIndex to toIndex-1 of
+	 * an array of arguments given by their real and imaginary parts.
+	 *
+	 * The default implementation calls {@link #apply(Object)} for each argument. Implementations may override this method
+	 * with a primitive implementation, which does not allocate objects for each argument, see {@link ComplexArithmetic}.
+	 *
+	 * @param argumentsReal The real parts of the arguments.
+	 * @param argumentsImaginary The imaginary parts of the arguments.
+	 * @param valuesReal Array receiving the real parts of the values.
+	 * @param valuesImaginary Array receiving the imaginary parts of the values.
+	 * @param fromIndex The index of the first argument to evaluate.
+	 * @param toIndex The index of the last argument to evaluate plus one.
+	 */
+	default void apply(double[] argumentsReal, double[] argumentsImaginary, double[] valuesReal, double[] valuesImaginary, int fromIndex, int toIndex) {
+		for(int i=fromIndex; i<toIndex; i++) {
+			final Complex value = apply(new Complex(argumentsReal[i], argumentsImaginary[i]));
+			valuesReal[i] = value.getReal();
+			valuesImaginary[i] = value.getImaginary();
+		}
+	}
+
+	/**
+	 * Evaluates the characteristic function for an array of arguments given by their real and imaginary parts.
+	 *
+	 * @param argumentsReal The real parts of the arguments.
+	 * @param argumentsImaginary The imaginary parts of the arguments.
+	 * @param valuesReal Array receiving the real parts of the values.
+	 * @param valuesImaginary Array receiving the imaginary parts of the values.
+	 */
+	default void apply(double[] argumentsReal, double[] argumentsImaginary, double[] valuesReal, double[] valuesImaginary) {
+		apply(argumentsReal, argumentsImaginary, valuesReal, valuesImaginary, 0, argumentsReal.length);
+	}
 }
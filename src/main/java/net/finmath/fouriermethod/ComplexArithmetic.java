@@ -0,0 +1,123 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+
+package net.finmath.fouriermethod;
+
+/**
+ * Elementary functions of complex numbers given by their real and imaginary part (as primitive doubles).
+ *
+ * These functions are used by the batch evaluation of characteristic functions (see
+ * {@link CharacteristicFunction#apply(double[], double[], double[], double[], int, int)}), avoiding the
+ * allocation of {@link org.apache.commons.math3.complex.Complex} objects for every intermediate result.
+ * The result is written to a given array of length 2 (real part, imaginary part), which may be reused.
+ *
+ * The implementations follow those of {@link org.apache.commons.math3.complex.Complex} (principal branches),
+ * but do not handle infinite or NaN arguments separately.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public final class ComplexArithmetic {
+
+	private ComplexArithmetic() {
+	}
+
+	/**
+	 * Returns the absolute value of the complex number x + i y.
+	 *
+	 * @param x The real part.
+	 * @param y The imaginary part.
+	 * @return The absolute value.
+	 */
+	public static double abs(double x, double y) {
+		final double absX = Math.abs(x);
+		final double absY = Math.abs(y);
+		if(absX < absY) {
+			final double q = x / y;
+			return absY * Math.sqrt(1 + q * q);
+		}
+		else if(absX == 0.0) {
+			return 0.0;
+		}
+		else {
+			final double q = y / x;
+			return absX * Math.sqrt(1 + q * q);
+		}
+	}
+
+	/**
+	 * Calculates (a + i b) / (c + i d).
+	 *
+	 * @param a Real part of the numerator.
+	 * @param b Imaginary part of the numerator.
+	 * @param c Real part of the denominator.
+	 * @param d Imaginary part of the denominator.
+	 * @param result Array of length 2 receiving the real and imaginary part of the result.
+	 */
+	public static void divide(double a, double b, double c, double d, double[] result) {
+		if(Math.abs(c) < Math.abs(d)) {
+			final double q = c / d;
+			final double denominator = c * q + d;
+			result[0] = (a * q + b) / denominator;
+			result[1] = (b * q - a) / denominator;
+		}
+		else {
+			final double q = d / c;
+			final double denominator = d * q + c;
+			result[0] = (b * q + a) / denominator;
+			result[1] = (b - a * q) / denominator;
+		}
+	}
+
+	/**
+	 * Calculates exp(x + i y).
+	 *
+	 * @param x The real part.
+	 * @param y The imaginary part.
+	 * @param result Array of length 2 receiving the real and imaginary part of the result.
+	 */
+	public static void exp(double x, double y, double[] result) {
+		final double expX = Math.exp(x);
+		result[0] = expX * Math.cos(y);
+		result[1] = expX * Math.sin(y);
+	}
+
+	/**
+	 * Calculates log(x + i y) (principal branch).
+	 *
+	 * @param x The real part.
+	 * @param y The imaginary part.
+	 * @param result Array of length 2 receiving the real and imaginary part of the result.
+	 */
+	public static void log(double x, double y, double[] result) {
+		result[0] = Math.log(abs(x, y));
+		result[1] = Math.atan2(y, x);
+	}
+
+	/**
+	 * Calculates sqrt(x + i y) (principal branch).
+	 *
+	 * @param x The real part.
+	 * @param y The imaginary part.
+	 * @param result Array of length 2 receiving the real and imaginary part of the result.
+	 */
+	public static void sqrt(double x, double y, double[] result) {
+		if(x == 0.0 && y == 0.0) {
+			result[0] = 0.0;
+			result[1] = 0.0;
+			return;
+		}
+		final double t = Math.sqrt((Math.abs(x) + abs(x, y)) / 2.0);
+		if(x >= 0.0) {
+			result[0] = t;
+			result[1] = y / (2.0 * t);
+		}
+		else {
+			result[0] = Math.abs(y) / (2.0 * t);
+			result[1] = Math.copySign(1.0, y) * t;
+		}
+	}
+}
@@ -1,15 +1,21 @@
 package net.finmath.fouriermethod.calibration;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 import org.apache.commons.lang3.ArrayUtils;
 
 import net.finmath.exception.CalculationException;
+import net.finmath.fouriermethod.CharacteristicFunction;
 import net.finmath.fouriermethod.calibration.models.CalibratableProcess;
 import net.finmath.fouriermethod.models.CharacteristicFunctionModel;
 import net.finmath.fouriermethod.products.smile.EuropeanOptionSmile;
+import net.finmath.fouriermethod.products.smile.EuropeanOptionSmileByCOS;
 import net.finmath.marketdata.model.volatilities.OptionSmileData;
 import net.finmath.marketdata.model.volatilities.OptionSurfaceData;
 import net.finmath.marketdata.model.volatilities.VolatilitySurface.QuotingConvention;
@@ -52,9 +58,25 @@ public class CalibratedModel {
 	private final double[] upperBound;
 	private final double[] parameterStep;
 
+	private final ExecutorService executor;		// Used to evaluate the maturities concurrently (may be null).
+	private final int[] smileOffsets;			// Offset of the values of the smile of each maturity in the values of the objective function.
+
+	/**
+	 * Create the calibration problem, where the smiles of the different maturities are evaluated concurrently
+	 * using the given executor.
+	 *
+	 * @param surface The target calibration instruments.
+	 * @param model The pricing model.
+	 * @param optimizerFactory The factory for the optimization algorithm.
+	 * @param pricer The pricer of the smiles.
+	 * @param initialParameters The initial parameters.
+	 * @param parameterStep The parameter steps used for finite differences (if required by the optimizer).
+	 * @param executor The executor used to evaluate the maturities concurrently. If null, the maturities are evaluated sequentially.
+	 * The executor should not be shared with the optimizer (whose tasks wait for the completion of the tasks submitted here).
+	 */
 	public CalibratedModel(OptionSurfaceData surface, CalibratableProcess model,
 			OptimizerFactory optimizerFactory, EuropeanOptionSmile pricer, double[] initialParameters,
-			double[] parameterStep) {
+			double[] parameterStep, ExecutorService executor) {
 		super();
 		this.surface = surface;
 		this.model = model;
@@ -64,6 +86,30 @@ public class CalibratedModel {
 		this.lowerBound = model.getParameterLowerBounds();
 		this.upperBound = model.getParameterUpperBounds();
 		this.parameterStep = parameterStep;
+		this.executor = executor;
+
+		// The offset of the values of each maturity in the vector of values of the objective function
+		final double[] maturities = surface.getMaturities();
+		this.smileOffsets = new int[maturities.length + 1];
+		for(int t = 0; t<maturities.length; t++) {
+			smileOffsets[t+1] = smileOffsets[t] + surface.getSmile(maturities[t]).getStrikes().length;
+		}
+	}
+
+	/**
+	 * Create the calibration problem, where the smiles of the different maturities are evaluated sequentially.
+	 *
+	 * @param surface The target calibration instruments.
+	 * @param model The pricing model.
+	 * @param optimizerFactory The factory for the optimization algorithm.
+	 * @param pricer The pricer of the smiles.
+	 * @param initialParameters The initial parameters.
+	 * @param parameterStep The parameter steps used for finite differences (if required by the optimizer).
+	 */
+	public CalibratedModel(OptionSurfaceData surface, CalibratableProcess model,
+			OptimizerFactory optimizerFactory, EuropeanOptionSmile pricer, double[] initialParameters,
+			double[] parameterStep) {
+		this(surface, model, optimizerFactory, pricer, initialParameters, parameterStep, null);
 	}
 
 	/**
@@ -73,78 +119,228 @@ public class CalibratedModel {
 	 */
 	public OptimizationResult getCalibration() throws SolverException {
 
-		Optimizer.ObjectiveFunction objectiveFunction = new Optimizer.ObjectiveFunction() {
+		Optimizer optimizer = optimizerFactory.getOptimizer(
+				getObjectiveFunction(),
+				initialParameters,
+				lowerBound,
+				upperBound,
+				parameterStep,
+				formatTargetValuesForOptimizer() /* targetValues */);
+
+		optimizer.run();
+
+		ArrayList<String> calibrationOutput = outputCalibrationResult(optimizer.getBestFitParameters());
+
+		CalibratableProcess calibratedModel = model.getCloneForModifiedParameters(optimizer.getBestFitParameters());
+
+		return new OptimizationResult(calibratedModel,optimizer.getBestFitParameters(),optimizer.getIterations(),optimizer.getRootMeanSquaredError(),calibrationOutput);
+	}
+
+	/**
+	 * Returns the objective function of the calibration problem. The objective function provides the derivatives of its values
+	 * if the pricer is {@link EuropeanOptionSmileByCOS} and the model provides the derivatives of its characteristic function
+	 * (see {@link CalibratableProcess#getCharacteristicFunctionDerivatives(double[], double)}).
+	 *
+	 * @return The objective function of the calibration problem.
+	 */
+	Optimizer.ObjectiveFunctionWithDerivatives getObjectiveFunction() {
+		return new Optimizer.ObjectiveFunctionWithDerivatives() {
 			@Override
-			public void setValues(double[] parameters, double[] values) {
+			public void setValues(double[] parameters, double[] values) throws SolverException {
 
 				//We change the parameters of the model
 				CalibratableProcess newModel = model.getCloneForModifiedParameters(parameters);
 				CharacteristicFunctionModel newModelFourier = newModel.getCharacteristicFunctionModel();
 
-				int numberOfMaturities = surface.getMaturities().length;
 				double mats[] = surface.getMaturities();
 
-				QuotingConvention targetConvention = surface.getQuotingConvention();
-
-				for(int t = 0; t<numberOfMaturities; t++) {
-
+				forEachMaturity(t -> {
 					double[] currentStrikes = surface.getSmile(mats[t]).getStrikes();
 
-					EuropeanOptionSmile newPricer = pricer.getCloneWithModifiedParameters(mats[t],currentStrikes);
-
 					try {
-						Map<String, Function<Double, Double>> currentModelPrices = newPricer.getValue(0.0, newModelFourier);
+						Function<Double, Double> valuePerStrike = getSmileValues(newModelFourier, mats[t], currentStrikes).get("valuePerStrike");
 
+						double[] currentModelPrices = new double[currentStrikes.length];
 						for(int i = 0; i<currentStrikes.length;i++) {
-
-							if(targetConvention.equals(QuotingConvention.VOLATILITYLOGNORMAL)) {
-								//we convert prices into lognormal volatilities
-								double forward = surface.getEquityForwardCurve().getDiscountFactor(mats[t]);
-								double optionMaturity =mats[t];
-								double optionStrike = currentStrikes[i];
-								double payoffUnit = surface.getDiscountCurve().getDiscountFactor(mats[t]);
-								double optionValue = currentModelPrices.get("valuePerStrike").apply(optionStrike);
-								values[i] = net.finmath.functions.AnalyticFormulas.blackScholesOptionImpliedVolatility(forward, optionMaturity, optionStrike, payoffUnit, optionValue);
-
-
-							}else if(targetConvention.equals(QuotingConvention.VOLATILITYNORMAL)) {
-								//we convert prices into normal volatilities
-								double forward = surface.getEquityForwardCurve().getDiscountFactor(mats[t]);
-								double optionMaturity =mats[t];
-								double optionStrike = currentStrikes[i];
-								double payoffUnit = surface.getDiscountCurve().getDiscountFactor(mats[t]);
-								double optionValue = currentModelPrices.get("valuePerStrike").apply(optionStrike);
-								values[i] = net.finmath.functions.AnalyticFormulas.bachelierOptionImpliedVolatility(forward, optionMaturity, optionStrike, payoffUnit, optionValue);
-							}else {
-								//just output the prices
-								values[i] = currentModelPrices.get("valuePerStrike").apply(currentStrikes[i]);
-							}
-
+							currentModelPrices[i] = valuePerStrike.apply(currentStrikes[i]);
 						}
+
+						convertToQuotingConvention(mats[t], currentStrikes, currentModelPrices, values, smileOffsets[t]);
 					} catch (CalculationException e) {
 						e.printStackTrace();
 					}
+				});
+			}
 
-				}
+			@Override
+			public boolean setDerivatives(double[] parameters, double[][] derivatives) throws SolverException {
+				return CalibratedModel.this.setDerivatives(parameters, derivatives);
 			}
 		};
+	}
 
-		Optimizer optimizer = optimizerFactory.getOptimizer(
-				objectiveFunction,
-				initialParameters,
-				lowerBound,
-				upperBound,
-				parameterStep,
-				formatTargetValuesForOptimizer() /* targetValues */);
+	/**
+	 * Calculates the derivatives of the values of the objective function with respect to the parameters, using the linearity of the
+	 * valuation by {@link EuropeanOptionSmileByCOS} in the characteristic function: the derivative of the option values are the values obtained
+	 * from the derivatives of the characteristic function. Volatilities are differentiated using the vega of the option.
+	 *
+	 * @param parameters The parameters.
+	 * @param derivatives Output value, where derivatives[i][j] is d(value(j)) / d(parameters(i)).
+	 * @return True, if the derivatives have been calculated, false if they are not available.
+	 * @throws SolverException Thrown if the valuation fails.
+	 */
+	private boolean setDerivatives(double[] parameters, double[][] derivatives) throws SolverException {
+		if(!(pricer instanceof EuropeanOptionSmileByCOS)) {
+			return false;
+		}
 
+		double mats[] = surface.getMaturities();
 
-		optimizer.run();
+		// Check if the model provides the derivatives
+		CharacteristicFunction[][] characteristicFunctionDerivatives = new CharacteristicFunction[mats.length][];
+		for(int t = 0; t<mats.length; t++) {
+			characteristicFunctionDerivatives[t] = model.getCharacteristicFunctionDerivatives(parameters, mats[t]);
+			if(characteristicFunctionDerivatives[t] == null) {
+				return false;
+			}
+		}
 
-		ArrayList<String> calibrationOutput = outputCalibrationResult(optimizer.getBestFitParameters());
+		CharacteristicFunctionModel newModelFourier = model.getCloneForModifiedParameters(parameters).getCharacteristicFunctionModel();
 
-		CalibratableProcess calibratedModel = model.getCloneForModifiedParameters(optimizer.getBestFitParameters());
+		QuotingConvention targetConvention = surface.getQuotingConvention();
 
-		return new OptimizationResult(calibratedModel,optimizer.getBestFitParameters(),optimizer.getIterations(),optimizer.getRootMeanSquaredError(),calibrationOutput);
+		forEachMaturity(t -> {
+			double[] currentStrikes = surface.getSmile(mats[t]).getStrikes();
+			int offset = smileOffsets[t];
+
+			try {
+				EuropeanOptionSmileByCOS newPricer = (EuropeanOptionSmileByCOS)pricer.getCloneWithModifiedParameters(mats[t], currentStrikes);
+				double[][] priceDerivatives = newPricer.getValueDerivatives(newModelFourier, characteristicFunctionDerivatives[t]);
+
+				// The derivative of the implied volatility is the derivative of the price divided by the vega
+				double[] vegas = null;
+				if(!targetConvention.equals(QuotingConvention.PRICE)) {
+					Function<Double, Double> valuePerStrike = getSmileValues(newModelFourier, mats[t], currentStrikes).get("valuePerStrike");
+
+					double[] currentModelPrices = new double[currentStrikes.length];
+					for(int i = 0; i<currentStrikes.length;i++) {
+						currentModelPrices[i] = valuePerStrike.apply(currentStrikes[i]);
+					}
+					double[] currentModelVolatilities = new double[currentStrikes.length];
+					convertToQuotingConvention(mats[t], currentStrikes, currentModelPrices, currentModelVolatilities, 0);
+
+					double forward = surface.getEquityForwardCurve().getDiscountFactor(mats[t]);
+					double payoffUnit = surface.getDiscountCurve().getDiscountFactor(mats[t]);
+					vegas = new double[currentStrikes.length];
+					for(int i = 0; i<currentStrikes.length;i++) {
+						if(targetConvention.equals(QuotingConvention.VOLATILITYLOGNORMAL)) {
+							vegas[i] = net.finmath.functions.AnalyticFormulas.blackScholesGeneralizedOptionVega(forward, currentModelVolatilities[i], mats[t], currentStrikes[i], payoffUnit);
+						}
+						else {
+							vegas[i] = net.finmath.functions.AnalyticFormulas.bachelierGeneralizedOptionVega(forward, currentModelVolatilities[i], mats[t], currentStrikes[i], payoffUnit);
+						}
+					}
+				}
+
+				for(int parameterIndex = 0; parameterIndex<parameters.length; parameterIndex++) {
+					for(int i = 0; i<currentStrikes.length;i++) {
+						double derivative = vegas == null ? priceDerivatives[parameterIndex][i] : priceDerivatives[parameterIndex][i] / vegas[i];
+						derivatives[parameterIndex][offset + i] = Double.isFinite(derivative) ? derivative : 0.0;
+					}
+				}
+			} catch (CalculationException e) {
+				throw new SolverException(e);
+			}
+		});
+
+		return true;
+	}
+
+	/**
+	 * Converts the prices of the options of a smile to the quoting convention of the surface (all options of the smile share the forward and the payoff unit).
+	 *
+	 * @param maturity The maturity of the smile.
+	 * @param strikes The strikes of the smile.
+	 * @param prices The prices of the options.
+	 * @param values Output value receiving the values in the quoting convention of the surface.
+	 * @param offset The index in values receiving the value of the first option.
+	 */
+	private void convertToQuotingConvention(double maturity, double[] strikes, double[] prices, double[] values, int offset) {
+		QuotingConvention targetConvention = surface.getQuotingConvention();
+
+		if(targetConvention.equals(QuotingConvention.VOLATILITYLOGNORMAL)) {
+			//we convert prices into lognormal volatilities
+			double forward = surface.getEquityForwardCurve().getDiscountFactor(maturity);
+			double payoffUnit = surface.getDiscountCurve().getDiscountFactor(maturity);
+			double[] volatilities = net.finmath.functions.AnalyticFormulas.blackScholesOptionImpliedVolatility(forward, maturity, strikes, payoffUnit, prices);
+			System.arraycopy(volatilities, 0, values, offset, strikes.length);
+		}else if(targetConvention.equals(QuotingConvention.VOLATILITYNORMAL)) {
+			//we convert prices into normal volatilities
+			double forward = surface.getEquityForwardCurve().getDiscountFactor(maturity);
+			double payoffUnit = surface.getDiscountCurve().getDiscountFactor(maturity);
+			for(int i = 0; i<strikes.length;i++) {
+				values[offset + i] = net.finmath.functions.AnalyticFormulas.bachelierOptionImpliedVolatility(forward, maturity, strikes[i], payoffUnit, prices[i]);
+			}
+		}else {
+			//just output the prices
+			System.arraycopy(prices, 0, values, offset, strikes.length);
+		}
+	}
+
+	/**
+	 * Performs a task for each maturity of the surface, concurrently if an executor is given.
+	 *
+	 * @param task The task receiving the index of the maturity.
+	 * @throws SolverException Thrown if a task fails.
+	 */
+	private void forEachMaturity(MaturityTask task) throws SolverException {
+		int numberOfMaturities = surface.getMaturities().length;
+
+		if(executor == null || numberOfMaturities <= 1) {
+			for(int t = 0; t<numberOfMaturities; t++) {
+				task.apply(t);
+			}
+			return;
+		}
+
+		List<Future<Void>> futures = new ArrayList<>(numberOfMaturities);
+		for(int t = 0; t<numberOfMaturities; t++) {
+			final int maturityIndex = t;
+			futures.add(executor.submit(() -> {
+				task.apply(maturityIndex);
+				return null;
+			}));
+		}
+		for(Future<Void> future : futures) {
+			try {
+				future.get();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SolverException(e);
+			}
+			catch (ExecutionException e) {
+				throw e.getCause() instanceof SolverException ? (SolverException)e.getCause() : new SolverException(e.getCause());
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface MaturityTask {
+		void apply(int maturityIndex) throws SolverException;
+	}
+
+	/**
+	 * Returns the valuation of the smile for a given maturity under the given model.
+	 *
+	 * @param modelFourier The model.
+	 * @param maturity The maturity of the smile.
+	 * @param strikes The strikes of the smile.
+	 * @return The result of {@link EuropeanOptionSmile#getValue(double, CharacteristicFunctionModel)}.
+	 * @throws CalculationException Thrown if the valuation fails.
+	 */
+	private Map<String, Function<Double, Double>> getSmileValues(CharacteristicFunctionModel modelFourier, double maturity, double[] strikes) throws CalculationException {
+		return pricer.getCloneWithModifiedParameters(maturity, strikes).getValue(0.0, modelFourier);
 	}
 
 	/**
@@ -189,8 +385,6 @@ public class CalibratedModel {
 		int numberOfMaturities = surface.getMaturities().length;
 		double mats[] = surface.getMaturities();
 
-		QuotingConvention targetConvention = surface.getQuotingConvention();
-
 		double value;
 		double targetValue;
 		double T;
@@ -203,44 +397,25 @@ public class CalibratedModel {
 			OptionSmileData currentSmile = surface.getSmile(mats[t]);
 			double[] currentStrikes = currentSmile.getStrikes();
 
-			EuropeanOptionSmile newPricer = pricer.getCloneWithModifiedParameters(mats[t],currentStrikes);
-
 			try {
-				Map<String, Function<Double, Double>> currentModelPrices = newPricer.getValue(0.0, newModelFourier);
+				Function<Double, Double> valuePerStrike = getSmileValues(newModelFourier, mats[t], currentStrikes).get("valuePerStrike");
+
+				double[] currentModelPrices = new double[currentStrikes.length];
+				for(int i = 0; i<currentStrikes.length;i++) {
+					currentModelPrices[i] = valuePerStrike.apply(currentStrikes[i]);
+				}
+				double[] currentModelValues = new double[currentStrikes.length];
+				convertToQuotingConvention(mats[t], currentStrikes, currentModelPrices, currentModelValues, 0);
 
 				for(int i = 0; i<currentStrikes.length;i++) {
 					K = currentStrikes[i];
 					targetValue = currentSmile.getOption(currentStrikes[i]).getValue();
-
-					if(targetConvention.equals(QuotingConvention.VOLATILITYLOGNORMAL)) {
-						//we convert prices into lognormal volatilities
-						double forward = surface.getEquityForwardCurve().getDiscountFactor(mats[t]);
-						double optionMaturity =mats[t];
-						double optionStrike = currentStrikes[i];
-						double payoffUnit = surface.getDiscountCurve().getDiscountFactor(mats[t]);
-						double optionValue = currentModelPrices.get("valuePerStrike").apply(optionStrike);//currentModelPrices.get(currentStrikes[i]);
-						value = net.finmath.functions.AnalyticFormulas.blackScholesOptionImpliedVolatility(forward, optionMaturity, optionStrike, payoffUnit, optionValue);
-
-
-					}else if(targetConvention.equals(QuotingConvention.VOLATILITYNORMAL)) {
-						//we convert prices into normal volatilities
-						double forward = surface.getEquityForwardCurve().getDiscountFactor(mats[t]);
-						double optionMaturity =mats[t];
-						double optionStrike = currentStrikes[i];
-						double payoffUnit = surface.getDiscountCurve().getDiscountFactor(mats[t]);
-						double optionValue = currentModelPrices.get("valuePerStrike").apply(optionStrike);//currentModelPrices.get(currentStrikes[i]);
-						value = net.finmath.functions.AnalyticFormulas.bachelierOptionImpliedVolatility(forward, optionMaturity, optionStrike, payoffUnit, optionValue);
-					}else {
-						//just output the prices
-						value = currentModelPrices.get("valuePerStrike").apply(currentStrikes[i]);//currentModelPrices.get(currentStrikes[i]);
-					}
+					value = currentModelValues[i];
 					calibrationOutput.add(K+ "\t" + T + "\t" + targetValue + "\t" + value+ "\t" + Math.pow(targetValue-value,2));
 				}
 			} catch (CalculationException e) {
 				e.printStackTrace();
 			}
-
-
 		}
 		return calibrationOutput;
 	}
@@ -1,5 +1,7 @@
 package net.finmath.fouriermethod.calibration.models;
 
+import net.finmath.fouriermethod.CharacteristicFunction;
+import net.finmath.fouriermethod.calibration.ScalarConstraint;
 import net.finmath.fouriermethod.calibration.ScalarParameterInformation;
 import net.finmath.fouriermethod.calibration.ScalarParameterInformationImplementation;
 import net.finmath.fouriermethod.calibration.Unconstrained;
@@ -119,6 +121,42 @@ public class CalibratableHestonModel implements  CalibratableProcess {
 				descriptor.getTheta(),descriptor.getKappa(),descriptor.getXi(),descriptor.getRho());
 	}
 
+	/**
+	 * Returns the derivatives of the characteristic function with respect to the parameters, using the analytic derivative
+	 * of the characteristic function with respect to the model parameters, see {@link HestonModel#getCharacteristicFunctionDerivative(double, double[])},
+	 * and the chain rule for the constraints (including the Feller constraint).
+	 */
+	@Override
+	public CharacteristicFunction[] getCharacteristicFunctionDerivatives(double[] parameters, double time) {
+		CalibratableHestonModel calibratedModel = getCloneForModifiedParameters(parameters);
+		HestonModel hestonModel = calibratedModel.getCharacteristicFunctionModel();
+
+		// Derivative of the model parameters (volatility, theta, kappa, xi, rho) with respect to the calibration parameters
+		ScalarParameterInformation[] parameterInformations = { volatilityInfo, thetaInfo, kappaInfo, xiInfo, rhoInfo };
+		double[][] modelParameterDerivatives = new double[parameters.length][5];
+		for(int i=0; i<parameterInformations.length; i++) {
+			if(parameterInformations[i].getIsParameterToCalibrate()) {
+				modelParameterDerivatives[i][i] = getDerivativeOfConstraint(parameterInformations[i].getConstraint(), parameters[i]);
+			}
+		}
+
+		double theta = thetaInfo.getIsParameterToCalibrate() == true ? thetaInfo.getConstraint().apply(parameters[1]) : descriptor.getTheta();
+		double kappa = calibratedModel.descriptor.getKappa();
+		double xi = calibratedModel.descriptor.getXi();
+		if(applyFellerConstraint && 2*kappa*theta < xi*xi) {
+			// theta = xi^2 / (2 kappa) + 1E-9
+			for(int i=0; i<parameters.length; i++) {
+				modelParameterDerivatives[i][1] = xi / kappa * modelParameterDerivatives[i][3] - xi*xi / (2 * kappa*kappa) * modelParameterDerivatives[i][2];
+			}
+		}
+
+		CharacteristicFunction[] derivatives = new CharacteristicFunction[parameters.length];
+		for(int i=0; i<parameters.length; i++) {
+			derivatives[i] = hestonModel.getCharacteristicFunctionDerivative(time, modelParameterDerivatives[i]);
+		}
+		return derivatives;
+	}
+
 	@Override
 	public double[] getParameterUpperBounds() {
 		return parameterUpperBounds;
@@ -129,6 +167,14 @@ public class CalibratableHestonModel implements  CalibratableProcess {
 		return parameterLowerBounds;
 	}
 
+	/*
+	 * The derivative of the (piecewise smooth) mapping of a constraint, calculated by central finite differences.
+	 */
+	private static double getDerivativeOfConstraint(ScalarConstraint constraint, double parameter) {
+		double shift = 1E-7 * (1 + Math.abs(parameter));
+		return (constraint.apply(parameter + shift) - constraint.apply(parameter - shift)) / (2 * shift);
+	}
+
 	private double[] extractUpperBounds() {
 		double[] upperBounds = new double[5];
 		double threshold = 1E6;
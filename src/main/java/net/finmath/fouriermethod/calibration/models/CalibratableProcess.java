@@ -1,5 +1,6 @@
 package net.finmath.fouriermethod.calibration.models;
 
+import net.finmath.fouriermethod.CharacteristicFunction;
 import net.finmath.fouriermethod.models.CharacteristicFunctionModel;
 import net.finmath.modelling.ModelDescriptor;
 
@@ -56,4 +57,19 @@ public interface CalibratableProcess {
 	 */
 	double[] getParameterUpperBounds();
 
+	/**
+	 * Returns the derivatives of the characteristic function (at a given time) of the model
+	 * <code>getCloneForModifiedParameters(parameters)</code> with respect to the parameters.
+	 * The derivatives allow the calibration to calculate the Jacobian of the model values without finite differences.
+	 *
+	 * The default implementation returns null, signaling that the derivatives are not available.
+	 *
+	 * @param parameters The parameters.
+	 * @param time The time of the characteristic function.
+	 * @return The derivatives of the characteristic function with respect to each parameter or null if not available.
+	 */
+	default CharacteristicFunction[] getCharacteristicFunctionDerivatives(double[] parameters, double time) {
+		return null;
+	}
+
 }
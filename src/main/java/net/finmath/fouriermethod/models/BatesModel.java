@@ -8,6 +8,7 @@ package net.finmath.fouriermethod.models;
 import org.apache.commons.math3.complex.Complex;
 
 import net.finmath.fouriermethod.CharacteristicFunction;
+import net.finmath.fouriermethod.ComplexArithmetic;
 
 /**
  * Implements the characteristic function of a Bates model.
@@ -303,6 +304,69 @@ public class BatesModel implements CharacteristicFunctionModel {
 
 				return characteristicFunction;
 			}
+
+			@Override
+			public void apply(double[] argumentsReal, double[] argumentsImaginary, double[] valuesReal, double[] valuesImaginary, int fromIndex, int toIndex) {
+				final double[] result = new double[2];
+				final double logOnePlusK = Math.log(1+k);
+				final double logInitialValueForward = Math.log(initialValue)+time*riskFreeRate;
+
+				for(int i=fromIndex; i<toIndex; i++) {
+					// iargument = i * argument
+					final double uRe = -argumentsImaginary[i];
+					final double uIm = argumentsReal[i];
+
+					// q = iargument^2 - iargument
+					final double qRe = uRe * uRe - uIm * uIm - uRe;
+					final double qIm = 2.0 * uRe * uIm - uIm;
+
+					// c = exp(q delta^2 / 2) * (1+k)^iargument - 1 - iargument k
+					ComplexArithmetic.exp(0.5*delta*delta * qRe + uRe * logOnePlusK, 0.5*delta*delta * qIm + uIm * logOnePlusK, result);
+					final double cRe = result[0] - 1 - k * uRe;
+					final double cIm = result[1] - k * uIm;
+
+					double characteristicFunctionRe = cRe * time*lambda[0] + uRe * logInitialValueForward - discountRate*time;
+					double characteristicFunctionIm = cIm * time*lambda[0] + uIm * logInitialValueForward;
+
+					for(int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
+						// d = iargument * rho * sigma - beta, p = q / 2 + c lambda
+						final double dRe = uRe * rho[factorIndex]*sigma[factorIndex] - beta[factorIndex];
+						final double dIm = uIm * rho[factorIndex]*sigma[factorIndex];
+						final double pRe = 0.5 * qRe + cRe * lambda[factorIndex+1];
+						final double pIm = 0.5 * qIm + cIm * lambda[factorIndex+1];
+						final double sigmaSquared = sigma[factorIndex]*sigma[factorIndex];
+
+						// gamma = sqrt(d^2 - 2 sigma^2 p)
+						ComplexArithmetic.sqrt(dRe * dRe - dIm * dIm - 2 * sigmaSquared * pRe, 2.0 * dRe * dIm - 2 * sigmaSquared * pIm, result);
+						final double gammaRe = result[0];
+						final double gammaIm = result[1];
+
+						// e = exp(-gamma * time)
+						ComplexArithmetic.exp(-gammaRe * time, -gammaIm * time, result);
+						final double eRe = result[0];
+						final double eIm = result[1];
+
+						// a = (d - gamma) (-alpha time / sigma^2) - (log((d - gamma) (e - 1) / gamma / 2 + e) + gamma time) 2 alpha / sigma^2
+						final double fRe = dRe - gammaRe;
+						final double fIm = dIm - gammaIm;
+						ComplexArithmetic.divide(fRe * (eRe - 1) - fIm * eIm, fRe * eIm + fIm * (eRe - 1), gammaRe, gammaIm, result);
+						ComplexArithmetic.log(0.5 * result[0] + eRe, 0.5 * result[1] + eIm, result);
+						final double aRe = fRe * (-alpha[factorIndex]*time)/sigmaSquared - (result[0] + gammaRe * time) * (2*alpha[factorIndex])/sigmaSquared;
+						final double aIm = fIm * (-alpha[factorIndex]*time)/sigmaSquared - (result[1] + gammaIm * time) * (2*alpha[factorIndex])/sigmaSquared;
+
+						// b = -2 p / (d + gamma (e + 1) / (e - 1))
+						ComplexArithmetic.divide(eRe + 1, eIm, eRe - 1, eIm, result);
+						ComplexArithmetic.divide(-2 * pRe, -2 * pIm, dRe + gammaRe * result[0] - gammaIm * result[1], dIm + gammaRe * result[1] + gammaIm * result[0], result);
+
+						characteristicFunctionRe += aRe + result[0] * volatility[factorIndex];
+						characteristicFunctionIm += aIm + result[1] * volatility[factorIndex];
+					}
+
+					ComplexArithmetic.exp(characteristicFunctionRe, characteristicFunctionIm, result);
+					valuesReal[i] = result[0];
+					valuesImaginary[i] = result[1];
+				}
+			}
 		};
 	}
 }
@@ -9,6 +9,7 @@ package net.finmath.fouriermethod.models;
 import org.apache.commons.math3.complex.Complex;
 
 import net.finmath.fouriermethod.CharacteristicFunction;
+import net.finmath.fouriermethod.ComplexArithmetic;
 import net.finmath.marketdata.model.curves.DiscountCurve;
 
 /**
@@ -62,15 +63,37 @@ public class BlackScholesModel implements CharacteristicFunctionModel {
 		final double logDiscountFactorForForward		= this.getLogDiscountFactorForForward(time);
 		final double logDiscountFactorForDiscounting	= this.getLogDiscountFactorForDiscounting(time);
 
-		return argument -> {
-			Complex iargument = argument.multiply(Complex.I);
-			return	iargument
-					.multiply(
-							iargument
-							.multiply(0.5*volatility*volatility*time)
-							.add(Math.log(initialValue)-0.5*volatility*volatility*time-logDiscountFactorForForward))
-					.add(logDiscountFactorForDiscounting)
-					.exp();
+		return new CharacteristicFunction() {
+			@Override
+			public Complex apply(Complex argument) {
+				Complex iargument = argument.multiply(Complex.I);
+				return	iargument
+						.multiply(
+								iargument
+								.multiply(0.5*volatility*volatility*time)
+								.add(Math.log(initialValue)-0.5*volatility*volatility*time-logDiscountFactorForForward))
+						.add(logDiscountFactorForDiscounting)
+						.exp();
+			}
+
+			@Override
+			public void apply(double[] argumentsReal, double[] argumentsImaginary, double[] valuesReal, double[] valuesImaginary, int fromIndex, int toIndex) {
+				final double[] result = new double[2];
+				final double halfVariance = 0.5*volatility*volatility*time;
+				final double drift = Math.log(initialValue)-0.5*volatility*volatility*time-logDiscountFactorForForward;
+				for(int i=fromIndex; i<toIndex; i++) {
+					// iargument = i * argument
+					final double uRe = -argumentsImaginary[i];
+					final double uIm = argumentsReal[i];
+
+					// iargument * (iargument * halfVariance + drift) + logDiscountFactorForDiscounting
+					final double innerRe = uRe * halfVariance + drift;
+					final double innerIm = uIm * halfVariance;
+					ComplexArithmetic.exp(uRe * innerRe - uIm * innerIm + logDiscountFactorForDiscounting, uRe * innerIm + uIm * innerRe, result);
+					valuesReal[i] = result[0];
+					valuesImaginary[i] = result[1];
+				}
+			}
 		};
 	}
 
@@ -11,6 +11,7 @@ import java.time.LocalDate;
 import org.apache.commons.math3.complex.Complex;
 
 import net.finmath.fouriermethod.CharacteristicFunction;
+import net.finmath.fouriermethod.ComplexArithmetic;
 import net.finmath.marketdata.model.curves.DiscountCurve;
 
 /**
@@ -185,6 +186,134 @@ public class HestonModel implements CharacteristicFunctionModel {
 
 				return a.add(b.multiply(volatility*volatility)).add(iargument.multiply(Math.log(initialValue) - logDiscountFactorForForward)).add(logDiscountFactorForDiscounting).exp();
 			}
+
+			@Override
+			public void apply(double[] argumentsReal, double[] argumentsImaginary, double[] valuesReal, double[] valuesImaginary, int fromIndex, int toIndex) {
+				final double[] result = new double[2];
+				final double logInitialValueForward = Math.log(initialValue) - logDiscountFactorForForward;
+				final double variance = volatility*volatility;
+				final double xiSquared = xi*xi;
+
+				for(int i=fromIndex; i<toIndex; i++) {
+					// iargument = i * argument
+					final double uRe = -argumentsImaginary[i];
+					final double uIm = argumentsReal[i];
+
+					// c = iargument * rho * xi - kappa, q = iargument^2 - iargument
+					final double cRe = uRe * rho * xi - kappa;
+					final double cIm = uIm * rho * xi;
+					final double qRe = uRe * uRe - uIm * uIm - uRe;
+					final double qIm = 2.0 * uRe * uIm - uIm;
+
+					// gamma = sqrt(c^2 - xi^2 q)
+					ComplexArithmetic.sqrt(cRe * cRe - cIm * cIm - xiSquared * qRe, 2.0 * cRe * cIm - xiSquared * qIm, result);
+					final double gammaRe = result[0];
+					final double gammaIm = result[1];
+
+					// e = exp(-gamma * time)
+					ComplexArithmetic.exp(-gammaRe * time, -gammaIm * time, result);
+					final double eRe = result[0];
+					final double eIm = result[1];
+
+					// a = (c - gamma) * (-theta kappa time / xi^2) - (log((c - gamma) (e - 1) / gamma / 2 + e) + gamma time) * 2 theta kappa / xi^2
+					final double dRe = cRe - gammaRe;
+					final double dIm = cIm - gammaIm;
+					ComplexArithmetic.divide(dRe * (eRe - 1) - dIm * eIm, dRe * eIm + dIm * (eRe - 1), gammaRe, gammaIm, result);
+					ComplexArithmetic.log(0.5 * result[0] + eRe, 0.5 * result[1] + eIm, result);
+					final double aRe = dRe * (-theta*kappa * time) / xiSquared - (result[0] + gammaRe * time) * (2 * theta*kappa) / xiSquared;
+					final double aIm = dIm * (-theta*kappa * time) / xiSquared - (result[1] + gammaIm * time) * (2 * theta*kappa) / xiSquared;
+
+					// b = -q / (c + gamma (e + 1) / (e - 1))
+					ComplexArithmetic.divide(eRe + 1, eIm, eRe - 1, eIm, result);
+					ComplexArithmetic.divide(-qRe, -qIm, cRe + gammaRe * result[0] - gammaIm * result[1], cIm + gammaRe * result[1] + gammaIm * result[0], result);
+					final double bRe = result[0];
+					final double bIm = result[1];
+
+					ComplexArithmetic.exp(
+							aRe + bRe * variance + uRe * logInitialValueForward + logDiscountFactorForDiscounting,
+							aIm + bIm * variance + uIm * logInitialValueForward,
+							result);
+					valuesReal[i] = result[0];
+					valuesImaginary[i] = result[1];
+				}
+			}
+		};
+	}
+
+	/**
+	 * Returns the derivative of the characteristic function {@link #apply(double)} with respect to the model parameters
+	 * \( (\sigma, \theta, \kappa, \xi, \rho) \) in a given direction, that is
+	 * \( \sum_{i} w_{i} \frac{\partial \phi}{\partial p_{i}} \).
+	 *
+	 * The derivative is calculated analytically from \( \log(\phi) = A + B \sigma^2 + \ldots \) by differentiating
+	 * the coefficients A and B. Since the valuation of European options by Fourier methods is linear in the characteristic function,
+	 * this function may be used to calculate the sensitivities of option values with respect to the model parameters.
+	 *
+	 * @param time The time.
+	 * @param direction The weights \( w = (w_{\sigma}, w_{\theta}, w_{\kappa}, w_{\xi}, w_{\rho}) \).
+	 * @return The derivative of the characteristic function in the given direction.
+	 */
+	public CharacteristicFunction getCharacteristicFunctionDerivative(final double time, final double[] direction) {
+		final CharacteristicFunction characteristicFunction = apply(time);
+
+		final double weightVolatility = direction[0];
+		final double weightTheta = direction[1];
+		final double weightKappa = direction[2];
+		final double weightXi = direction[3];
+		final double weightRho = direction[4];
+
+		final double variance = volatility*volatility;
+		final double xiSquared = xi*xi;
+
+		// K = theta kappa / xi^2 and its derivative
+		final double k = theta * kappa / xiSquared;
+		final double kDerivative = weightTheta * kappa / xiSquared + weightKappa * theta / xiSquared - weightXi * 2.0 * theta * kappa / (xiSquared * xi);
+
+		return new CharacteristicFunction() {
+			@Override
+			public Complex apply(Complex argument) {
+				Complex iargument = argument.multiply(Complex.I);
+
+				// c = iargument rho xi - kappa, q = iargument^2 - iargument
+				Complex c = iargument.multiply(rho * xi).subtract(kappa);
+				Complex cDerivative = iargument.multiply(weightRho * xi + weightXi * rho).subtract(weightKappa);
+				Complex q = iargument.multiply(iargument).subtract(iargument);
+
+				// gamma = sqrt(c^2 - xi^2 q)
+				Complex gamma = c.multiply(c).subtract(q.multiply(xiSquared)).sqrt();
+				Complex gammaDerivative = c.multiply(cDerivative).subtract(q.multiply(xi * weightXi)).divide(gamma);
+
+				// e = exp(-gamma time)
+				Complex e = gamma.multiply(-time).exp();
+				Complex eDerivative = e.multiply(gammaDerivative).multiply(-time);
+
+				// a = -K time d - 2 K (log(Q) + gamma time), with d = c - gamma, Q = d (e - 1) / (2 gamma) + e
+				Complex d = c.subtract(gamma);
+				Complex dDerivative = cDerivative.subtract(gammaDerivative);
+				Complex eMinusOne = e.subtract(1.0);
+				Complex quotient = d.multiply(eMinusOne).divide(gamma.multiply(2.0)).add(e);
+				Complex quotientDerivative = dDerivative.multiply(eMinusOne).add(d.multiply(eDerivative)).divide(gamma.multiply(2.0))
+						.subtract(d.multiply(eMinusOne).multiply(gammaDerivative).divide(gamma.multiply(gamma).multiply(2.0)))
+						.add(eDerivative);
+				Complex logQuotient = quotient.log();
+
+				Complex aDerivative = d.multiply(-kDerivative * time).subtract(dDerivative.multiply(k * time))
+						.subtract(logQuotient.add(gamma.multiply(time)).multiply(2.0 * kDerivative))
+						.subtract(quotientDerivative.divide(quotient).add(gammaDerivative.multiply(time)).multiply(2.0 * k));
+
+				// b = -q / D, with D = c + gamma R, R = (e + 1) / (e - 1)
+				Complex r = e.add(1.0).divide(eMinusOne);
+				Complex rDerivative = eDerivative.multiply(-2.0).divide(eMinusOne.multiply(eMinusOne));
+				Complex denominator = c.add(gamma.multiply(r));
+				Complex denominatorDerivative = cDerivative.add(gammaDerivative.multiply(r)).add(gamma.multiply(rDerivative));
+				Complex b = q.negate().divide(denominator);
+				Complex bDerivative = q.multiply(denominatorDerivative).divide(denominator.multiply(denominator));
+
+				// d phi = phi d log(phi)
+				Complex logDerivative = aDerivative.add(bDerivative.multiply(variance)).add(b.multiply(2.0 * volatility * weightVolatility));
+
+				return characteristicFunction.apply(argument).multiply(logDerivative);
+			}
 		};
 	}
 
@@ -0,0 +1,97 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+
+package net.finmath.fouriermethod.products;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.fouriermethod.models.CharacteristicFunctionModel;
+import net.finmath.modelling.Model;
+
+/**
+ * Base class for products valued by the COS method, see {@link COSMethod}.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public abstract class AbstractCOSProduct implements FourierTransformProduct {
+
+	/* (non-Javadoc)
+	 * @see net.finmath.fouriermethod.products.FourierTransformProduct#getValue(double, net.finmath.modelling.Model)
+	 */
+	@Override
+	public Double getValue(double evaluationTime, Model model) {
+		Double value = null;
+		try {
+			value = getValue((CharacteristicFunctionModel) model);
+		} catch (CalculationException e) {
+		}
+
+		return value;
+	}
+
+	/* (non-Javadoc)
+	 * @see net.finmath.fouriermethod.products.FourierTransformProduct#getValues(double, net.finmath.modelling.Model)
+	 */
+	@Override
+	public Map<String, Object> getValues(double evaluationTime, Model model) {
+		Map<String, Object>  result = new HashMap<>();
+
+		try {
+			double value = getValue((CharacteristicFunctionModel) model);
+			result.put("value", value);
+		} catch (CalculationException e) {
+			result.put("exception", e);
+		}
+
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see net.finmath.fouriermethod.products.FourierTransformProduct#getValue(net.finmath.fouriermethod.models.CharacteristicFunctionModel)
+	 */
+	@Override
+	public double getValue(CharacteristicFunctionModel model) throws CalculationException {
+		final COSMethod expansion;
+		try {
+			expansion = new COSMethod(model, getMaturity());
+		}
+		catch(IllegalArgumentException e) {
+			throw new CalculationException(e);
+		}
+		return getValue(expansion);
+	}
+
+	/**
+	 * Returns the value of this product given the COS expansion of the distribution of the underlying at its maturity.
+	 *
+	 * @param expansion The COS expansion of the distribution of the underlying at the maturity of this product.
+	 * @return The value of this product.
+	 */
+	public abstract double getValue(COSMethod expansion);
+
+	/**
+	 * The COS method evaluates the characteristic function on the real axis (and at -i for the put-call parity).
+	 *
+	 * @see net.finmath.fouriermethod.products.FourierTransformProduct#getIntegrationDomainImagLowerBound()
+	 */
+	@Override
+	public double getIntegrationDomainImagLowerBound() {
+		return 0;
+	}
+
+	/**
+	 * The COS method evaluates the characteristic function on the real axis (and at -i for the put-call parity).
+	 *
+	 * @see net.finmath.fouriermethod.products.FourierTransformProduct#getIntegrationDomainImagUpperBound()
+	 */
+	@Override
+	public double getIntegrationDomainImagUpperBound() {
+		return -1;
+	}
+}
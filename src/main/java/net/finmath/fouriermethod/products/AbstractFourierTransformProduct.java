@@ -8,15 +8,11 @@ package net.finmath.fouriermethod.products;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.DoubleUnaryOperator;
-
-import org.apache.commons.math3.complex.Complex;
+import java.util.stream.IntStream;
 
 import net.finmath.exception.CalculationException;
 import net.finmath.fouriermethod.CharacteristicFunction;
 import net.finmath.fouriermethod.models.CharacteristicFunctionModel;
-import net.finmath.integration.RealIntegral;
-import net.finmath.integration.SimpsonRealIntegrator;
 import net.finmath.modelling.Model;
 
 /**
@@ -26,6 +22,15 @@ import net.finmath.modelling.Model;
  */
 public abstract class AbstractFourierTransformProduct implements CharacteristicFunction, FourierTransformProduct {
 
+	private static final double	INTEGRATION_LOWER_BOUND		= -100.0;
+	private static final double	INTEGRATION_UPPER_BOUND		= 100.0;
+	private static final int	NUMBER_OF_EVALUATION_POINTS	= 20000;
+
+	/*
+	 * Number of integration nodes evaluated in one batch.
+	 */
+	private static final int	BLOCK_SIZE					= 1024;
+
 	/* (non-Javadoc)
 	 * @see net.finmath.fouriermethod.products.FourierTransformProduct#getValue(double, net.finmath.modelling.Model)
 	 */
@@ -66,14 +71,47 @@ public abstract class AbstractFourierTransformProduct implements CharacteristicF
 		CharacteristicFunction modelCF = model.apply(getMaturity());
 
 		final double lineOfIntegration = 0.5 * getIntegrationDomainImagUpperBound()+getIntegrationDomainImagLowerBound();
-		DoubleUnaryOperator integrand = real -> {
-			Complex z = new Complex(real,lineOfIntegration);
-			return modelCF.apply(z.negate()).multiply(this.apply(z)).getReal();
-		};
-
-		RealIntegral integrator = new SimpsonRealIntegrator(-100.0, 100.0, 20000, true);
 
-		return integrator.integrate(integrand) / 2.0 / Math.PI;
+		/*
+		 * Simpson's rule on [-100, 100] with 20000 evaluation points (as SimpsonRealIntegrator).
+		 * The integrand is evaluated in blocks using the primitive batch evaluation of the characteristic functions.
+		 */
+		final int numberOfIntervals = (int) ((NUMBER_OF_EVALUATION_POINTS-1) / 2.0);
+		final int numberOfNodes = 2 * numberOfIntervals + 1;
+		final double halfInterval = (INTEGRATION_UPPER_BOUND - INTEGRATION_LOWER_BOUND) / numberOfIntervals / 2.0;
+		final int numberOfBlocks = (numberOfNodes + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+		final double sum = IntStream.range(0, numberOfBlocks).parallel().mapToDouble(block -> {
+			final int firstNode = block * BLOCK_SIZE;
+			final int numberOfNodesInBlock = Math.min(BLOCK_SIZE, numberOfNodes - firstNode);
+			final double[] argumentReal = new double[numberOfNodesInBlock];
+			final double[] argumentImaginary = new double[numberOfNodesInBlock];
+			final double[] argumentNegatedReal = new double[numberOfNodesInBlock];
+			final double[] argumentNegatedImaginary = new double[numberOfNodesInBlock];
+			for(int i=0; i<numberOfNodesInBlock; i++) {
+				argumentReal[i] = INTEGRATION_LOWER_BOUND + (firstNode + i) * halfInterval;
+				argumentImaginary[i] = lineOfIntegration;
+				argumentNegatedReal[i] = -argumentReal[i];
+				argumentNegatedImaginary[i] = -lineOfIntegration;
+			}
+
+			final double[] modelValueReal = new double[numberOfNodesInBlock];
+			final double[] modelValueImaginary = new double[numberOfNodesInBlock];
+			final double[] productValueReal = new double[numberOfNodesInBlock];
+			final double[] productValueImaginary = new double[numberOfNodesInBlock];
+			modelCF.apply(argumentNegatedReal, argumentNegatedImaginary, modelValueReal, modelValueImaginary);
+			this.apply(argumentReal, argumentImaginary, productValueReal, productValueImaginary);
+
+			double sumOfBlock = 0.0;
+			for(int i=0; i<numberOfNodesInBlock; i++) {
+				final int node = firstNode + i;
+				final double weight = (node == 0 || node == numberOfNodes-1) ? 1.0 : (node % 2 == 1 ? 4.0 : 2.0);
+				sumOfBlock += weight * (modelValueReal[i] * productValueReal[i] - modelValueImaginary[i] * productValueImaginary[i]);
+			}
+			return sumOfBlock;
+		}).sum();
+
+		return sum * halfInterval / 3.0 / 2.0 / Math.PI;
 	}
 
 	/* (non-Javadoc)
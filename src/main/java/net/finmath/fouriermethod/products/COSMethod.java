@@ -0,0 +1,322 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+
+package net.finmath.fouriermethod.products;
+
+import java.util.Arrays;
+
+import net.finmath.fouriermethod.CharacteristicFunction;
+import net.finmath.fouriermethod.models.CharacteristicFunctionModel;
+
+/**
+ * Implements the valuation of European payoffs of a single asset via the COS method, that is, by a Fourier-cosine
+ * series expansion of the density of \( Y = \log(S(T)) \) on a truncated interval \( [a,b] \).
+ *
+ * Given the (discounted) characteristic function \( \phi \) of \( Y \), the value of a payoff \( V(Y) \) paid in T is
+ * \[
+ * 	\sum_{k=0}^{N-1}{}^{'} \mathrm{Re}\left( \phi(u_{k}) e^{-i u_{k} a} \right) V_{k}, \quad u_{k} = \frac{k \pi}{b-a},
+ * \]
+ * where \( V_{k} \) are the cosine coefficients of the payoff on \( [a,b] \) (available in closed form for puts, calls and digitals)
+ * and the first term is weighted by one half.
+ *
+ * The characteristic function is evaluated once (in the constructor), such that the valuation of each additional strike
+ * only requires O(N) real arithmetic. The method is adaptive in two ways:
+ * <ul>
+ * 	<li>The truncation interval is determined from the cumulants \( c_{1}, c_{2}, c_{4} \) of \( Y \) as
+ * 		\( c_{1} \pm L \sqrt{c_{2} + \sqrt{|c_{4}|}} \), where the cumulants are obtained by numerical differentiation
+ * 		of the cumulant generating function \( s \mapsto \log(\phi(-i s) / \phi(0)) \). Hence the method applies to any model.</li>
+ * 	<li>The number of terms N is increased (in blocks) until the characteristic function has decayed below the given tolerance (relative to the discount factor),
+ * 		or the maximum number of terms is reached.</li>
+ * </ul>
+ *
+ * Calls are valued as puts using the put-call parity, since the cosine coefficients of the put payoff are bounded
+ * (see F. Fang, C. W. Oosterlee: A novel pricing method for European options based on Fourier-cosine series expansions, 2008).
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class COSMethod {
+
+	private static final double	DEFAULT_TRUNCATION_WIDTH		= 10.0;
+	private static final int	DEFAULT_MAXIMUM_NUMBER_OF_TERMS	= 4096;
+	private static final double	DEFAULT_TOLERANCE				= 1E-12;
+
+	/*
+	 * Number of terms added in one step of the adaptive expansion.
+	 */
+	private static final int	BLOCK_SIZE						= 64;
+
+	/*
+	 * Step size used in the numerical differentiation of the cumulant generating function.
+	 */
+	private static final double	CUMULANT_STEP					= 0.05;
+
+	private final double truncationLowerBound;
+	private final double truncationUpperBound;
+
+	// Re( phi(u_k) exp(-i u_k a) ), the first term is weighted by 1/2
+	private final double[] coefficients;
+
+	private final double discountFactor;
+	private final double discountedForward;
+
+	/**
+	 * Create the COS expansion of the distribution of \( \log(S(T)) \) under a given model.
+	 *
+	 * @param model The model.
+	 * @param maturity The maturity T.
+	 * @param truncationWidth The number L of "standard deviations" used for the truncation interval.
+	 * @param maximumNumberOfTerms The maximum number of terms N of the expansion.
+	 * @param tolerance The tolerance for the decay of the characteristic function (relative to the discount factor) determining the number of terms.
+	 */
+	public COSMethod(CharacteristicFunctionModel model, double maturity, double truncationWidth, int maximumNumberOfTerms, double tolerance) {
+		super();
+		final CharacteristicFunction characteristicFunction = model.apply(maturity);
+
+		/*
+		 * The discount factor and the discounted forward: phi(0) and phi(-i), as well as
+		 * the values phi(-i s) of the moment generating function for the cumulants.
+		 */
+		final double h = CUMULANT_STEP;
+		final double[] argumentsReal = new double[6];
+		final double[] argumentsImaginary = { 0.0, -1.0, -2 * h, -h, h, 2 * h };
+		final double[] valuesReal = new double[argumentsReal.length];
+		final double[] valuesImaginary = new double[argumentsReal.length];
+		characteristicFunction.apply(argumentsReal, argumentsImaginary, valuesReal, valuesImaginary);
+
+		discountFactor = valuesReal[0];
+		discountedForward = valuesReal[1];
+
+		// Cumulant generating function at 2h, h, -h, -2h (it is 0 at 0)
+		final double cumulantGeneratingFunctionPlus2h = Math.log(valuesReal[2] / discountFactor);
+		final double cumulantGeneratingFunctionPlus1h = Math.log(valuesReal[3] / discountFactor);
+		final double cumulantGeneratingFunctionMinus1h = Math.log(valuesReal[4] / discountFactor);
+		final double cumulantGeneratingFunctionMinus2h = Math.log(valuesReal[5] / discountFactor);
+
+		final double cumulant1 = (cumulantGeneratingFunctionPlus1h - cumulantGeneratingFunctionMinus1h) / (2 * h);
+		final double cumulant2 = (cumulantGeneratingFunctionPlus1h + cumulantGeneratingFunctionMinus1h) / (h * h);
+		double cumulant4 = (cumulantGeneratingFunctionPlus2h - 4 * cumulantGeneratingFunctionPlus1h - 4 * cumulantGeneratingFunctionMinus1h + cumulantGeneratingFunctionMinus2h) / (h * h * h * h);
+		if(!(cumulant2 > 0) || Double.isInfinite(cumulant2) || Double.isNaN(cumulant1)) {
+			throw new IllegalArgumentException("Unable to determine the cumulants of the distribution of the log of the underlying (the moment generating function may not exist).");
+		}
+		if(Double.isNaN(cumulant4) || Double.isInfinite(cumulant4)) {
+			cumulant4 = 0.0;
+		}
+
+		final double halfWidth = truncationWidth * Math.sqrt(cumulant2 + Math.sqrt(Math.abs(cumulant4)));
+		truncationLowerBound = cumulant1 - halfWidth;
+		truncationUpperBound = cumulant1 + halfWidth;
+
+		/*
+		 * Evaluate the characteristic function in blocks until it has decayed.
+		 */
+		final double frequency = Math.PI / (truncationUpperBound - truncationLowerBound);
+		final double[] coefficients = new double[maximumNumberOfTerms];
+		int numberOfTerms = 0;
+		while(numberOfTerms < maximumNumberOfTerms) {
+			final int numberOfTermsInBlock = Math.min(BLOCK_SIZE, maximumNumberOfTerms - numberOfTerms);
+			final double[] blockArgumentsReal = new double[numberOfTermsInBlock];
+			final double[] blockArgumentsImaginary = new double[numberOfTermsInBlock];
+			final double[] blockValuesReal = new double[numberOfTermsInBlock];
+			final double[] blockValuesImaginary = new double[numberOfTermsInBlock];
+			for(int i=0; i<numberOfTermsInBlock; i++) {
+				blockArgumentsReal[i] = (numberOfTerms + i) * frequency;
+			}
+			characteristicFunction.apply(blockArgumentsReal, blockArgumentsImaginary, blockValuesReal, blockValuesImaginary);
+
+			double maximumAbsoluteValue = 0.0;
+			for(int i=0; i<numberOfTermsInBlock; i++) {
+				final double phase = -blockArgumentsReal[i] * truncationLowerBound;
+				coefficients[numberOfTerms + i] = blockValuesReal[i] * Math.cos(phase) - blockValuesImaginary[i] * Math.sin(phase);
+				maximumAbsoluteValue = Math.max(maximumAbsoluteValue, Math.hypot(blockValuesReal[i], blockValuesImaginary[i]));
+			}
+			numberOfTerms += numberOfTermsInBlock;
+
+			if(maximumAbsoluteValue <= tolerance * Math.abs(discountFactor)) {
+				break;
+			}
+		}
+		coefficients[0] *= 0.5;
+
+		this.coefficients = Arrays.copyOf(coefficients, numberOfTerms);
+	}
+
+	/**
+	 * Create the COS expansion of the distribution of \( \log(S(T)) \) under a given model,
+	 * using a truncation width of 10, at most 4096 terms and a tolerance of 1E-12.
+	 *
+	 * @param model The model.
+	 * @param maturity The maturity T.
+	 */
+	public COSMethod(CharacteristicFunctionModel model, double maturity) {
+		this(model, maturity, DEFAULT_TRUNCATION_WIDTH, DEFAULT_MAXIMUM_NUMBER_OF_TERMS, DEFAULT_TOLERANCE);
+	}
+
+	private COSMethod(double truncationLowerBound, double truncationUpperBound, double[] coefficients, double discountFactor, double discountedForward) {
+		super();
+		this.truncationLowerBound = truncationLowerBound;
+		this.truncationUpperBound = truncationUpperBound;
+		this.coefficients = coefficients;
+		this.discountFactor = discountFactor;
+		this.discountedForward = discountedForward;
+	}
+
+	/**
+	 * Returns the expansion of a derivative of the characteristic function (e.g., with respect to a model parameter),
+	 * using the truncation interval and the number of terms of this expansion.
+	 *
+	 * Since the values are linear in the characteristic function, the values calculated by the returned object
+	 * (e.g. {@link #getCallValue(double)}) are the derivatives of the corresponding values of this object.
+	 *
+	 * @param characteristicFunctionDerivative The derivative of the characteristic function.
+	 * @return The expansion of the derivative of the characteristic function.
+	 */
+	public COSMethod getDerivative(CharacteristicFunction characteristicFunctionDerivative) {
+		final int numberOfTerms = coefficients.length;
+		final double frequency = Math.PI / (truncationUpperBound - truncationLowerBound);
+
+		// The derivative at u_k for k = 0,...,N-1, at 0 and at -i
+		final double[] argumentsReal = new double[numberOfTerms + 2];
+		final double[] argumentsImaginary = new double[numberOfTerms + 2];
+		for(int k=0; k<numberOfTerms; k++) {
+			argumentsReal[k] = k * frequency;
+		}
+		argumentsImaginary[numberOfTerms + 1] = -1.0;
+		final double[] valuesReal = new double[argumentsReal.length];
+		final double[] valuesImaginary = new double[argumentsReal.length];
+		characteristicFunctionDerivative.apply(argumentsReal, argumentsImaginary, valuesReal, valuesImaginary);
+
+		final double[] coefficientsOfDerivative = new double[numberOfTerms];
+		for(int k=0; k<numberOfTerms; k++) {
+			final double phase = -argumentsReal[k] * truncationLowerBound;
+			coefficientsOfDerivative[k] = valuesReal[k] * Math.cos(phase) - valuesImaginary[k] * Math.sin(phase);
+		}
+		coefficientsOfDerivative[0] *= 0.5;
+
+		return new COSMethod(truncationLowerBound, truncationUpperBound, coefficientsOfDerivative, valuesReal[numberOfTerms], valuesReal[numberOfTerms + 1]);
+	}
+
+	/**
+	 * Returns the value of a European put option paying max(K - S(T), 0) in T.
+	 *
+	 * @param strike The strike K.
+	 * @return The value of the put option.
+	 */
+	public double getPutValue(double strike) {
+		final double a = truncationLowerBound;
+		final double logStrike = Math.log(strike);
+		if(logStrike <= a) {
+			return 0.0;
+		}
+		final double c = Math.min(logStrike, truncationUpperBound);
+		final double length = truncationUpperBound - truncationLowerBound;
+		final double frequency = Math.PI / length;
+		final double expA = Math.exp(a);
+		final double expC = Math.exp(c);
+
+		// cos(k theta) and sin(k theta) by rotation
+		final double cosTheta = Math.cos(frequency * (c - a));
+		final double sinTheta = Math.sin(frequency * (c - a));
+		double cosKTheta = 1.0;
+		double sinKTheta = 0.0;
+
+		// k = 0: chi = exp(c) - exp(a), psi = c - a
+		double value = coefficients[0] * (strike * (c - a) - (expC - expA));
+		for(int k=1; k<coefficients.length; k++) {
+			final double cosKThetaNext = cosKTheta * cosTheta - sinKTheta * sinTheta;
+			sinKTheta = sinKTheta * cosTheta + cosKTheta * sinTheta;
+			cosKTheta = cosKThetaNext;
+
+			final double u = k * frequency;
+			final double chi = ((cosKTheta + u * sinKTheta) * expC - expA) / (1.0 + u * u);
+			final double psi = sinKTheta / u;
+			value += coefficients[k] * (strike * psi - chi);
+		}
+
+		return value * 2.0 / length;
+	}
+
+	/**
+	 * Returns the value of a European call option paying max(S(T) - K, 0) in T,
+	 * calculated from the value of the put option by the put-call parity.
+	 *
+	 * @param strike The strike K.
+	 * @return The value of the call option.
+	 */
+	public double getCallValue(double strike) {
+		return getPutValue(strike) + discountedForward - strike * discountFactor;
+	}
+
+	/**
+	 * Returns the values of European call options for a ladder of strikes.
+	 *
+	 * @param strikes The strikes.
+	 * @return The values of the call options.
+	 */
+	public double[] getCallValues(double[] strikes) {
+		final double[] values = new double[strikes.length];
+		for(int i=0; i<strikes.length; i++) {
+			values[i] = getCallValue(strikes[i]);
+		}
+		return values;
+	}
+
+	/**
+	 * Returns the value of a digital option paying 1 if S(T) &gt; K in T.
+	 *
+	 * @param strike The strike K.
+	 * @return The value of the digital option.
+	 */
+	public double getDigitalValue(double strike) {
+		final double a = truncationLowerBound;
+		final double logStrike = Math.log(strike);
+		if(logStrike >= truncationUpperBound) {
+			return 0.0;
+		}
+		final double c = Math.max(logStrike, a);
+		final double length = truncationUpperBound - truncationLowerBound;
+		final double frequency = Math.PI / length;
+
+		final double cosTheta = Math.cos(frequency * (c - a));
+		final double sinTheta = Math.sin(frequency * (c - a));
+		double cosKTheta = 1.0;
+		double sinKTheta = 0.0;
+
+		// k = 0: psi = b - c
+		double value = coefficients[0] * (truncationUpperBound - c);
+		for(int k=1; k<coefficients.length; k++) {
+			final double cosKThetaNext = cosKTheta * cosTheta - sinKTheta * sinTheta;
+			sinKTheta = sinKTheta * cosTheta + cosKTheta * sinTheta;
+			cosKTheta = cosKThetaNext;
+
+			// psi = (sin(k pi) - sin(k theta)) / u
+			value -= coefficients[k] * sinKTheta / (k * frequency);
+		}
+
+		return value * 2.0 / length;
+	}
+
+	/**
+	 * @return The lower bound a of the truncation interval of log(S(T)).
+	 */
+	public double getTruncationLowerBound() {
+		return truncationLowerBound;
+	}
+
+	/**
+	 * @return The upper bound b of the truncation interval of log(S(T)).
+	 */
+	public double getTruncationUpperBound() {
+		return truncationUpperBound;
+	}
+
+	/**
+	 * @return The number of terms N of the expansion.
+	 */
+	public int getNumberOfTerms() {
+		return coefficients.length;
+	}
+}
@@ -7,6 +7,8 @@ package net.finmath.fouriermethod.products;
 
 import org.apache.commons.math3.complex.Complex;
 
+import net.finmath.fouriermethod.ComplexArithmetic;
+
 /**
  * Implements valuation of a European option on a single asset.
  *
@@ -55,6 +57,22 @@ public class EuropeanOption extends AbstractFourierTransformProduct {
 		return numerator.divide(denominator).negate();
 	}
 
+	@Override
+	public void apply(double[] argumentsReal, double[] argumentsImaginary, double[] valuesReal, double[] valuesImaginary, int fromIndex, int toIndex) {
+		final double[] result = new double[2];
+		final double logStrike = Math.log(strike);
+		for(int i=fromIndex; i<toIndex; i++) {
+			final double zRe = argumentsReal[i];
+			final double zIm = argumentsImaginary[i];
+
+			// numerator = strike^(i z + 1), denominator = z^2 - i z
+			ComplexArithmetic.exp((1 - zIm) * logStrike, zRe * logStrike, result);
+			ComplexArithmetic.divide(-result[0], -result[1], zRe * zRe - zIm * zIm + zIm, 2 * zRe * zIm - zRe, result);
+			valuesReal[i] = result[0];
+			valuesImaginary[i] = result[1];
+		}
+	}
+
 	@Override
 	public double getMaturity() {
 		return maturity;
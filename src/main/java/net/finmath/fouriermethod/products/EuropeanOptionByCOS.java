@@ -0,0 +1,53 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+
+package net.finmath.fouriermethod.products;
+
+/**
+ * Implements valuation of a European option on a single asset using the COS method, see {@link COSMethod}.
+ *
+ * Given a model for an asset <i>S</i>, the option with strike <i>K</i>, maturity <i>T</i>
+ * pays
+ * <br>
+ * 	<i>max(S(T) - K, 0)</i> in <i>T</i>
+ * <br>
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class EuropeanOptionByCOS extends AbstractCOSProduct {
+
+	private final double maturity;
+	private final double strike;
+
+	/**
+	 * Construct a product representing a European option on an asset S (where S the asset with index 0 from the model - single asset case).
+	 * @param maturity The maturity T in the option payoff max(S(T) - K, 0)
+	 * @param strike The strike K in the option payoff max(S(T) - K, 0).
+	 */
+	public EuropeanOptionByCOS(double maturity, double strike) {
+		super();
+		this.maturity	= maturity;
+		this.strike		= strike;
+	}
+
+	@Override
+	public double getValue(COSMethod expansion) {
+		return expansion.getCallValue(strike);
+	}
+
+	@Override
+	public double getMaturity() {
+		return maturity;
+	}
+
+	/**
+	 * @return The strike K.
+	 */
+	public double getStrike() {
+		return strike;
+	}
+}
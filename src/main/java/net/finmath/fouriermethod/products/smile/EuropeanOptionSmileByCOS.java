@@ -0,0 +1,130 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+
+package net.finmath.fouriermethod.products.smile;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.fouriermethod.CharacteristicFunction;
+import net.finmath.fouriermethod.models.CharacteristicFunctionModel;
+import net.finmath.fouriermethod.products.COSMethod;
+
+/**
+ * This class computes the prices of a collection of call options for a fixed maturity and a family of strikes
+ * using the COS method of Fang and Oosterlee (2008), see {@link COSMethod}.
+ *
+ * The characteristic function is evaluated once per valuation (the number of evaluations is determined adaptively
+ * and is usually much smaller than for the FFT of {@link EuropeanOptionSmileByCarrMadan}). The values of the options
+ * for the strikes of this smile are calculated in the valuation, the value for any other strike is calculated from the same expansion
+ * (without interpolation).
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class EuropeanOptionSmileByCOS extends EuropeanOptionSmile {
+
+	private final double truncationWidth;
+	private final int maximumNumberOfTerms;
+	private final double tolerance;
+
+	/**
+	 * Create the valuation of a smile by the COS method.
+	 *
+	 * @param underlyingName The name of the underlying.
+	 * @param maturity The maturity.
+	 * @param strikes The strikes.
+	 * @param truncationWidth The number L of "standard deviations" used for the truncation interval, see {@link COSMethod}.
+	 * @param maximumNumberOfTerms The maximum number of terms of the expansion.
+	 * @param tolerance The tolerance for the decay of the characteristic function determining the number of terms.
+	 */
+	public EuropeanOptionSmileByCOS(String underlyingName, double maturity, double[] strikes, double truncationWidth, int maximumNumberOfTerms, double tolerance) {
+		super(underlyingName, maturity, strikes);
+		this.truncationWidth = truncationWidth;
+		this.maximumNumberOfTerms = maximumNumberOfTerms;
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * Create the valuation of a smile by the COS method,
+	 * using a truncation width of 10, at most 4096 terms and a tolerance of 1E-12.
+	 *
+	 * @param underlyingName The name of the underlying.
+	 * @param maturity The maturity.
+	 * @param strikes The strikes.
+	 */
+	public EuropeanOptionSmileByCOS(String underlyingName, double maturity, double[] strikes) {
+		this(underlyingName, maturity, strikes, 10.0, 4096, 1E-12);
+	}
+
+	/**
+	 * Create the valuation of a smile by the COS method,
+	 * using a truncation width of 10, at most 4096 terms and a tolerance of 1E-12.
+	 *
+	 * @param maturity The maturity.
+	 * @param strikes The strikes.
+	 */
+	public EuropeanOptionSmileByCOS(double maturity, double[] strikes) {
+		this(null, maturity, strikes);
+	}
+
+	@Override
+	public Map<String, Function<Double, Double>> getValue(double evaluationTime, CharacteristicFunctionModel model) throws CalculationException {
+
+		final COSMethod expansion = getExpansion(model);
+
+		final double[] strikes = getStrikes();
+		final double[] values = expansion.getCallValues(strikes);
+		final Map<Double, Double> valuePerStrikeOfSmile = new HashMap<>();
+		for(int i=0; i<strikes.length; i++) {
+			valuePerStrikeOfSmile.put(strikes[i], values[i]);
+		}
+
+		final Function<Double, Double> strikeToPrice = strike -> {
+			final Double value = valuePerStrikeOfSmile.get(strike);
+			return value != null ? value : expansion.getCallValue(strike);
+		};
+
+		HashMap<String, Function<Double, Double>> results = new HashMap<String, Function<Double, Double>>();
+		results.put("valuePerStrike", strikeToPrice);
+		return results;
+	}
+
+	/**
+	 * Returns the derivatives of the values of the options of this smile (for the strikes {@link #getStrikes()})
+	 * with respect to the parameters of the model, given the derivatives of the characteristic function.
+	 *
+	 * @param model The model.
+	 * @param characteristicFunctionDerivatives The derivatives of the characteristic function <code>model.apply(getMaturity())</code> with respect to the parameters.
+	 * @return The derivatives, where derivatives[i][j] is the derivative of the value for strike j with respect to parameter i.
+	 * @throws CalculationException Thrown if the valuation failed.
+	 */
+	public double[][] getValueDerivatives(CharacteristicFunctionModel model, CharacteristicFunction[] characteristicFunctionDerivatives) throws CalculationException {
+		final COSMethod expansion = getExpansion(model);
+
+		final double[][] derivatives = new double[characteristicFunctionDerivatives.length][];
+		for(int i=0; i<characteristicFunctionDerivatives.length; i++) {
+			derivatives[i] = expansion.getDerivative(characteristicFunctionDerivatives[i]).getCallValues(getStrikes());
+		}
+		return derivatives;
+	}
+
+	private COSMethod getExpansion(CharacteristicFunctionModel model) throws CalculationException {
+		try {
+			return new COSMethod(model, getMaturity(), truncationWidth, maximumNumberOfTerms, tolerance);
+		}
+		catch(IllegalArgumentException e) {
+			throw new CalculationException(e);
+		}
+	}
+
+	@Override
+	public EuropeanOptionSmile getCloneWithModifiedParameters(double maturity, double[] strikes) {
+		return new EuropeanOptionSmileByCOS(getUnderlyingName(), maturity, strikes, truncationWidth, maximumNumberOfTerms, tolerance);
+	}
+}
@@ -11,6 +11,7 @@ import org.apache.commons.math3.transform.TransformType;
 
 import net.finmath.exception.CalculationException;
 import net.finmath.fouriermethod.CharacteristicFunction;
+import net.finmath.fouriermethod.ComplexArithmetic;
 import net.finmath.fouriermethod.models.CharacteristicFunctionModel;
 import net.finmath.interpolation.RationalFunctionInterpolation;
 import net.finmath.interpolation.RationalFunctionInterpolation.ExtrapolationMethod;
@@ -83,21 +84,33 @@ public class EuropeanOptionSmileByCarrMadan extends EuropeanOptionSmile{
 		double lambda = 2*Math.PI/(numberOfPoints*gridSpacing); //Equation 23 Carr and Madan
 		double upperBound = (numberOfPoints * lambda)/2.0; //Equation 20 Carr and Madan
 
-		Complex[] integrandEvaluations = new Complex[numberOfPoints];
-
+		/*
+		 * Evaluate the characteristic function at z - i for all grid points in one batch (using primitive complex arithmetic),
+		 * where z = u - i * lineOfIntegration.
+		 */
+		final double[] argumentsReal = new double[numberOfPoints];
+		final double[] argumentsImaginary = new double[numberOfPoints];
 		for(int i = 0; i<numberOfPoints; i++) {
+			argumentsReal[i] = gridSpacing * i;
+			argumentsImaginary[i] = -lineOfIntegration - 1.0;
+		}
 
-			double u = gridSpacing * i;
+		//The characteristic function is already discounted
+		final double[] integrandReal = new double[numberOfPoints];
+		final double[] integrandImaginary = new double[numberOfPoints];
+		modelCF.apply(argumentsReal, argumentsImaginary, integrandReal, integrandImaginary);
 
-			//Integration over a line parallel to the real axis
-			Complex z = new Complex(u,-lineOfIntegration);
+		final double[] ratio = new double[2];
+		final double[] phase = new double[2];
+		for(int i = 0; i<numberOfPoints; i++) {
 
-			//The characteristic function is already discounted
-			Complex numerator = modelCF.apply(z.subtract(Complex.I));
+			double u = gridSpacing * i;
 
-			Complex denominator = apply(z);
-			Complex ratio = numerator.divide(denominator);
-			ratio = (ratio.multiply(((Complex.I).multiply(upperBound*u)).exp())).multiply(gridSpacing);
+			//Integration over a line parallel to the real axis: denominator = -(z - i) z
+			final double zImaginary = -lineOfIntegration;
+			final double denominatorReal = -(u * u - zImaginary * zImaginary + zImaginary);
+			final double denominatorImaginary = -(u * (2.0 * zImaginary - 1.0));
+			ComplexArithmetic.divide(integrandReal[i], integrandImaginary[i], denominatorReal, denominatorImaginary, ratio);
 
 			double delta;
 			if (i==0){
@@ -107,13 +120,13 @@ public class EuropeanOptionSmileByCarrMadan extends EuropeanOptionSmile{
 			}
 			double simpsonWeight = (3+Math.pow(-1,i+1)-delta)/3;
 
-			integrandEvaluations[i] = ratio.multiply(simpsonWeight);
+			ComplexArithmetic.exp(0.0, upperBound*u, phase);
+			integrandReal[i] = (ratio[0] * phase[0] - ratio[1] * phase[1]) * gridSpacing * simpsonWeight;
+			integrandImaginary[i] = (ratio[0] * phase[1] + ratio[1] * phase[0]) * gridSpacing * simpsonWeight;
 		}
 
-		//Compute the FFT
-		Complex[] transformedVector = new Complex[numberOfPoints];
-		FastFourierTransformer fft=new FastFourierTransformer(DftNormalization.STANDARD);
-		transformedVector=	fft.transform(integrandEvaluations,TransformType.FORWARD);
+		//Compute the FFT (in place)
+		FastFourierTransformer.transformInPlace(new double[][] { integrandReal, integrandImaginary }, DftNormalization.STANDARD, TransformType.FORWARD);
 
 		//Find relevant prices via interpolation
 		double[] logStrikeVector = new double[numberOfPoints];
@@ -123,7 +136,7 @@ public class EuropeanOptionSmileByCarrMadan extends EuropeanOptionSmile{
 		for(int j = 0; j<numberOfPoints; j++) {
 			logStrikeVector[j] = -upperBound+lambda*j;
 			strikeVector[j] = Math.exp(logStrikeVector[j]);
-			optionPriceVector[j] = (transformedVector[j].multiply(Math.exp(-lineOfIntegration * logStrikeVector[j]))).getReal()/Math.PI;
+			optionPriceVector[j] = integrandReal[j] * Math.exp(-lineOfIntegration * logStrikeVector[j]) / Math.PI;
 		}
 
 		RationalFunctionInterpolation interpolation = new RationalFunctionInterpolation(strikeVector, optionPriceVector,intMethod, extMethod);
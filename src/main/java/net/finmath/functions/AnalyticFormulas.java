@@ -511,6 +511,60 @@ public class AnalyticFormulas {
 			double optionStrike,
 			double payoffUnit,
 			double optionValue)
+	{
+		return blackScholesOptionImpliedVolatility(forward, optionMaturity, optionStrike, payoffUnit, optionValue, 0.0);
+	}
+
+	/**
+	 * Calculates the Black-Scholes option implied volatilities of calls sharing the same forward, maturity and payoff unit (e.g. a smile),
+	 * see {@link #blackScholesOptionImpliedVolatility(double, double, double, double, double)}.
+	 *
+	 * In addition to the termination criteria of the scalar method, the Newton iteration of each strike terminates once the
+	 * relative change of the volatility falls below 1E-14, since the absolute accuracy of 1E-15 of the option value
+	 * is often not attainable in floating point arithmetic (in which case the scalar method performs the maximum number of iterations).
+	 * Hence the results may differ from those of the scalar method by up to this relative step, i.e., by a relative difference of about 1E-14.
+	 *
+	 * @param forward The forward of the underlying (which is equal to S(0) / payoffUnit, given the spot value S(0)).
+	 * @param optionMaturity The option maturity T.
+	 * @param optionStrikes The option strikes.
+	 * @param payoffUnit The payoff unit (e.g., the discount factor), (which is equal to exp(-maturity * r), given the interest rate r).
+	 * @param optionValues The option values (one for each strike).
+	 * @return Returns the implied volatilities of the European call options under the Black-Scholes model.
+	 */
+	public static double[] blackScholesOptionImpliedVolatility(
+			double forward,
+			double optionMaturity,
+			double[] optionStrikes,
+			double payoffUnit,
+			double[] optionValues)
+	{
+		double[] impliedVolatilities = new double[optionStrikes.length];
+		for(int i=0; i<optionStrikes.length; i++) {
+			impliedVolatilities[i] = blackScholesOptionImpliedVolatility(forward, optionMaturity, optionStrikes[i], payoffUnit, optionValues[i], 1E-14);
+		}
+
+		return impliedVolatilities;
+	}
+
+	/**
+	 * Calculates the Black-Scholes option implied volatility of a call by Newton's method,
+	 * see {@link #blackScholesOptionImpliedVolatility(double, double, double, double, double)}.
+	 *
+	 * @param forward The forward of the underlying.
+	 * @param optionMaturity The option maturity T.
+	 * @param optionStrike The option strike.
+	 * @param payoffUnit The payoff unit.
+	 * @param optionValue The option value.
+	 * @param minRelativeStepSize If positive, the iteration terminates once the relative change of the volatility is below this value.
+	 * @return Returns the implied volatility of a European call option under the Black-Scholes model.
+	 */
+	private static double blackScholesOptionImpliedVolatility(
+			double forward,
+			double optionMaturity,
+			double optionStrike,
+			double payoffUnit,
+			double optionValue,
+			double minRelativeStepSize)
 	{
 		// Limit the maximum number of iterations, to ensure this calculation returns fast, e.g. in cases when there is no such thing as an implied vol
 		// TODO: An exception should be thrown, when there is no implied volatility for the given value.
@@ -550,6 +604,10 @@ public class AnalyticFormulas {
 				double error = valueAnalytic - optionValue;
 
 				solver.setValueAndDerivative(error,derivativeAnalytic);
+
+				if(minRelativeStepSize > 0 && Math.abs(solver.getNextPoint() - volatility) <= minRelativeStepSize * Math.abs(volatility)) {
+					break;
+				}
 			}
 
 			return solver.getBestPoint();
@@ -100,6 +100,12 @@ public class CalibratedCurves {
 		isCreateDefaultCurvesForMissingCurves = Boolean.parseBoolean(System.getProperty("net.finmath.marketdata.calibration.CalibratedCurves.isCreateDefaultCurvesForMissingCurves","false"));
 	}
 
+	/*
+	 * An incremental calibration (see getCloneWithModifiedQuotes) is accepted if its accuracy is not worse than this factor times
+	 * the accuracy of the previous calibration (or the calibration accuracy). Otherwise the calibration is continued using finite differences.
+	 */
+	private static final double INCREMENTAL_CALIBRATION_ACCURACY_FACTOR = 10.0;
+
 	/**
 	 * Specification of calibration product.
 	 *
@@ -262,14 +268,38 @@ public class CalibratedCurves {
 		}
 
 		public CalibrationSpec getCloneShifted(double shift) {
-			if(discountCurvePayerName == null || type.toLowerCase().equals("swapleg")  || type.toLowerCase().equals("deposit")  || type.toLowerCase().equals("fra")) {
-				return new CalibrationSpec(symbol, type, swapTenorDefinitionReceiver, forwardCurveReceiverName, spreadReceiver+shift, discountCurveReceiverName, swapTenorDefinitionPayer, forwardCurvePayerName, spreadPayer, discountCurvePayerName, calibrationCurveName, calibrationTime);
+			return getCloneWithModifiedQuote(getQuote()+shift);
+		}
+
+		/**
+		 * Returns the market quote of this calibration product, that is, the spread or fixed coupon
+		 * which is modified by {@link #getCloneShifted(double)}.
+		 *
+		 * @return The market quote.
+		 */
+		public double getQuote() {
+			return isQuoteOnReceiver() ? spreadReceiver : spreadPayer;
+		}
+
+		/**
+		 * Returns a clone of this calibration specification with a modified market quote, see {@link #getQuote()}.
+		 *
+		 * @param quote The new market quote.
+		 * @return The clone of this calibration specification with a modified market quote.
+		 */
+		public CalibrationSpec getCloneWithModifiedQuote(double quote) {
+			if(isQuoteOnReceiver()) {
+				return new CalibrationSpec(symbol, type, swapTenorDefinitionReceiver, forwardCurveReceiverName, quote, discountCurveReceiverName, swapTenorDefinitionPayer, forwardCurvePayerName, spreadPayer, discountCurvePayerName, calibrationCurveName, calibrationTime);
 			}
 			else {
-				return new CalibrationSpec(symbol, type, swapTenorDefinitionReceiver, forwardCurveReceiverName, spreadReceiver, discountCurveReceiverName, swapTenorDefinitionPayer, forwardCurvePayerName, spreadPayer+shift, discountCurvePayerName, calibrationCurveName, calibrationTime);
+				return new CalibrationSpec(symbol, type, swapTenorDefinitionReceiver, forwardCurveReceiverName, spreadReceiver, discountCurveReceiverName, swapTenorDefinitionPayer, forwardCurvePayerName, quote, discountCurvePayerName, calibrationCurveName, calibrationTime);
 			}
 		}
 
+		private boolean isQuoteOnReceiver() {
+			return discountCurvePayerName == null || type.toLowerCase().equals("swapleg")  || type.toLowerCase().equals("deposit")  || type.toLowerCase().equals("fra");
+		}
+
 		@Override
 		public String toString() {
 			return "CalibrationSpec [symbol=" + symbol + ", type=" + type + ", swapTenorDefinitionReceiver="
@@ -299,6 +329,7 @@ public class CalibratedCurves {
 
 	private int lastNumberOfInterations;
 	private double lastAccuracy;
+	private double[][] lastDerivatives;
 
 	/**
 	 * Generate a collection of calibrated curves (discount curves, forward curves)
@@ -441,6 +472,42 @@ public class CalibratedCurves {
 		this(calibrationSpecs, null, 0.0);
 	}
 
+	/**
+	 * Recalibrate a given collection of calibrated curves to modified calibration specifications.
+	 *
+	 * The calibration starts from the calibrated curves of <code>calibratedCurves</code> and uses its
+	 * last derivatives (updated by Broyden's method) in place of finite differences. The calibration
+	 * products of unmodified calibration specifications are reused.
+	 *
+	 * @param calibratedCurves The calibrated curves, calibrated to the specifications <code>calibratedCurves.calibrationSpecs</code>.
+	 * @param calibrationSpecs The modified calibration specifications (one for each specification of <code>calibratedCurves</code>, in the same order).
+	 * @throws net.finmath.optimizer.SolverException May be thrown if the solver does not cannot find a solution of the calibration problem.
+	 */
+	private CalibratedCurves(CalibratedCurves calibratedCurves, List<CalibrationSpec> calibrationSpecs) throws SolverException {
+		model = calibratedCurves.model;
+		evaluationTime = calibratedCurves.evaluationTime;
+		calibrationAccuracy = calibratedCurves.calibrationAccuracy;
+
+		// The calibrated curves (in the order of the parameters of the last calibration)
+		for(ParameterObject objectToCalibrate : calibratedCurves.objectsToCalibrate) {
+			objectsToCalibrate.add(model.getCurve(((Curve)objectToCalibrate).getName()));
+		}
+
+		for(int i=0; i<calibrationSpecs.size(); i++) {
+			CalibrationSpec calibrationSpec = calibrationSpecs.get(i);
+			this.calibrationSpecs.add(calibrationSpec);
+			if(calibrationSpec == calibratedCurves.calibrationSpecs.get(i)) {
+				calibrationProducts.add(calibratedCurves.calibrationProducts.get(i));
+			}
+			else {
+				calibrationProducts.add(getCalibrationProductForSpec(calibrationSpec));
+			}
+			calibrationProductsSymbols.add(calibrationSpec.symbol);
+		}
+
+		lastNumberOfInterations = calibrate(calibrationAccuracy, calibratedCurves.lastDerivatives, calibratedCurves.lastAccuracy);
+	}
+
 	public AnalyticProduct getCalibrationProductForSpec(CalibrationSpec calibrationSpec) {
 		String forwardCurveReceiverName = calibrationSpec.forwardCurveReceiverName;
 		String forwardCurvePayerName	= calibrationSpec.forwardCurvePayerName;
@@ -584,8 +651,8 @@ public class CalibratedCurves {
 		// Clone calibration specs, shifting the desired symbol
 		List<CalibrationSpec> calibrationSpecsShifted = new ArrayList<>();
 		for(CalibrationSpec calibrationSpec : calibrationSpecs) {
-			if(shifts.containsKey(calibrationSpec)) {
-				calibrationSpecsShifted.add(calibrationSpec.getCloneShifted(shifts.get(calibrationSpec)));
+			if(shifts.containsKey(calibrationSpec.symbol)) {
+				calibrationSpecsShifted.add(calibrationSpec.getCloneShifted(shifts.get(calibrationSpec.symbol)));
 			}
 			else {
 				calibrationSpecsShifted.add(calibrationSpec);
@@ -595,6 +662,36 @@ public class CalibratedCurves {
 		return new CalibratedCurves(calibrationSpecsShifted, model, evaluationTime, calibrationAccuracy);
 	}
 
+	/**
+	 * Returns the set curves recalibrated to modified market quotes, that is,
+	 * the market data of <code>this</code> object, where the quotes of the given symbols
+	 * are replaced by the given values (see {@link CalibrationSpec#getQuote()}).
+	 *
+	 * In contrast to {@link #getCloneShifted(Map)}, the calibration is incremental: the curves of this object are used
+	 * as initial values and the derivatives of the last calibration are reused (updated by Broyden's method) instead of
+	 * being recalculated by finite differences. For small changes of the quotes (e.g. intraday quote updates) this requires
+	 * only a few valuations of the calibration products. If the recalibration does not attain the accuracy of the
+	 * last calibration, the calibration is continued with finite difference derivatives.
+	 *
+	 * @param quotes A map associating symbols with their new quotes. If symbols are not part of this map, their quotes remain unchanged.
+	 * @return A new set of calibrated curves, calibrated to the modified market data.
+	 * @throws SolverException The likely cause of this exception is a failure of the solver used in the calibration.
+	 */
+	public CalibratedCurves getCloneWithModifiedQuotes(Map<String,Double> quotes) throws SolverException {
+		List<CalibrationSpec> calibrationSpecsModified = new ArrayList<>();
+		for(CalibrationSpec calibrationSpec : calibrationSpecs) {
+			Double quote = quotes.get(calibrationSpec.symbol);
+			if(quote != null && quote.doubleValue() != calibrationSpec.getQuote()) {
+				calibrationSpecsModified.add(calibrationSpec.getCloneWithModifiedQuote(quote));
+			}
+			else {
+				calibrationSpecsModified.add(calibrationSpec);
+			}
+		}
+
+		return new CalibratedCurves(this, calibrationSpecsModified);
+	}
+
 	/**
 	 * Returns the set curves calibrated to "shifted" market data, that is,
 	 * the market date of <code>this</code> object, modified by the shifts
@@ -685,6 +782,43 @@ public class CalibratedCurves {
 		model = solver.getCalibratedModel(objectsToCalibrate);
 
 		lastAccuracy = solver.getAccuracy();
+		lastDerivatives = solver.getDerivatives();
+
+		return solver.getIterations();
+	}
+
+	/**
+	 * Calibrate starting from the curves of the model, using the given derivatives at the curves of the model.
+	 *
+	 * @param accuracy The error tolerance of the solver.
+	 * @param derivatives The derivatives of the calibration products with respect to the parameters of the curves of the model (or null).
+	 * @param accuracyOfDerivatives The accuracy attained by the calibration which calculated the derivatives.
+	 * @return The number of iterations.
+	 * @throws SolverException Thrown if the solver fails.
+	 */
+	private int calibrate(double accuracy, double[][] derivatives, double accuracyOfDerivatives) throws SolverException {
+		if(derivatives == null) {
+			return calibrate(accuracy);
+		}
+
+		Solver solver = new Solver(model, calibrationProducts, evaluationTime, accuracy);
+		model = solver.getCalibratedModel(objectsToCalibrate, derivatives);
+
+		lastAccuracy = solver.getAccuracy();
+		lastDerivatives = solver.getDerivatives();
+
+		/*
+		 * The updated derivatives may be too inaccurate to attain the accuracy of the previous calibration,
+		 * in which case we continue with a calibration using finite difference derivatives.
+		 */
+		if(lastAccuracy > Math.max(accuracy, accuracyOfDerivatives * INCREMENTAL_CALIBRATION_ACCURACY_FACTOR)) {
+			Set<ParameterObject> objectsCalibrated = new LinkedHashSet<>();
+			for(ParameterObject objectToCalibrate : objectsToCalibrate) {
+				objectsCalibrated.add(model.getCurve(((Curve)objectToCalibrate).getName()));
+			}
+			objectsToCalibrate = objectsCalibrated;
+			return solver.getIterations() + calibrate(accuracy);
+		}
 
 		return solver.getIterations();
 	}
@@ -10,11 +10,12 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
 
+import net.finmath.functions.LinearAlgebra;
 import net.finmath.marketdata.model.AnalyticModel;
 import net.finmath.marketdata.products.AnalyticProduct;
+import net.finmath.optimizer.LevenbergMarquardt;
 import net.finmath.optimizer.Optimizer;
 import net.finmath.optimizer.OptimizerFactory;
-import net.finmath.optimizer.OptimizerFactoryLevenbergMarquardt;
 import net.finmath.optimizer.SolverException;
 
 /**
@@ -28,6 +29,12 @@ import net.finmath.optimizer.SolverException;
  * The calibration is performed as a multi-threaded global optimization.
  * I will greatly profit from a multi-core architecture.
  *
+ * If no optimizer factory is given, the solver keeps the derivatives (Jacobian) of the last calibration,
+ * see {@link #getDerivatives()}. These may be passed to {@link #getCalibratedModel(Set, double[][])} to recalibrate
+ * a model to slightly modified calibration products, starting from the previous solution. In that case the calibration
+ * uses Broyden's method, i.e., the derivatives are not recalculated by finite differences, but updated from the
+ * values calculated in each iteration.
+ *
  * @author Christian Fries
  * @version 1.0
  */
@@ -41,11 +48,18 @@ public class Solver {
 
 	private OptimizerFactory			optimizerFactory;
 
+	/*
+	 * Minimum (relative) parameter increment for which the derivatives are updated in Broyden's method.
+	 * For smaller increments the difference quotient is dominated by rounding errors.
+	 */
+	private static final double BROYDEN_UPDATE_RELATIVE_PARAMETER_INCREMENT_MIN = 1E-10;
+
 	private	final	double	evaluationTime;
 	private final	int		maxIterations	= 1000;
 
 	private 		int		iterations		= 0;
 	private 		double	accuracy		= Double.POSITIVE_INFINITY;
+	private			double[][]	derivatives	= null;
 
 	/**
 	 * Generate a solver for the given parameter objects (independents) and
@@ -143,6 +157,34 @@ public class Solver {
 	 * @throws net.finmath.optimizer.SolverException Thrown if the underlying optimizer does not find a solution.
 	 */
 	public AnalyticModel getCalibratedModel(Set<ParameterObject> objectsToCalibrate) throws SolverException {
+		return getCalibratedModel(objectsToCalibrate, null);
+	}
+
+	/**
+	 * Find the model such that the equation
+	 * <center>
+	 * <code>
+	 * objectiveFunctions.getValue(model) = 0
+	 * </code>
+	 * </center>
+	 * holds, using given derivatives of the objective functions with respect to the parameters at the initial parameters.
+	 *
+	 * This method is intended for a recalibration to slightly modified calibration products, where the objects to calibrate
+	 * are given by the previous solution and <code>derivativesGuess</code> are the derivatives of the previous calibration
+	 * (see {@link #getDerivatives()}). The calibration uses Broyden's method, where each iteration requires a single valuation
+	 * of the calibration products and no finite differences are calculated. Since the iteration terminates as soon as the
+	 * error is not reduced any more, the caller should check the accuracy (see {@link #getAccuracy()}) and, if required,
+	 * continue with {@link #getCalibratedModel(Set)}.
+	 *
+	 * The derivatives are used only if no optimizer factory has been specified and if their dimension agrees with the number
+	 * of parameters and calibration products, otherwise this method is equivalent to {@link #getCalibratedModel(Set)}.
+	 *
+	 * @param objectsToCalibrate The set of parameterized objects to calibrate.
+	 * @param derivativesGuess The derivatives at the initial parameters, where derivativesGuess[i][j] is d(value(j)) / d(parameters(i)), or null.
+	 * @return A reference to a calibrated clone of the given model.
+	 * @throws net.finmath.optimizer.SolverException Thrown if the underlying optimizer does not find a solution.
+	 */
+	public AnalyticModel getCalibratedModel(Set<ParameterObject> objectsToCalibrate, double[][] derivativesGuess) throws SolverException {
 		final ParameterAggregation<ParameterObject> parameterAggregate = new ParameterAggregation<>(objectsToCalibrate);
 
 		// Set solver parameters
@@ -190,17 +232,32 @@ public class Solver {
 			}
 		};
 
-		if(optimizerFactory == null) {
-			int maxThreads		= Math.min(2 * Math.max(Runtime.getRuntime().availableProcessors(), 1), initialParameters.length);
-			optimizerFactory = new OptimizerFactoryLevenbergMarquardt(maxIterations, calibrationAccuracy, maxThreads);
+		derivatives = null;
+
+		boolean isDerivativesGuessValid = optimizerFactory == null && derivativesGuess != null && derivativesGuess.length == initialParameters.length;
+		for(int i=0; isDerivativesGuessValid && i<derivativesGuess.length; i++) {
+			isDerivativesGuessValid = derivativesGuess[i] != null && derivativesGuess[i].length == zeros.length;
+		}
+
+		double[] bestParameters;
+		if(isDerivativesGuessValid) {
+			bestParameters = getBestParametersByBroydenMethod(objectiveFunction, initialParameters, derivativesGuess);
 		}
+		else {
+			Optimizer optimizer;
+			if(optimizerFactory == null) {
+				optimizer = getOptimizerLevenbergMarquardt(objectiveFunction, initialParameters, zeros);
+			}
+			else {
+				optimizer = optimizerFactory.getOptimizer(objectiveFunction, initialParameters, lowerBound, upperBound, zeros);
+			}
 
-		Optimizer optimizer = optimizerFactory.getOptimizer(objectiveFunction, initialParameters, lowerBound, upperBound, zeros);
-		optimizer.run();
+			optimizer.run();
 
-		iterations = optimizer.getIterations();
+			iterations = optimizer.getIterations();
+			bestParameters = optimizer.getBestFitParameters();
+		}
 
-		double[] bestParameters = optimizer.getBestFitParameters();
 		if(parameterTransformation != null) {
 			bestParameters = parameterTransformation.getParameter(bestParameters);
 		}
@@ -227,6 +284,168 @@ public class Solver {
 		return calibratedModel;
 	}
 
+	/**
+	 * Create a Levenberg-Marquardt optimizer for the given objective function, which keeps the last derivatives calculated.
+	 *
+	 * @param objectiveFunction The objective function.
+	 * @param initialParameters The initial parameters.
+	 * @param targetValues The target values.
+	 * @return The optimizer.
+	 */
+	private Optimizer getOptimizerLevenbergMarquardt(final Optimizer.ObjectiveFunction objectiveFunction, double[] initialParameters, double[] targetValues) {
+		int maxThreads		= Math.min(2 * Math.max(Runtime.getRuntime().availableProcessors(), 1), initialParameters.length);
+
+		return new LevenbergMarquardt(
+				LevenbergMarquardt.RegularizationMethod.LEVENBERG_MARQUARDT,
+				initialParameters,
+				targetValues,
+				maxIterations,
+				maxThreads)
+		{
+			private static final long serialVersionUID = -4719538512396513406L;
+
+			@Override
+			public void setValues(double[] parameters, double[] values) throws SolverException {
+				objectiveFunction.setValues(parameters, values);
+			}
+
+			@Override
+			public void setDerivatives(double[] parameters, double[][] derivatives) throws SolverException {
+				super.setDerivatives(parameters, derivatives);
+				Solver.this.derivatives = copyOf(derivatives);
+			}
+		}
+		.setErrorTolerance(calibrationAccuracy);
+	}
+
+	/**
+	 * Solve the calibration problem by Broyden's method, starting from the given parameters and derivatives.
+	 *
+	 * Each iteration performs a Newton step using the current derivatives and a single valuation of the objective function,
+	 * which is used to update the derivatives by Broyden's rank one update. The iteration stops if the error is not reduced
+	 * any more, if the calibration accuracy is reached or if the number of iterations exceeds the number of valuations
+	 * required for a single finite difference approximation of the derivatives.
+	 *
+	 * @param objectiveFunction The objective function.
+	 * @param initialParameters The initial parameters.
+	 * @param derivativesGuess The derivatives at the initial parameters, where derivativesGuess[i][j] is d(value(j)) / d(parameters(i).
+	 * @return The best parameters found.
+	 * @throws SolverException Thrown if the valuation fails.
+	 */
+	private double[] getBestParametersByBroydenMethod(Optimizer.ObjectiveFunction objectiveFunction, double[] initialParameters, double[][] derivativesGuess) throws SolverException {
+		final int numberOfParameters	= initialParameters.length;
+		final int numberOfValues		= calibrationProducts.size();
+		final int maxIterationsBroyden	= Math.min(maxIterations, numberOfParameters + 2);
+
+		double[][] derivativesBroyden = copyOf(derivativesGuess);
+
+		double[] parametersBest	= initialParameters.clone();
+		double[] valuesBest		= new double[numberOfValues];
+		objectiveFunction.setValues(parametersBest, valuesBest);
+		double errorMeanSquaredBest = getMeanSquaredError(valuesBest);
+
+		iterations = 1;
+		double[][] jacobian = new double[numberOfValues][numberOfParameters];
+		double[] valuesNegative = new double[numberOfValues];
+		while(iterations < maxIterationsBroyden && Math.sqrt(errorMeanSquaredBest) > calibrationAccuracy) {
+			// Newton step for the current derivatives: solve J x = -f (in the least square sense)
+			for(int valueIndex=0; valueIndex<numberOfValues; valueIndex++) {
+				for(int parameterIndex=0; parameterIndex<numberOfParameters; parameterIndex++) {
+					jacobian[valueIndex][parameterIndex] = derivativesBroyden[parameterIndex][valueIndex];
+				}
+				valuesNegative[valueIndex] = -valuesBest[valueIndex];
+			}
+			double[] parameterIncrement = LinearAlgebra.solveLinearEquationLeastSquare(jacobian, valuesNegative);
+
+			double[] parametersTest = new double[numberOfParameters];
+			for(int parameterIndex=0; parameterIndex<numberOfParameters; parameterIndex++) {
+				parametersTest[parameterIndex] = parametersBest[parameterIndex] + parameterIncrement[parameterIndex];
+			}
+			double[] valuesTest = new double[numberOfValues];
+			objectiveFunction.setValues(parametersTest, valuesTest);
+			iterations++;
+
+			double errorMeanSquaredTest = getMeanSquaredError(valuesTest);
+			if(Double.isNaN(errorMeanSquaredTest)) {
+				break;
+			}
+
+			/*
+			 * Update the derivatives, unless the step is so small that the change of the values is dominated by
+			 * rounding errors (which happens close to the solution).
+			 */
+			double parameterIncrementMax = 0.0;
+			double parameterMax = 0.0;
+			for(int parameterIndex=0; parameterIndex<numberOfParameters; parameterIndex++) {
+				parameterIncrementMax = Math.max(parameterIncrementMax, Math.abs(parametersTest[parameterIndex] - parametersBest[parameterIndex]));
+				parameterMax = Math.max(parameterMax, Math.abs(parametersBest[parameterIndex]));
+			}
+			if(parameterIncrementMax > BROYDEN_UPDATE_RELATIVE_PARAMETER_INCREMENT_MIN * (1.0 + parameterMax)) {
+				updateDerivativesBroyden(derivativesBroyden, parametersBest, valuesBest, parametersTest, valuesTest);
+			}
+
+			// Note: The following test will be false if the error does not improve, which terminates the iteration.
+			if(!(errorMeanSquaredTest < errorMeanSquaredBest)) {
+				break;
+			}
+			parametersBest			= parametersTest;
+			valuesBest				= valuesTest;
+			errorMeanSquaredBest	= errorMeanSquaredTest;
+		}
+
+		derivatives = derivativesBroyden;
+
+		return parametersBest;
+	}
+
+	private static double getMeanSquaredError(double[] values) {
+		double errorMeanSquared = 0.0;
+		for(double value : values) {
+			errorMeanSquared += value * value;
+		}
+		return errorMeanSquared / values.length;
+	}
+
+	/**
+	 * Broyden's rank one update of the derivatives, i.e., J = J + (&Delta;f - J &Delta;x) &Delta;x<sup>T</sup> / (&Delta;x<sup>T</sup> &Delta;x).
+	 *
+	 * @param derivatives The derivatives J, where derivatives[i][j] is d(value(j)) / d(parameters(i). Will be updated.
+	 * @param parametersOld The parameters at which the derivatives are valid.
+	 * @param valuesOld The values at the parameters <code>parametersOld</code>.
+	 * @param parametersNew The new parameters.
+	 * @param valuesNew The values at the parameters <code>parametersNew</code>.
+	 */
+	private static void updateDerivativesBroyden(double[][] derivatives, double[] parametersOld, double[] valuesOld, double[] parametersNew, double[] valuesNew) {
+		double[] parameterIncrement = new double[parametersNew.length];
+		double parameterIncrementSquared = 0.0;
+		for(int parameterIndex=0; parameterIndex<parametersNew.length; parameterIndex++) {
+			parameterIncrement[parameterIndex] = parametersNew[parameterIndex] - parametersOld[parameterIndex];
+			parameterIncrementSquared += parameterIncrement[parameterIndex] * parameterIncrement[parameterIndex];
+		}
+		if(parameterIncrementSquared == 0) {
+			return;
+		}
+
+		for(int valueIndex=0; valueIndex<valuesNew.length; valueIndex++) {
+			double residual = valuesNew[valueIndex] - valuesOld[valueIndex];
+			for(int parameterIndex=0; parameterIndex<parametersNew.length; parameterIndex++) {
+				residual -= derivatives[parameterIndex][valueIndex] * parameterIncrement[parameterIndex];
+			}
+			double scaling = residual / parameterIncrementSquared;
+			for(int parameterIndex=0; parameterIndex<parametersNew.length; parameterIndex++) {
+				derivatives[parameterIndex][valueIndex] += scaling * parameterIncrement[parameterIndex];
+			}
+		}
+	}
+
+	private static double[][] copyOf(double[][] matrix) {
+		double[][] copy = new double[matrix.length][];
+		for(int i=0; i<matrix.length; i++) {
+			copy[i] = matrix[i].clone();
+		}
+		return copy;
+	}
+
 	/**
 	 * Returns the number of iterations required in the last solver step.
 	 *
@@ -244,4 +463,15 @@ public class Solver {
 	public double getAccuracy() {
 		return accuracy;
 	}
+
+	/**
+	 * Returns the derivatives of the calibration products with respect to the (solver) parameters, as last calculated
+	 * in the last solver run (these are the derivatives at the best parameters or close to them),
+	 * where derivatives[i][j] is d(value(j)) / d(parameters(i).
+	 *
+	 * @return The derivatives of the last solver run or null, if not available (e.g., if a custom optimizer factory is used).
+	 */
+	public double[][] getDerivatives() {
+		return derivatives != null ? copyOf(derivatives) : null;
+	}
 }
@@ -13,11 +13,14 @@ import java.util.Vector;
 import net.finmath.marketdata2.model.AnalyticModel;
 import net.finmath.marketdata2.products.AnalyticProduct;
 import net.finmath.montecarlo.RandomVariableFromDoubleArray;
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiable;
+import net.finmath.montecarlo.automaticdifferentiation.backward.RandomVariableDifferentiableAAD;
 import net.finmath.optimizer.SolverException;
 import net.finmath.optimizer.StochasticOptimizer;
 import net.finmath.optimizer.StochasticOptimizerFactory;
-import net.finmath.optimizer.StochasticPathwiseOptimizerFactoryLevenbergMarquardt;
+import net.finmath.optimizer.StochasticPathwiseLevenbergMarquardt;
 import net.finmath.stochastic.RandomVariable;
+import net.finmath.stochastic.Scalar;
 
 /**
  * Generates a calibrated model for a given set
@@ -30,6 +33,14 @@ import net.finmath.stochastic.RandomVariable;
  * The calibration is performed as a multi-threaded global optimization.
  * I will greatly profit from a multi-core architecture.
  *
+ * If no optimizer factory is given, the solver uses a Levenberg-Marquardt algorithm, where the Jacobian is calculated
+ * by algorithmic differentiation: the values of the calibration products are calculated with parameters of type
+ * {@link RandomVariableDifferentiableAAD} and the derivatives with respect to all parameters are obtained from one adjoint
+ * sweep per product (instead of one valuation of all products per parameter using finite differences).
+ * If a calibration product does not return a differentiable value, the solver falls back to finite differences.
+ * The algorithmic differentiation may be disabled by setting the system property
+ * <code>net.finmath.marketdata2.calibration.Solver.isUseAlgorithmicDifferentiation</code> to false.
+ *
  * @author Christian Fries
  * @version 1.0
  */
@@ -46,6 +57,8 @@ public class Solver {
 	private	final	double	evaluationTime;
 	private final	int		maxIterations	= 1000;
 
+	private static final boolean isUseAlgorithmicDifferentiation = Boolean.parseBoolean(System.getProperty("net.finmath.marketdata2.calibration.Solver.isUseAlgorithmicDifferentiation", "true"));
+
 	private 		int		iterations		= 0;
 	private 		double	accuracy		= Double.POSITIVE_INFINITY;
 
@@ -184,7 +197,7 @@ public class Solver {
 					}
 					if(calibrationTargetValues != null) {
 						for(int i=0; i<calibrationTargetValues.size(); i++) {
-							values[i].sub(calibrationTargetValues.get(i));
+							values[i] = values[i].sub(calibrationTargetValues.get(i));
 						}
 					}
 				} catch (CloneNotSupportedException e) {
@@ -193,12 +206,29 @@ public class Solver {
 			}
 		};
 
+		StochasticOptimizer optimizer;
 		if(optimizerFactory == null) {
-			int maxThreads		= Math.min(2 * Math.max(Runtime.getRuntime().availableProcessors(), 1), initialParameters.length);
-			optimizerFactory = new StochasticPathwiseOptimizerFactoryLevenbergMarquardt(maxIterations, calibrationAccuracy, maxThreads);
+			optimizer = new StochasticPathwiseLevenbergMarquardt(initialParameters, zeros, null /* weights */, null /* parameterSteps */, maxIterations, null, null) {
+				private static final long serialVersionUID = -2371805934937391431L;
+
+				@Override
+				public void setValues(RandomVariable[] parameters, RandomVariable[] values) throws SolverException {
+					objectiveFunction.setValues(parameters, values);
+				}
+
+				@Override
+				public void setDerivatives(RandomVariable[] parameters, RandomVariable[][] derivatives) throws SolverException {
+					// The derivatives are calculated at the current (best) parameters, as for the finite differences.
+					if(!isUseAlgorithmicDifferentiation || !setDerivativesByAlgorithmicDifferentiation(objectiveFunction, getBestFitParameters(), derivatives)) {
+						super.setDerivatives(parameters, derivatives);
+					}
+				}
+			};
+		}
+		else {
+			optimizer = optimizerFactory.getOptimizer(objectiveFunction, initialParameters, lowerBound, upperBound, zeros);
 		}
 
-		StochasticOptimizer optimizer = optimizerFactory.getOptimizer(objectiveFunction, initialParameters, lowerBound, upperBound, zeros);
 		optimizer.run();
 
 		iterations = optimizer.getIterations();
@@ -230,6 +260,41 @@ public class Solver {
 		return calibratedModel;
 	}
 
+	/**
+	 * Calculates the derivatives of the values of the objective function with respect to the parameters using
+	 * algorithmic differentiation (one adjoint sweep per value).
+	 *
+	 * @param objectiveFunction The objective function.
+	 * @param parameters The parameters at which the derivatives are calculated.
+	 * @param derivatives Output value, where derivatives[i][j] is d(value(j)) / d(parameters(i).
+	 * @return True, if the derivatives have been calculated, false if a value of the objective function is not differentiable.
+	 * @throws SolverException Thrown if the valuation fails.
+	 */
+	static boolean setDerivativesByAlgorithmicDifferentiation(StochasticOptimizer.ObjectiveFunction objectiveFunction, RandomVariable[] parameters, RandomVariable[][] derivatives) throws SolverException {
+		RandomVariableDifferentiable[] parametersDifferentiable = new RandomVariableDifferentiable[parameters.length];
+		for(int parameterIndex=0; parameterIndex<parameters.length; parameterIndex++) {
+			parametersDifferentiable[parameterIndex] = new RandomVariableDifferentiableAAD(parameters[parameterIndex]);
+		}
+
+		RandomVariable[] values = new RandomVariable[derivatives.length > 0 ? derivatives[0].length : 0];
+		objectiveFunction.setValues(parametersDifferentiable.clone(), values);
+
+		for(RandomVariable value : values) {
+			if(!(value instanceof RandomVariableDifferentiable)) {
+				return false;
+			}
+		}
+
+		for(int valueIndex=0; valueIndex<values.length; valueIndex++) {
+			Map<Long, RandomVariable> gradient = ((RandomVariableDifferentiable)values[valueIndex]).getGradient();
+			for(int parameterIndex=0; parameterIndex<parameters.length; parameterIndex++) {
+				RandomVariable derivative = gradient.get(parametersDifferentiable[parameterIndex].getID());
+				derivatives[parameterIndex][valueIndex] = derivative != null ? derivative : new Scalar(0.0);
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Returns the number of iterations required in the last solver step.
 	 *
@@ -0,0 +1,324 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.stream.IntStream;
+
+import net.finmath.randomnumbers.SobolSequence;
+import net.finmath.randomnumbers.SobolSequence.ScramblingType;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+
+/**
+ * Implementation of a time-discrete n-dimensional Brownian motion
+ * <i>W = (W<sub>1</sub>,...,W<sub>n</sub>)</i> where <i>W<sub>i</sub></i> is
+ * a Brownian motion and <i>W<sub>i</sub></i>, <i>W<sub>j</sub></i> are
+ * independent for <i>i</i> not equal <i>j</i>, generated from a Sobol sequence (quasi random numbers).
+ *
+ * The paths are constructed by a Brownian bridge: the first dimension of the Sobol sequence determines the terminal
+ * value <i>W(T)</i>, the subsequent dimensions determine the values at the midpoints of the (index) intervals, using
+ * the conditional distribution of the Brownian bridge (see {@link BrownianBridge}), i.e.,
+ * \[
+ * 	W(t_{m}) = \frac{(t_{r}-t_{m}) W(t_{l}) + (t_{m}-t_{l}) W(t_{r})}{t_{r}-t_{l}} + \sqrt{\frac{(t_{m}-t_{l})(t_{r}-t_{m})}{t_{r}-t_{l}}} Z \text{.}
+ * \]
+ * This assigns the dimensions with the best uniformity of the Sobol sequence to the largest scales of the paths.
+ * For multiple factors, the dimensions are interleaved, that is, the k-th point of the bridge construction of factor j
+ * uses dimension k * numberOfFactors + j.
+ *
+ * The Sobol sequence may be randomized (see {@link ScramblingType}). In this case the seed determines the scrambling.
+ * For the unscrambled sequence the seed has no effect.
+ *
+ * The class is immutable and thread safe. It uses lazy initialization.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class BrownianMotionFromSobolSequence implements BrownianMotion, Serializable {
+
+	private static final long serialVersionUID = -2418826394416290327L;
+
+	private final TimeDiscretization	timeDiscretization;
+
+	private final int				numberOfFactors;
+	private final int				numberOfPaths;
+	private final int				seed;
+	private final ScramblingType	scramblingType;
+
+	private final AbstractRandomVariableFactory randomVariableFactory;
+
+	private transient	RandomVariable[][]	brownianIncrements;
+	private transient 	Object				brownianIncrementsLazyInitLock = new Object();
+
+	/**
+	 * Construct a Brownian motion from a Sobol sequence.
+	 *
+	 * @param timeDiscretization The time discretization used for the Brownian increments.
+	 * @param numberOfFactors Number of factors.
+	 * @param numberOfPaths Number of paths to simulate.
+	 * @param seed The seed of the scrambling of the Sobol sequence.
+	 * @param scramblingType The scrambling of the Sobol sequence.
+	 * @param randomVariableFactory Factory to be used to create random variable.
+	 */
+	public BrownianMotionFromSobolSequence(
+			TimeDiscretization timeDiscretization,
+			int numberOfFactors,
+			int numberOfPaths,
+			int seed,
+			ScramblingType scramblingType,
+			AbstractRandomVariableFactory randomVariableFactory) {
+		super();
+		this.timeDiscretization = timeDiscretization;
+		this.numberOfFactors	= numberOfFactors;
+		this.numberOfPaths		= numberOfPaths;
+		this.seed				= seed;
+		this.scramblingType		= scramblingType;
+
+		this.randomVariableFactory = randomVariableFactory;
+
+		this.brownianIncrements	= null; 	// Lazy initialization
+	}
+
+	/**
+	 * Construct a Brownian motion from a Sobol sequence.
+	 *
+	 * @param timeDiscretization The time discretization used for the Brownian increments.
+	 * @param numberOfFactors Number of factors.
+	 * @param numberOfPaths Number of paths to simulate.
+	 * @param seed The seed of the scrambling of the Sobol sequence.
+	 * @param scramblingType The scrambling of the Sobol sequence.
+	 */
+	public BrownianMotionFromSobolSequence(
+			TimeDiscretization timeDiscretization,
+			int numberOfFactors,
+			int numberOfPaths,
+			int seed,
+			ScramblingType scramblingType) {
+		this(timeDiscretization, numberOfFactors, numberOfPaths, seed, scramblingType, new RandomVariableFactory());
+	}
+
+	@Override
+	public BrownianMotion getCloneWithModifiedSeed(int seed) {
+		return new BrownianMotionFromSobolSequence(getTimeDiscretization(), getNumberOfFactors(), getNumberOfPaths(), seed, scramblingType, randomVariableFactory);
+	}
+
+	@Override
+	public BrownianMotion getCloneWithModifiedTimeDiscretization(TimeDiscretization newTimeDiscretization) {
+		return new BrownianMotionFromSobolSequence(newTimeDiscretization, getNumberOfFactors(), getNumberOfPaths(), getSeed(), scramblingType, randomVariableFactory);
+	}
+
+	@Override
+	public RandomVariable getBrownianIncrement(int timeIndex, int factor) {
+
+		// Thread safe lazy initialization
+		synchronized(brownianIncrementsLazyInitLock) {
+			if(brownianIncrements == null) {
+				doGenerateBrownianMotion();
+			}
+		}
+
+		/*
+		 *  We return an immutable object which ensures that the receiver does not alter the data.
+		 */
+		return brownianIncrements[timeIndex][factor];
+	}
+
+	/**
+	 * Lazy initialization of brownianIncrement. Synchronized to ensure thread safety of lazy init.
+	 */
+	private void doGenerateBrownianMotion() {
+		if(brownianIncrements != null) {
+			return;	// Nothing to do
+		}
+
+		final int numberOfTimeSteps = timeDiscretization.getNumberOfTimeSteps();
+
+		/*
+		 * Set up the Brownian bridge construction: the k-th point constructed is the point pointIndex[k],
+		 * conditional to the (already constructed) points leftIndex[k] and rightIndex[k].
+		 */
+		final int[]		pointIndex	= new int[numberOfTimeSteps];
+		final int[]		leftIndex	= new int[numberOfTimeSteps];
+		final int[]		rightIndex	= new int[numberOfTimeSteps];
+		final double[]	leftWeight	= new double[numberOfTimeSteps];
+		final double[]	rightWeight	= new double[numberOfTimeSteps];
+		final double[]	stdDev		= new double[numberOfTimeSteps];
+
+		// Terminal point
+		pointIndex[0]	= numberOfTimeSteps;
+		leftIndex[0]	= 0;
+		rightIndex[0]	= 0;
+		leftWeight[0]	= 1.0;
+		rightWeight[0]	= 0.0;
+		stdDev[0]		= Math.sqrt(timeDiscretization.getTime(numberOfTimeSteps) - timeDiscretization.getTime(0));
+
+		// Bisection (breadth first, such that the first dimensions are assigned to the largest scales)
+		Deque<int[]> intervals = new ArrayDeque<>();
+		intervals.add(new int[] { 0, numberOfTimeSteps });
+		int k = 1;
+		while(!intervals.isEmpty()) {
+			int[] interval = intervals.poll();
+			int left	= interval[0];
+			int right	= interval[1];
+			if(right-left < 2) {
+				continue;
+			}
+			int middle	= (left+right) / 2;
+
+			double timeLeft		= timeDiscretization.getTime(left);
+			double timeMiddle	= timeDiscretization.getTime(middle);
+			double timeRight	= timeDiscretization.getTime(right);
+
+			pointIndex[k]	= middle;
+			leftIndex[k]	= left;
+			rightIndex[k]	= right;
+			leftWeight[k]	= (timeRight-timeMiddle) / (timeRight-timeLeft);
+			rightWeight[k]	= (timeMiddle-timeLeft) / (timeRight-timeLeft);
+			stdDev[k]		= Math.sqrt((timeMiddle-timeLeft) * (timeRight-timeMiddle) / (timeRight-timeLeft));
+			k++;
+
+			intervals.add(new int[] { left, middle });
+			intervals.add(new int[] { middle, right });
+		}
+
+		// Allocate memory
+		final double[][][] brownianIncrementsArray = new double[numberOfTimeSteps][numberOfFactors][numberOfPaths];
+
+		/*
+		 * Generate the Sobol sequence (sequential, since the Gray code construction is incremental).
+		 * The uniform random numbers of the k-th point of the bridge are temporarily stored in brownianIncrementsArray[k].
+		 */
+		SobolSequence sobolSequence = new SobolSequence(numberOfTimeSteps * numberOfFactors, scramblingType, seed);
+		for(int path=0; path<numberOfPaths; path++) {
+			double[] uniform = sobolSequence.getNext();
+			for(int point=0; point<numberOfTimeSteps; point++) {
+				for(int factor=0; factor<numberOfFactors; factor++) {
+					brownianIncrementsArray[point][factor][path] = uniform[point * numberOfFactors + factor];
+				}
+			}
+		}
+
+		// Transform to normal distributed increments using the Brownian bridge (concurrently across paths).
+		IntStream.range(0, numberOfPaths).parallel().forEach(path -> {
+			double[] brownianMotion = new double[numberOfTimeSteps+1];
+			for(int factor=0; factor<numberOfFactors; factor++) {
+				brownianMotion[0] = 0.0;
+				for(int point=0; point<numberOfTimeSteps; point++) {
+					double normal = net.finmath.functions.NormalDistribution.inverseCumulativeDistribution(brownianIncrementsArray[point][factor][path]);
+					brownianMotion[pointIndex[point]] = leftWeight[point] * brownianMotion[leftIndex[point]] + rightWeight[point] * brownianMotion[rightIndex[point]] + stdDev[point] * normal;
+				}
+				for(int timeIndex=0; timeIndex<numberOfTimeSteps; timeIndex++) {
+					brownianIncrementsArray[timeIndex][factor][path] = brownianMotion[timeIndex+1] - brownianMotion[timeIndex];
+				}
+			}
+		});
+
+		// Allocate memory for RandomVariable wrapper objects.
+		brownianIncrements = new RandomVariable[numberOfTimeSteps][numberOfFactors];
+
+		// Wrap the values in RandomVariable objects
+		for(int timeIndex=0; timeIndex<numberOfTimeSteps; timeIndex++) {
+			double time = timeDiscretization.getTime(timeIndex+1);
+			for(int factor=0; factor<numberOfFactors; factor++) {
+				brownianIncrements[timeIndex][factor] =
+						randomVariableFactory.createRandomVariable(time, brownianIncrementsArray[timeIndex][factor]);
+			}
+		}
+	}
+
+	@Override
+	public TimeDiscretization getTimeDiscretization() {
+		return timeDiscretization;
+	}
+
+	@Override
+	public int getNumberOfFactors() {
+		return numberOfFactors;
+	}
+
+	@Override
+	public int getNumberOfPaths() {
+		return numberOfPaths;
+	}
+
+	@Override
+	public RandomVariable getRandomVariableForConstant(double value) {
+		return randomVariableFactory.createRandomVariable(value);
+	}
+
+	/**
+	 * @return Returns the seed.
+	 */
+	public int getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @return Returns the scrambling type of the Sobol sequence.
+	 */
+	public ScramblingType getScramblingType() {
+		return scramblingType;
+	}
+
+	@Override
+	public RandomVariable getIncrement(int timeIndex, int factor) {
+		return getBrownianIncrement(timeIndex, factor);
+	}
+
+	@Override
+	public String toString() {
+		return super.toString()
+				+ "\n" + "timeDiscretizationFromArray: " + timeDiscretization.toString()
+				+ "\n" + "numberOfPaths: " + numberOfPaths
+				+ "\n" + "numberOfFactors: " + numberOfFactors
+				+ "\n" + "seed: " + seed
+				+ "\n" + "scramblingType: " + scramblingType;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+
+		BrownianMotionFromSobolSequence that = (BrownianMotionFromSobolSequence) o;
+
+		if (numberOfFactors != that.numberOfFactors) {
+			return false;
+		}
+		if (numberOfPaths != that.numberOfPaths) {
+			return false;
+		}
+		if (seed != that.seed) {
+			return false;
+		}
+		if (scramblingType != that.scramblingType) {
+			return false;
+		}
+		return timeDiscretization.equals(that.timeDiscretization);
+	}
+
+	@Override
+	public int hashCode() {
+		int result = timeDiscretization.hashCode();
+		result = 31 * result + numberOfFactors;
+		result = 31 * result + numberOfPaths;
+		result = 31 * result + seed;
+		return result;
+	}
+
+	private void readObject(java.io.ObjectInputStream in) throws ClassNotFoundException, IOException {
+		in.defaultReadObject();
+		// initialization of transients
+		brownianIncrementsLazyInitLock = new Object();
+	}
+}
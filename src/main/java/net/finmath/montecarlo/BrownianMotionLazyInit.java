@@ -7,8 +7,10 @@ package net.finmath.montecarlo;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.stream.IntStream;
 
 import net.finmath.randomnumbers.MersenneTwister;
+import net.finmath.randomnumbers.SplitMix64;
 import net.finmath.stochastic.RandomVariable;
 import net.finmath.time.TimeDiscretization;
 
@@ -27,9 +29,15 @@ import net.finmath.time.TimeDiscretization;
  * dimension.
  *
  * The quadruppel (time discretization, number of factors, number of paths, seed)
+ * together with the type of the random number generator
  * defines the state of an object of this class, i.e., BrownianMotionLazyInit for which
  * there parameters agree, generate the same random numbers.
  *
+ * The default random number generator is a Mersenne Twister, which is a sequential generator.
+ * Using {@link RandomNumberGeneratorType#COUNTER_BASED} the increments are generated
+ * concurrently from a counter based generator (see {@link SplitMix64}). Since each random number
+ * is a function of the seed and its index only, the result does not depend on the number of threads.
+ *
  * The class is immutable and thread safe. It uses lazy initialization.
  *
  * @author Christian Fries
@@ -39,6 +47,21 @@ public class BrownianMotionLazyInit implements BrownianMotion, Serializable {
 
 	private static final long serialVersionUID = -5430067621669213475L;
 
+	/**
+	 * The random number generator used to generate the increments.
+	 */
+	public enum RandomNumberGeneratorType {
+		/**
+		 * A single Mersenne Twister sequence, generated sequentially.
+		 */
+		MERSENNE_TWISTER,
+
+		/**
+		 * A counter based generator, generated concurrently across paths.
+		 */
+		COUNTER_BASED
+	}
+
 	private final TimeDiscretization						timeDiscretization;
 
 	private final int			numberOfFactors;
@@ -46,6 +69,7 @@ public class BrownianMotionLazyInit implements BrownianMotion, Serializable {
 	private final int			seed;
 
 	private final AbstractRandomVariableFactory randomVariableFactory;
+	private final RandomNumberGeneratorType randomNumberGeneratorType;
 
 	private transient	RandomVariable[][]	brownianIncrements;
 	private transient 	Object				brownianIncrementsLazyInitLock = new Object();
@@ -63,13 +87,15 @@ public class BrownianMotionLazyInit implements BrownianMotion, Serializable {
 	 * @param numberOfPaths Number of paths to simulate.
 	 * @param seed The seed of the random number generator.
 	 * @param randomVariableFactory Factory to be used to create random variable.
+	 * @param randomNumberGeneratorType The random number generator used to generate the increments.
 	 */
 	public BrownianMotionLazyInit(
 			TimeDiscretization timeDiscretization,
 			int numberOfFactors,
 			int numberOfPaths,
 			int seed,
-			AbstractRandomVariableFactory randomVariableFactory) {
+			AbstractRandomVariableFactory randomVariableFactory,
+			RandomNumberGeneratorType randomNumberGeneratorType) {
 		super();
 		this.timeDiscretization = timeDiscretization;
 		this.numberOfFactors	= numberOfFactors;
@@ -77,10 +103,34 @@ public class BrownianMotionLazyInit implements BrownianMotion, Serializable {
 		this.seed				= seed;
 
 		this.randomVariableFactory = randomVariableFactory;
+		this.randomNumberGeneratorType = randomNumberGeneratorType;
 
 		this.brownianIncrements	= null; 	// Lazy initialization
 	}
 
+	/**
+	 * Construct a Brownian motion.
+	 *
+	 * The constructor allows to set the factory to be used for the construction of
+	 * random variables. This allows to generate Brownian increments represented
+	 * by different implementations of the RandomVariable (e.g. the RandomVariableFromFloatArray internally
+	 * using float representations).
+	 *
+	 * @param timeDiscretization The time discretization used for the Brownian increments.
+	 * @param numberOfFactors Number of factors.
+	 * @param numberOfPaths Number of paths to simulate.
+	 * @param seed The seed of the random number generator.
+	 * @param randomVariableFactory Factory to be used to create random variable.
+	 */
+	public BrownianMotionLazyInit(
+			TimeDiscretization timeDiscretization,
+			int numberOfFactors,
+			int numberOfPaths,
+			int seed,
+			AbstractRandomVariableFactory randomVariableFactory) {
+		this(timeDiscretization, numberOfFactors, numberOfPaths, seed, randomVariableFactory, RandomNumberGeneratorType.MERSENNE_TWISTER);
+	}
+
 	/**
 	 * Construct a Brownian motion.
 	 *
@@ -99,13 +149,13 @@ public class BrownianMotionLazyInit implements BrownianMotion, Serializable {
 
 	@Override
 	public BrownianMotion getCloneWithModifiedSeed(int seed) {
-		return new BrownianMotionLazyInit(getTimeDiscretization(), getNumberOfFactors(), getNumberOfPaths(), seed);
+		return new BrownianMotionLazyInit(getTimeDiscretization(), getNumberOfFactors(), getNumberOfPaths(), seed, randomVariableFactory, randomNumberGeneratorType);
 	}
 
 	@Override
 	public BrownianMotion getCloneWithModifiedTimeDiscretization(TimeDiscretization newTimeDiscretization) {
 		/// @TODO This can be improved: a complete recreation of the Brownian motion wouldn't be necessary!
-		return new BrownianMotionLazyInit(newTimeDiscretization, getNumberOfFactors(), getNumberOfPaths(), getSeed());
+		return new BrownianMotionLazyInit(newTimeDiscretization, getNumberOfFactors(), getNumberOfPaths(), getSeed(), randomVariableFactory, randomNumberGeneratorType);
 	}
 
 	@Override
@@ -132,11 +182,13 @@ public class BrownianMotionLazyInit implements BrownianMotion, Serializable {
 			return;	// Nothing to do
 		}
 
-		// Create random number sequence generator
-		MersenneTwister mersenneTwister = new MersenneTwister(seed);
-
-		// Allocate memory
-		double[][][] brownianIncrementsArray = new double[timeDiscretization.getNumberOfTimeSteps()][numberOfFactors][numberOfPaths];
+		/*
+		 * Allocate memory. If the factory creates random variables using float storage, the increments are generated as float,
+		 * avoiding the (twice as large) intermediate array of doubles.
+		 */
+		final boolean isFloatStorage = randomVariableFactory instanceof RandomVariableFactory && !((RandomVariableFactory)randomVariableFactory).isUseDoublePrecisionFloatingPointImplementation();
+		final double[][][] brownianIncrementsArray = isFloatStorage ? null : new double[timeDiscretization.getNumberOfTimeSteps()][numberOfFactors][numberOfPaths];
+		final float[][][] brownianIncrementsArrayOfFloat = isFloatStorage ? new float[timeDiscretization.getNumberOfTimeSteps()][numberOfFactors][numberOfPaths] : null;
 
 		// Pre-calculate square roots of deltaT
 		double[] sqrtOfTimeStep = new double[timeDiscretization.getNumberOfTimeSteps()];
@@ -144,20 +196,60 @@ public class BrownianMotionLazyInit implements BrownianMotion, Serializable {
 			sqrtOfTimeStep[timeIndex] = Math.sqrt(timeDiscretization.getTimeStep(timeIndex));
 		}
 
-		/*
-		 * Generate normal distributed independent increments.
-		 *
-		 * The inner loop goes over time and factors.
-		 * MersenneTwister is known to generate "independent" increments in 623 dimensions.
-		 * Since we want to generate independent streams (paths), the loop over path is the outer loop.
-		 */
-		for(int path=0; path<numberOfPaths; path++) {
-			for(int timeIndex=0; timeIndex<timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
-				double sqrtDeltaT = sqrtOfTimeStep[timeIndex];
-				// Generate uncorrelated Brownian increment
-				for(int factor=0; factor<numberOfFactors; factor++) {
-					double uniformIncrement = mersenneTwister.nextDouble();
-					brownianIncrementsArray[timeIndex][factor][path] = net.finmath.functions.NormalDistribution.inverseCumulativeDistribution(uniformIncrement) * sqrtDeltaT;
+		if(randomNumberGeneratorType == RandomNumberGeneratorType.COUNTER_BASED) {
+			// Create random number sequence generator
+			final SplitMix64 counterBasedGenerator = new SplitMix64(seed);
+			final int numberOfTimeSteps = timeDiscretization.getNumberOfTimeSteps();
+
+			/*
+			 * Generate normal distributed independent increments.
+			 *
+			 * The random number for (path, timeIndex, factor) is the element (path * numberOfTimeSteps + timeIndex) * numberOfFactors + factor
+			 * of the sequence, i.e., we use the same ordering as in the sequential generation, but the paths are generated concurrently.
+			 */
+			IntStream.range(0, numberOfPaths).parallel().forEach(path -> {
+				long index = (long)path * numberOfTimeSteps * numberOfFactors;
+				for(int timeIndex=0; timeIndex<numberOfTimeSteps; timeIndex++) {
+					double sqrtDeltaT = sqrtOfTimeStep[timeIndex];
+					// Generate uncorrelated Brownian increment
+					for(int factor=0; factor<numberOfFactors; factor++) {
+						double uniformIncrement = counterBasedGenerator.getDouble(index++);
+						double brownianIncrement = net.finmath.functions.NormalDistribution.inverseCumulativeDistribution(uniformIncrement) * sqrtDeltaT;
+						if(isFloatStorage) {
+							brownianIncrementsArrayOfFloat[timeIndex][factor][path] = (float)brownianIncrement;
+						}
+						else {
+							brownianIncrementsArray[timeIndex][factor][path] = brownianIncrement;
+						}
+					}
+				}
+			});
+		}
+		else {
+			// Create random number sequence generator
+			MersenneTwister mersenneTwister = new MersenneTwister(seed);
+
+			/*
+			 * Generate normal distributed independent increments.
+			 *
+			 * The inner loop goes over time and factors.
+			 * MersenneTwister is known to generate "independent" increments in 623 dimensions.
+			 * Since we want to generate independent streams (paths), the loop over path is the outer loop.
+			 */
+			for(int path=0; path<numberOfPaths; path++) {
+				for(int timeIndex=0; timeIndex<timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
+					double sqrtDeltaT = sqrtOfTimeStep[timeIndex];
+					// Generate uncorrelated Brownian increment
+					for(int factor=0; factor<numberOfFactors; factor++) {
+						double uniformIncrement = mersenneTwister.nextDouble();
+						double brownianIncrement = net.finmath.functions.NormalDistribution.inverseCumulativeDistribution(uniformIncrement) * sqrtDeltaT;
+						if(isFloatStorage) {
+							brownianIncrementsArrayOfFloat[timeIndex][factor][path] = (float)brownianIncrement;
+						}
+						else {
+							brownianIncrementsArray[timeIndex][factor][path] = brownianIncrement;
+						}
+					}
 				}
 			}
 		}
@@ -169,8 +261,9 @@ public class BrownianMotionLazyInit implements BrownianMotion, Serializable {
 		for(int timeIndex=0; timeIndex<timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
 			double time = timeDiscretization.getTime(timeIndex+1);
 			for(int factor=0; factor<numberOfFactors; factor++) {
-				brownianIncrements[timeIndex][factor] =
-						randomVariableFactory.createRandomVariable(time, brownianIncrementsArray[timeIndex][factor]);
+				brownianIncrements[timeIndex][factor] = isFloatStorage ?
+						new RandomVariableFromFloatArray(time, brownianIncrementsArrayOfFloat[timeIndex][factor]) :
+							randomVariableFactory.createRandomVariable(time, brownianIncrementsArray[timeIndex][factor]);
 			}
 		}
 	}
@@ -202,13 +295,21 @@ public class BrownianMotionLazyInit implements BrownianMotion, Serializable {
 		return seed;
 	}
 
+	/**
+	 * @return Returns the type of the random number generator.
+	 */
+	public RandomNumberGeneratorType getRandomNumberGeneratorType() {
+		return randomNumberGeneratorType;
+	}
+
 	@Override
 	public String toString() {
 		return super.toString()
 				+ "\n" + "timeDiscretizationFromArray: " + timeDiscretization.toString()
 				+ "\n" + "numberOfPaths: " + numberOfPaths
 				+ "\n" + "numberOfFactors: " + numberOfFactors
-				+ "\n" + "seed: " + seed;
+				+ "\n" + "seed: " + seed
+				+ "\n" + "randomNumberGeneratorType: " + randomNumberGeneratorType;
 	}
 
 	@Override
@@ -231,6 +332,9 @@ public class BrownianMotionLazyInit implements BrownianMotion, Serializable {
 		if (seed != that.seed) {
 			return false;
 		}
+		if (randomNumberGeneratorType != that.randomNumberGeneratorType) {
+			return false;
+		}
 		return timeDiscretization.equals(that.timeDiscretization);
 	}
 
@@ -0,0 +1,286 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import net.finmath.randomnumbers.SplitMix64;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+
+/**
+ * Implementation of a time-discrete n-dimensional Brownian motion
+ * <i>W = (W<sub>1</sub>,...,W<sub>n</sub>)</i> where <i>W<sub>i</sub></i> is
+ * a Brownian motion and <i>W<sub>i</sub></i>, <i>W<sub>j</sub></i> are
+ * independent for <i>i</i> not equal <i>j</i>.
+ *
+ * In contrast to {@link BrownianMotionLazyInit}, the increments are not generated for all time steps
+ * at once. Instead, the increments of a time step (a time slice) are generated on demand. The object retains
+ * the most recently used time slices only (the size of this window is given upon construction). If a slice which
+ * has been released is requested again, it is regenerated.
+ *
+ * Since the increments are generated from a counter based random number generator (see {@link SplitMix64}),
+ * the increment of a given path, time index and factor does not depend on the order in which time slices are
+ * generated. The class generates the same random numbers as {@link BrownianMotionLazyInit} with
+ * {@link BrownianMotionLazyInit.RandomNumberGeneratorType#COUNTER_BASED}.
+ *
+ * Hence, a scheme streaming forward in time (like the Euler scheme) requires memory for the Brownian increments
+ * which is proportional to the size of the window rather than the number of time steps.
+ *
+ * The class is immutable and thread safe. It uses lazy initialization.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class BrownianMotionLazyTimeSlices implements BrownianMotion, Serializable {
+
+	private static final long serialVersionUID = 2813467205923871542L;
+
+	private final TimeDiscretization	timeDiscretization;
+
+	private final int			numberOfFactors;
+	private final int			numberOfPaths;
+	private final int			seed;
+	private final int			numberOfRetainedTimeSlices;
+
+	private final AbstractRandomVariableFactory randomVariableFactory;
+
+	private transient	Map<Integer, RandomVariable[]>	brownianIncrementsOfTimeSlices;
+
+	/**
+	 * Construct a Brownian motion.
+	 *
+	 * @param timeDiscretization The time discretization used for the Brownian increments.
+	 * @param numberOfFactors Number of factors.
+	 * @param numberOfPaths Number of paths to simulate.
+	 * @param seed The seed of the random number generator.
+	 * @param numberOfRetainedTimeSlices The maximum number of time slices retained (the slices are released in least recently used order).
+	 * @param randomVariableFactory Factory to be used to create random variable.
+	 */
+	public BrownianMotionLazyTimeSlices(
+			TimeDiscretization timeDiscretization,
+			int numberOfFactors,
+			int numberOfPaths,
+			int seed,
+			int numberOfRetainedTimeSlices,
+			AbstractRandomVariableFactory randomVariableFactory) {
+		super();
+		if(numberOfRetainedTimeSlices < 1) {
+			throw new IllegalArgumentException("Number of retained time slices must be positive.");
+		}
+		this.timeDiscretization = timeDiscretization;
+		this.numberOfFactors	= numberOfFactors;
+		this.numberOfPaths		= numberOfPaths;
+		this.seed				= seed;
+		this.numberOfRetainedTimeSlices = numberOfRetainedTimeSlices;
+
+		this.randomVariableFactory = randomVariableFactory;
+
+		this.brownianIncrementsOfTimeSlices = createTimeSliceCache(numberOfRetainedTimeSlices);
+	}
+
+	/**
+	 * Construct a Brownian motion.
+	 *
+	 * @param timeDiscretization The time discretization used for the Brownian increments.
+	 * @param numberOfFactors Number of factors.
+	 * @param numberOfPaths Number of paths to simulate.
+	 * @param seed The seed of the random number generator.
+	 * @param numberOfRetainedTimeSlices The maximum number of time slices retained (the slices are released in least recently used order).
+	 */
+	public BrownianMotionLazyTimeSlices(
+			TimeDiscretization timeDiscretization,
+			int numberOfFactors,
+			int numberOfPaths,
+			int seed,
+			int numberOfRetainedTimeSlices) {
+		this(timeDiscretization, numberOfFactors, numberOfPaths, seed, numberOfRetainedTimeSlices, new RandomVariableFactory());
+	}
+
+	@Override
+	public BrownianMotion getCloneWithModifiedSeed(int seed) {
+		return new BrownianMotionLazyTimeSlices(getTimeDiscretization(), getNumberOfFactors(), getNumberOfPaths(), seed, numberOfRetainedTimeSlices, randomVariableFactory);
+	}
+
+	@Override
+	public BrownianMotion getCloneWithModifiedTimeDiscretization(TimeDiscretization newTimeDiscretization) {
+		return new BrownianMotionLazyTimeSlices(newTimeDiscretization, getNumberOfFactors(), getNumberOfPaths(), getSeed(), numberOfRetainedTimeSlices, randomVariableFactory);
+	}
+
+	@Override
+	public RandomVariable getBrownianIncrement(int timeIndex, int factor) {
+		return getIncrementsOfTimeSlice(timeIndex)[factor];
+	}
+
+	@Override
+	public RandomVariable[] getIncrement(int timeIndex) {
+		return getIncrementsOfTimeSlice(timeIndex).clone();
+	}
+
+	@Override
+	public RandomVariable getIncrement(int timeIndex, int factor) {
+		return getBrownianIncrement(timeIndex, factor);
+	}
+
+	private RandomVariable[] getIncrementsOfTimeSlice(int timeIndex) {
+		if(timeIndex < 0 || timeIndex >= timeDiscretization.getNumberOfTimeSteps()) {
+			throw new ArrayIndexOutOfBoundsException("Index " + timeIndex + " for time discretization out of bounds.");
+		}
+
+		RandomVariable[] brownianIncrementsOfTimeSlice;
+		synchronized(brownianIncrementsOfTimeSlices) {
+			brownianIncrementsOfTimeSlice = brownianIncrementsOfTimeSlices.get(timeIndex);
+		}
+
+		/*
+		 * Generation is performed outside the lock. If two threads request the same slice concurrently,
+		 * both generate it, with identical results.
+		 */
+		if(brownianIncrementsOfTimeSlice == null) {
+			brownianIncrementsOfTimeSlice = doGenerateTimeSlice(timeIndex);
+			synchronized(brownianIncrementsOfTimeSlices) {
+				brownianIncrementsOfTimeSlices.put(timeIndex, brownianIncrementsOfTimeSlice);
+			}
+		}
+
+		return brownianIncrementsOfTimeSlice;
+	}
+
+	/**
+	 * Generate the Brownian increments of a given time index.
+	 *
+	 * @param timeIndex The time index.
+	 * @return The Brownian increments of all factors.
+	 */
+	private RandomVariable[] doGenerateTimeSlice(int timeIndex) {
+		final SplitMix64 counterBasedGenerator = new SplitMix64(seed);
+		final int numberOfTimeSteps = timeDiscretization.getNumberOfTimeSteps();
+		final double sqrtDeltaT = Math.sqrt(timeDiscretization.getTimeStep(timeIndex));
+
+		// Allocate memory
+		final double[][] brownianIncrementsArray = new double[numberOfFactors][numberOfPaths];
+
+		/*
+		 * Generate normal distributed independent increments.
+		 *
+		 * The random number for (path, timeIndex, factor) is the element (path * numberOfTimeSteps + timeIndex) * numberOfFactors + factor
+		 * of the sequence, i.e., the same ordering as in BrownianMotionLazyInit.
+		 */
+		IntStream.range(0, numberOfPaths).parallel().forEach(path -> {
+			long index = ((long)path * numberOfTimeSteps + timeIndex) * numberOfFactors;
+			for(int factor=0; factor<numberOfFactors; factor++) {
+				double uniformIncrement = counterBasedGenerator.getDouble(index++);
+				brownianIncrementsArray[factor][path] = net.finmath.functions.NormalDistribution.inverseCumulativeDistribution(uniformIncrement) * sqrtDeltaT;
+			}
+		});
+
+		// Wrap the values in RandomVariable objects
+		double time = timeDiscretization.getTime(timeIndex+1);
+		RandomVariable[] brownianIncrementsOfTimeSlice = new RandomVariable[numberOfFactors];
+		for(int factor=0; factor<numberOfFactors; factor++) {
+			brownianIncrementsOfTimeSlice[factor] = randomVariableFactory.createRandomVariable(time, brownianIncrementsArray[factor]);
+		}
+
+		return brownianIncrementsOfTimeSlice;
+	}
+
+	private static Map<Integer, RandomVariable[]> createTimeSliceCache(final int numberOfRetainedTimeSlices) {
+		return new LinkedHashMap<Integer, RandomVariable[]>(16, 0.75f, true /* accessOrder */) {
+			private static final long serialVersionUID = -3473281750224167915L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, RandomVariable[]> eldest) {
+				return size() > numberOfRetainedTimeSlices;
+			}
+		};
+	}
+
+	@Override
+	public TimeDiscretization getTimeDiscretization() {
+		return timeDiscretization;
+	}
+
+	@Override
+	public int getNumberOfFactors() {
+		return numberOfFactors;
+	}
+
+	@Override
+	public int getNumberOfPaths() {
+		return numberOfPaths;
+	}
+
+	@Override
+	public RandomVariable getRandomVariableForConstant(double value) {
+		return randomVariableFactory.createRandomVariable(value);
+	}
+
+	/**
+	 * @return Returns the seed.
+	 */
+	public int getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @return Returns the maximum number of time slices retained.
+	 */
+	public int getNumberOfRetainedTimeSlices() {
+		return numberOfRetainedTimeSlices;
+	}
+
+	@Override
+	public String toString() {
+		return super.toString()
+				+ "\n" + "timeDiscretizationFromArray: " + timeDiscretization.toString()
+				+ "\n" + "numberOfPaths: " + numberOfPaths
+				+ "\n" + "numberOfFactors: " + numberOfFactors
+				+ "\n" + "seed: " + seed
+				+ "\n" + "numberOfRetainedTimeSlices: " + numberOfRetainedTimeSlices;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+
+		BrownianMotionLazyTimeSlices that = (BrownianMotionLazyTimeSlices) o;
+
+		if (numberOfFactors != that.numberOfFactors) {
+			return false;
+		}
+		if (numberOfPaths != that.numberOfPaths) {
+			return false;
+		}
+		if (seed != that.seed) {
+			return false;
+		}
+		return timeDiscretization.equals(that.timeDiscretization);
+	}
+
+	@Override
+	public int hashCode() {
+		int result = timeDiscretization.hashCode();
+		result = 31 * result + numberOfFactors;
+		result = 31 * result + numberOfPaths;
+		result = 31 * result + seed;
+		return result;
+	}
+
+	private void readObject(java.io.ObjectInputStream in) throws ClassNotFoundException, IOException {
+		in.defaultReadObject();
+		// initialization of transients
+		brownianIncrementsOfTimeSlices = createTimeSliceCache(numberOfRetainedTimeSlices);
+	}
+}
@@ -0,0 +1,264 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.DoubleUnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * The policy deciding if an element-wise operation on an array of doubles (e.g. an operation of
+ * {@link RandomVariableFromDoubleArray}) is performed sequentially or in parallel.
+ *
+ * An operation is performed sequentially if the size of the array is below the parallel threshold of the
+ * operation's {@link OperationType}, otherwise the index range is split into chunks, which are processed
+ * in parallel by a {@link ForkJoinPool}. In both cases each chunk is processed by a plain loop, which is
+ * amenable to auto-vectorization (SIMD) by the JIT compiler.
+ *
+ * The thresholds may be set via the system properties
+ * <code>net.finmath.montecarlo.DoubleArrayExecutionPolicy.parallelThreshold.ARITHMETIC</code>,
+ * <code>net.finmath.montecarlo.DoubleArrayExecutionPolicy.parallelThreshold.TRANSCENDENTAL</code> and
+ * <code>net.finmath.montecarlo.DoubleArrayExecutionPolicy.parallelThreshold.FUNCTION</code>,
+ * or via {@link #setParallelThreshold(OperationType, int)}.
+ * If the system property <code>net.finmath.montecarlo.DoubleArrayExecutionPolicy.isAutoTuning</code> is true,
+ * the thresholds are calibrated (see {@link #calibrate()}) when the class is initialized.
+ *
+ * The pool may be set via {@link #setForkJoinPool(ForkJoinPool)} (default: the common pool).
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public final class DoubleArrayExecutionPolicy {
+
+	private static final Logger logger = Logger.getLogger("net.finmath");
+
+	/**
+	 * Classes of operations, differing in their computational cost per element.
+	 */
+	public enum OperationType {
+		/** Basic arithmetic (e.g. add, mult). These operations are usually memory bound. */
+		ARITHMETIC,
+		/** Transcendental functions (e.g. exp, log). */
+		TRANSCENDENTAL,
+		/** User-supplied functions (e.g. operators passed to <code>apply</code>). */
+		FUNCTION
+	}
+
+	/**
+	 * An operation on a range of indices.
+	 */
+	@FunctionalInterface
+	public interface RangeOperation {
+		/**
+		 * Perform the operation for the indices from startIndex (inclusive) to endIndex (exclusive).
+		 *
+		 * @param startIndex The first index.
+		 * @param endIndex The end index (exclusive).
+		 */
+		void apply(int startIndex, int endIndex);
+	}
+
+	/*
+	 * A chunk is not split further if it is smaller than this size.
+	 */
+	private static final int MINIMUM_CHUNK_SIZE = 4096;
+
+	private static final int[] parallelThresholdsDefault = { 1 << 20, 1 << 14, 1 << 16 };
+
+	// Read on every operation, hence lock-free
+	private static final AtomicIntegerArray parallelThresholds = new AtomicIntegerArray(OperationType.values().length);
+
+	private static volatile ForkJoinPool forkJoinPool = null;
+
+	static {
+		for(OperationType operationType : OperationType.values()) {
+			parallelThresholds.set(operationType.ordinal(), Integer.parseInt(System.getProperty("net.finmath.montecarlo.DoubleArrayExecutionPolicy.parallelThreshold." + operationType.name(), String.valueOf(parallelThresholdsDefault[operationType.ordinal()]))));
+		}
+
+		if(Boolean.parseBoolean(System.getProperty("net.finmath.montecarlo.DoubleArrayExecutionPolicy.isAutoTuning","false"))) {
+			calibrate();
+		}
+	}
+
+	private DoubleArrayExecutionPolicy() {
+	}
+
+	/**
+	 * Perform an operation on the index range 0 to size, either sequentially or in parallel (depending on the policy).
+	 *
+	 * @param operationType The class of the operation.
+	 * @param size The size of the index range.
+	 * @param operation The operation.
+	 */
+	public static void execute(OperationType operationType, int size, RangeOperation operation) {
+		if(size < getParallelThreshold(operationType)) {
+			operation.apply(0, size);
+		}
+		else {
+			executeParallel(size, operation);
+		}
+	}
+
+	private static void executeParallel(int size, RangeOperation operation) {
+		ForkJoinPool pool = getForkJoinPool();
+		int chunkSize = Math.max(MINIMUM_CHUNK_SIZE, size / (4 * pool.getParallelism()) + 1);
+		pool.invoke(new RangeTask(operation, 0, size, chunkSize));
+	}
+
+	/**
+	 * A task performing a range operation by recursive bisection of the range.
+	 */
+	private static class RangeTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 3404327937325224640L;
+
+		private final RangeOperation operation;
+		private final int startIndex;
+		private final int endIndex;
+		private final int chunkSize;
+
+		RangeTask(RangeOperation operation, int startIndex, int endIndex, int chunkSize) {
+			this.operation = operation;
+			this.startIndex = startIndex;
+			this.endIndex = endIndex;
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		protected void compute() {
+			if(endIndex - startIndex <= chunkSize) {
+				operation.apply(startIndex, endIndex);
+			}
+			else {
+				int middleIndex = (startIndex + endIndex) >>> 1;
+				invokeAll(new RangeTask(operation, startIndex, middleIndex, chunkSize), new RangeTask(operation, middleIndex, endIndex, chunkSize));
+			}
+		}
+	}
+
+	/**
+	 * Returns the size from which on operations of the given type are performed in parallel.
+	 *
+	 * @param operationType The class of the operation.
+	 * @return The parallel threshold.
+	 */
+	public static int getParallelThreshold(OperationType operationType) {
+		return parallelThresholds.get(operationType.ordinal());
+	}
+
+	/**
+	 * Set the size from which on operations of the given type are performed in parallel.
+	 * Use <code>Integer.MAX_VALUE</code> to perform all operations of this type sequentially.
+	 *
+	 * @param operationType The class of the operation.
+	 * @param parallelThreshold The parallel threshold.
+	 */
+	public static void setParallelThreshold(OperationType operationType, int parallelThreshold) {
+		parallelThresholds.set(operationType.ordinal(), parallelThreshold);
+	}
+
+	/**
+	 * @return The pool used for parallel execution.
+	 */
+	public static ForkJoinPool getForkJoinPool() {
+		ForkJoinPool pool = forkJoinPool;
+		return pool != null ? pool : ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * Set the pool used for parallel execution.
+	 *
+	 * @param pool The pool. If null, the common pool is used.
+	 */
+	public static void setForkJoinPool(ForkJoinPool pool) {
+		forkJoinPool = pool;
+	}
+
+	/**
+	 * Calibrate the parallel thresholds by measuring the execution time of sequential and parallel
+	 * execution of a representative operation of each {@link OperationType} for sizes from 1k to 8M.
+	 * The threshold is set to the smallest size for which the parallel execution was faster (for this and the next size).
+	 * If parallel execution is not faster for any size (e.g. on a single core), operations are performed sequentially.
+	 */
+	public static synchronized void calibrate() {
+		if(getForkJoinPool().getParallelism() <= 1) {
+			for(OperationType operationType : OperationType.values()) {
+				setParallelThreshold(operationType, Integer.MAX_VALUE);
+			}
+			return;
+		}
+
+		final int maximumSize = 1 << 23;
+		final double[] argument = new double[maximumSize];
+		for(int i=0; i<argument.length; i++) {
+			argument[i] = (double)i / maximumSize;
+		}
+		final double[] result = new double[maximumSize];
+		final DoubleUnaryOperator function = x -> x * (1.0 - x);
+
+		for(OperationType operationType : OperationType.values()) {
+			final RangeOperation operation;
+			switch(operationType) {
+			case ARITHMETIC:
+				operation = (startIndex, endIndex) -> {
+					for(int i=startIndex; i<endIndex; i++) {
+						result[i] = argument[i] + argument[i] * 0.5;
+					}
+				};
+				break;
+			case TRANSCENDENTAL:
+				operation = (startIndex, endIndex) -> {
+					for(int i=startIndex; i<endIndex; i++) {
+						result[i] = FastMath.exp(argument[i]);
+					}
+				};
+				break;
+			case FUNCTION:
+			default:
+				operation = (startIndex, endIndex) -> {
+					for(int i=startIndex; i<endIndex; i++) {
+						result[i] = function.applyAsDouble(argument[i]);
+					}
+				};
+				break;
+			}
+
+			int parallelThreshold = Integer.MAX_VALUE;
+			boolean isParallelFasterForPreviousSize = false;
+			for(int size = 1 << 10; size <= maximumSize; size <<= 1) {
+				final int sizeOfOperation = size;
+				long timeSequential = getMinimumExecutionTime(() -> operation.apply(0, sizeOfOperation));
+				long timeParallel = getMinimumExecutionTime(() -> executeParallel(sizeOfOperation, operation));
+
+				boolean isParallelFaster = timeParallel < timeSequential;
+				if(isParallelFaster && isParallelFasterForPreviousSize) {
+					parallelThreshold = size >> 1;
+					break;
+				}
+				isParallelFasterForPreviousSize = isParallelFaster;
+			}
+
+			setParallelThreshold(operationType, parallelThreshold);
+			logger.log(Level.FINE, "Calibrated parallel threshold for " + operationType.name() + ": " + parallelThreshold);
+		}
+	}
+
+	private static long getMinimumExecutionTime(Runnable runnable) {
+		final int numberOfRepetitions = 7;
+		long minimumTime = Long.MAX_VALUE;
+		for(int repetition=0; repetition<numberOfRepetitions; repetition++) {
+			long start = System.nanoTime();
+			runnable.run();
+			minimumTime = Math.min(minimumTime, System.nanoTime() - start);
+		}
+		return minimumTime;
+	}
+}
@@ -0,0 +1,227 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo;
+
+import net.finmath.montecarlo.DoubleArrayExecutionPolicy.OperationType;
+
+/**
+ * Element-wise kernels on arrays of doubles, used by {@link RandomVariableFromDoubleArray}.
+ *
+ * The kernels are written as plain counted loops over arrays, without virtual calls or branches
+ * in the loop body, such that the JIT compiler can apply its auto-vectorization (SIMD).
+ * The fused kernel {@link #addSumProduct(double[], double, int, double[][], double[], double[][], double[])}
+ * evaluates a sum of products in a single pass over blocks of the data, avoiding the allocation
+ * and traversal of intermediate arrays.
+ *
+ * The kernels are executed sequentially or in parallel chunks according to the {@link DoubleArrayExecutionPolicy}.
+ *
+ * All kernels perform the floating point operations in the same order as the corresponding
+ * scalar implementation, hence give identical results.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+final class DoubleArrayKernels {
+
+	/*
+	 * Number of elements processed per block in fused kernels. The block (and one operand) should fit into the L1 cache.
+	 */
+	private static final int BLOCK_SIZE = 1024;
+
+	private DoubleArrayKernels() {
+	}
+
+	static double[] add(double[] x, double[] y) {
+		double[] result = new double[x.length];
+		DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, result.length, (startIndex, endIndex) -> {
+			for(int i=startIndex; i<endIndex; i++) {
+				result[i] = x[i] + y[i];
+			}
+		});
+		return result;
+	}
+
+	static double[] mult(double[] x, double[] y) {
+		double[] result = new double[x.length];
+		DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, result.length, (startIndex, endIndex) -> {
+			for(int i=startIndex; i<endIndex; i++) {
+				result[i] = x[i] * y[i];
+			}
+		});
+		return result;
+	}
+
+	static double[] cap(double[] x, double[] y) {
+		double[] result = new double[x.length];
+		DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, result.length, (startIndex, endIndex) -> {
+			for(int i=startIndex; i<endIndex; i++) {
+				result[i] = Math.min(x[i], y[i]);
+			}
+		});
+		return result;
+	}
+
+	static double[] floor(double[] x, double[] y) {
+		double[] result = new double[x.length];
+		DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, result.length, (startIndex, endIndex) -> {
+			for(int i=startIndex; i<endIndex; i++) {
+				result[i] = Math.max(x[i], y[i]);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Calculates x + y * z.
+	 *
+	 * @param x The first argument.
+	 * @param y The second argument.
+	 * @param z The third argument.
+	 * @return The result x + y * z.
+	 */
+	static double[] addProduct(double[] x, double[] y, double[] z) {
+		double[] result = new double[x.length];
+		DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, result.length, (startIndex, endIndex) -> {
+			for(int i=startIndex; i<endIndex; i++) {
+				result[i] = x[i] + y[i] * z[i];
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Calculates x + y * z.
+	 *
+	 * @param x The first argument.
+	 * @param y The second argument.
+	 * @param z The third argument (a scalar).
+	 * @return The result x + y * z.
+	 */
+	static double[] addProduct(double[] x, double[] y, double z) {
+		double[] result = new double[x.length];
+		DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, result.length, (startIndex, endIndex) -> {
+			for(int i=startIndex; i<endIndex; i++) {
+				result[i] = x[i] + y[i] * z;
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Calculates x * (1 + rate * periodLength).
+	 *
+	 * @param x The value.
+	 * @param rate The rate.
+	 * @param periodLength The period length.
+	 * @return The accrued value.
+	 */
+	static double[] accrue(double[] x, double[] rate, double periodLength) {
+		double[] result = new double[x.length];
+		DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, result.length, (startIndex, endIndex) -> {
+			for(int i=startIndex; i<endIndex; i++) {
+				result[i] = x[i] * (1 + rate[i] * periodLength);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Calculates x / (1 + rate * periodLength).
+	 *
+	 * @param x The value.
+	 * @param rate The rate.
+	 * @param periodLength The period length.
+	 * @return The discounted value.
+	 */
+	static double[] discount(double[] x, double[] rate, double periodLength) {
+		double[] result = new double[x.length];
+		DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, result.length, (startIndex, endIndex) -> {
+			for(int i=startIndex; i<endIndex; i++) {
+				result[i] = x[i] / (1.0 + rate[i] * periodLength);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Calculates trigger &ge; 0 ? valueIfTriggerNonNegative : valueIfTriggerNegative.
+	 *
+	 * @param trigger The trigger.
+	 * @param valueIfTriggerNonNegative The value if the trigger is non-negative.
+	 * @param valueIfTriggerNegative The value if the trigger is negative.
+	 * @return The chosen values.
+	 */
+	static double[] choose(double[] trigger, double[] valueIfTriggerNonNegative, double[] valueIfTriggerNegative) {
+		double[] result = new double[trigger.length];
+		DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, result.length, (startIndex, endIndex) -> {
+			for(int i=startIndex; i<endIndex; i++) {
+				result[i] = trigger[i] >= 0.0 ? valueIfTriggerNonNegative[i] : valueIfTriggerNegative[i];
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Calculates x + &sum;<sub>k</sub> y<sub>k</sub> * z<sub>k</sub>, where the sum is performed in the order of k.
+	 *
+	 * Each argument may be given as an array or (if the array is null) as a scalar.
+	 *
+	 * @param x The values of the summand (or null if the summand is a scalar).
+	 * @param xScalar The value of the summand if <code>x</code> is null.
+	 * @param size The size of the result.
+	 * @param y The values of the first factors (an element may be null if the factor is a scalar).
+	 * @param yScalar The values of the first factors if the corresponding element of <code>y</code> is null.
+	 * @param z The values of the second factors (an element may be null if the factor is a scalar).
+	 * @param zScalar The values of the second factors if the corresponding element of <code>z</code> is null.
+	 * @return The result.
+	 */
+	static double[] addSumProduct(double[] x, double xScalar, int size, double[][] y, double[] yScalar, double[][] z, double[] zScalar) {
+		double[] result = new double[size];
+		DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, size, (startIndex, endIndex) -> {
+			for(int blockStart=startIndex; blockStart<endIndex; blockStart += BLOCK_SIZE) {
+				final int blockEnd = Math.min(blockStart + BLOCK_SIZE, endIndex);
+
+				if(x != null) {
+					System.arraycopy(x, blockStart, result, blockStart, blockEnd-blockStart);
+				}
+				else {
+					for(int i=blockStart; i<blockEnd; i++) {
+						result[i] = xScalar;
+					}
+				}
+
+				for(int k=0; k<y.length; k++) {
+					final double[] yk = y[k];
+					final double[] zk = z[k];
+					if(yk != null && zk != null) {
+						for(int i=blockStart; i<blockEnd; i++) {
+							result[i] = result[i] + yk[i] * zk[i];
+						}
+					}
+					else if(yk != null) {
+						final double zkScalar = zScalar[k];
+						for(int i=blockStart; i<blockEnd; i++) {
+							result[i] = result[i] + yk[i] * zkScalar;
+						}
+					}
+					else if(zk != null) {
+						final double ykScalar = yScalar[k];
+						for(int i=blockStart; i<blockEnd; i++) {
+							result[i] = result[i] + ykScalar * zk[i];
+						}
+					}
+					else {
+						final double product = yScalar[k] * zScalar[k];
+						for(int i=blockStart; i<blockEnd; i++) {
+							result[i] = result[i] + product;
+						}
+					}
+				}
+			}
+		});
+		return result;
+	}
+}
@@ -33,6 +33,17 @@ public class RandomVariableFactory extends AbstractRandomVariableFactory {
 		this.isUseDoublePrecisionFloatingPointImplementation = isUseDoublePrecisionFloatingPointImplementation;
 	}
 
+	/**
+	 * Returns true if this factory creates random variables storing the realizations as doubles
+	 * ({@link RandomVariableFromDoubleArray}), false if it creates random variables storing the realizations
+	 * as floats ({@link RandomVariableFromFloatArray}).
+	 *
+	 * @return True if the realizations are stored as doubles.
+	 */
+	public boolean isUseDoublePrecisionFloatingPointImplementation() {
+		return isUseDoublePrecisionFloatingPointImplementation;
+	}
+
 	@Override
 	public RandomVariable createRandomVariable(double value) {
 		return new Scalar(value);
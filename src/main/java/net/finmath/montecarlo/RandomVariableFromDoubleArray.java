@@ -11,11 +11,11 @@ import java.util.function.DoubleBinaryOperator;
 import java.util.function.DoubleUnaryOperator;
 import java.util.function.IntToDoubleFunction;
 import java.util.stream.DoubleStream;
-import java.util.stream.IntStream;
 
 import org.apache.commons.math3.util.FastMath;
 
 import net.finmath.functions.DoubleTernaryOperator;
+import net.finmath.montecarlo.DoubleArrayExecutionPolicy.OperationType;
 import net.finmath.stochastic.ConditionalExpectationEstimator;
 import net.finmath.stochastic.RandomVariable;
 
@@ -33,6 +33,11 @@ import net.finmath.stochastic.RandomVariable;
  *
  * The implementation requires Java 8 or better.
  *
+ * Setting the system property <code>net.finmath.montecarlo.RandomVariableFromDoubleArray.isUseVectorizedKernels</code>
+ * to true enables kernels operating directly on the arrays of realizations (if all operands are stochastic instances of this class),
+ * which are amenable to auto-vectorization (SIMD) by the JIT compiler, and a fused single pass kernel for <code>addSumProduct</code>.
+ * The results are identical to the default implementation.
+ *
  * @author Christian Fries
  * @version 2.1
  */
@@ -42,6 +47,8 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 
 	private static final int typePriorityDefault = 1;
 
+	private static final boolean isUseVectorizedKernels = Boolean.parseBoolean(System.getProperty("net.finmath.montecarlo.RandomVariableFromDoubleArray.isUseVectorizedKernels","false"));
+
 	private final int typePriority;
 
 	private final double      time;	                // Time (filtration)
@@ -181,9 +188,12 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		this.realizations = size == 1 ? null : new double[size];//IntStream.range(0,size).parallel().mapToDouble(realisations).toArray();
 		this.valueIfNonStochastic = size == 1 ? realizations.applyAsDouble(0) : Double.NaN;
 		if(size > 1) {
-			IntStream.range(0,size).parallel().forEach(i ->
-			this.realizations[i] = realizations.applyAsDouble(i)
-					);
+			final double[] newRealizations = this.realizations;
+			DoubleArrayExecutionPolicy.execute(OperationType.FUNCTION, size, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i] = realizations.applyAsDouble(i);
+				}
+			});
 		}
 		this.typePriority = typePriority;
 	}
@@ -648,11 +658,12 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else
 		{
-			// Still faster than a parallel stream (2014.04)
 			double[] result = new double[this.realizations.length];
-			for(int i=0; i<result.length; i++) {
-				result[i] = operator.applyAsDouble(realizations[i]);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.FUNCTION, result.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					result[i] = operator.applyAsDouble(realizations[i]);
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, result);
 		}
 	}
@@ -665,27 +676,30 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 			return new RandomVariableFromDoubleArray(newTime, operator.applyAsDouble(valueIfNonStochastic, argument.get(0)));
 		}
 		else if(isDeterministic() && !argument.isDeterministic()) {
-			// Still faster than a parallel stream (2014.04)
 			double[] result = new double[argument.size()];
-			for(int i=0; i<result.length; i++) {
-				result[i] = operator.applyAsDouble(valueIfNonStochastic, argument.get(i));
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.FUNCTION, result.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					result[i] = operator.applyAsDouble(valueIfNonStochastic, argument.get(i));
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, result);
 		}
 		else if(!isDeterministic() && argument.isDeterministic()) {
-			// Still faster than a parallel stream (2014.04)
 			double[] result = new double[this.size()];
-			for(int i=0; i<result.length; i++) {
-				result[i] = operator.applyAsDouble(realizations[i], argument.get(0));
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.FUNCTION, result.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					result[i] = operator.applyAsDouble(realizations[i], argument.get(0));
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, result);
 		}
 		else if(!isDeterministic() && !argument.isDeterministic()) {
-			// Still faster than a parallel stream (2014.04)
 			double[] result = new double[this.size()];
-			for(int i=0; i<result.length; i++) {
-				result[i] = operator.applyAsDouble(realizations[i], argument.get(i));
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.FUNCTION, result.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					result[i] = operator.applyAsDouble(realizations[i], argument.get(i));
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, result);
 		}
 
@@ -729,9 +743,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[realizations.length];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = Math.min(realizations[i],cap);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = Math.min(realizations[i],cap);
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
@@ -744,9 +760,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[realizations.length];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = Math.max(realizations[i],floor);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = Math.max(realizations[i],floor);
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
@@ -759,9 +777,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[realizations.length];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] + value;
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] + value;
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
@@ -774,9 +794,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[realizations.length];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] - value;
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] - value;
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
@@ -789,9 +811,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[realizations.length];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] * value;
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] * value;
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
@@ -804,9 +828,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[realizations.length];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] / value;
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] / value;
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
@@ -819,9 +845,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[realizations.length];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = Math.pow(realizations[i],exponent);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.TRANSCENDENTAL, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = Math.pow(realizations[i],exponent);
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
@@ -845,9 +873,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[realizations.length];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] * realizations[i];
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] * realizations[i];
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
@@ -860,9 +890,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[realizations.length];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = Math.sqrt(realizations[i]);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.TRANSCENDENTAL, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = Math.sqrt(realizations[i]);
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
@@ -875,9 +907,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[realizations.length];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.exp(realizations[i]);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.TRANSCENDENTAL, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = FastMath.exp(realizations[i]);
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
@@ -890,9 +924,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[realizations.length];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.log(realizations[i]);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.TRANSCENDENTAL, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = FastMath.log(realizations[i]);
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
@@ -905,9 +941,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[realizations.length];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.sin(realizations[i]);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.TRANSCENDENTAL, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = FastMath.sin(realizations[i]);
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
@@ -920,9 +958,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[realizations.length];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.cos(realizations[i]);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.TRANSCENDENTAL, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = FastMath.cos(realizations[i]);
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
@@ -947,15 +987,23 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else if(isDeterministic()) {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = valueIfNonStochastic + randomVariable.get(i);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = valueIfNonStochastic + randomVariable.get(i);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
-		} else {
+		}
+		else if(isUseVectorizedKernels && getRealizationsIfStochastic(randomVariable) != null) {
+			return new RandomVariableFromDoubleArray(newTime, DoubleArrayKernels.add(realizations, getRealizationsIfStochastic(randomVariable)));
+		}
+		else {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] + randomVariable.get(i);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] + randomVariable.get(i);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 	}
@@ -976,16 +1024,20 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else if(isDeterministic()) {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = valueIfNonStochastic - randomVariable.get(i);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = valueIfNonStochastic - randomVariable.get(i);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 		else {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] - randomVariable.get(i);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] - randomVariable.get(i);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 	}
@@ -1006,16 +1058,20 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else if(isDeterministic()) {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 =  randomVariable.get(i) - valueIfNonStochastic;
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 =  randomVariable.get(i) - valueIfNonStochastic;
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 		else {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = randomVariable.get(i) - realizations[i];
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = randomVariable.get(i) - realizations[i];
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 	}
@@ -1039,16 +1095,23 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else if(isDeterministic()) {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = valueIfNonStochastic * randomVariable.get(i);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = valueIfNonStochastic * randomVariable.get(i);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
+		else if(isUseVectorizedKernels && getRealizationsIfStochastic(randomVariable) != null) {
+			return new RandomVariableFromDoubleArray(newTime, DoubleArrayKernels.mult(realizations, getRealizationsIfStochastic(randomVariable)));
+		}
 		else {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] * randomVariable.get(i);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] * randomVariable.get(i);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 	}
@@ -1069,16 +1132,20 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else if(isDeterministic()) {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = valueIfNonStochastic / randomVariable.get(i);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = valueIfNonStochastic / randomVariable.get(i);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 		else {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] / randomVariable.get(i);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] / randomVariable.get(i);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 	}
@@ -1099,16 +1166,20 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else if(isDeterministic()) {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = randomVariable.get(i) / valueIfNonStochastic;
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = randomVariable.get(i) / valueIfNonStochastic;
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 		else {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = randomVariable.get(i) / realizations[i];
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = randomVariable.get(i) / realizations[i];
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 	}
@@ -1129,15 +1200,23 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else if(isDeterministic()) {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.min(valueIfNonStochastic, randomVariable.get(i));
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = FastMath.min(valueIfNonStochastic, randomVariable.get(i));
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
-		} else {
+		}
+		else if(isUseVectorizedKernels && getRealizationsIfStochastic(randomVariable) != null) {
+			return new RandomVariableFromDoubleArray(newTime, DoubleArrayKernels.cap(realizations, getRealizationsIfStochastic(randomVariable)));
+		}
+		else {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.min(realizations[i], randomVariable.get(i));
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = FastMath.min(realizations[i], randomVariable.get(i));
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 	}
@@ -1158,15 +1237,23 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else if(isDeterministic()) {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.max(valueIfNonStochastic, randomVariable.get(i));
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = FastMath.max(valueIfNonStochastic, randomVariable.get(i));
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
-		} else {
+		}
+		else if(isUseVectorizedKernels && getRealizationsIfStochastic(randomVariable) != null) {
+			return new RandomVariableFromDoubleArray(newTime, DoubleArrayKernels.floor(realizations, getRealizationsIfStochastic(randomVariable)));
+		}
+		else {
 			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.max(realizations[i], randomVariable.get(i));
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = FastMath.max(realizations[i], randomVariable.get(i));
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 	}
@@ -1188,25 +1275,34 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		else if(isDeterministic() && !rate.isDeterministic()) {
 			double[] rateRealizations = rate.getRealizations();
 			double[] newRealizations = new double[Math.max(size(), rate.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = valueIfNonStochastic * (1 + rateRealizations[i] * periodLength);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = valueIfNonStochastic * (1 + rateRealizations[i] * periodLength);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 		else if(!isDeterministic() && rate.isDeterministic()) {
 			double rateValue = rate.get(0);
 			double[] newRealizations = new double[Math.max(size(), rate.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] * (1 + rateValue * periodLength);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] * (1 + rateValue * periodLength);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
+		else if(isUseVectorizedKernels && getRealizationsIfStochastic(rate) != null) {
+			return new RandomVariableFromDoubleArray(newTime, DoubleArrayKernels.accrue(realizations, getRealizationsIfStochastic(rate), periodLength));
+		}
 		else {
 			double[] rateRealizations = rate.getRealizations();
 			double[] newRealizations = new double[Math.max(size(), rate.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] * (1 + rateRealizations[i] * periodLength);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] * (1 + rateRealizations[i] * periodLength);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 	}
@@ -1228,25 +1324,34 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		else if(isDeterministic() && !rate.isDeterministic()) {
 			double[] rateRealizations = rate.getRealizations();
 			double[] newRealizations = new double[Math.max(size(), rate.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = valueIfNonStochastic / (1.0 + rateRealizations[i] * periodLength);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = valueIfNonStochastic / (1.0 + rateRealizations[i] * periodLength);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 		else if(!isDeterministic() && rate.isDeterministic()) {
 			double rateValue = rate.get(0);
 			double[] newRealizations = new double[Math.max(size(), rate.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] / (1.0 + rateValue * periodLength);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] / (1.0 + rateValue * periodLength);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
+		else if(isUseVectorizedKernels && getRealizationsIfStochastic(rate) != null) {
+			return new RandomVariableFromDoubleArray(newTime, DoubleArrayKernels.discount(realizations, getRealizationsIfStochastic(rate), periodLength));
+		}
 		else {
 			double[] rateRealizations = rate.getRealizations();
 			double[] newRealizations = new double[Math.max(size(), rate.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] / (1.0 + rateRealizations[i] * periodLength);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] / (1.0 + rateRealizations[i] * periodLength);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 	}
@@ -1267,12 +1372,17 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 			if(valueIfNonStochastic >= 0) return valueIfTriggerNonNegative;
 			else return valueIfTriggerNegative;
 		}
+		else if(isUseVectorizedKernels && getRealizationsIfStochastic(valueIfTriggerNonNegative) != null && getRealizationsIfStochastic(valueIfTriggerNegative) != null) {
+			return new RandomVariableFromDoubleArray(newTime, DoubleArrayKernels.choose(realizations, getRealizationsIfStochastic(valueIfTriggerNonNegative), getRealizationsIfStochastic(valueIfTriggerNegative)));
+		}
 		else {
 			int numberOfPaths = this.size();
 			double[] newRealizations = new double[numberOfPaths];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i] = realizations[i] >= 0.0 ? valueIfTriggerNonNegative.get(i) : valueIfTriggerNegative.get(i);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i] = realizations[i] >= 0.0 ? valueIfTriggerNonNegative.get(i) : valueIfTriggerNegative.get(i);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 	}
@@ -1285,9 +1395,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[realizations.length];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = 1.0/realizations[i];
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = 1.0/realizations[i];
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
@@ -1300,9 +1412,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[realizations.length];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = Math.abs(realizations[i]);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = Math.abs(realizations[i]);
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
@@ -1324,25 +1438,34 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		else if(isDeterministic() && !factor1.isDeterministic()) {
 			double[] factor1Realizations = factor1.getRealizations();
 			double[] newRealizations = new double[Math.max(size(), factor1.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = valueIfNonStochastic + factor1Realizations[i] * factor2;
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = valueIfNonStochastic + factor1Realizations[i] * factor2;
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 		else if(!isDeterministic() && factor1.isDeterministic()) {
 			double factor1Value = factor1.get(0);
 			double[] newRealizations = new double[Math.max(size(), factor1.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] + factor1Value * factor2;
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] + factor1Value * factor2;
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
+		else if(isUseVectorizedKernels && getRealizationsIfStochastic(factor1) != null) {
+			return new RandomVariableFromDoubleArray(newTime, DoubleArrayKernels.addProduct(realizations, getRealizationsIfStochastic(factor1), factor2));
+		}
 		else {
 			double[] factor1Realizations = factor1.getRealizations();
 			double[] newRealizations = new double[Math.max(size(), factor1.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] + factor1Realizations[i] * factor2;
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] + factor1Realizations[i] * factor2;
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 	}
@@ -1365,25 +1488,34 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 			double[] factor1Realizations = factor1.getRealizations();
 			double[] factor2Realizations = factor2.getRealizations();
 			double[] newRealizations = new double[Math.max(size(), factor1.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = valueIfNonStochastic + factor1Realizations[i] * factor2Realizations[i];
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = valueIfNonStochastic + factor1Realizations[i] * factor2Realizations[i];
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
+		else if(isUseVectorizedKernels && !isDeterministic() && getRealizationsIfStochastic(factor1) != null && getRealizationsIfStochastic(factor2) != null) {
+			return new RandomVariableFromDoubleArray(newTime, DoubleArrayKernels.addProduct(realizations, getRealizationsIfStochastic(factor1), getRealizationsIfStochastic(factor2)));
+		}
 		else if(!isDeterministic() && !factor1.isDeterministic() && !factor2.isDeterministic()) {
 			double[] factor1Realizations = factor1.getRealizations();
 			double[] factor2Realizations = factor2.getRealizations();
 			double[] newRealizations = new double[Math.max(size(), factor1.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] + factor1Realizations[i] * factor2Realizations[i];
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = realizations[i] + factor1Realizations[i] * factor2Realizations[i];
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 		else {
 			double[] newRealizations = new double[Math.max(Math.max(size(), factor1.size()), factor2.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = get(i) + factor1.get(i) * factor2.get(i);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = get(i) + factor1.get(i) * factor2.get(i);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 	}
@@ -1391,6 +1523,13 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 	@Override
 	public RandomVariable addSumProduct(List<RandomVariable> factor1, List<RandomVariable> factor2)
 	{
+		if(isUseVectorizedKernels) {
+			RandomVariable result = addSumProductFused(factor1, factor2);
+			if(result != null) {
+				return result;
+			}
+		}
+
 		RandomVariable result = this;
 		for(int i=0; i<factor1.size(); i++) {
 			result = result.addProduct(factor1.get(i), factor2.get(i));
@@ -1398,6 +1537,71 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		return result;
 	}
 
+	/**
+	 * Calculates <code>addSumProduct</code> in a single pass, if all factors are instances of this class.
+	 *
+	 * @param factor1 The first factors.
+	 * @param factor2 The second factors.
+	 * @return The result or null if the operation cannot be performed by the fused kernel.
+	 */
+	private RandomVariable addSumProductFused(List<RandomVariable> factor1, List<RandomVariable> factor2) {
+		int numberOfProducts = factor1.size();
+		double[][] factor1Realizations = new double[numberOfProducts][];
+		double[] factor1Values = new double[numberOfProducts];
+		double[][] factor2Realizations = new double[numberOfProducts][];
+		double[] factor2Values = new double[numberOfProducts];
+
+		double newTime = time;
+		int newSize = size();
+		for(int k=0; k<numberOfProducts; k++) {
+			RandomVariable factor1OfProduct = factor1.get(k);
+			RandomVariable factor2OfProduct = factor2.get(k);
+			if(!(factor1OfProduct instanceof RandomVariableFromDoubleArray) || !(factor2OfProduct instanceof RandomVariableFromDoubleArray)
+					|| factor1OfProduct.getTypePriority() > this.getTypePriority() || factor2OfProduct.getTypePriority() > this.getTypePriority()) {
+				return null;
+			}
+
+			newTime = Math.max(Math.max(newTime, factor1OfProduct.getFiltrationTime()), factor2OfProduct.getFiltrationTime());
+			newSize = Math.max(Math.max(newSize, factor1OfProduct.size()), factor2OfProduct.size());
+
+			factor1Realizations[k]	= getRealizationsIfStochastic(factor1OfProduct);
+			factor1Values[k]		= factor1OfProduct.isDeterministic() ? factor1OfProduct.get(0) : Double.NaN;
+			factor2Realizations[k]	= getRealizationsIfStochastic(factor2OfProduct);
+			factor2Values[k]		= factor2OfProduct.isDeterministic() ? factor2OfProduct.get(0) : Double.NaN;
+		}
+
+		if(newSize == 1) {
+			// Deterministic result - use default implementation
+			return null;
+		}
+
+		return new RandomVariableFromDoubleArray(newTime, DoubleArrayKernels.addSumProduct(realizations, valueIfNonStochastic, newSize, factor1Realizations, factor1Values, factor2Realizations, factor2Values));
+	}
+
+	/**
+	 * Returns the (internal) array of realizations (not a copy). The array must not be modified.
+	 *
+	 * @return The array of realizations or null, if this random variable is deterministic.
+	 */
+	double[] getRealizationsInternal() {
+		return realizations;
+	}
+
+	/**
+	 * Returns the (internal) array of realizations of the given random variable, if it is a stochastic instance of this class.
+	 *
+	 * @param randomVariable A random variable.
+	 * @return The array of realizations or null.
+	 */
+	private static double[] getRealizationsIfStochastic(RandomVariable randomVariable) {
+		if(randomVariable instanceof RandomVariableFromDoubleArray) {
+			return ((RandomVariableFromDoubleArray)randomVariable).realizations;
+		}
+		else {
+			return null;
+		}
+	}
+
 	@Override
 	public RandomVariable addRatio(RandomVariable numerator, RandomVariable denominator) {
 		if(numerator.getTypePriority() > this.getTypePriority() || denominator.getTypePriority() > this.getTypePriority()) {
@@ -1414,9 +1618,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[Math.max(Math.max(size(), numerator.size()), denominator.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = get(i) + numerator.get(i) / denominator.get(i);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = get(i) + numerator.get(i) / denominator.get(i);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 	}
@@ -1437,9 +1643,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[Math.max(Math.max(size(), numerator.size()), denominator.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = get(i) - numerator.get(i) / denominator.get(i);
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = get(i) - numerator.get(i) / denominator.get(i);
+				}
+			});
 			return new RandomVariableFromDoubleArray(newTime, newRealizations);
 		}
 	}
@@ -1451,9 +1659,11 @@ public class RandomVariableFromDoubleArray implements RandomVariable {
 		}
 		else {
 			double[] newRealizations = new double[size()];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = Double.isNaN(get(i)) ? 1.0 : 0.0;
-			}
+			DoubleArrayExecutionPolicy.execute(OperationType.ARITHMETIC, newRealizations.length, (startIndex, endIndex) -> {
+				for(int i=startIndex; i<endIndex; i++) {
+					newRealizations[i]		 = Double.isNaN(get(i)) ? 1.0 : 0.0;
+				}
+			});
 			return new RandomVariableFromDoubleArray(time, newRealizations);
 		}
 	}
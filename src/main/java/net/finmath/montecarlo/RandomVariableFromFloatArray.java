@@ -34,6 +34,10 @@ import net.finmath.stochastic.RandomVariable;
  * This implementation uses floats for the realizations (consuming less memory compared to using doubles). However,
  * the calculation of the average is performed using double precision.
  *
+ * The results of operations are stored as floats, without intermediate arrays of doubles. Operations on two random variables
+ * of this type read the float realizations directly (realizations of other types are rounded to float). The reductions
+ * (average, variance) use compensated (Kahan) summation in double precision.
+ *
  * @author Christian Fries
  * @version 1.8
  */
@@ -215,6 +219,22 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 		return arrayOfFloat;
 	}
 
+	/**
+	 * Returns the realizations of a stochastic random variable as float array. For a <code>RandomVariableFromFloatArray</code>
+	 * the internal array is returned (no copy is made), the realizations of other random variables are rounded to float.
+	 *
+	 * @param randomVariable A stochastic random variable.
+	 * @return The realizations as float array (must not be modified).
+	 */
+	private static float[] getFloatArray(RandomVariable randomVariable) {
+		if(randomVariable instanceof RandomVariableFromFloatArray) {
+			return ((RandomVariableFromFloatArray)randomVariable).realizations;
+		}
+		else {
+			return getFloatArray(randomVariable.getRealizations());
+		}
+	}
+
 	private double[] getDoubleArray(float[] arrayOfFloat) {
 		double[] arrayOfDouble = new double[arrayOfFloat.length];
 		for(int i=0; i<arrayOfFloat.length; i++) {
@@ -630,7 +650,7 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			});
 		}
 		else {
-			return Arrays.stream(getDoubleArray(realizations));
+			return IntStream.range(0, realizations.length).mapToDouble(i -> realizations[i]);
 		}
 	}
 
@@ -673,9 +693,9 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 		else
 		{
 			// Still faster than a parallel stream (2014.04)
-			double[] result = new double[this.realizations.length];
+			float[] result = new float[this.realizations.length];
 			for(int i=0; i<result.length; i++) {
-				result[i] = operator.applyAsDouble(realizations[i]);
+				result[i] = (float) operator.applyAsDouble(realizations[i]);
 			}
 			return new RandomVariableFromFloatArray(time, result);
 		}
@@ -717,9 +737,9 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(time, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[realizations.length];
+			float[] newRealizations = new float[realizations.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = Math.min(realizations[i],cap);
+				newRealizations[i]		 = (float) Math.min(realizations[i],cap);
 			}
 			return new RandomVariableFromFloatArray(time, newRealizations);
 		}
@@ -732,9 +752,9 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(time, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[realizations.length];
+			float[] newRealizations = new float[realizations.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = Math.max(realizations[i],floor);
+				newRealizations[i]		 = (float) Math.max(realizations[i],floor);
 			}
 			return new RandomVariableFromFloatArray(time, newRealizations);
 		}
@@ -747,9 +767,9 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(time, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[realizations.length];
+			float[] newRealizations = new float[realizations.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] + value;
+				newRealizations[i]		 = (float) (realizations[i] + value);
 			}
 			return new RandomVariableFromFloatArray(time, newRealizations);
 		}
@@ -762,9 +782,9 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(time, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[realizations.length];
+			float[] newRealizations = new float[realizations.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] - value;
+				newRealizations[i]		 = (float) (realizations[i] - value);
 			}
 			return new RandomVariableFromFloatArray(time, newRealizations);
 		}
@@ -792,9 +812,9 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(time, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[realizations.length];
+			float[] newRealizations = new float[realizations.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] / value;
+				newRealizations[i]		 = (float) (realizations[i] / value);
 			}
 			return new RandomVariableFromFloatArray(time, newRealizations);
 		}
@@ -807,9 +827,9 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(time, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[realizations.length];
+			float[] newRealizations = new float[realizations.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = Math.pow(realizations[i],exponent);
+				newRealizations[i]		 = (float) Math.pow(realizations[i],exponent);
 			}
 			return new RandomVariableFromFloatArray(time, newRealizations);
 		}
@@ -833,7 +853,7 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(time, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[realizations.length];
+			float[] newRealizations = new float[realizations.length];
 			for(int i=0; i<newRealizations.length; i++) {
 				newRealizations[i]		 = realizations[i] * realizations[i];
 			}
@@ -848,9 +868,9 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(time, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[realizations.length];
+			float[] newRealizations = new float[realizations.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = Math.sqrt(realizations[i]);
+				newRealizations[i]		 = (float) Math.sqrt(realizations[i]);
 			}
 			return new RandomVariableFromFloatArray(time, newRealizations);
 		}
@@ -863,9 +883,9 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(time, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[realizations.length];
+			float[] newRealizations = new float[realizations.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.exp(realizations[i]);
+				newRealizations[i]		 = (float) FastMath.exp(realizations[i]);
 			}
 			return new RandomVariableFromFloatArray(time, newRealizations);
 		}
@@ -878,9 +898,9 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(time, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[realizations.length];
+			float[] newRealizations = new float[realizations.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.log(realizations[i]);
+				newRealizations[i]		 = (float) FastMath.log(realizations[i]);
 			}
 			return new RandomVariableFromFloatArray(time, newRealizations);
 		}
@@ -893,9 +913,9 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(time, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[realizations.length];
+			float[] newRealizations = new float[realizations.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.sin(realizations[i]);
+				newRealizations[i]		 = (float) FastMath.sin(realizations[i]);
 			}
 			return new RandomVariableFromFloatArray(time, newRealizations);
 		}
@@ -908,9 +928,9 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(time, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[realizations.length];
+			float[] newRealizations = new float[realizations.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.cos(realizations[i]);
+				newRealizations[i]		 = (float) FastMath.cos(realizations[i]);
 			}
 			return new RandomVariableFromFloatArray(time, newRealizations);
 		}
@@ -934,16 +954,27 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			double newValueIfNonStochastic = valueIfNonStochastic + randomVariable.get(0);
 			return new RandomVariableFromFloatArray(newTime, newValueIfNonStochastic);
 		}
+		else if(randomVariable.isDeterministic()) {
+			double value = randomVariable.get(0);
+			float[] newRealizations = new float[realizations.length];
+			for(int i=0; i<newRealizations.length; i++) {
+				newRealizations[i]		 = (float) (realizations[i] + value);
+			}
+			return new RandomVariableFromFloatArray(newTime, newRealizations);
+		}
 		else if(isDeterministic()) {
-			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[values.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = valueIfNonStochastic + randomVariable.get(i);
+				newRealizations[i]		 = (float) (valueIfNonStochastic + values[i]);
 			}
-			return new RandomVariableFromDoubleArray(newTime, newRealizations);
-		} else {
-			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
+			return new RandomVariableFromFloatArray(newTime, newRealizations);
+		}
+		else {
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[Math.max(realizations.length, values.length)];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] + randomVariable.get(i);
+				newRealizations[i]		 = realizations[i] + values[i];
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
@@ -963,17 +994,27 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			double newValueIfNonStochastic = valueIfNonStochastic - randomVariable.get(0);
 			return new RandomVariableFromFloatArray(newTime, newValueIfNonStochastic);
 		}
+		else if(randomVariable.isDeterministic()) {
+			double value = randomVariable.get(0);
+			float[] newRealizations = new float[realizations.length];
+			for(int i=0; i<newRealizations.length; i++) {
+				newRealizations[i]		 = (float) (realizations[i] - value);
+			}
+			return new RandomVariableFromFloatArray(newTime, newRealizations);
+		}
 		else if(isDeterministic()) {
-			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[values.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = valueIfNonStochastic - randomVariable.get(i);
+				newRealizations[i]		 = (float) (valueIfNonStochastic - values[i]);
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
 		else {
-			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[Math.max(realizations.length, values.length)];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] - randomVariable.get(i);
+				newRealizations[i]		 = realizations[i] - values[i];
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
@@ -993,17 +1034,27 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			double newValueIfNonStochastic = randomVariable.get(0) - valueIfNonStochastic;
 			return new RandomVariableFromFloatArray(newTime, newValueIfNonStochastic);
 		}
+		else if(randomVariable.isDeterministic()) {
+			double value = randomVariable.get(0);
+			float[] newRealizations = new float[realizations.length];
+			for(int i=0; i<newRealizations.length; i++) {
+				newRealizations[i]		 = (float) (value - realizations[i]);
+			}
+			return new RandomVariableFromFloatArray(newTime, newRealizations);
+		}
 		else if(isDeterministic()) {
-			float[] newRealizations = new float[Math.max(size(), randomVariable.size())];
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[values.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = (float) (randomVariable.get(i) - valueIfNonStochastic);
+				newRealizations[i]		 = (float) (values[i] - valueIfNonStochastic);
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
 		else {
-			float[] newRealizations = new float[Math.max(size(), randomVariable.size())];
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[Math.max(realizations.length, values.length)];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = (float) (randomVariable.get(i) - realizations[i]);
+				newRealizations[i]		 = values[i] - realizations[i];
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
@@ -1024,19 +1075,26 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(newTime, newValueIfNonStochastic);
 		}
 		else if(randomVariable.isDeterministic()) {
-			return this.mult(randomVariable.get(0));
+			double value = randomVariable.get(0);
+			float[] newRealizations = new float[realizations.length];
+			for(int i=0; i<newRealizations.length; i++) {
+				newRealizations[i]		 = (float) (realizations[i] * value);
+			}
+			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
 		else if(isDeterministic()) {
-			float[] newRealizations = new float[Math.max(size(), randomVariable.size())];
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[values.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = (float) (valueIfNonStochastic * randomVariable.get(i));
+				newRealizations[i]		 = (float) (valueIfNonStochastic * values[i]);
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
 		else {
-			float[] newRealizations = new float[Math.max(size(), randomVariable.size())];
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[Math.max(realizations.length, values.length)];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = (float) (realizations[i] * randomVariable.get(i));
+				newRealizations[i]		 = realizations[i] * values[i];
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
@@ -1056,17 +1114,27 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			double newValueIfNonStochastic = valueIfNonStochastic / randomVariable.get(0);
 			return new RandomVariableFromFloatArray(newTime, newValueIfNonStochastic);
 		}
+		else if(randomVariable.isDeterministic()) {
+			double value = randomVariable.get(0);
+			float[] newRealizations = new float[realizations.length];
+			for(int i=0; i<newRealizations.length; i++) {
+				newRealizations[i]		 = (float) (realizations[i] / value);
+			}
+			return new RandomVariableFromFloatArray(newTime, newRealizations);
+		}
 		else if(isDeterministic()) {
-			float[] newRealizations = new float[Math.max(size(), randomVariable.size())];
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[values.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = (float) (valueIfNonStochastic / randomVariable.get(i));
+				newRealizations[i]		 = (float) (valueIfNonStochastic / values[i]);
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
 		else {
-			float[] newRealizations = new float[Math.max(size(), randomVariable.size())];
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[Math.max(realizations.length, values.length)];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = (float) (realizations[i] / randomVariable.get(i));
+				newRealizations[i]		 = realizations[i] / values[i];
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
@@ -1086,17 +1154,27 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			double newValueIfNonStochastic = randomVariable.get(0) / valueIfNonStochastic;
 			return new RandomVariableFromFloatArray(newTime, newValueIfNonStochastic);
 		}
+		else if(randomVariable.isDeterministic()) {
+			double value = randomVariable.get(0);
+			float[] newRealizations = new float[realizations.length];
+			for(int i=0; i<newRealizations.length; i++) {
+				newRealizations[i]		 = (float) (value / realizations[i]);
+			}
+			return new RandomVariableFromFloatArray(newTime, newRealizations);
+		}
 		else if(isDeterministic()) {
-			float[] newRealizations = new float[Math.max(size(), randomVariable.size())];
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[values.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = (float) (randomVariable.get(i) / valueIfNonStochastic);
+				newRealizations[i]		 = (float) (values[i] / valueIfNonStochastic);
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
 		else {
-			float[] newRealizations = new float[Math.max(size(), randomVariable.size())];
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[Math.max(realizations.length, values.length)];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = (float) (randomVariable.get(i) / realizations[i]);
+				newRealizations[i]		 = values[i] / realizations[i];
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
@@ -1116,16 +1194,27 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			double newValueIfNonStochastic = FastMath.min(valueIfNonStochastic, randomVariable.get(0));
 			return new RandomVariableFromFloatArray(newTime, newValueIfNonStochastic);
 		}
+		else if(randomVariable.isDeterministic()) {
+			double value = randomVariable.get(0);
+			float[] newRealizations = new float[realizations.length];
+			for(int i=0; i<newRealizations.length; i++) {
+				newRealizations[i]		 = (float) Math.min(realizations[i], value);
+			}
+			return new RandomVariableFromFloatArray(newTime, newRealizations);
+		}
 		else if(isDeterministic()) {
-			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[values.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.min(valueIfNonStochastic, randomVariable.get(i));
+				newRealizations[i]		 = (float) Math.min(valueIfNonStochastic, values[i]);
 			}
-			return new RandomVariableFromDoubleArray(newTime, newRealizations);
-		} else {
-			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
+			return new RandomVariableFromFloatArray(newTime, newRealizations);
+		}
+		else {
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[Math.max(realizations.length, values.length)];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.min(realizations[i], randomVariable.get(i));
+				newRealizations[i]		 = Math.min(realizations[i], values[i]);
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
@@ -1145,16 +1234,27 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			double newValueIfNonStochastic = FastMath.max(valueIfNonStochastic, randomVariable.get(0));
 			return new RandomVariableFromFloatArray(newTime, newValueIfNonStochastic);
 		}
+		else if(randomVariable.isDeterministic()) {
+			double value = randomVariable.get(0);
+			float[] newRealizations = new float[realizations.length];
+			for(int i=0; i<newRealizations.length; i++) {
+				newRealizations[i]		 = (float) Math.max(realizations[i], value);
+			}
+			return new RandomVariableFromFloatArray(newTime, newRealizations);
+		}
 		else if(isDeterministic()) {
-			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[values.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.max(valueIfNonStochastic, randomVariable.get(i));
+				newRealizations[i]		 = (float) Math.max(valueIfNonStochastic, values[i]);
 			}
-			return new RandomVariableFromDoubleArray(newTime, newRealizations);
-		} else {
-			double[] newRealizations = new double[Math.max(size(), randomVariable.size())];
+			return new RandomVariableFromFloatArray(newTime, newRealizations);
+		}
+		else {
+			float[] values = getFloatArray(randomVariable);
+			float[] newRealizations = new float[Math.max(realizations.length, values.length)];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = FastMath.max(realizations[i], randomVariable.get(i));
+				newRealizations[i]		 = Math.max(realizations[i], values[i]);
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
@@ -1174,27 +1274,14 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			double newValueIfNonStochastic = valueIfNonStochastic * (1 + rate.get(0) * periodLength);
 			return new RandomVariableFromFloatArray(newTime, newValueIfNonStochastic);
 		}
-		else if(isDeterministic() && !rate.isDeterministic()) {
-			double[] rateRealizations = rate.getRealizations();
-			double[] newRealizations = new double[Math.max(size(), rate.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = valueIfNonStochastic * (1 + rateRealizations[i] * periodLength);
-			}
-			return new RandomVariableFromFloatArray(newTime, newRealizations);
-		}
-		else if(!isDeterministic() && rate.isDeterministic()) {
-			double rateValue = rate.get(0);
-			double[] newRealizations = new double[Math.max(size(), rate.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] * (1 + rateValue * periodLength);
-			}
-			return new RandomVariableFromFloatArray(newTime, newRealizations);
-		}
 		else {
-			double[] rateRealizations = rate.getRealizations();
-			double[] newRealizations = new double[Math.max(size(), rate.size())];
+			float[] values0 = realizations;
+			double value0 = valueIfNonStochastic;
+			float[] values1 = rate.isDeterministic() ? null : getFloatArray(rate);
+			double value1 = rate.isDeterministic() ? rate.get(0) : Double.NaN;
+			float[] newRealizations = new float[Math.max(size(), rate.size())];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] * (1 + rateRealizations[i] * periodLength);
+				newRealizations[i]		 = (float) ((values0 != null ? values0[i] : value0) * (1 + (values1 != null ? values1[i] : value1) * periodLength));
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
@@ -1214,27 +1301,14 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			double newValueIfNonStochastic = valueIfNonStochastic / (1 + rate.get(0) * periodLength);
 			return new RandomVariableFromFloatArray(newTime, newValueIfNonStochastic);
 		}
-		else if(isDeterministic() && !rate.isDeterministic()) {
-			double[] rateRealizations = rate.getRealizations();
-			double[] newRealizations = new double[Math.max(size(), rate.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = valueIfNonStochastic / (1.0 + rateRealizations[i] * periodLength);
-			}
-			return new RandomVariableFromFloatArray(newTime, newRealizations);
-		}
-		else if(!isDeterministic() && rate.isDeterministic()) {
-			double rateValue = rate.get(0);
-			double[] newRealizations = new double[Math.max(size(), rate.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] / (1.0 + rateValue * periodLength);
-			}
-			return new RandomVariableFromFloatArray(newTime, newRealizations);
-		}
 		else {
-			double[] rateRealizations = rate.getRealizations();
-			double[] newRealizations = new double[Math.max(size(), rate.size())];
+			float[] values0 = realizations;
+			double value0 = valueIfNonStochastic;
+			float[] values1 = rate.isDeterministic() ? null : getFloatArray(rate);
+			double value1 = rate.isDeterministic() ? rate.get(0) : Double.NaN;
+			float[] newRealizations = new float[Math.max(size(), rate.size())];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] / (1.0 + rateRealizations[i] * periodLength);
+				newRealizations[i]		 = (float) ((values0 != null ? values0[i] : value0) / (1.0 + (values1 != null ? values1[i] : value1) * periodLength));
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
@@ -1257,10 +1331,14 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			else return valueIfTriggerNegative;
 		}
 		else {
+			float[] values1 = valueIfTriggerNonNegative.isDeterministic() ? null : getFloatArray(valueIfTriggerNonNegative);
+			float value1 = (float) valueIfTriggerNonNegative.get(0);
+			float[] values2 = valueIfTriggerNegative.isDeterministic() ? null : getFloatArray(valueIfTriggerNegative);
+			float value2 = (float) valueIfTriggerNegative.get(0);
 			int numberOfPaths = this.size();
 			float[] newRealizations = new float[numberOfPaths];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i] = (float) (realizations[i] >= 0.0 ? valueIfTriggerNonNegative.get(i) : valueIfTriggerNegative.get(i));
+				newRealizations[i] = realizations[i] >= 0.0 ? (values1 != null ? values1[i] : value1) : (values2 != null ? values2[i] : value2);
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
@@ -1273,9 +1351,9 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(time, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[realizations.length];
+			float[] newRealizations = new float[realizations.length];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = 1.0/realizations[i];
+				newRealizations[i]		 = (float) (1.0/realizations[i]);
 			}
 			return new RandomVariableFromFloatArray(time, newRealizations);
 		}
@@ -1288,7 +1366,7 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(time, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[realizations.length];
+			float[] newRealizations = new float[realizations.length];
 			for(int i=0; i<newRealizations.length; i++) {
 				newRealizations[i]		 = Math.abs(realizations[i]);
 			}
@@ -1310,27 +1388,14 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			double newValueIfNonStochastic = valueIfNonStochastic + (factor1.get(0) * factor2);
 			return new RandomVariableFromFloatArray(newTime, newValueIfNonStochastic);
 		}
-		else if(isDeterministic() && !factor1.isDeterministic()) {
-			double[] factor1Realizations = factor1.getRealizations();
-			double[] newRealizations = new double[Math.max(size(), factor1.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = valueIfNonStochastic + factor1Realizations[i] * factor2;
-			}
-			return new RandomVariableFromFloatArray(newTime, newRealizations);
-		}
-		else if(!isDeterministic() && factor1.isDeterministic()) {
-			double factor1Value = factor1.get(0);
-			double[] newRealizations = new double[Math.max(size(), factor1.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] + factor1Value * factor2;
-			}
-			return new RandomVariableFromFloatArray(newTime, newRealizations);
-		}
 		else {
-			double[] factor1Realizations = factor1.getRealizations();
-			double[] newRealizations = new double[Math.max(size(), factor1.size())];
+			float[] values0 = realizations;
+			double value0 = valueIfNonStochastic;
+			float[] values1 = factor1.isDeterministic() ? null : getFloatArray(factor1);
+			double value1 = factor1.isDeterministic() ? factor1.get(0) : Double.NaN;
+			float[] newRealizations = new float[Math.max(size(), factor1.size())];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] + factor1Realizations[i] * factor2;
+				newRealizations[i]		 = (float) ((values0 != null ? values0[i] : value0) + (values1 != null ? values1[i] : value1) * factor2);
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
@@ -1350,28 +1415,16 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			double newValueIfNonStochastic = valueIfNonStochastic + (factor1.get(0) * factor2.get(0));
 			return new RandomVariableFromFloatArray(newTime, newValueIfNonStochastic);
 		}
-		else if(isDeterministic() && !factor1.isDeterministic() && !factor2.isDeterministic()) {
-			double[] factor1Realizations = factor1.getRealizations();
-			double[] factor2Realizations = factor2.getRealizations();
-			double[] newRealizations = new double[Math.max(size(), factor1.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = valueIfNonStochastic + factor1Realizations[i] * factor2Realizations[i];
-			}
-			return new RandomVariableFromFloatArray(newTime, newRealizations);
-		}
-		else if(!isDeterministic() && !factor1.isDeterministic() && !factor2.isDeterministic()) {
-			double[] factor1Realizations = factor1.getRealizations();
-			double[] factor2Realizations = factor2.getRealizations();
-			double[] newRealizations = new double[Math.max(size(), factor1.size())];
-			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = realizations[i] + factor1Realizations[i] * factor2Realizations[i];
-			}
-			return new RandomVariableFromFloatArray(newTime, newRealizations);
-		}
 		else {
-			double[] newRealizations = new double[Math.max(Math.max(size(), factor1.size()), factor2.size())];
+			float[] values0 = realizations;
+			double value0 = valueIfNonStochastic;
+			float[] values1 = factor1.isDeterministic() ? null : getFloatArray(factor1);
+			double value1 = factor1.isDeterministic() ? factor1.get(0) : Double.NaN;
+			float[] values2 = factor2.isDeterministic() ? null : getFloatArray(factor2);
+			double value2 = factor2.isDeterministic() ? factor2.get(0) : Double.NaN;
+			float[] newRealizations = new float[Math.max(Math.max(size(), factor1.size()), factor2.size())];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = get(i) + factor1.get(i) * factor2.get(i);
+				newRealizations[i]		 = (float) ((values0 != null ? values0[i] : value0) + (values1 != null ? values1[i] : value1) * (values2 != null ? values2[i] : value2));
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
@@ -1402,9 +1455,15 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(newTime, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[Math.max(Math.max(size(), numerator.size()), denominator.size())];
+			float[] values0 = realizations;
+			double value0 = valueIfNonStochastic;
+			float[] values1 = numerator.isDeterministic() ? null : getFloatArray(numerator);
+			double value1 = numerator.isDeterministic() ? numerator.get(0) : Double.NaN;
+			float[] values2 = denominator.isDeterministic() ? null : getFloatArray(denominator);
+			double value2 = denominator.isDeterministic() ? denominator.get(0) : Double.NaN;
+			float[] newRealizations = new float[Math.max(Math.max(size(), numerator.size()), denominator.size())];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = get(i) + numerator.get(i) / denominator.get(i);
+				newRealizations[i]		 = (float) ((values0 != null ? values0[i] : value0) + (values1 != null ? values1[i] : value1) / (values2 != null ? values2[i] : value2));
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
@@ -1425,9 +1484,15 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 			return new RandomVariableFromFloatArray(newTime, newValueIfNonStochastic);
 		}
 		else {
-			double[] newRealizations = new double[Math.max(Math.max(size(), numerator.size()), denominator.size())];
+			float[] values0 = realizations;
+			double value0 = valueIfNonStochastic;
+			float[] values1 = numerator.isDeterministic() ? null : getFloatArray(numerator);
+			double value1 = numerator.isDeterministic() ? numerator.get(0) : Double.NaN;
+			float[] values2 = denominator.isDeterministic() ? null : getFloatArray(denominator);
+			double value2 = denominator.isDeterministic() ? denominator.get(0) : Double.NaN;
+			float[] newRealizations = new float[Math.max(Math.max(size(), numerator.size()), denominator.size())];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = get(i) - numerator.get(i) / denominator.get(i);
+				newRealizations[i]		 = (float) ((values0 != null ? values0[i] : value0) - (values1 != null ? values1[i] : value1) / (values2 != null ? values2[i] : value2));
 			}
 			return new RandomVariableFromFloatArray(newTime, newRealizations);
 		}
@@ -1441,7 +1506,7 @@ public class RandomVariableFromFloatArray implements RandomVariable {
 		else {
 			float[] newRealizations = new float[size()];
 			for(int i=0; i<newRealizations.length; i++) {
-				newRealizations[i]		 = Double.isNaN(get(i)) ? 1.0f : 0.0f;
+				newRealizations[i]		 = Float.isNaN(realizations[i]) ? 1.0f : 0.0f;
 			}
 			return new RandomVariableFromFloatArray(time, newRealizations);
 		}
@@ -0,0 +1,1228 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.DoubleStream;
+
+import org.apache.commons.math3.util.FastMath;
+
+import net.finmath.functions.DoubleTernaryOperator;
+import net.finmath.montecarlo.DoubleArrayExecutionPolicy.OperationType;
+import net.finmath.stochastic.RandomVariable;
+
+/**
+ * Implements a Monte-Carlo random variable (like <code>RandomVariableFromDoubleArray</code>) using
+ * lazy evaluation of an expression graph.
+ *
+ * Operations on this random variable do not calculate their result. Instead, each operation creates a node of
+ * an expression graph (a directed acyclic graph) referencing its arguments. The graph is evaluated if the
+ * realizations are required, e.g., by <code>getAverage</code>, <code>cache</code> or <code>getRealizations</code>.
+ * The evaluation
+ * <ul>
+ * 	<li>translates the graph into a program, where structurally identical operations (same operator, same parameters,
+ * 		same arguments) are performed only once (common subexpression elimination),</li>
+ * 	<li>executes the program in a single pass over chunks of paths, keeping intermediate results in small buffers
+ * 		(which are reused and remain in the cache) instead of allocating arrays for all paths,</li>
+ * 	<li>stores the realizations of operations which are used as argument by more than one other operation, such that
+ * 		they are not re-evaluated by subsequent evaluations.</li>
+ * </ul>
+ * The operations on chunks are plain loops over arrays (one loop per operation), avoiding the nested calls of
+ * functional interfaces of <code>RandomVariableLazyEvaluation</code>.
+ * The materialization of the realizations is performed sequentially or in parallel according to the {@link DoubleArrayExecutionPolicy}.
+ *
+ * Operations on deterministic random variables are calculated immediately. If an expression becomes larger than
+ * a maximum number of operations, it is evaluated immediately to bound the memory held by the graph.
+ *
+ * The element-wise operations are performed with the same floating point operations as in
+ * <code>RandomVariableFromDoubleArray</code>, and <code>getAverage</code> uses the same Kahan summation,
+ * hence results are identical.
+ *
+ * Use {@link RandomVariableLazyExpressionFactory} to let a model create random variables of this type.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class RandomVariableLazyExpression implements RandomVariable {
+
+	private static final long serialVersionUID = -5468243385611946311L;
+
+	/*
+	 * The type priority is higher than the one of RandomVariableFromDoubleArray (such that operations with those are lazy)
+	 * and lower than the one of the differentiable random variables.
+	 */
+	private static final int typePriorityDefault = 2;
+
+	/*
+	 * Number of paths processed per chunk. The buffers of a program should fit into the L1/L2 cache.
+	 */
+	private static final int CHUNK_SIZE = 1024;
+
+	/*
+	 * An expression exceeding this number of operations is evaluated immediately.
+	 */
+	private static final int MAXIMUM_NUMBER_OF_OPERATIONS = 256;
+
+	private enum Operator {
+		// Unary operators (the scalar argument is given by the parameter)
+		CAP_SCALAR(1), FLOOR_SCALAR(1), ADD_SCALAR(1), SUB_SCALAR(1), MULT_SCALAR(1), DIV_SCALAR(1), POW(1),
+		SQUARED(1), SQRT(1), EXP(1), LOG(1), SIN(1), COS(1), INVERT(1), ABS(1), ISNAN(1), APPLY_UNARY(1),
+		// Binary operators
+		ADD(2), SUB(2), MULT(2), DIV(2), CAP(2), FLOOR(2), ACCRUE(2), DISCOUNT(2), ADDPRODUCT_SCALAR(2), APPLY_BINARY(2),
+		// Ternary operators
+		CHOOSE(3), ADDPRODUCT(3), ADDRATIO(3), SUBRATIO(3), APPLY_TERNARY(3);
+
+		private final int numberOfArguments;
+
+		Operator(int numberOfArguments) {
+			this.numberOfArguments = numberOfArguments;
+		}
+
+		private boolean isTranscendental() {
+			return this == POW || this == SQRT || this == EXP || this == LOG || this == SIN || this == COS;
+		}
+
+		private boolean isFunction() {
+			return this == APPLY_UNARY || this == APPLY_BINARY || this == APPLY_TERNARY;
+		}
+	}
+
+	private final double		time;
+	private final int			size;
+	private final double		valueIfNonStochastic;
+
+	// The operation (null for constants and given realizations)
+	private final Operator		operator;
+	private final double		parameter;
+	private final Object		function;
+	private volatile RandomVariableLazyExpression[]	arguments;
+	private final int			numberOfOperations;
+
+	// The number of operations using this random variable as argument
+	private final AtomicInteger	numberOfConsumers = new AtomicInteger();
+
+	// The realizations (given or calculated), null if not (yet) calculated or deterministic
+	private volatile double[]	realizations;
+
+	/**
+	 * Create a random variable from a given other implementation of <code>RandomVariable</code>.
+	 *
+	 * The realizations of a {@link RandomVariableFromDoubleArray} are referenced (not copied), such that
+	 * multiple uses of the same random variable are identified as the same value of an expression.
+	 *
+	 * @param value Object implementing <code>RandomVariable</code>.
+	 */
+	public RandomVariableLazyExpression(RandomVariable value) {
+		this.time = value.getFiltrationTime();
+		this.size = value.size();
+		this.valueIfNonStochastic = value.isDeterministic() ? value.get(0) : Double.NaN;
+		this.operator = null;
+		this.parameter = Double.NaN;
+		this.function = null;
+		this.arguments = null;
+		this.numberOfOperations = 0;
+		if(value.isDeterministic()) {
+			this.realizations = null;
+		}
+		else if(value instanceof RandomVariableFromDoubleArray) {
+			this.realizations = ((RandomVariableFromDoubleArray)value).getRealizationsInternal();
+		}
+		else {
+			this.realizations = value.getRealizations();
+		}
+	}
+
+	/**
+	 * Create a non stochastic random variable, i.e. a constant.
+	 *
+	 * @param value the value, a constant.
+	 */
+	public RandomVariableLazyExpression(double value) {
+		this(Double.NEGATIVE_INFINITY, value);
+	}
+
+	/**
+	 * Create a non stochastic random variable, i.e. a constant.
+	 *
+	 * @param time the filtration time, set to 0.0 if not used.
+	 * @param value the value, a constant.
+	 */
+	public RandomVariableLazyExpression(double time, double value) {
+		this.time = time;
+		this.size = 1;
+		this.valueIfNonStochastic = value;
+		this.operator = null;
+		this.parameter = Double.NaN;
+		this.function = null;
+		this.arguments = null;
+		this.numberOfOperations = 0;
+		this.realizations = null;
+	}
+
+	/**
+	 * Create a stochastic random variable.
+	 *
+	 * @param time the filtration time, set to 0.0 if not used.
+	 * @param realisations the vector of realizations.
+	 */
+	public RandomVariableLazyExpression(double time, double[] realisations) {
+		this.time = time;
+		this.size = realisations.length;
+		this.valueIfNonStochastic = Double.NaN;
+		this.operator = null;
+		this.parameter = Double.NaN;
+		this.function = null;
+		this.arguments = null;
+		this.numberOfOperations = 0;
+		this.realizations = realisations;
+	}
+
+	private RandomVariableLazyExpression(double time, int size, Operator operator, double parameter, Object function, RandomVariableLazyExpression[] arguments) {
+		this.time = time;
+		this.size = size;
+		this.valueIfNonStochastic = Double.NaN;
+		this.operator = operator;
+		this.parameter = parameter;
+		this.function = function;
+		this.arguments = arguments;
+
+		int numberOfOperationsOfExpression = 1;
+		for(RandomVariableLazyExpression argument : arguments) {
+			if(argument.isPending()) {
+				numberOfOperationsOfExpression = (int)Math.min((long)numberOfOperationsOfExpression + argument.numberOfOperations, Integer.MAX_VALUE);
+			}
+		}
+		this.numberOfOperations = numberOfOperationsOfExpression;
+	}
+
+	/*
+	 * Construction of the expression graph
+	 */
+
+	private static RandomVariableLazyExpression getExpression(RandomVariable randomVariable) {
+		if(randomVariable instanceof RandomVariableLazyExpression) {
+			return (RandomVariableLazyExpression)randomVariable;
+		}
+		else {
+			return new RandomVariableLazyExpression(randomVariable);
+		}
+	}
+
+	private RandomVariable getExpression(Operator operator, double parameter, Object function, RandomVariable... argumentsOfOperator) {
+		RandomVariableLazyExpression[] argumentsOfExpression = new RandomVariableLazyExpression[argumentsOfOperator.length+1];
+		argumentsOfExpression[0] = this;
+		for(int i=0; i<argumentsOfOperator.length; i++) {
+			argumentsOfExpression[i+1] = getExpression(argumentsOfOperator[i]);
+		}
+		return getExpression(operator, parameter, function, argumentsOfExpression);
+	}
+
+	private static RandomVariable getExpression(Operator operator, double parameter, Object function, RandomVariableLazyExpression[] arguments) {
+		// Set time of this random variable to maximum of time with respect to which measurability is known.
+		double newTime = Double.NEGATIVE_INFINITY;
+		int newSize = 1;
+		boolean isDeterministic = true;
+		for(RandomVariableLazyExpression argument : arguments) {
+			newTime = Math.max(newTime, argument.time);
+			if(!argument.isDeterministic()) {
+				isDeterministic = false;
+				newSize = Math.max(newSize, argument.size);
+			}
+		}
+
+		if(isDeterministic) {
+			// Evaluate operations on constants immediately (using the same kernel)
+			double[][] values = new double[3][];
+			for(int i=0; i<arguments.length; i++) {
+				values[i] = new double[] { arguments[i].valueIfNonStochastic };
+			}
+			double[] result = new double[1];
+			apply(operator, parameter, function, 1, result, values[0], 0, values[1], 0, values[2], 0);
+			return new RandomVariableLazyExpression(newTime, result[0]);
+		}
+
+		RandomVariableLazyExpression expression = new RandomVariableLazyExpression(newTime, newSize, operator, parameter, function, arguments);
+		for(RandomVariableLazyExpression argument : arguments) {
+			argument.numberOfConsumers.incrementAndGet();
+		}
+
+		if(expression.numberOfOperations > MAXIMUM_NUMBER_OF_OPERATIONS) {
+			expression.cache();
+		}
+
+		return expression;
+	}
+
+	/**
+	 * @return True if this random variable is an operation whose realizations have not been calculated yet.
+	 */
+	private boolean isPending() {
+		return operator != null && realizations == null;
+	}
+
+	/*
+	 * Evaluation of the expression graph
+	 */
+
+	/**
+	 * A consumer of the realizations of the result of a program, chunk by chunk (in order of the paths).
+	 */
+	private interface ChunkConsumer {
+		void accept(double[] values, int offset, int length);
+	}
+
+	/**
+	 * An operation of a program.
+	 */
+	private static final class Instruction {
+		private final Operator	operator;
+		private final double	parameter;
+		private final Object	function;
+		private final int[]		argumentIds;
+		private final int		resultId;
+
+		private Instruction(Operator operator, double parameter, Object function, int[] argumentIds, int resultId) {
+			this.operator = operator;
+			this.parameter = parameter;
+			this.function = function;
+			this.argumentIds = argumentIds;
+			this.resultId = resultId;
+		}
+	}
+
+	/**
+	 * The key of an operation used to identify structurally identical operations.
+	 */
+	private static final class InstructionKey {
+		private final Operator	operator;
+		private final long		parameterBits;
+		private final Object	function;
+		private final int[]		argumentIds;
+
+		private InstructionKey(Operator operator, double parameter, Object function, int[] argumentIds) {
+			this.operator = operator;
+			this.parameterBits = Double.doubleToLongBits(parameter);
+			this.function = function;
+			this.argumentIds = argumentIds;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if(!(other instanceof InstructionKey)) {
+				return false;
+			}
+			InstructionKey key = (InstructionKey)other;
+			return operator == key.operator && parameterBits == key.parameterBits && function == key.function && Arrays.equals(argumentIds, key.argumentIds);
+		}
+
+		@Override
+		public int hashCode() {
+			return ((operator.hashCode() * 31 + Long.hashCode(parameterBits)) * 31 + System.identityHashCode(function)) * 31 + Arrays.hashCode(argumentIds);
+		}
+	}
+
+	/**
+	 * A program evaluating the expression graph of a random variable. Each value of the program
+	 * (given realizations, constants and results of instructions) is identified by an id.
+	 */
+	private static final class Program {
+
+		private final int							size;
+		private final List<Instruction>				instructions		= new ArrayList<>();
+		private final List<double[]>				valuesOfId			= new ArrayList<>();	// Given realizations (or null)
+		private final List<Double>					constantOfId		= new ArrayList<>();	// Constant (or null)
+		private final List<Boolean>					isMaterializedOfId	= new ArrayList<>();
+		private final Map<RandomVariableLazyExpression, Integer>	expressionsToMaterialize = new IdentityHashMap<>();
+		private final int							resultId;
+
+		private int[]		registerOfId;
+		private int			numberOfRegisters;
+		private double[][]	materializedValuesOfId;
+
+		/**
+		 * Translate the expression graph of a random variable into a program.
+		 *
+		 * @param root The random variable.
+		 * @param isMaterializeResult If true, the result is stored (the realizations of the random variable are set).
+		 */
+		private Program(RandomVariableLazyExpression root, boolean isMaterializeResult) {
+			this.size = root.size;
+
+			final Map<RandomVariableLazyExpression, Integer>	idOfExpression	= new IdentityHashMap<>();
+			final Map<double[], Integer>						idOfValues		= new IdentityHashMap<>();
+			final Map<Long, Integer>							idOfConstant	= new HashMap<>();
+			final Map<InstructionKey, Integer>					idOfInstruction	= new HashMap<>();
+
+			// Iterative post-order traversal of the graph
+			final Deque<RandomVariableLazyExpression> stack = new ArrayDeque<>();
+			stack.push(root);
+			while(!stack.isEmpty()) {
+				RandomVariableLazyExpression expression = stack.peek();
+				if(idOfExpression.containsKey(expression)) {
+					stack.pop();
+					continue;
+				}
+
+				double[] realizationsOfExpression = expression.realizations;
+				RandomVariableLazyExpression[] argumentsOfExpression = expression.arguments;
+				if(realizationsOfExpression == null && argumentsOfExpression == null) {
+					// The expression may have been calculated concurrently
+					realizationsOfExpression = expression.realizations;
+				}
+
+				if(expression.isDeterministic()) {
+					idOfExpression.put(expression, idOfConstant.computeIfAbsent(Double.doubleToLongBits(expression.valueIfNonStochastic), key -> addValue(null, expression.valueIfNonStochastic)));
+					stack.pop();
+				}
+				else if(realizationsOfExpression != null && realizationsOfExpression.length == 1 && size > 1) {
+					// A single realization is used for all paths
+					final double value = realizationsOfExpression[0];
+					idOfExpression.put(expression, idOfConstant.computeIfAbsent(Double.doubleToLongBits(value), key -> addValue(null, value)));
+					stack.pop();
+				}
+				else if(realizationsOfExpression != null) {
+					final double[] values = realizationsOfExpression;
+					idOfExpression.put(expression, idOfValues.computeIfAbsent(values, key -> addValue(values, null)));
+					stack.pop();
+				}
+				else {
+					// Push pending arguments first
+					boolean isArgumentsAvailable = true;
+					for(RandomVariableLazyExpression argument : argumentsOfExpression) {
+						if(!idOfExpression.containsKey(argument)) {
+							stack.push(argument);
+							isArgumentsAvailable = false;
+						}
+					}
+					if(!isArgumentsAvailable) {
+						continue;
+					}
+					stack.pop();
+
+					int[] argumentIds = new int[argumentsOfExpression.length];
+					for(int i=0; i<argumentsOfExpression.length; i++) {
+						argumentIds[i] = idOfExpression.get(argumentsOfExpression[i]);
+					}
+
+					// Common subexpression elimination
+					InstructionKey key = new InstructionKey(expression.operator, expression.parameter, expression.function, argumentIds);
+					Integer id = idOfInstruction.get(key);
+					if(id == null) {
+						id = addValue(null, null);
+						idOfInstruction.put(key, id);
+						instructions.add(new Instruction(expression.operator, expression.parameter, expression.function, argumentIds, id));
+					}
+					idOfExpression.put(expression, id);
+
+					// Store the realizations of expressions used by more than one operation (or of the result, if required)
+					int numberOfConsumers = expression.numberOfConsumers.get();
+					if(numberOfConsumers > 1 || (expression == root && (isMaterializeResult || numberOfConsumers > 0))) {
+						isMaterializedOfId.set(id, true);
+						expressionsToMaterialize.put(expression, id);
+					}
+				}
+			}
+
+			resultId = idOfExpression.get(root);
+
+			allocateRegisters();
+		}
+
+		private int addValue(double[] values, Double constant) {
+			valuesOfId.add(values);
+			constantOfId.add(constant);
+			isMaterializedOfId.add(false);
+			return valuesOfId.size()-1;
+		}
+
+		/**
+		 * Assign a buffer (register) to the result of each instruction, reusing buffers of results which are no longer used.
+		 */
+		private void allocateRegisters() {
+			int numberOfIds = valuesOfId.size();
+			int[] lastUseOfId = new int[numberOfIds];
+			for(int instructionIndex=0; instructionIndex<instructions.size(); instructionIndex++) {
+				for(int argumentId : instructions.get(instructionIndex).argumentIds) {
+					lastUseOfId[argumentId] = instructionIndex;
+				}
+			}
+			lastUseOfId[resultId] = Integer.MAX_VALUE;
+
+			registerOfId = new int[numberOfIds];
+			Arrays.fill(registerOfId, -1);
+			Deque<Integer> freeRegisters = new ArrayDeque<>();
+			for(int instructionIndex=0; instructionIndex<instructions.size(); instructionIndex++) {
+				Instruction instruction = instructions.get(instructionIndex);
+				registerOfId[instruction.resultId] = freeRegisters.isEmpty() ? numberOfRegisters++ : freeRegisters.pop();
+				for(int argumentId : instruction.argumentIds) {
+					if(registerOfId[argumentId] >= 0 && lastUseOfId[argumentId] == instructionIndex) {
+						freeRegisters.push(registerOfId[argumentId]);
+						lastUseOfId[argumentId] = -1;
+					}
+				}
+			}
+
+			materializedValuesOfId = new double[numberOfIds][];
+			for(int id=0; id<numberOfIds; id++) {
+				if(isMaterializedOfId.get(id)) {
+					materializedValuesOfId[id] = new double[size];
+				}
+			}
+		}
+
+		private OperationType getOperationType() {
+			boolean isTranscendental = instructions.size() > 1;
+			for(Instruction instruction : instructions) {
+				if(instruction.operator.isFunction()) {
+					return OperationType.FUNCTION;
+				}
+				isTranscendental |= instruction.operator.isTranscendental();
+			}
+			return isTranscendental ? OperationType.TRANSCENDENTAL : OperationType.ARITHMETIC;
+		}
+
+		/**
+		 * Execute the program for the paths from startIndex (inclusive) to endIndex (exclusive).
+		 *
+		 * @param startIndex The first path.
+		 * @param endIndex The end path (exclusive).
+		 * @param consumer A consumer of the result (may be null).
+		 */
+		private void execute(int startIndex, int endIndex, ChunkConsumer consumer) {
+			final int chunkSize = Math.min(CHUNK_SIZE, endIndex-startIndex);
+			final double[][] registers = new double[numberOfRegisters][chunkSize];
+			final double[][] constantBuffers = new double[valuesOfId.size()][];
+			for(int id=0; id<constantBuffers.length; id++) {
+				if(constantOfId.get(id) != null) {
+					constantBuffers[id] = new double[chunkSize];
+					Arrays.fill(constantBuffers[id], constantOfId.get(id));
+				}
+			}
+
+			final double[][]	argumentValues	= new double[3][];
+			final int[]			argumentOffsets	= new int[3];
+			for(int chunkStart=startIndex; chunkStart<endIndex; chunkStart += chunkSize) {
+				final int chunkLength = Math.min(chunkSize, endIndex-chunkStart);
+				for(Instruction instruction : instructions) {
+					for(int i=0; i<instruction.argumentIds.length; i++) {
+						int argumentId = instruction.argumentIds[i];
+						if(registerOfId[argumentId] >= 0) {
+							argumentValues[i] = registers[registerOfId[argumentId]];
+							argumentOffsets[i] = 0;
+						}
+						else if(constantBuffers[argumentId] != null) {
+							argumentValues[i] = constantBuffers[argumentId];
+							argumentOffsets[i] = 0;
+						}
+						else {
+							argumentValues[i] = valuesOfId.get(argumentId);
+							argumentOffsets[i] = chunkStart;
+						}
+					}
+					double[] result = registers[registerOfId[instruction.resultId]];
+					apply(instruction.operator, instruction.parameter, instruction.function, chunkLength, result,
+							argumentValues[0], argumentOffsets[0], argumentValues[1], argumentOffsets[1], argumentValues[2], argumentOffsets[2]);
+
+					if(materializedValuesOfId[instruction.resultId] != null) {
+						System.arraycopy(result, 0, materializedValuesOfId[instruction.resultId], chunkStart, chunkLength);
+					}
+				}
+				if(consumer != null) {
+					consumer.accept(registers[registerOfId[resultId]], 0, chunkLength);
+				}
+			}
+		}
+
+		/**
+		 * Set the realizations of the expressions whose values have been stored.
+		 */
+		private void setRealizations() {
+			for(Map.Entry<RandomVariableLazyExpression, Integer> expressionToMaterialize : expressionsToMaterialize.entrySet()) {
+				expressionToMaterialize.getKey().setRealizations(materializedValuesOfId[expressionToMaterialize.getValue()]);
+			}
+		}
+	}
+
+	private void setRealizations(double[] values) {
+		realizations = values;
+		// Release the expression graph
+		arguments = null;
+	}
+
+	/**
+	 * Returns the realizations of this random variable (not a copy), evaluating the expression if required.
+	 *
+	 * @return The realizations (null if the random variable is deterministic).
+	 */
+	private double[] getRealizationsInternal() {
+		if(isDeterministic()) {
+			return null;
+		}
+
+		double[] values = realizations;
+		if(values == null) {
+			Program program = new Program(this, true);
+			DoubleArrayExecutionPolicy.execute(program.getOperationType(), size, (startIndex, endIndex) -> program.execute(startIndex, endIndex, null));
+			program.setRealizations();
+			values = realizations;
+		}
+		return values;
+	}
+
+	/**
+	 * Apply an operator to the paths 0 to length-1 of the arguments. The argument <i>i</i> is given by the array
+	 * values<i>i</i> starting at the index offset<i>i</i>. The arrays of unused arguments may be null.
+	 */
+	private static void apply(Operator operator, double parameter, Object function, int length, double[] result,
+			double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset) {
+		switch(operator) {
+		case CAP_SCALAR:
+			for(int i=0; i<length; i++) {
+				result[i] = Math.min(a[aOffset+i], parameter);
+			}
+			break;
+		case FLOOR_SCALAR:
+			for(int i=0; i<length; i++) {
+				result[i] = Math.max(a[aOffset+i], parameter);
+			}
+			break;
+		case ADD_SCALAR:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] + parameter;
+			}
+			break;
+		case SUB_SCALAR:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] - parameter;
+			}
+			break;
+		case MULT_SCALAR:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] * parameter;
+			}
+			break;
+		case DIV_SCALAR:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] / parameter;
+			}
+			break;
+		case POW:
+			for(int i=0; i<length; i++) {
+				result[i] = Math.pow(a[aOffset+i], parameter);
+			}
+			break;
+		case SQUARED:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] * a[aOffset+i];
+			}
+			break;
+		case SQRT:
+			for(int i=0; i<length; i++) {
+				result[i] = Math.sqrt(a[aOffset+i]);
+			}
+			break;
+		case EXP:
+			for(int i=0; i<length; i++) {
+				result[i] = FastMath.exp(a[aOffset+i]);
+			}
+			break;
+		case LOG:
+			for(int i=0; i<length; i++) {
+				result[i] = FastMath.log(a[aOffset+i]);
+			}
+			break;
+		case SIN:
+			for(int i=0; i<length; i++) {
+				result[i] = FastMath.sin(a[aOffset+i]);
+			}
+			break;
+		case COS:
+			for(int i=0; i<length; i++) {
+				result[i] = FastMath.cos(a[aOffset+i]);
+			}
+			break;
+		case INVERT:
+			for(int i=0; i<length; i++) {
+				result[i] = 1.0/a[aOffset+i];
+			}
+			break;
+		case ABS:
+			for(int i=0; i<length; i++) {
+				result[i] = Math.abs(a[aOffset+i]);
+			}
+			break;
+		case ISNAN:
+			for(int i=0; i<length; i++) {
+				result[i] = Double.isNaN(a[aOffset+i]) ? 1.0 : 0.0;
+			}
+			break;
+		case APPLY_UNARY:
+		{
+			DoubleUnaryOperator unaryOperator = (DoubleUnaryOperator)function;
+			for(int i=0; i<length; i++) {
+				result[i] = unaryOperator.applyAsDouble(a[aOffset+i]);
+			}
+			break;
+		}
+		case ADD:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] + b[bOffset+i];
+			}
+			break;
+		case SUB:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] - b[bOffset+i];
+			}
+			break;
+		case MULT:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] * b[bOffset+i];
+			}
+			break;
+		case DIV:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] / b[bOffset+i];
+			}
+			break;
+		case CAP:
+			for(int i=0; i<length; i++) {
+				result[i] = FastMath.min(a[aOffset+i], b[bOffset+i]);
+			}
+			break;
+		case FLOOR:
+			for(int i=0; i<length; i++) {
+				result[i] = FastMath.max(a[aOffset+i], b[bOffset+i]);
+			}
+			break;
+		case ACCRUE:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] * (1 + b[bOffset+i] * parameter);
+			}
+			break;
+		case DISCOUNT:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] / (1.0 + b[bOffset+i] * parameter);
+			}
+			break;
+		case ADDPRODUCT_SCALAR:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] + b[bOffset+i] * parameter;
+			}
+			break;
+		case APPLY_BINARY:
+		{
+			DoubleBinaryOperator binaryOperator = (DoubleBinaryOperator)function;
+			for(int i=0; i<length; i++) {
+				result[i] = binaryOperator.applyAsDouble(a[aOffset+i], b[bOffset+i]);
+			}
+			break;
+		}
+		case CHOOSE:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] >= 0.0 ? b[bOffset+i] : c[cOffset+i];
+			}
+			break;
+		case ADDPRODUCT:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] + b[bOffset+i] * c[cOffset+i];
+			}
+			break;
+		case ADDRATIO:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] + b[bOffset+i] / c[cOffset+i];
+			}
+			break;
+		case SUBRATIO:
+			for(int i=0; i<length; i++) {
+				result[i] = a[aOffset+i] - b[bOffset+i] / c[cOffset+i];
+			}
+			break;
+		case APPLY_TERNARY:
+		{
+			DoubleTernaryOperator ternaryOperator = (DoubleTernaryOperator)function;
+			for(int i=0; i<length; i++) {
+				result[i] = ternaryOperator.applyAsDouble(a[aOffset+i], b[bOffset+i], c[cOffset+i]);
+			}
+			break;
+		}
+		default:
+			throw new UnsupportedOperationException("Operator " + operator + " not supported.");
+		}
+	}
+
+	/**
+	 * Returns this random variable as <code>RandomVariableFromDoubleArray</code> (evaluating the expression if required).
+	 *
+	 * @return This random variable as <code>RandomVariableFromDoubleArray</code>.
+	 */
+	public RandomVariableFromDoubleArray getRandomVariable() {
+		if(isDeterministic()) {
+			return new RandomVariableFromDoubleArray(time, valueIfNonStochastic);
+		}
+		else {
+			return new RandomVariableFromDoubleArray(time, getRealizationsInternal());
+		}
+	}
+
+	/**
+	 * Returns the number of operations of the expression which have not been evaluated yet (for diagnostic purposes).
+	 * Operations used by more than one other operation may be counted more than once.
+	 *
+	 * @return The number of pending operations.
+	 */
+	public int getNumberOfPendingOperations() {
+		return isPending() ? numberOfOperations : 0;
+	}
+
+	@Override
+	public boolean equals(RandomVariable randomVariable) {
+		return getRandomVariable().equals(randomVariable);
+	}
+
+	@Override
+	public double getFiltrationTime() {
+		return time;
+	}
+
+	@Override
+	public int getTypePriority() {
+		return typePriorityDefault;
+	}
+
+	@Override
+	public double get(int pathOrState) {
+		if(isDeterministic()) {
+			return valueIfNonStochastic;
+		}
+		else {
+			return getRealizationsInternal()[pathOrState];
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isDeterministic() {
+		return operator == null && realizations == null;
+	}
+
+	@Override
+	public double[] getRealizations() {
+		if(isDeterministic()) {
+			return new double[] { valueIfNonStochastic };
+		}
+		else {
+			return getRealizationsInternal().clone();
+		}
+	}
+
+	@Override
+	public Double doubleValue() {
+		if(isDeterministic()) {
+			return valueIfNonStochastic;
+		}
+		else {
+			throw new UnsupportedOperationException("The random variable is non-deterministic");
+		}
+	}
+
+	@Override
+	public IntToDoubleFunction getOperator() {
+		if(isDeterministic()) {
+			return i -> valueIfNonStochastic;
+		}
+		else {
+			final double[] values = getRealizationsInternal();
+			return i -> values[i];
+		}
+	}
+
+	@Override
+	public DoubleStream getRealizationsStream() {
+		if(isDeterministic()) {
+			return DoubleStream.generate(() -> valueIfNonStochastic);
+		}
+		else {
+			return Arrays.stream(getRealizationsInternal());
+		}
+	}
+
+	@Override
+	public double getMin() {
+		return getRandomVariable().getMin();
+	}
+
+	@Override
+	public double getMax() {
+		return getRandomVariable().getMax();
+	}
+
+	@Override
+	public double getAverage() {
+		if(isDeterministic()) {
+			return valueIfNonStochastic;
+		}
+		if(size() == 0) {
+			return Double.NaN;
+		}
+		if(!isPending()) {
+			return getRandomVariable().getAverage();
+		}
+
+		/*
+		 * Kahan summation on the realizations, evaluated chunk by chunk (the realizations are not stored)
+		 */
+		final double[] sumAndError = new double[2];		// Running sum and running error compensation
+		Program program = new Program(this, false);
+		program.execute(0, size, (values, offset, length) -> {
+			double sum = sumAndError[0];
+			double error = sumAndError[1];
+			for(int i=offset; i<offset+length; i++)  {
+				double value = values[i] - error;		// Error corrected value
+				double newSum = sum + value;			// New sum
+				error = (newSum - sum) - value;			// New numerical error
+				sum	= newSum;
+			}
+			sumAndError[0] = sum;
+			sumAndError[1] = error;
+		});
+		program.setRealizations();
+
+		return sumAndError[0]/size;
+	}
+
+	@Override
+	public double getAverage(RandomVariable probabilities) {
+		return getRandomVariable().getAverage(probabilities);
+	}
+
+	@Override
+	public double getVariance() {
+		return getRandomVariable().getVariance();
+	}
+
+	@Override
+	public double getVariance(RandomVariable probabilities) {
+		return getRandomVariable().getVariance(probabilities);
+	}
+
+	@Override
+	public double getSampleVariance() {
+		return getRandomVariable().getSampleVariance();
+	}
+
+	@Override
+	public double getStandardDeviation() {
+		return getRandomVariable().getStandardDeviation();
+	}
+
+	@Override
+	public double getStandardDeviation(RandomVariable probabilities) {
+		return getRandomVariable().getStandardDeviation(probabilities);
+	}
+
+	@Override
+	public double getStandardError() {
+		return getRandomVariable().getStandardError();
+	}
+
+	@Override
+	public double getStandardError(RandomVariable probabilities) {
+		return getRandomVariable().getStandardError(probabilities);
+	}
+
+	@Override
+	public double getQuantile(double quantile) {
+		return getRandomVariable().getQuantile(quantile);
+	}
+
+	@Override
+	public double getQuantile(double quantile, RandomVariable probabilities) {
+		return getRandomVariable().getQuantile(quantile, probabilities);
+	}
+
+	@Override
+	public double getQuantileExpectation(double quantileStart, double quantileEnd) {
+		return getRandomVariable().getQuantileExpectation(quantileStart, quantileEnd);
+	}
+
+	@Override
+	public double[] getHistogram(double[] intervalPoints) {
+		return getRandomVariable().getHistogram(intervalPoints);
+	}
+
+	@Override
+	public double[][] getHistogram(int numberOfPoints, double standardDeviations) {
+		return getRandomVariable().getHistogram(numberOfPoints, standardDeviations);
+	}
+
+	@Override
+	public RandomVariable cache() {
+		getRealizationsInternal();
+		return this;
+	}
+
+	@Override
+	public RandomVariable apply(DoubleUnaryOperator operator) {
+		return getExpression(Operator.APPLY_UNARY, Double.NaN, operator);
+	}
+
+	@Override
+	public RandomVariable apply(DoubleBinaryOperator operator, RandomVariable argument) {
+		return getExpression(Operator.APPLY_BINARY, Double.NaN, operator, argument);
+	}
+
+	@Override
+	public RandomVariable apply(DoubleTernaryOperator operator, RandomVariable argument1, RandomVariable argument2) {
+		return getExpression(Operator.APPLY_TERNARY, Double.NaN, operator, argument1, argument2);
+	}
+
+	@Override
+	public RandomVariable cap(double cap) {
+		return getExpression(Operator.CAP_SCALAR, cap, null);
+	}
+
+	@Override
+	public RandomVariable floor(double floor) {
+		return getExpression(Operator.FLOOR_SCALAR, floor, null);
+	}
+
+	@Override
+	public RandomVariable add(double value) {
+		return getExpression(Operator.ADD_SCALAR, value, null);
+	}
+
+	@Override
+	public RandomVariable sub(double value) {
+		return getExpression(Operator.SUB_SCALAR, value, null);
+	}
+
+	@Override
+	public RandomVariable mult(double value) {
+		return getExpression(Operator.MULT_SCALAR, value, null);
+	}
+
+	@Override
+	public RandomVariable div(double value) {
+		return getExpression(Operator.DIV_SCALAR, value, null);
+	}
+
+	@Override
+	public RandomVariable pow(double exponent) {
+		return getExpression(Operator.POW, exponent, null);
+	}
+
+	@Override
+	public RandomVariable average() {
+		return new RandomVariableLazyExpression(getAverage());
+	}
+
+	@Override
+	public RandomVariable squared() {
+		return getExpression(Operator.SQUARED, Double.NaN, null);
+	}
+
+	@Override
+	public RandomVariable sqrt() {
+		return getExpression(Operator.SQRT, Double.NaN, null);
+	}
+
+	@Override
+	public RandomVariable exp() {
+		return getExpression(Operator.EXP, Double.NaN, null);
+	}
+
+	@Override
+	public RandomVariable log() {
+		return getExpression(Operator.LOG, Double.NaN, null);
+	}
+
+	@Override
+	public RandomVariable sin() {
+		return getExpression(Operator.SIN, Double.NaN, null);
+	}
+
+	@Override
+	public RandomVariable cos() {
+		return getExpression(Operator.COS, Double.NaN, null);
+	}
+
+	@Override
+	public RandomVariable add(RandomVariable randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.add(this);
+		}
+		return getExpression(Operator.ADD, Double.NaN, null, randomVariable);
+	}
+
+	@Override
+	public RandomVariable sub(RandomVariable randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.bus(this);
+		}
+		return getExpression(Operator.SUB, Double.NaN, null, randomVariable);
+	}
+
+	@Override
+	public RandomVariable bus(RandomVariable randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.sub(this);
+		}
+		return getExpression(Operator.SUB, Double.NaN, null, new RandomVariableLazyExpression[] { getExpression(randomVariable), this });
+	}
+
+	@Override
+	public RandomVariable mult(RandomVariable randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.mult(this);
+		}
+		return getExpression(Operator.MULT, Double.NaN, null, randomVariable);
+	}
+
+	@Override
+	public RandomVariable div(RandomVariable randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.vid(this);
+		}
+		return getExpression(Operator.DIV, Double.NaN, null, randomVariable);
+	}
+
+	@Override
+	public RandomVariable vid(RandomVariable randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.div(this);
+		}
+		return getExpression(Operator.DIV, Double.NaN, null, new RandomVariableLazyExpression[] { getExpression(randomVariable), this });
+	}
+
+	@Override
+	public RandomVariable cap(RandomVariable cap) {
+		if(cap.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return cap.cap(this);
+		}
+		return getExpression(Operator.CAP, Double.NaN, null, cap);
+	}
+
+	@Override
+	public RandomVariable floor(RandomVariable floor) {
+		if(floor.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return floor.floor(this);
+		}
+		return getExpression(Operator.FLOOR, Double.NaN, null, floor);
+	}
+
+	@Override
+	public RandomVariable accrue(RandomVariable rate, double periodLength) {
+		if(rate.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return rate.mult(periodLength).add(1.0).mult(this);
+		}
+		return getExpression(Operator.ACCRUE, periodLength, null, rate);
+	}
+
+	@Override
+	public RandomVariable discount(RandomVariable rate, double periodLength) {
+		if(rate.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return rate.mult(periodLength).add(1.0).invert().mult(this);
+		}
+		return getExpression(Operator.DISCOUNT, periodLength, null, rate);
+	}
+
+	@Override
+	public RandomVariable choose(RandomVariable valueIfTriggerNonNegative, RandomVariable valueIfTriggerNegative) {
+		if(isDeterministic()) {
+			if(valueIfNonStochastic >= 0) {
+				return valueIfTriggerNonNegative;
+			}
+			else {
+				return valueIfTriggerNegative;
+			}
+		}
+		return getExpression(Operator.CHOOSE, Double.NaN, null, valueIfTriggerNonNegative, valueIfTriggerNegative);
+	}
+
+	@Override
+	public RandomVariable invert() {
+		return getExpression(Operator.INVERT, Double.NaN, null);
+	}
+
+	@Override
+	public RandomVariable abs() {
+		return getExpression(Operator.ABS, Double.NaN, null);
+	}
+
+	@Override
+	public RandomVariable addProduct(RandomVariable factor1, double factor2) {
+		if(factor1.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return factor1.mult(factor2).add(this);
+		}
+		return getExpression(Operator.ADDPRODUCT_SCALAR, factor2, null, factor1);
+	}
+
+	@Override
+	public RandomVariable addProduct(RandomVariable factor1, RandomVariable factor2) {
+		if(factor1.getTypePriority() > this.getTypePriority() || factor2.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return factor1.mult(factor2).add(this);
+		}
+		return getExpression(Operator.ADDPRODUCT, Double.NaN, null, factor1, factor2);
+	}
+
+	@Override
+	public RandomVariable addRatio(RandomVariable numerator, RandomVariable denominator) {
+		if(numerator.getTypePriority() > this.getTypePriority() || denominator.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return numerator.div(denominator).add(this);
+		}
+		return getExpression(Operator.ADDRATIO, Double.NaN, null, numerator, denominator);
+	}
+
+	@Override
+	public RandomVariable subRatio(RandomVariable numerator, RandomVariable denominator) {
+		if(numerator.getTypePriority() > this.getTypePriority() || denominator.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return numerator.div(denominator).mult(-1).add(this);
+		}
+		return getExpression(Operator.SUBRATIO, Double.NaN, null, numerator, denominator);
+	}
+
+	@Override
+	public RandomVariable isNaN() {
+		return getExpression(Operator.ISNAN, Double.NaN, null);
+	}
+
+	@Override
+	public String toString() {
+		return super.toString()
+				+ "\n" + "time: " + time
+				+ "\n" + "realizations: " +
+				(isDeterministic() ? valueIfNonStochastic : Arrays.toString(getRealizationsInternal()));
+	}
+}
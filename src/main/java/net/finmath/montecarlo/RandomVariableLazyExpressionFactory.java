@@ -0,0 +1,30 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo;
+
+import net.finmath.stochastic.RandomVariable;
+
+/**
+ * A factory (helper class) to create random variables of type {@link RandomVariableLazyExpression},
+ * i.e., random variables evaluating expressions lazily in a fused single pass.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class RandomVariableLazyExpressionFactory extends AbstractRandomVariableFactory {
+
+	private static final long serialVersionUID = -1395361985519457398L;
+
+	@Override
+	public RandomVariable createRandomVariable(double time, double value) {
+		return new RandomVariableLazyExpression(time, value);
+	}
+
+	@Override
+	public RandomVariable createRandomVariable(double time, double[] values) {
+		return new RandomVariableLazyExpression(time, values);
+	}
+}
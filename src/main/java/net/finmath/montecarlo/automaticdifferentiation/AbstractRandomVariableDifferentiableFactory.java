@@ -6,6 +6,8 @@
 
 package net.finmath.montecarlo.automaticdifferentiation;
 
+import java.util.function.Supplier;
+
 import net.finmath.montecarlo.AbstractRandomVariableFactory;
 import net.finmath.montecarlo.RandomVariableFactory;
 import net.finmath.stochastic.RandomVariable;
@@ -59,6 +61,25 @@ public abstract class AbstractRandomVariableDifferentiableFactory extends Abstra
 		return randomVariableFactoryForNonDifferentiable.createRandomVariable(time, values);
 	}
 
+	/**
+	 * Performs a calculation with a checkpoint, i.e., factories supporting checkpointing
+	 * retain only the results of the calculation (and not its intermediate results) for the
+	 * calculation of derivatives and repeat the calculation when the derivatives are calculated.
+	 * This reduces the memory requirement at the expense of additional computation time.
+	 *
+	 * The calculation has to be repeatable, i.e., it has to produce the same results
+	 * when called again and it must not have side effects (e.g. populate caches with random variables
+	 * created during the calculation).
+	 *
+	 * The default implementation just performs the calculation.
+	 *
+	 * @param calculation The calculation.
+	 * @return The results of the calculation.
+	 */
+	public RandomVariable[] getValuesWithCheckpoint(Supplier<RandomVariable[]> calculation) {
+		return calculation.get();
+	}
+
 	@Override
 	public String toString() {
 		return "AbstractRandomVariableDifferentiableFactory [randomVariableFactoryForNonDifferentiable="
@@ -0,0 +1,264 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo.automaticdifferentiation.backward;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.finmath.stochastic.RandomVariable;
+
+/**
+ * An array backed tape recording the operations performed on {@link RandomVariableDifferentiableTapeAAD}.
+ *
+ * Each recorded operation (a node) is identified by its position on the tape. For each node the tape stores
+ * the operator (as an int op-code), the positions of its (up to three) arguments (-1 if the argument is
+ * not differentiable) and the argument values required for the partial derivatives (value slots).
+ * Since arguments are always recorded before the operation using them, the reverse sweep of the
+ * adjoint algorithmic differentiation can be performed by iterating over the positions in descending order.
+ *
+ * Recording is thread safe (operations may be performed concurrently, e.g., by a multi-threaded Euler scheme).
+ * The tape is not thread local, since a valuation may distribute its calculations over multiple threads.
+ *
+ * The tape may be truncated (releasing the operations recorded after a given position), which is used
+ * to implement checkpointing. To detect the use of released operations, each node carries the generation
+ * of the tape at the time it was recorded; the generation is incremented upon each truncation.
+ *
+ * Each generation of each tape is assigned an id (unique within a JVM). The id of a node (see {@link #getID(long)})
+ * combines the id of its generation with its position, such that a node recorded at a position
+ * released by a truncation receives a new id.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+final class OperatorTape implements Serializable {
+
+	private static final long serialVersionUID = -2404381628716151735L;
+
+	static final int MAXIMUM_NUMBER_OF_ARGUMENTS = 3;
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private static AtomicInteger indexOfNextGeneration = new AtomicInteger(0);
+
+	// The ids of the generations of this tape (increasing), indexed by the generation
+	private int[] idsOfGenerations;
+
+	private int[]				operators;
+	private int[]				arguments;
+	private RandomVariable[]	argumentValues;
+	private Object[]			operatorParameters;
+	private int[]				generations;
+	private int					size;
+	private int					generation;
+
+	/**
+	 * A read-only snapshot of the tape, used in the reverse sweep.
+	 * Operations recorded after the snapshot has been taken are not visible.
+	 */
+	static final class Snapshot {
+		final int[]					operators;
+		final int[]					arguments;
+		final RandomVariable[]		argumentValues;
+		final Object[]				operatorParameters;
+		final int					size;
+		private final int[]			generations;
+		private final int[]			idsOfGenerations;
+
+		private Snapshot(int[] operators, int[] arguments, RandomVariable[] argumentValues, Object[] operatorParameters, int size, int[] generations, int[] idsOfGenerations) {
+			this.operators = operators;
+			this.arguments = arguments;
+			this.argumentValues = argumentValues;
+			this.operatorParameters = operatorParameters;
+			this.size = size;
+			this.generations = generations;
+			this.idsOfGenerations = idsOfGenerations;
+		}
+
+		/**
+		 * Returns the id of the node at the given position, see {@link OperatorTape#getID(long)}.
+		 *
+		 * @param position The position on the tape (less than {@link #size}).
+		 * @return The id of the node.
+		 */
+		long getID(int position) {
+			return getIDFromGenerationID(idsOfGenerations[generations[position]], position);
+		}
+	}
+
+	OperatorTape() {
+		super();
+
+		operators			= new int[INITIAL_CAPACITY];
+		arguments			= new int[INITIAL_CAPACITY * MAXIMUM_NUMBER_OF_ARGUMENTS];
+		argumentValues		= new RandomVariable[INITIAL_CAPACITY * MAXIMUM_NUMBER_OF_ARGUMENTS];
+		operatorParameters	= new Object[INITIAL_CAPACITY];
+		generations			= new int[INITIAL_CAPACITY];
+		size				= 0;
+		generation			= 0;
+		idsOfGenerations	= new int[] { indexOfNextGeneration.getAndIncrement() };
+	}
+
+	/**
+	 * Record an operation.
+	 *
+	 * @param operator The op-code of the operator (negative for a leaf node).
+	 * @param argument0 Node handle (see {@link #getHandle(int, int)}) of the first argument or -1.
+	 * @param argument1 Node handle of the second argument or -1.
+	 * @param argument2 Node handle of the third argument or -1.
+	 * @param value0 Value of the first argument, if required by the partial derivatives, otherwise null.
+	 * @param value1 Value of the second argument, if required by the partial derivatives, otherwise null.
+	 * @param value2 Value of the third argument, if required by the partial derivatives, otherwise null.
+	 * @param operatorParameter Additional parameter of the operator (e.g. a conditional expectation estimator) or null.
+	 * @return The node handle of the recorded operation.
+	 * @throws IllegalStateException Thrown if an argument has been released from the tape.
+	 */
+	synchronized long record(int operator, long argument0, long argument1, long argument2, RandomVariable value0, RandomVariable value1, RandomVariable value2, Object operatorParameter) {
+		int position0 = getValidPosition(argument0);
+		int position1 = getValidPosition(argument1);
+		int position2 = getValidPosition(argument2);
+
+		if(size == operators.length) {
+			int capacity = size * 2;
+			operators			= Arrays.copyOf(operators, capacity);
+			arguments			= Arrays.copyOf(arguments, capacity * MAXIMUM_NUMBER_OF_ARGUMENTS);
+			argumentValues		= Arrays.copyOf(argumentValues, capacity * MAXIMUM_NUMBER_OF_ARGUMENTS);
+			operatorParameters	= Arrays.copyOf(operatorParameters, capacity);
+			generations			= Arrays.copyOf(generations, capacity);
+		}
+
+		int position = size++;
+		int offset = position * MAXIMUM_NUMBER_OF_ARGUMENTS;
+
+		operators[position] = operator;
+		arguments[offset]	= position0;
+		arguments[offset+1]	= position1;
+		arguments[offset+2]	= position2;
+		argumentValues[offset]		= value0;
+		argumentValues[offset+1]	= value1;
+		argumentValues[offset+2]	= value2;
+		operatorParameters[position] = operatorParameter;
+		generations[position] = generation;
+
+		return getHandle(position, generation);
+	}
+
+	/**
+	 * Release all operations recorded at or after the given position.
+	 *
+	 * @param newSize The new size of the tape.
+	 */
+	synchronized void truncate(int newSize) {
+		if(newSize > size || newSize < 0) {
+			throw new IllegalArgumentException("Cannot truncate tape of size " + size + " to size " + newSize + ".");
+		}
+		Arrays.fill(argumentValues, newSize * MAXIMUM_NUMBER_OF_ARGUMENTS, size * MAXIMUM_NUMBER_OF_ARGUMENTS, null);
+		Arrays.fill(operatorParameters, newSize, size, null);
+		size = newSize;
+		generation++;
+
+		idsOfGenerations = Arrays.copyOf(idsOfGenerations, generation+1);
+		idsOfGenerations[generation] = indexOfNextGeneration.getAndIncrement();
+	}
+
+	/**
+	 * Checks if the node with the given handle is (still) recorded on this tape.
+	 *
+	 * @param handle The node handle.
+	 * @return True, if the node is recorded on this tape.
+	 */
+	synchronized boolean isValid(long handle) {
+		int position = getPosition(handle);
+		return position < size && generations[position] == getGeneration(handle);
+	}
+
+	private int getValidPosition(long handle) {
+		if(handle < 0) {
+			return -1;
+		}
+		if(!isValid(handle)) {
+			throw new IllegalStateException("Random variable has been released from the tape. It was likely recorded inside a checkpointed calculation and used outside of it.");
+		}
+		return getPosition(handle);
+	}
+
+	/**
+	 * Returns a handle identifying a node of a given position recorded in a given generation of the tape.
+	 *
+	 * @param position The position on the tape.
+	 * @param generation The generation of the tape.
+	 * @return The handle.
+	 */
+	static long getHandle(int position, int generation) {
+		return ((long)generation << 32) | position;
+	}
+
+	static int getPosition(long handle) {
+		return (int)handle;
+	}
+
+	static int getGeneration(long handle) {
+		return (int)(handle >>> 32);
+	}
+
+	/**
+	 * Returns a snapshot of the tape containing all operations recorded so far.
+	 *
+	 * @return A snapshot of the tape.
+	 */
+	synchronized Snapshot getSnapshot() {
+		return new Snapshot(operators, arguments, argumentValues, operatorParameters, size, generations, idsOfGenerations);
+	}
+
+	/**
+	 * @return The number of operations recorded on this tape.
+	 */
+	synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the id of the node with the given handle. The id is unique within a JVM, also
+	 * across truncations of the tape (unless more than 2^32 generations are created).
+	 *
+	 * @param handle The node handle.
+	 * @return The id of the node.
+	 */
+	synchronized long getID(long handle) {
+		return getIDFromGenerationID(idsOfGenerations[getGeneration(handle)], getPosition(handle));
+	}
+
+	/**
+	 * Returns the position of the node with the given id, if the node is (still) recorded on this tape.
+	 *
+	 * @param id The id of a node.
+	 * @return The position of the node on this tape or -1 if the node is not recorded on this tape.
+	 */
+	synchronized int getPositionOfID(long id) {
+		int idOfGeneration = (int)(id >>> 32);
+		int position = (int)id;
+
+		// The ids of the generations are increasing
+		int generationOfID = Arrays.binarySearch(idsOfGenerations, 0, generation+1, idOfGeneration);
+		if(generationOfID < 0 || position < 0 || position >= size || generations[position] != generationOfID) {
+			return -1;
+		}
+		return position;
+	}
+
+	private static long getIDFromGenerationID(int idOfGeneration, int position) {
+		return ((long)idOfGeneration << 32) | position;
+	}
+
+	private void readObject(java.io.ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		stream.defaultReadObject();
+		// Reassign ids to ensure unique IDs in the de-serialization context
+		for(int i=0; i<idsOfGenerations.length; i++) {
+			idsOfGenerations[i] = indexOfNextGeneration.getAndIncrement();
+		}
+	}
+}
@@ -8,6 +8,7 @@ package net.finmath.montecarlo.automaticdifferentiation.backward;
 import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -20,6 +21,7 @@ import java.util.function.DoubleUnaryOperator;
 import java.util.function.IntToDoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 
 import net.finmath.functions.DoubleTernaryOperator;
 import net.finmath.montecarlo.RandomVariableFromDoubleArray;
@@ -159,13 +161,24 @@ public class RandomVariableDifferentiableAAD implements RandomVariableDifferenti
 		}
 
 		private void propagateDerivativesFromResultToArgument(Map<Long, RandomVariable> derivatives) {
+			propagateDerivativesFromResultToArgument(derivatives, argumentValues);
+		}
+
+		/**
+		 * Propagate the derivative of this node to its arguments, using the given argument values
+		 * (e.g. the argument values restricted to a chunk of paths).
+		 *
+		 * @param derivatives The map of derivatives.
+		 * @param argumentValues The argument values used in the calculation of the partial derivatives.
+		 */
+		private void propagateDerivativesFromResultToArgument(Map<Long, RandomVariable> derivatives, List<RandomVariable> argumentValues) {
 			if(arguments == null) return;
 			for(int argumentIndex = 0; argumentIndex < arguments.size(); argumentIndex++) {
 				OperatorTreeNode argument = arguments.get(argumentIndex);
 				if(argument != null) {
 					Long argumentID = argument.id;
 
-					RandomVariable partialDerivative	= getPartialDerivative(argument, argumentIndex);
+					RandomVariable partialDerivative	= getPartialDerivative(argument, argumentIndex, argumentValues);
 					RandomVariable derivative			= derivatives.get(id);
 					RandomVariable argumentDerivative	= derivatives.get(argumentID);
 
@@ -200,9 +213,10 @@ public class RandomVariableDifferentiableAAD implements RandomVariableDifferenti
 		 *
 		 * @param differential The node of the argument.
 		 * @param differentialIndex The index of the argument in the functions argument list.
+		 * @param argumentValues The values of the arguments.
 		 * @return The value of the partial derivative.
 		 */
-		private RandomVariable getPartialDerivative(OperatorTreeNode differential, int differentialIndex) {
+		private RandomVariable getPartialDerivative(OperatorTreeNode differential, int differentialIndex, List<RandomVariable> argumentValues) {
 
 			if(!arguments.contains(differential)) return zero;
 
@@ -613,6 +627,13 @@ public class RandomVariableDifferentiableAAD implements RandomVariableDifferenti
 	@Override
 	public Map<Long, RandomVariable> getGradient(Set<Long> independentIDs) {
 
+		if(getFactory().getNumberOfPathChunksInReverseSweep() > 1) {
+			Map<Long, RandomVariable> gradient = getGradientWithPathChunks(independentIDs, getFactory().getNumberOfPathChunksInReverseSweep());
+			if(gradient != null) {
+				return gradient;
+			}
+		}
+
 		// The map maintaining the derivatives id -> derivative
 		Map<Long, RandomVariable> derivatives = new HashMap<>();
 		// Put derivative of this node w.r.t. itself
@@ -657,6 +678,217 @@ public class RandomVariableDifferentiableAAD implements RandomVariableDifferenti
 		return derivatives;
 	}
 
+	/**
+	 * Performs the backward automatic differentiation, where the path dimension is split into chunks
+	 * and the chunks are processed in parallel.
+	 *
+	 * The adjoints are path-wise independent, except for operators requiring the values on all paths
+	 * (e.g. <code>average</code> and <code>getConditionalExpectation</code>). The nodes of the
+	 * operator tree are processed in the same order as in the sequential algorithm. Consecutive path-wise
+	 * nodes are processed independently (and in parallel) on each chunk. A node requiring all paths acts as a
+	 * barrier: the adjoints of the chunks are combined, the node is processed on all paths and the result
+	 * is split into chunks again.
+	 *
+	 * @param independentIDs The set of independent IDs (or null).
+	 * @param numberOfPathChunks The (maximum) number of chunks.
+	 * @return The gradient map or null, if the gradient cannot be calculated with path chunks (e.g. if the values are differentiable themselves).
+	 */
+	private Map<Long, RandomVariable> getGradientWithPathChunks(Set<Long> independentIDs, int numberOfPathChunks) {
+
+		// Collect the nodes of the operator tree. Note: TreeMap is maintaining a sorting on the keys.
+		TreeMap<Long, OperatorTreeNode> nodes = new TreeMap<>();
+		List<OperatorTreeNode> nodesToVisit = new ArrayList<>();
+		nodesToVisit.add(getOperatorTreeNode());
+		int numberOfPaths = getValues().size();
+		while(nodesToVisit.size() > 0) {
+			OperatorTreeNode node = nodesToVisit.remove(nodesToVisit.size()-1);
+			if(nodes.putIfAbsent(node.id, node) != null || node.arguments == null) {
+				continue;
+			}
+			for(OperatorTreeNode argument : node.arguments) {
+				if(argument != null) {
+					nodesToVisit.add(argument);
+				}
+			}
+			if(node.argumentValues != null) {
+				for(RandomVariable argumentValue : node.argumentValues) {
+					if(argumentValue instanceof RandomVariableDifferentiable) {
+						return null;
+					}
+					if(argumentValue != null) {
+						numberOfPaths = Math.max(numberOfPaths, argumentValue.size());
+					}
+				}
+			}
+		}
+
+		numberOfPathChunks = Math.min(numberOfPathChunks, numberOfPaths);
+		if(numberOfPathChunks <= 1) {
+			return null;
+		}
+
+		// The first path of each chunk (and the end of the last chunk)
+		final int[] pathChunkStart = new int[numberOfPathChunks+1];
+		for(int chunkIndex = 0; chunkIndex <= numberOfPathChunks; chunkIndex++) {
+			pathChunkStart[chunkIndex] = (int)((long)numberOfPaths * chunkIndex / numberOfPathChunks);
+		}
+
+		// The maps maintaining the derivatives id -> derivative for each chunk
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		final Map<Long, RandomVariable>[] derivativesOnChunks = new Map[numberOfPathChunks];
+		RandomVariable derivativeOfRoot = getFactory().createRandomVariableNonDifferentiable(Double.NEGATIVE_INFINITY, 1.0);
+		for(int chunkIndex = 0; chunkIndex < numberOfPathChunks; chunkIndex++) {
+			derivativesOnChunks[chunkIndex] = new HashMap<>();
+			derivativesOnChunks[chunkIndex].put(getID(), derivativeOfRoot);
+		}
+
+		// Process the nodes in the order of decreasing ids
+		final List<OperatorTreeNode> nodesInReverseOrder = new ArrayList<>(nodes.descendingMap().values());
+		int segmentStart = 0;
+		for(int nodeIndex = 0; nodeIndex <= nodesInReverseOrder.size(); nodeIndex++) {
+			if(nodeIndex < nodesInReverseOrder.size() && !isRequiringAllPaths(nodesInReverseOrder.get(nodeIndex))) {
+				continue;
+			}
+
+			// Process the path-wise nodes since the last barrier independently on each chunk
+			final int segmentFrom = segmentStart;
+			final int segmentTo = nodeIndex;
+			if(segmentTo > segmentFrom) {
+				IntStream.range(0, derivativesOnChunks.length).parallel().forEach(chunkIndex -> {
+					for(int i = segmentFrom; i < segmentTo; i++) {
+						propagateDerivativesOnPathChunk(nodesInReverseOrder.get(i), derivativesOnChunks[chunkIndex], pathChunkStart[chunkIndex], pathChunkStart[chunkIndex+1]);
+					}
+				});
+			}
+
+			// Process the barrier on all paths
+			if(nodeIndex < nodesInReverseOrder.size()) {
+				OperatorTreeNode node = nodesInReverseOrder.get(nodeIndex);
+
+				Map<Long, RandomVariable> derivatives = new HashMap<>();
+				derivatives.put(node.id, getValuesFromPathChunks(derivativesOnChunks, node.id, pathChunkStart));
+				node.propagateDerivativesFromResultToArgument(derivatives);
+
+				for(Map.Entry<Long, RandomVariable> derivative : derivatives.entrySet()) {
+					if(derivative.getKey().equals(node.id)) {
+						continue;
+					}
+					for(int chunkIndex = 0; chunkIndex < numberOfPathChunks; chunkIndex++) {
+						RandomVariable derivativeOnChunk = getValuesOnPathChunk(derivative.getValue(), pathChunkStart[chunkIndex], pathChunkStart[chunkIndex+1]);
+						derivativesOnChunks[chunkIndex].merge(derivative.getKey(), derivativeOnChunk, RandomVariable::add);
+					}
+				}
+
+				if(isGradientRetainsLeafNodesOnly()) {
+					for(Map<Long, RandomVariable> derivativesOnChunk : derivativesOnChunks) {
+						derivativesOnChunk.remove(node.id);
+					}
+				}
+			}
+
+			segmentStart = nodeIndex+1;
+		}
+
+		// Combine the chunks
+		Map<Long, RandomVariable> derivatives = new HashMap<>();
+		for(Long id : derivativesOnChunks[0].keySet()) {
+			if(independentIDs != null && independentIDs.contains(id)) {
+				continue;
+			}
+			derivatives.put(id, getValuesFromPathChunks(derivativesOnChunks, id, pathChunkStart));
+		}
+
+		return derivatives;
+	}
+
+	private void propagateDerivativesOnPathChunk(OperatorTreeNode node, Map<Long, RandomVariable> derivatives, int pathStart, int pathEnd) {
+		List<OperatorTreeNode> arguments = node.arguments;
+		if(arguments != null && arguments.size() > 0) {
+			List<RandomVariable> argumentValuesOnChunk = null;
+			if(node.argumentValues != null) {
+				argumentValuesOnChunk = new ArrayList<>(node.argumentValues.size());
+				for(RandomVariable argumentValue : node.argumentValues) {
+					argumentValuesOnChunk.add(getValuesOnPathChunk(argumentValue, pathStart, pathEnd));
+				}
+			}
+
+			node.propagateDerivativesFromResultToArgument(derivatives, argumentValuesOnChunk);
+
+			// Remove id of this node from derivatives - keep only leaf nodes.
+			if(isGradientRetainsLeafNodesOnly()) {
+				derivatives.remove(node.id);
+			}
+		}
+	}
+
+	/**
+	 * Returns true, if the partial derivatives of the node (or the propagation of its derivative) requires the values on all paths.
+	 *
+	 * @param node The node.
+	 * @return True, if the node has to be processed on all paths.
+	 */
+	private boolean isRequiringAllPaths(OperatorTreeNode node) {
+		if(node.operatorType == null || node.arguments == null || node.arguments.size() == 0) {
+			return false;
+		}
+
+		switch(node.operatorType) {
+		case AVERAGE:
+		case CONDITIONAL_EXPECTATION:
+		case VARIANCE:
+		case STDEV:
+		case STDERROR:
+		case SVARIANCE:
+		case MIN:
+		case MAX:
+		case VARIANCE2:
+		case STDEV2:
+		case STDERROR2:
+			return true;
+		case CHOOSE:
+			// The Dirac delta approximations (except ONE and ZERO) depend on the distribution of the indicator.
+			return getFactory().getDiracDeltaApproximationMethod() != DiracDeltaApproximationMethod.ONE && getFactory().getDiracDeltaApproximationMethod() != DiracDeltaApproximationMethod.ZERO;
+		default:
+			return false;
+		}
+	}
+
+	private RandomVariable getValuesOnPathChunk(RandomVariable values, int pathStart, int pathEnd) {
+		if(values == null || values.isDeterministic()) {
+			return values;
+		}
+
+		double[] valuesOnChunk = new double[pathEnd-pathStart];
+		for(int path = pathStart; path < pathEnd; path++) {
+			valuesOnChunk[path-pathStart] = values.get(path);
+		}
+		return getFactory().createRandomVariableNonDifferentiable(values.getFiltrationTime(), valuesOnChunk);
+	}
+
+	private RandomVariable getValuesFromPathChunks(Map<Long, RandomVariable>[] valuesOnChunks, Long id, int[] pathChunkStart) {
+		RandomVariable valuesOnFirstChunk = valuesOnChunks[0].get(id);
+		double time = Double.NEGATIVE_INFINITY;
+		boolean isDeterministic = true;
+		for(Map<Long, RandomVariable> valuesOnChunk : valuesOnChunks) {
+			RandomVariable values = valuesOnChunk.get(id);
+			time = Math.max(time, values.getFiltrationTime());
+			isDeterministic &= values.isDeterministic() && values.doubleValue() == valuesOnFirstChunk.doubleValue();
+		}
+
+		if(isDeterministic) {
+			return valuesOnFirstChunk;
+		}
+
+		double[] values = new double[pathChunkStart[pathChunkStart.length-1]];
+		for(int chunkIndex = 0; chunkIndex < valuesOnChunks.length; chunkIndex++) {
+			RandomVariable valuesOnChunk = valuesOnChunks[chunkIndex].get(id);
+			for(int path = pathChunkStart[chunkIndex]; path < pathChunkStart[chunkIndex+1]; path++) {
+				values[path] = valuesOnChunk.get(path-pathChunkStart[chunkIndex]);
+			}
+		}
+		return getFactory().createRandomVariableNonDifferentiable(time, values);
+	}
+
 	private boolean isGradientRetainsLeafNodesOnly() {
 		return getFactory() != null && getFactory().isGradientRetainsLeafNodesOnly();
 	}
@@ -44,6 +44,22 @@ public class RandomVariableDifferentiableAADFactory extends AbstractRandomVariab
 
 	private final boolean isGradientRetainsLeafNodesOnly;
 
+	/*
+	 * If greater than one, the reverse sweep of getGradient splits the paths into (up to) this number of chunks,
+	 * which are processed in parallel.
+	 */
+	private final int numberOfPathChunksInReverseSweep;
+
+	/**
+	 * Create the factory.
+	 *
+	 * The supported properties are <code>diracDeltaApproximationMethod</code>, <code>diracDeltaApproximationWidthPerStdDev</code>,
+	 * <code>diracDeltaApproximationDensityRegressionWidthPerStdDev</code>, <code>isGradientRetainsLeafNodesOnly</code> and
+	 * <code>numberOfPathChunksInReverseSweep</code> (Integer, default 1, i.e., sequential reverse sweep).
+	 *
+	 * @param randomVariableFactoryForNonDifferentiable Random variable factory for the underlying values.
+	 * @param properties A map of properties.
+	 */
 	public RandomVariableDifferentiableAADFactory(AbstractRandomVariableFactory randomVariableFactoryForNonDifferentiable, Map<String, Object> properties) {
 		super(randomVariableFactoryForNonDifferentiable);
 
@@ -56,6 +72,8 @@ public class RandomVariableDifferentiableAADFactory extends AbstractRandomVariab
 		diracDeltaApproximationDensityRegressionWidthPerStdDev = (Double)properties.getOrDefault("diracDeltaApproximationDensityRegressionWidthPerStdDev", 0.5);
 
 		isGradientRetainsLeafNodesOnly = (Boolean) properties.getOrDefault("isGradientRetainsLeafNodesOnly", true);
+
+		numberOfPathChunksInReverseSweep = (Integer) properties.getOrDefault("numberOfPathChunksInReverseSweep", 1);
 	}
 
 	/**
@@ -100,12 +118,16 @@ public class RandomVariableDifferentiableAADFactory extends AbstractRandomVariab
 		return isGradientRetainsLeafNodesOnly;
 	}
 
+	public int getNumberOfPathChunksInReverseSweep() {
+		return numberOfPathChunksInReverseSweep;
+	}
+
 	@Override
 	public String toString() {
 		return "RandomVariableDifferentiableAADFactory [diracDeltaApproximationMethod=" + diracDeltaApproximationMethod
 				+ ", diracDeltaApproximationWidthPerStdDev=" + diracDeltaApproximationWidthPerStdDev
 				+ ", diracDeltaApproximationDensityRegressionWidthPerStdDev="
 				+ diracDeltaApproximationDensityRegressionWidthPerStdDev + ", isGradientRetainsLeafNodesOnly="
-				+ isGradientRetainsLeafNodesOnly + ", toString()=" + super.toString() + "]";
+				+ isGradientRetainsLeafNodesOnly + ", numberOfPathChunksInReverseSweep=" + numberOfPathChunksInReverseSweep + ", toString()=" + super.toString() + "]";
 	}
 }
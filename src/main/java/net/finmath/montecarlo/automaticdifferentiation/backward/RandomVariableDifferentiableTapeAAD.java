@@ -0,0 +1,1085 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo.automaticdifferentiation.backward;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+
+import net.finmath.functions.DoubleTernaryOperator;
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiable;
+import net.finmath.stochastic.ConditionalExpectationEstimator;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.stochastic.Scalar;
+
+/**
+ * Implementation of <code>RandomVariableDifferentiable</code> using
+ * the backward algorithmic differentiation (adjoint algorithmic differentiation, AAD),
+ * where the operations are recorded on an array backed tape.
+ *
+ * The class implements the same (optimized stochastic) AAD as {@link RandomVariableDifferentiableAAD},
+ * including the special treatment of the operators <code>average</code> and <code>getConditionalExpectation</code>,
+ * but instead of maintaining a graph of operator nodes (with boxed ids and maps of adjoints), each
+ * operation is recorded on an {@link OperatorTape} as an op-code, the positions of its arguments and
+ * the argument values required by the partial derivatives. The reverse sweep then iterates over the
+ * tape positions and stores the adjoints in an array indexed by the tape position.
+ *
+ * The tape is owned by the factory and retains all operations recorded on it as long as it is reachable
+ * (that is, as long as a random variable recorded on this tape is reachable). Random variables recorded on
+ * different tapes cannot be combined.
+ *
+ * Calculations may be checkpointed (see {@link RandomVariableDifferentiableTapeAADFactory#getValuesWithCheckpoint(Supplier)}):
+ * only the results of the calculation are retained on the tape and the calculation is repeated during the reverse sweep.
+ *
+ * The id returned by {@link #getID()} encodes the generation of the tape (which changes when checkpointing releases
+ * operations from the tape) and the position on the tape, hence ids of released operations are not re-used.
+ * Upon de-serialization the value of {@link #getID()} may be changed to ensure unique IDs in de-serialization context.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class RandomVariableDifferentiableTapeAAD implements RandomVariableDifferentiable {
+
+	private static final long serialVersionUID = -3237810475923174618L;
+
+	private static final int typePriorityDefault = 3;
+
+	enum OperatorType {
+		ADD, MULT, DIV, SUB, SQUARED, SQRT, LOG, SIN, COS, EXP, INVERT, CAP, FLOOR, ABS,
+		ADDPRODUCT, ADDRATIO, SUBRATIO, CHOOSE, DISCOUNT, ACCRUE, POW, AVERAGE, CONDITIONAL_EXPECTATION,
+		CHECKPOINT
+	}
+
+	private static final OperatorType[] operatorTypes = OperatorType.values();
+
+	private static final int LEAF = -1;
+
+	private static final RandomVariable zero = new Scalar(0.0);
+	private static final RandomVariable one = new Scalar(1.0);
+	private static final RandomVariable minusOne = new Scalar(-1.0);
+
+	/**
+	 * A checkpointed calculation. The results of the calculation are recorded on the tape as nodes with the operator
+	 * {@link OperatorType#CHECKPOINT}, referencing this object. In the reverse sweep the calculation is repeated
+	 * and the adjoints of its results are propagated through the repeated calculation.
+	 */
+	static final class Checkpoint implements Serializable {
+
+		private static final long serialVersionUID = 6015338236851471617L;
+
+		private final transient Supplier<RandomVariable[]> calculation;
+		private final int[] indicesOfResults;
+		private final int[] positionsOfResults;
+
+		private Checkpoint(Supplier<RandomVariable[]> calculation, int[] indicesOfResults, int[] positionsOfResults) {
+			this.calculation = calculation;
+			this.indicesOfResults = indicesOfResults;
+			this.positionsOfResults = positionsOfResults;
+		}
+	}
+
+	/**
+	 * The adjoints of a reverse sweep, indexed by the position on the tape.
+	 * Adjoints of positions below <code>base</code> are delegated to <code>adjointsBelowBase</code>
+	 * (this is used when a checkpointed calculation is repeated at the end of the tape).
+	 */
+	private static final class Adjoints {
+		private final RandomVariable[] adjoints;
+		private final int base;
+		private final Adjoints adjointsBelowBase;
+
+		private Adjoints(int base, int size, Adjoints adjointsBelowBase) {
+			this.adjoints = new RandomVariable[size-base];
+			this.base = base;
+			this.adjointsBelowBase = adjointsBelowBase;
+		}
+
+		private RandomVariable remove(int position) {
+			RandomVariable adjoint = adjoints[position-base];
+			adjoints[position-base] = null;
+			return adjoint;
+		}
+
+		/**
+		 * Add derivative * partialDerivative to the adjoint of the given position.
+		 */
+		private void add(int position, RandomVariable derivative, RandomVariable partialDerivative) {
+			if(position < base) {
+				adjointsBelowBase.add(position, derivative, partialDerivative);
+				return;
+			}
+
+			RandomVariable adjoint = adjoints[position-base];
+			if(partialDerivative == one) {
+				adjoint = adjoint == null ? derivative : adjoint.add(derivative);
+			}
+			else if(partialDerivative == minusOne) {
+				adjoint = adjoint == null ? derivative.mult(-1.0) : adjoint.sub(derivative);
+			}
+			else {
+				adjoint = adjoint == null ? derivative.mult(partialDerivative) : adjoint.addProduct(partialDerivative, derivative);
+			}
+			adjoints[position-base] = adjoint;
+		}
+	}
+
+	/*
+	 * Data model. We maintain the underlying values and the handle (position and generation) of the operation on the tape.
+	 */
+	private RandomVariable values;
+	private final OperatorTape tape;
+	private final long handle;
+	private final RandomVariableDifferentiableTapeAADFactory factory;
+
+	/**
+	 * Create a leaf node on the current tape of the given factory.
+	 *
+	 * @param values The values of this random variable.
+	 * @param factory The factory owning the tape.
+	 */
+	public RandomVariableDifferentiableTapeAAD(RandomVariable values, RandomVariableDifferentiableTapeAADFactory factory) {
+		this(values, factory.getTape(), factory);
+	}
+
+	private RandomVariableDifferentiableTapeAAD(RandomVariable values, OperatorTape tape, RandomVariableDifferentiableTapeAADFactory factory) {
+		this(values, tape, tape.record(LEAF, -1, -1, -1, null, null, null, null), factory);
+	}
+
+	private RandomVariableDifferentiableTapeAAD(RandomVariable values, OperatorTape tape, long handle, RandomVariableDifferentiableTapeAADFactory factory) {
+		super();
+		this.values = values;
+		this.tape = tape;
+		this.handle = handle;
+		this.factory = factory;
+	}
+
+	/**
+	 * Performs a calculation, retaining only its results on the tape of the given factory.
+	 *
+	 * @param calculation The calculation. It has to be repeatable, i.e., free of side effects.
+	 * @param factory The factory owning the tape.
+	 * @return The results of the calculation.
+	 */
+	static RandomVariable[] getValuesWithCheckpoint(Supplier<RandomVariable[]> calculation, RandomVariableDifferentiableTapeAADFactory factory) {
+		final OperatorTape tape = factory.getTape();
+		final int sizeOfTapeBeforeCalculation = tape.size();
+
+		RandomVariable[] results = calculation.get().clone();
+
+		// Results recorded by the calculation are replaced by checkpoint nodes. Other results (e.g. arguments passed through) are kept.
+		int numberOfRecordedResults = 0;
+		int[] indicesOfResults = new int[results.length];
+		for(int resultIndex = 0; resultIndex < results.length; resultIndex++) {
+			if(results[resultIndex] instanceof RandomVariableDifferentiableTapeAAD) {
+				RandomVariableDifferentiableTapeAAD result = (RandomVariableDifferentiableTapeAAD)results[resultIndex];
+				if(result.tape == tape && OperatorTape.getPosition(result.handle) >= sizeOfTapeBeforeCalculation) {
+					indicesOfResults[numberOfRecordedResults++] = resultIndex;
+				}
+			}
+		}
+		indicesOfResults = Arrays.copyOf(indicesOfResults, numberOfRecordedResults);
+
+		// Release the intermediate results of the calculation
+		tape.truncate(sizeOfTapeBeforeCalculation);
+
+		int[] positionsOfResults = new int[numberOfRecordedResults];
+		Checkpoint checkpoint = new Checkpoint(calculation, indicesOfResults, positionsOfResults);
+		for(int i = 0; i < numberOfRecordedResults; i++) {
+			RandomVariable values = results[indicesOfResults[i]].getValues();
+			long handleOfResult = tape.record(OperatorType.CHECKPOINT.ordinal(), -1, -1, -1, null, null, null, checkpoint);
+			positionsOfResults[i] = OperatorTape.getPosition(handleOfResult);
+			results[indicesOfResults[i]] = new RandomVariableDifferentiableTapeAAD(values, tape, handleOfResult, factory);
+		}
+
+		return results;
+	}
+
+	/**
+	 * Record an operation on the tape of this random variable and return the result.
+	 *
+	 * @param values The values of the result of the operation.
+	 * @param operatorType The operator.
+	 * @param operatorParameter An additional parameter of the operator (e.g. the conditional expectation estimator).
+	 * @param argument0 The first argument.
+	 * @param argument1 The second argument or null.
+	 * @param argument2 The third argument or null.
+	 * @return The result of the operation.
+	 */
+	private RandomVariableDifferentiableTapeAAD record(RandomVariable values, OperatorType operatorType, Object operatorParameter, RandomVariable argument0, RandomVariable argument1, RandomVariable argument2) {
+		long position0 = getHandleOnTape(argument0);
+		long position1 = getHandleOnTape(argument1);
+		long position2 = getHandleOnTape(argument2);
+
+		RandomVariable value0 = argument0 != null ? argument0.getValues() : null;
+		RandomVariable value1 = argument1 != null ? argument1.getValues() : null;
+		RandomVariable value2 = argument2 != null ? argument2.getValues() : null;
+
+		/*
+		 * Retain only those argument values which are required by the partial derivatives of the differentiable arguments.
+		 */
+		if(position0 < 0 && position1 < 0 && position2 < 0) {
+			value0 = null;
+			value1 = null;
+			value2 = null;
+		}
+		else {
+			switch(operatorType) {
+			case ADD:
+			case SUB:
+			case AVERAGE:
+			case CONDITIONAL_EXPECTATION:
+				value0 = null;
+				value1 = null;
+				break;
+			case MULT:
+				if(position1 < 0) {
+					value0 = null;
+				}
+				if(position0 < 0) {
+					value1 = null;
+				}
+				break;
+			case DIV:
+				if(position1 < 0) {
+					value0 = null;
+				}
+				break;
+			case ADDPRODUCT:
+				value0 = null;
+				if(position1 < 0) {
+					value2 = null;
+				}
+				if(position2 < 0) {
+					value1 = null;
+				}
+				break;
+			case ADDRATIO:
+			case SUBRATIO:
+				value0 = null;
+				if(position2 < 0) {
+					value1 = null;
+				}
+				break;
+			case CHOOSE:
+				if(position0 < 0) {
+					value1 = null;
+					value2 = null;
+				}
+				break;
+			default:
+				break;
+			}
+		}
+
+		long handleOfResult = tape.record(operatorType.ordinal(), position0, position1, position2, value0, value1, value2, operatorParameter);
+
+		return new RandomVariableDifferentiableTapeAAD(values, tape, handleOfResult, factory);
+	}
+
+	private long getHandleOnTape(RandomVariable randomVariable) {
+		if(randomVariable instanceof RandomVariableDifferentiableTapeAAD) {
+			RandomVariableDifferentiableTapeAAD randomVariableOnTape = (RandomVariableDifferentiableTapeAAD)randomVariable;
+			if(randomVariableOnTape.tape != tape) {
+				throw new IllegalArgumentException("Combining random variables recorded on different tapes is not supported.");
+			}
+			return randomVariableOnTape.handle;
+		}
+		else {
+			// Not differentiable (with respect to this tape)
+			return -1;
+		}
+	}
+
+	/**
+	 * Returns the underlying values.
+	 *
+	 * @return The underling values.
+	 */
+	@Override
+	public RandomVariable getValues(){
+		return values;
+	}
+
+	public RandomVariableDifferentiableTapeAADFactory getFactory() {
+		return factory;
+	}
+
+	@Override
+	public Long getID(){
+		return tape.getID(handle);
+	}
+
+	/**
+	 * Returns the gradient of this random variable with respect to all its leaf nodes.
+	 * The method calculated the map \( v \mapsto \frac{d u}{d v} \) where \( u \) denotes <code>this</code>.
+	 *
+	 * Performs a backward automatic differentiation by a reverse sweep over the tape.
+	 *
+	 * If independentIDs is non-null, the nodes with these ids are treated as independent
+	 * (that is, the derivative is not propagated to their arguments) and only their derivatives are returned.
+	 *
+	 * @return The gradient map.
+	 */
+	@Override
+	public Map<Long, RandomVariable> getGradient(Set<Long> independentIDs) {
+
+		if(!tape.isValid(handle)) {
+			throw new IllegalStateException("Random variable has been released from the tape. It was likely recorded inside a checkpointed calculation and used outside of it.");
+		}
+
+		final int position = OperatorTape.getPosition(handle);
+		final OperatorTape.Snapshot tape = this.tape.getSnapshot();
+
+		// Mark the independents on this tape, if given
+		boolean[] isIndependent = null;
+		int lastPosition = 0;
+		if(independentIDs != null) {
+			isIndependent = new boolean[position+1];
+			lastPosition = position;
+			for(Long independentID : independentIDs) {
+				if(independentID == null) {
+					continue;
+				}
+				int independentPosition = this.tape.getPositionOfID(independentID);
+				if(independentPosition >= 0 && independentPosition <= position) {
+					isIndependent[independentPosition] = true;
+					lastPosition = Math.min(lastPosition, independentPosition);
+				}
+			}
+		}
+
+		// The adjoints, indexed by the position on the tape
+		Adjoints adjoints = new Adjoints(0, position+1, null);
+		adjoints.add(position, factory.createRandomVariableNonDifferentiable(Double.NEGATIVE_INFINITY, 1.0), one);
+
+		Map<Long, RandomVariable> gradient = new HashMap<>();
+		reverseSweep(tape, adjoints, position, lastPosition, isIndependent, gradient);
+
+		return gradient;
+	}
+
+	/**
+	 * Performs the reverse sweep from a start position down to an end position.
+	 *
+	 * @param tape The tape.
+	 * @param adjoints The adjoints (initialized with the adjoints of the dependent nodes).
+	 * @param startPosition The highest position of the sweep.
+	 * @param endPosition The lowest position of the sweep.
+	 * @param isIndependent If non-null, a flag for each position, indicating nodes which are treated as independent.
+	 * @param gradient If non-null, the map receiving the derivatives with respect to the leaf (or independent) nodes.
+	 */
+	private void reverseSweep(OperatorTape.Snapshot tape, Adjoints adjoints, int startPosition, int endPosition, boolean[] isIndependent, Map<Long, RandomVariable> gradient) {
+		final boolean isGradientRetainsLeafNodesOnly = factory.isGradientRetainsLeafNodesOnly();
+
+		for(int nodePosition = startPosition; nodePosition >= endPosition; nodePosition--) {
+			// Fetch and release the adjoint, it will not be updated anymore
+			RandomVariable adjoint = adjoints.remove(nodePosition);
+			if(adjoint == null) {
+				continue;
+			}
+
+			int operator = tape.operators[nodePosition];
+			if(gradient != null) {
+				if(isIndependent != null) {
+					if(isIndependent[nodePosition]) {
+						gradient.put(tape.getID(nodePosition), adjoint);
+						continue;
+					}
+				}
+				else if(operator == LEAF || !isGradientRetainsLeafNodesOnly) {
+					gradient.put(tape.getID(nodePosition), adjoint);
+				}
+			}
+
+			if(operator == LEAF) {
+				continue;
+			}
+			else if(operatorTypes[operator] == OperatorType.CHECKPOINT) {
+				propagateAdjointThroughCheckpoint((Checkpoint)tape.operatorParameters[nodePosition], nodePosition, adjoint, adjoints);
+			}
+			else {
+				propagateAdjoint(tape, nodePosition, operatorTypes[operator], adjoint, adjoints);
+			}
+		}
+	}
+
+	/**
+	 * Propagate the adjoints of the results of a checkpointed calculation to the arguments of the calculation.
+	 *
+	 * The method is called with the highest result of the checkpoint having a non-null adjoint. Since all results of a checkpoint
+	 * are recorded consecutively, the adjoints of all results are final and the adjoints of the other results are removed.
+	 * The calculation is repeated at the end of the tape and the adjoints are propagated through
+	 * the repeated calculation down to the positions recorded before the repeated calculation.
+	 *
+	 * @param checkpoint The checkpoint.
+	 * @param nodePosition The position of the (highest) result.
+	 * @param adjoint The adjoint of the result at nodePosition.
+	 * @param adjoints The adjoints.
+	 */
+	private void propagateAdjointThroughCheckpoint(Checkpoint checkpoint, int nodePosition, RandomVariable adjoint, Adjoints adjoints) {
+		if(checkpoint.calculation == null) {
+			throw new UnsupportedOperationException("The calculation of a checkpoint is not available (e.g. after de-serialization).");
+		}
+
+		final int sizeOfTapeBeforeCalculation = this.tape.size();
+
+		// Repeat the calculation
+		RandomVariable[] results = checkpoint.calculation.get();
+
+		final OperatorTape.Snapshot tape = this.tape.getSnapshot();
+		Adjoints adjointsOfCalculation = new Adjoints(sizeOfTapeBeforeCalculation, tape.size, adjoints);
+
+		int highestPositionOfCalculation = sizeOfTapeBeforeCalculation-1;
+		for(int i = 0; i < checkpoint.positionsOfResults.length; i++) {
+			int positionOfResult = checkpoint.positionsOfResults[i];
+			RandomVariable adjointOfResult = positionOfResult == nodePosition ? adjoint : (positionOfResult < nodePosition ? adjoints.remove(positionOfResult) : null);
+			if(adjointOfResult == null) {
+				continue;
+			}
+
+			RandomVariable result = results[checkpoint.indicesOfResults[i]];
+			long handleOfResult = getHandleOnTape(result);
+			if(handleOfResult < 0) {
+				throw new IllegalStateException("Repeated calculation of checkpoint did not produce a differentiable result.");
+			}
+			adjointsOfCalculation.add(OperatorTape.getPosition(handleOfResult), adjointOfResult, one);
+			highestPositionOfCalculation = Math.max(highestPositionOfCalculation, OperatorTape.getPosition(handleOfResult));
+		}
+
+		reverseSweep(tape, adjointsOfCalculation, highestPositionOfCalculation, sizeOfTapeBeforeCalculation, null, null);
+
+		// Release the repeated calculation
+		this.tape.truncate(sizeOfTapeBeforeCalculation);
+	}
+
+	/**
+	 * Propagate the adjoint of a node to its arguments.
+	 *
+	 * @param tape The tape.
+	 * @param nodePosition The position of the node on the tape.
+	 * @param operatorType The operator of the node.
+	 * @param adjoint The adjoint of the node.
+	 * @param adjoints The adjoints, indexed by the position on the tape.
+	 */
+	private void propagateAdjoint(OperatorTape.Snapshot tape, int nodePosition, OperatorType operatorType, RandomVariable adjoint, Adjoints adjoints) {
+		int offset = nodePosition * OperatorTape.MAXIMUM_NUMBER_OF_ARGUMENTS;
+
+		RandomVariable X = tape.argumentValues[offset];
+		RandomVariable Y = tape.argumentValues[offset+1];
+		RandomVariable Z = tape.argumentValues[offset+2];
+
+		// Implementation of AVERAGE and CONDITIONAL_EXPECTATION (see https://ssrn.com/abstract=2995695 for details).
+		RandomVariable derivative = adjoint;
+		if(operatorType == OperatorType.AVERAGE) {
+			derivative = adjoint.average();
+		}
+		else if(operatorType == OperatorType.CONDITIONAL_EXPECTATION) {
+			ConditionalExpectationEstimator estimator = (ConditionalExpectationEstimator)tape.operatorParameters[nodePosition];
+			derivative = estimator.getConditionalExpectation(adjoint);
+		}
+
+		for(int argumentIndex = 0; argumentIndex < OperatorTape.MAXIMUM_NUMBER_OF_ARGUMENTS; argumentIndex++) {
+			int argumentPosition = tape.arguments[offset+argumentIndex];
+			if(argumentPosition >= 0) {
+				adjoints.add(argumentPosition, derivative, getPartialDerivative(operatorType, argumentIndex, X, Y, Z));
+			}
+		}
+	}
+
+	/**
+	 * Calculate the partial derivative of an operator with respect to one of its arguments.
+	 *
+	 * @param operatorType The operator.
+	 * @param differentialIndex The index of the argument in the functions argument list.
+	 * @param X The value of the first argument (if retained).
+	 * @param Y The value of the second argument (if retained).
+	 * @param Z The value of the third argument (if retained).
+	 * @return The value of the partial derivative.
+	 */
+	private RandomVariable getPartialDerivative(OperatorType operatorType, int differentialIndex, RandomVariable X, RandomVariable Y, RandomVariable Z) {
+
+		RandomVariable derivative = null;
+
+		switch(operatorType) {
+		/* functions with one argument  */
+		case SQUARED:
+			derivative = X.mult(2.0);
+			break;
+		case SQRT:
+			derivative = X.sqrt().invert().mult(0.5);
+			break;
+		case EXP:
+			derivative = X.exp();
+			break;
+		case LOG:
+			derivative = X.invert();
+			break;
+		case SIN:
+			derivative = X.cos();
+			break;
+		case COS:
+			derivative = X.sin().mult(-1.0);
+			break;
+		case INVERT:
+			derivative = X.invert().squared().mult(-1);
+			break;
+		case AVERAGE:
+		case CONDITIONAL_EXPECTATION:
+			derivative = one;
+			break;
+		case ABS:
+			derivative = X.choose(one, minusOne);
+			break;
+		case ADD:
+			derivative = one;
+			break;
+		case SUB:
+			derivative = differentialIndex == 0 ? one : minusOne;
+			break;
+		case MULT:
+			derivative = differentialIndex == 0 ? Y : X;
+			break;
+		case DIV:
+			derivative = differentialIndex == 0 ? Y.invert() : X.div(Y.squared()).mult(-1);
+			break;
+		case CAP:
+			if(differentialIndex == 0) {
+				derivative = X.sub(Y).choose(zero, one);
+			}
+			else {
+				derivative = X.sub(Y).choose(one, zero);
+			}
+			break;
+		case FLOOR:
+			if(differentialIndex == 0) {
+				derivative = X.sub(Y).choose(one, zero);
+			}
+			else {
+				derivative = X.sub(Y).choose(zero, one);
+			}
+			break;
+		case POW:
+			// second argument will always be deterministic and constant.
+			derivative = (differentialIndex == 0) ? X.pow(Y.getAverage() - 1.0).mult(Y) : zero;
+			break;
+		case ADDPRODUCT:
+			if(differentialIndex == 0) {
+				derivative = one;
+			} else if(differentialIndex == 1) {
+				derivative = Z;
+			} else {
+				derivative = Y;
+			}
+			break;
+		case ADDRATIO:
+			if(differentialIndex == 0) {
+				derivative = one;
+			} else if(differentialIndex == 1) {
+				derivative = Z.invert();
+			} else {
+				derivative = Y.div(Z.squared()).mult(-1.0);
+			}
+			break;
+		case SUBRATIO:
+			if(differentialIndex == 0) {
+				derivative = one;
+			} else if(differentialIndex == 1) {
+				derivative = Z.invert().mult(-1.0);
+			} else {
+				derivative = Y.div(Z.squared());
+			}
+			break;
+		case ACCRUE:
+			if(differentialIndex == 0) {
+				derivative = Y.mult(Z).add(1.0);
+			} else if(differentialIndex == 1) {
+				derivative = X.mult(Z);
+			} else {
+				derivative = X.mult(Y);
+			}
+			break;
+		case DISCOUNT:
+			if(differentialIndex == 0) {
+				derivative = Y.mult(Z).add(1.0).invert();
+			} else if(differentialIndex == 1) {
+				derivative = X.mult(Z).div(Y.mult(Z).add(1.0).squared()).mult(-1.0);
+			} else {
+				derivative = X.mult(Y).div(Y.mult(Z).add(1.0).squared()).mult(-1.0);
+			}
+			break;
+		case CHOOSE:
+			if(differentialIndex == 0) {
+				switch(factory.getDiracDeltaApproximationMethod()) {
+				case ONE:
+					derivative = one;
+					break;
+				case ZERO:
+					derivative = zero;
+					break;
+				case DISCRETE_DELTA:
+				{
+					/*
+					 * Approximation via local finite difference
+					 * (see https://ssrn.com/abstract=2995695 for details).
+					 */
+					double epsilon = factory.getDiracDeltaApproximationWidthPerStdDev()*X.getStandardDeviation();
+					if(Double.isInfinite(epsilon)) {
+						derivative = one;
+					}
+					else if(epsilon > 0) {
+						derivative = Y.sub(Z);
+						derivative = derivative.mult(X.add(epsilon/2).choose(one, zero));
+						derivative = derivative.mult(X.sub(epsilon/2).choose(zero, one));
+						derivative = derivative.div(epsilon);
+					}
+					else {
+						derivative = zero;
+					}
+					break;
+				}
+				default:
+					throw new UnsupportedOperationException("Diract Delta Approximation Method " + factory.getDiracDeltaApproximationMethod().name() + " not supported.");
+				}
+			} else if(differentialIndex == 1) {
+				derivative = X.choose(one, zero);
+			} else {
+				derivative = X.choose(zero, one);
+			}
+			break;
+		default:
+			throw new IllegalArgumentException("Operation " + operatorType.name() + " not supported in differentiation.");
+		}
+
+		return derivative;
+	}
+
+	@Override
+	public Map<Long, RandomVariable> getTangents(Set<Long> dependentIDs) {
+		throw new UnsupportedOperationException();
+	}
+
+	/*
+	 * The following methods are end points since they return <code>double</double> values.
+	 * You cannot differentiate these results.
+	 */
+
+	@Override
+	public boolean equals(RandomVariable randomVariable) {
+		return getValues().equals(randomVariable);
+	}
+
+	@Override
+	public double getFiltrationTime() {
+		return getValues().getFiltrationTime();
+	}
+
+	@Override
+	public int getTypePriority() {
+		return typePriorityDefault;
+	}
+
+	@Override
+	public double get(int pathOrState) {
+		return getValues().get(pathOrState);
+	}
+
+	@Override
+	public int size() {
+		return getValues().size();
+	}
+
+	@Override
+	public boolean isDeterministic() {
+		return getValues().isDeterministic();
+	}
+
+	@Override
+	public double[] getRealizations() {
+		return getValues().getRealizations();
+	}
+
+	@Override
+	public Double doubleValue() {
+		return getValues().doubleValue();
+	}
+
+	@Override
+	public double getMin() {
+		return getValues().getMin();
+	}
+
+	@Override
+	public double getMax() {
+		return getValues().getMax();
+	}
+
+	@Override
+	public double getAverage() {
+		return getValues().getAverage();
+	}
+
+	@Override
+	public double getAverage(RandomVariable probabilities) {
+		return getValues().getAverage(probabilities);
+	}
+
+	@Override
+	public double getVariance() {
+		return getValues().getVariance();
+	}
+
+	@Override
+	public double getVariance(RandomVariable probabilities) {
+		return getValues().getVariance(probabilities);
+	}
+
+	@Override
+	public double getSampleVariance() {
+		return getValues().getSampleVariance();
+	}
+
+	@Override
+	public double getStandardDeviation() {
+		return getValues().getStandardDeviation();
+	}
+
+	@Override
+	public double getStandardDeviation(RandomVariable probabilities) {
+		return getValues().getStandardDeviation(probabilities);
+	}
+
+	@Override
+	public double getStandardError() {
+		return getValues().getStandardError();
+	}
+
+	@Override
+	public double getStandardError(RandomVariable probabilities) {
+		return getValues().getStandardError(probabilities);
+	}
+
+	@Override
+	public double getQuantile(double quantile) {
+		return getValues().getQuantile(quantile);
+	}
+
+	@Override
+	public double getQuantile(double quantile, RandomVariable probabilities) {
+		return getValues().getQuantile(quantile, probabilities);
+	}
+
+	@Override
+	public double getQuantileExpectation(double quantileStart, double quantileEnd) {
+		return getValues().getQuantileExpectation(quantileStart, quantileEnd);
+	}
+
+	@Override
+	public double[] getHistogram(double[] intervalPoints) {
+		return getValues().getHistogram(intervalPoints);
+	}
+
+	@Override
+	public double[][] getHistogram(int numberOfPoints, double standardDeviations) {
+		return getValues().getHistogram(numberOfPoints, standardDeviations);
+	}
+
+	/*
+	 * The following methods are operations with are differentiable.
+	 */
+
+	@Override
+	public RandomVariable cache() {
+		values = values.cache();
+		return this;
+	}
+
+	@Override
+	public RandomVariable cap(double cap) {
+		return record(getValues().cap(cap), OperatorType.CAP, null, this, new Scalar(cap), null);
+	}
+
+	@Override
+	public RandomVariable floor(double floor) {
+		return record(getValues().floor(floor), OperatorType.FLOOR, null, this, new Scalar(floor), null);
+	}
+
+	@Override
+	public RandomVariable add(double value) {
+		return record(getValues().add(value), OperatorType.ADD, null, this, new Scalar(value), null);
+	}
+
+	@Override
+	public RandomVariable sub(double value) {
+		return record(getValues().sub(value), OperatorType.SUB, null, this, new Scalar(value), null);
+	}
+
+	@Override
+	public RandomVariable mult(double value) {
+		return record(getValues().mult(value), OperatorType.MULT, null, this, new Scalar(value), null);
+	}
+
+	@Override
+	public RandomVariable div(double value) {
+		return record(getValues().div(value), OperatorType.DIV, null, this, new Scalar(value), null);
+	}
+
+	@Override
+	public RandomVariable pow(double exponent) {
+		return record(getValues().pow(exponent), OperatorType.POW, null, this, new Scalar(exponent), null);
+	}
+
+	@Override
+	public RandomVariable average() {
+		return record(getValues().average(), OperatorType.AVERAGE, null, this, null, null);
+	}
+
+	@Override
+	public RandomVariable getConditionalExpectation(ConditionalExpectationEstimator estimator) {
+		return record(getValues().getConditionalExpectation(estimator), OperatorType.CONDITIONAL_EXPECTATION, estimator, this, null, null);
+	}
+
+	@Override
+	public RandomVariable squared() {
+		return record(getValues().squared(), OperatorType.SQUARED, null, this, null, null);
+	}
+
+	@Override
+	public RandomVariable sqrt() {
+		return record(getValues().sqrt(), OperatorType.SQRT, null, this, null, null);
+	}
+
+	@Override
+	public RandomVariable exp() {
+		return record(getValues().exp(), OperatorType.EXP, null, this, null, null);
+	}
+
+	@Override
+	public RandomVariable log() {
+		return record(getValues().log(), OperatorType.LOG, null, this, null, null);
+	}
+
+	@Override
+	public RandomVariable sin() {
+		return record(getValues().sin(), OperatorType.SIN, null, this, null, null);
+	}
+
+	@Override
+	public RandomVariable cos() {
+		return record(getValues().cos(), OperatorType.COS, null, this, null, null);
+	}
+
+	/*
+	 * Binary operators: checking for return type priority.
+	 */
+
+	@Override
+	public RandomVariable add(RandomVariable randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.add(this);
+		}
+
+		return record(getValues().add(randomVariable.getValues()), OperatorType.ADD, null, this, randomVariable, null);
+	}
+
+	@Override
+	public RandomVariable sub(RandomVariable randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.bus(this);
+		}
+
+		return record(getValues().sub(randomVariable.getValues()), OperatorType.SUB, null, this, randomVariable, null);
+	}
+
+	@Override
+	public RandomVariable bus(RandomVariable randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.sub(this);
+		}
+
+		// SUB with swapped arguments
+		return record(getValues().bus(randomVariable.getValues()), OperatorType.SUB, null, randomVariable, this, null);
+	}
+
+	@Override
+	public RandomVariable mult(RandomVariable randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.mult(this);
+		}
+
+		return record(getValues().mult(randomVariable.getValues()), OperatorType.MULT, null, this, randomVariable, null);
+	}
+
+	@Override
+	public RandomVariable div(RandomVariable randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.vid(this);
+		}
+
+		return record(getValues().div(randomVariable.getValues()), OperatorType.DIV, null, this, randomVariable, null);
+	}
+
+	@Override
+	public RandomVariable vid(RandomVariable randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.div(this);
+		}
+
+		// DIV with swapped arguments
+		return record(getValues().vid(randomVariable.getValues()), OperatorType.DIV, null, randomVariable, this, null);
+	}
+
+	@Override
+	public RandomVariable cap(RandomVariable randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.cap(this);
+		}
+
+		return record(getValues().cap(randomVariable.getValues()), OperatorType.CAP, null, this, randomVariable, null);
+	}
+
+	@Override
+	public RandomVariable floor(RandomVariable floor) {
+		if(floor.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return floor.floor(this);
+		}
+
+		return record(getValues().floor(floor.getValues()), OperatorType.FLOOR, null, this, floor, null);
+	}
+
+	@Override
+	public RandomVariable accrue(RandomVariable rate, double periodLength) {
+		if(rate.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return rate.mult(periodLength).add(1.0).mult(this);
+		}
+
+		return record(getValues().accrue(rate.getValues(), periodLength), OperatorType.ACCRUE, null, this, rate, new Scalar(periodLength));
+	}
+
+	@Override
+	public RandomVariable discount(RandomVariable rate, double periodLength) {
+		if(rate.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return rate.mult(periodLength).add(1.0).invert().mult(this);
+		}
+
+		return record(getValues().discount(rate.getValues(), periodLength), OperatorType.DISCOUNT, null, this, rate, new Scalar(periodLength));
+	}
+
+	@Override
+	public RandomVariable choose(RandomVariable valueIfTriggerNonNegative, RandomVariable valueIfTriggerNegative) {
+		return record(getValues().choose(valueIfTriggerNonNegative.getValues(), valueIfTriggerNegative.getValues()), OperatorType.CHOOSE, null, this, valueIfTriggerNonNegative, valueIfTriggerNegative);
+	}
+
+	@Override
+	public RandomVariable invert() {
+		return record(getValues().invert(), OperatorType.INVERT, null, this, null, null);
+	}
+
+	@Override
+	public RandomVariable abs() {
+		return record(getValues().abs(), OperatorType.ABS, null, this, null, null);
+	}
+
+	@Override
+	public RandomVariable addProduct(RandomVariable factor1, double factor2) {
+		if(factor1.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return factor1.mult(factor2).add(this);
+		}
+
+		return record(getValues().addProduct(factor1.getValues(), factor2), OperatorType.ADDPRODUCT, null, this, factor1, new Scalar(factor2));
+	}
+
+	@Override
+	public RandomVariable addProduct(RandomVariable factor1, RandomVariable factor2) {
+		if(factor1.getTypePriority() > this.getTypePriority() || factor2.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return factor1.mult(factor2).add(this);
+		}
+
+		return record(getValues().addProduct(factor1.getValues(), factor2.getValues()), OperatorType.ADDPRODUCT, null, this, factor1, factor2);
+	}
+
+	@Override
+	public RandomVariable addRatio(RandomVariable numerator, RandomVariable denominator) {
+		if(numerator.getTypePriority() > this.getTypePriority() || denominator.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return numerator.div(denominator).add(this);
+		}
+
+		return record(getValues().addRatio(numerator.getValues(), denominator.getValues()), OperatorType.ADDRATIO, null, this, numerator, denominator);
+	}
+
+	@Override
+	public RandomVariable subRatio(RandomVariable numerator, RandomVariable denominator) {
+		if(numerator.getTypePriority() > this.getTypePriority() || denominator.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return numerator.div(denominator).mult(-1).add(this);
+		}
+
+		return record(getValues().subRatio(numerator.getValues(), denominator.getValues()), OperatorType.SUBRATIO, null, this, numerator, denominator);
+	}
+
+	/*
+	 * The following methods are end points, the result is not differentiable.
+	 */
+
+	@Override
+	public RandomVariable isNaN() {
+		return getValues().isNaN();
+	}
+
+	@Override
+	public IntToDoubleFunction getOperator() {
+		return getValues().getOperator();
+	}
+
+	@Override
+	public DoubleStream getRealizationsStream() {
+		return getValues().getRealizationsStream();
+	}
+
+	@Override
+	public RandomVariable apply(DoubleUnaryOperator operator) {
+		throw new UnsupportedOperationException("Applying functions is not supported.");
+	}
+
+	@Override
+	public RandomVariable apply(DoubleBinaryOperator operator, RandomVariable argument) {
+		throw new UnsupportedOperationException("Applying functions is not supported.");
+	}
+
+	@Override
+	public RandomVariable apply(DoubleTernaryOperator operator, RandomVariable argument1, RandomVariable argument2) {
+		throw new UnsupportedOperationException("Applying functions is not supported.");
+	}
+
+	@Override
+	public String toString() {
+		return "RandomVariableDifferentiableTapeAAD [values=" + values + ",\n ID=" + getID() + "]";
+	}
+
+	@Override
+	public RandomVariableDifferentiable getCloneIndependent() {
+		return new RandomVariableDifferentiableTapeAAD(this.getValues(), tape, factory);
+	}
+}
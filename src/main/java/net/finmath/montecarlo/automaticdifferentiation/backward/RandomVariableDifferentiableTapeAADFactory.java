@@ -0,0 +1,149 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo.automaticdifferentiation.backward;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import net.finmath.montecarlo.AbstractRandomVariableFactory;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.automaticdifferentiation.AbstractRandomVariableDifferentiableFactory;
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiable;
+import net.finmath.montecarlo.automaticdifferentiation.backward.RandomVariableDifferentiableAADFactory.DiracDeltaApproximationMethod;
+import net.finmath.stochastic.RandomVariable;
+
+/**
+ * Factory for {@link RandomVariableDifferentiableTapeAAD}, i.e., random variables supporting
+ * adjoint algorithmic differentiation where the operations are recorded on an array backed tape.
+ *
+ * All random variables created by this factory (and all random variables resulting from operations on these)
+ * are recorded on the current tape of the factory. The factory keeps a weak reference to its current tape,
+ * such that a tape (with all its recorded operations) can be garbage collected once no random variable
+ * recorded on it is reachable. A new tape can be started explicitly via {@link #startNewTape()}.
+ *
+ * Since a tape retains all operations recorded on it, a tape grows as long as random variables recorded on it
+ * are in use. Long-lived random variables (e.g. the parameters of a model which is used for many valuations)
+ * keep their tape reachable. For repeated valuations the tape should hence be bound to the lifetime of a valuation:
+ * start a new tape, create the leaves (e.g. the model parameters) on the new tape, perform the valuation and
+ * calculate the gradient, then release all random variables of the valuation. A leaf recorded on a previous tape
+ * cannot be used on the new tape, it has to be created again (receiving a new id).
+ *
+ * The properties supported are <code>diracDeltaApproximationMethod</code> (one of
+ * <code>DISCRETE_DELTA</code>, <code>ONE</code>, <code>ZERO</code>), <code>diracDeltaApproximationWidthPerStdDev</code>
+ * and <code>isGradientRetainsLeafNodesOnly</code>, with the same meaning as for {@link RandomVariableDifferentiableAADFactory}.
+ *
+ * The factory supports checkpointing via {@link #getValuesWithCheckpoint(Supplier)}: the intermediate results of
+ * a checkpointed calculation are released from the tape and the calculation is repeated during the reverse sweep.
+ * Random variables created inside a checkpointed calculation (other than its results) must not be used
+ * after the calculation (this is detected and results in an <code>IllegalStateException</code>). The tape must
+ * not be used by other calculations while a checkpointed calculation is performed.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class RandomVariableDifferentiableTapeAADFactory extends AbstractRandomVariableDifferentiableFactory {
+
+	private static final long serialVersionUID = 3516094282407524316L;
+
+	private final DiracDeltaApproximationMethod diracDeltaApproximationMethod;
+	private final double diracDeltaApproximationWidthPerStdDev;
+
+	private final boolean isGradientRetainsLeafNodesOnly;
+
+	private transient WeakReference<OperatorTape> currentTape;
+
+	/**
+	 * Create the factory.
+	 *
+	 * @param randomVariableFactoryForNonDifferentiable Random variable factory for the underlying values.
+	 * @param properties A map of properties (see class documentation).
+	 */
+	public RandomVariableDifferentiableTapeAADFactory(AbstractRandomVariableFactory randomVariableFactoryForNonDifferentiable, Map<String, Object> properties) {
+		super(randomVariableFactoryForNonDifferentiable);
+
+		diracDeltaApproximationMethod = DiracDeltaApproximationMethod.valueOf((String)properties.getOrDefault("diracDeltaApproximationMethod", DiracDeltaApproximationMethod.DISCRETE_DELTA.name()));
+		diracDeltaApproximationWidthPerStdDev = (Double)properties.getOrDefault("diracDeltaApproximationWidthPerStdDev", 0.05);
+
+		isGradientRetainsLeafNodesOnly = (Boolean) properties.getOrDefault("isGradientRetainsLeafNodesOnly", true);
+
+		if(diracDeltaApproximationMethod == DiracDeltaApproximationMethod.REGRESSION_ON_DENSITY || diracDeltaApproximationMethod == DiracDeltaApproximationMethod.REGRESSION_ON_DISTRIBUITON) {
+			throw new IllegalArgumentException("Dirac delta approximation method " + diracDeltaApproximationMethod.name() + " not supported by " + this.getClass().getSimpleName() + ".");
+		}
+	}
+
+	/**
+	 * @param randomVariableFactoryForNonDifferentiable Random variable factory for the underlying values.
+	 */
+	public RandomVariableDifferentiableTapeAADFactory(AbstractRandomVariableFactory randomVariableFactoryForNonDifferentiable) {
+		this(randomVariableFactoryForNonDifferentiable, new HashMap<String, Object>());
+	}
+
+	public RandomVariableDifferentiableTapeAADFactory() {
+		this(new RandomVariableFactory());
+	}
+
+	@Override
+	public RandomVariableDifferentiable createRandomVariable(double time, double value) {
+		return new RandomVariableDifferentiableTapeAAD(createRandomVariableNonDifferentiable(time, value), this);
+	}
+
+	@Override
+	public RandomVariableDifferentiable createRandomVariable(double time, double[] values) {
+		return new RandomVariableDifferentiableTapeAAD(createRandomVariableNonDifferentiable(time, values), this);
+	}
+
+	@Override
+	public RandomVariable[] getValuesWithCheckpoint(Supplier<RandomVariable[]> calculation) {
+		return RandomVariableDifferentiableTapeAAD.getValuesWithCheckpoint(calculation, this);
+	}
+
+	/**
+	 * Returns the tape on which new random variables are recorded.
+	 *
+	 * @return The current tape.
+	 */
+	synchronized OperatorTape getTape() {
+		OperatorTape tape = currentTape != null ? currentTape.get() : null;
+		if(tape == null) {
+			tape = new OperatorTape();
+			currentTape = new WeakReference<>(tape);
+		}
+		return tape;
+	}
+
+	/**
+	 * Start a new tape. Random variables subsequently created by this factory are recorded on the new tape.
+	 * The previous tape is retained as long as a random variable recorded on it is reachable.
+	 *
+	 * Note that random variables recorded on different tapes cannot be combined, i.e., leaves
+	 * used with the new tape have to be created (again) after the new tape has been started.
+	 */
+	public synchronized void startNewTape() {
+		currentTape = null;
+	}
+
+	public DiracDeltaApproximationMethod getDiracDeltaApproximationMethod() {
+		return diracDeltaApproximationMethod;
+	}
+
+	public double getDiracDeltaApproximationWidthPerStdDev() {
+		return diracDeltaApproximationWidthPerStdDev;
+	}
+
+	public boolean isGradientRetainsLeafNodesOnly() {
+		return isGradientRetainsLeafNodesOnly;
+	}
+
+	@Override
+	public String toString() {
+		return "RandomVariableDifferentiableTapeAADFactory [diracDeltaApproximationMethod=" + diracDeltaApproximationMethod
+				+ ", diracDeltaApproximationWidthPerStdDev=" + diracDeltaApproximationWidthPerStdDev
+				+ ", isGradientRetainsLeafNodesOnly=" + isGradientRetainsLeafNodesOnly
+				+ ", toString()=" + super.toString() + "]";
+	}
+}
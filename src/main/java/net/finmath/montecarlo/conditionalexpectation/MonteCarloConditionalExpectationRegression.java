@@ -5,11 +5,17 @@
  */
 package net.finmath.montecarlo.conditionalexpectation;
 
+import java.util.stream.IntStream;
+
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.CholeskyDecomposition;
 import org.apache.commons.math3.linear.DecompositionSolver;
+import org.apache.commons.math3.linear.NonPositiveDefiniteMatrixException;
+import org.apache.commons.math3.linear.NonSymmetricMatrixException;
 import org.apache.commons.math3.linear.SingularValueDecomposition;
 
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiable;
 import net.finmath.stochastic.ConditionalExpectationEstimator;
 import net.finmath.stochastic.RandomVariable;
 
@@ -26,6 +32,14 @@ import net.finmath.stochastic.RandomVariable;
  * basis functions have to correspond to the same entities, however, generated in
  * different simulations (number of path, etc., may be different).
  *
+ * The scalar products X<sup>T</sup>X and X<sup>T</sup>y are accumulated in a single
+ * (parallel) pass over the paths. The normal equations are solved by a Cholesky decomposition
+ * (of the diagonally scaled matrix X<sup>T</sup>X). If the matrix is (numerically) singular, a singular value
+ * decomposition is used instead.
+ *
+ * The method {@link #getConditionalExpectations(RandomVariable[])} calculates the conditional expectations
+ * of many random variables, reusing the decomposition and calculating all projections X<sup>T</sup>y in a single pass.
+ *
  * @author Christian Fries
  * @version 1.0
  */
@@ -59,11 +73,23 @@ public class MonteCarloConditionalExpectationRegression implements ConditionalEx
 	}
 
 
+	/*
+	 * Number of paths processed by a single task when accumulating scalar products. The partial sums are always taken
+	 * over the same chunks, hence the result does not depend on the number of threads.
+	 */
+	private static final int PATH_CHUNK_SIZE = 4096;
+
+	/*
+	 * Pivots of the Cholesky decomposition (of the scaled matrix XTX, having unit diagonal) below this value are considered zero.
+	 */
+	private static final double CHOLESKY_POSITIVITY_THRESHOLD = 1E-10;
+
 	private RegressionBasisFunctions basisFunctionsEstimator		= null;
 	private RegressionBasisFunctions basisFunctionsPredictor		= null;
 
 
 	private transient DecompositionSolver solver;
+	private transient double[] solverScaling;		// Diagonal scaling applied to the system solved by the solver (null if unscaled)
 	private final transient Object solverLock;
 
 	public MonteCarloConditionalExpectationRegression() {
@@ -100,53 +126,302 @@ public class MonteCarloConditionalExpectationRegression implements ConditionalEx
 		double[] linearRegressionParameters = getLinearRegressionParameters(randomVariable);
 
 		// Calculate estimate, i.e. X x
-		RandomVariable[] basisFunctions = this.basisFunctionsPredictor.getBasisFunctions();
-		RandomVariable conditionalExpectation = basisFunctions[0].mult(linearRegressionParameters[0]);
-		for(int i=1; i<basisFunctions.length; i++) {
-			conditionalExpectation = conditionalExpectation.addProduct(basisFunctions[i], linearRegressionParameters[i]);
+		return getRegressionEstimate(linearRegressionParameters);
+	}
+
+	/**
+	 * Return the conditional expectations of given random variables.
+	 *
+	 * The regression parameters of all random variables are calculated together, i.e., the projections
+	 * X<sup>T</sup>y are calculated in a single pass over the paths.
+	 * Random variables implementing {@link RandomVariableDifferentiable} are passed to
+	 * {@link RandomVariable#getConditionalExpectation(ConditionalExpectationEstimator)}, such that the operation is
+	 * recorded for the calculation of derivatives.
+	 *
+	 * @param randomVariables Given random variables.
+	 * @return The conditional expectations of the <code>randomVariables</code>.
+	 */
+	@Override
+	public RandomVariable[] getConditionalExpectations(RandomVariable[] randomVariables) {
+		RandomVariable[] conditionalExpectations = new RandomVariable[randomVariables.length];
+
+		int numberOfNonDifferentiables = 0;
+		for(RandomVariable randomVariable : randomVariables) {
+			if(!(randomVariable instanceof RandomVariableDifferentiable)) {
+				numberOfNonDifferentiables++;
+			}
+		}
+
+		RandomVariable[] nonDifferentiables = new RandomVariable[numberOfNonDifferentiables];
+		int indexOfNonDifferentiables = 0;
+		for(int i=0; i<randomVariables.length; i++) {
+			if(randomVariables[i] instanceof RandomVariableDifferentiable) {
+				conditionalExpectations[i] = randomVariables[i].getConditionalExpectation(this);
+			}
+			else {
+				nonDifferentiables[indexOfNonDifferentiables++] = randomVariables[i];
+			}
+		}
+
+		if(numberOfNonDifferentiables > 0) {
+			double[][] linearRegressionParameters = getLinearRegressionParameters(nonDifferentiables);
+
+			indexOfNonDifferentiables = 0;
+			for(int i=0; i<randomVariables.length; i++) {
+				if(conditionalExpectations[i] == null) {
+					conditionalExpectations[i] = getRegressionEstimate(linearRegressionParameters[indexOfNonDifferentiables++]);
+				}
+			}
 		}
 
-		return conditionalExpectation;
+		return conditionalExpectations;
 	}
 
 	/**
 	 * Return the solution x of XTX x = XT y for a given y.
-	 * @TODO Performance upon repeated call can be optimized by caching XTX.
+	 *
+	 * The matrix XTX is calculated (and decomposed) only once, upon the first call.
 	 *
 	 * @param dependents The sample vector of the random variable y.
 	 * @return The solution x of XTX x = XT y.
 	 */
 	public double[] getLinearRegressionParameters(RandomVariable dependents) {
+		return getLinearRegressionParameters(new RandomVariable[] { dependents })[0];
+	}
+
+	/**
+	 * Return the solutions x<sub>k</sub> of XTX x<sub>k</sub> = XT y<sub>k</sub> for given y<sub>k</sub>.
+	 *
+	 * The matrix XTX is calculated (and decomposed) only once, upon the first call.
+	 * The vectors XT y<sub>k</sub> are calculated in a single pass over the paths.
+	 *
+	 * @param dependents The sample vectors of the random variables y<sub>k</sub>.
+	 * @return The solutions x<sub>k</sub> of XTX x<sub>k</sub> = XT y<sub>k</sub>.
+	 */
+	public double[][] getLinearRegressionParameters(RandomVariable[] dependents) {
 
 		RandomVariable[] basisFunctions = basisFunctionsEstimator.getBasisFunctions();
 
+		double[][] XTy;
+		DecompositionSolver solver;
+		double[] solverScaling;
 		synchronized (solverLock) {
-			if(solver == null) {
-				// Build XTX - the symmetric matrix consisting of the scalar products of the basis functions.
-				double[][] XTX = new double[basisFunctions.length][basisFunctions.length];
-				for(int i=0; i<basisFunctions.length; i++) {
-					for(int j=i; j<basisFunctions.length; j++) {
-						XTX[i][j] = basisFunctions[i].mult(basisFunctions[j]).getAverage();	// Scalar product
-						XTX[j][i] = XTX[i][j];												// Symmetric matrix
-					}
-				}
+			if(this.solver == null) {
+				// Build XTX - the symmetric matrix consisting of the scalar products of the basis functions - and XTy in a single pass.
+				double[][] scalarProducts = getScalarProducts(basisFunctions, dependents, true);
 
-				solver = new SingularValueDecomposition(new Array2DRowRealMatrix(XTX, false)).getSolver();
+				double[][] XTX = new double[basisFunctions.length][];
+				System.arraycopy(scalarProducts, 0, XTX, 0, basisFunctions.length);
+				XTy = new double[dependents.length][];
+				System.arraycopy(scalarProducts, basisFunctions.length, XTy, 0, dependents.length);
+
+				createSolver(XTX);
+			}
+			else {
+				XTy = null;
 			}
+			solver = this.solver;
+			solverScaling = this.solverScaling;
 		}
 
-		// Build XTy - the projection of the dependents random variable on the basis functions.
-		double[] XTy = new double[basisFunctions.length];
-		for(int i=0; i<basisFunctions.length; i++) {
-			XTy[i] = dependents.mult(basisFunctions[i]).getAverage();				// Scalar product
+		if(XTy == null) {
+			// Build XTy - the projection of the dependents random variables on the basis functions.
+			XTy = getScalarProducts(basisFunctions, dependents, false);
 		}
 
 		// Solve X^T X x = X^T y - which gives us the regression coefficients x = linearRegressionParameters
-		double[] linearRegressionParameters = solver.solve(new ArrayRealVector(XTy)).toArray();
+		double[][] linearRegressionParameters = new double[dependents.length][];
+		for(int k=0; k<dependents.length; k++) {
+			if(solverScaling != null) {
+				for(int i=0; i<XTy[k].length; i++) {
+					XTy[k][i] *= solverScaling[i];
+				}
+			}
+			linearRegressionParameters[k] = solver.solve(new ArrayRealVector(XTy[k], false)).toArray();
+			if(solverScaling != null) {
+				for(int i=0; i<linearRegressionParameters[k].length; i++) {
+					linearRegressionParameters[k][i] *= solverScaling[i];
+				}
+			}
+		}
 
 		return linearRegressionParameters;
 	}
 
+	/**
+	 * Calculate the regression estimate X x using the predictor basis functions X.
+	 *
+	 * @param linearRegressionParameters The regression parameters x.
+	 * @return The regression estimate.
+	 */
+	private RandomVariable getRegressionEstimate(double[] linearRegressionParameters) {
+		RandomVariable[] basisFunctions = this.basisFunctionsPredictor.getBasisFunctions();
+		RandomVariable regressionEstimate = basisFunctions[0].mult(linearRegressionParameters[0]);
+		for(int i=1; i<basisFunctions.length; i++) {
+			regressionEstimate = regressionEstimate.addProduct(basisFunctions[i], linearRegressionParameters[i]);
+		}
+
+		return regressionEstimate;
+	}
+
+	/**
+	 * Create the solver for XTX x = b. Uses a Cholesky decomposition of D XTX D, where D is the diagonal matrix with
+	 * D_ii = 1/sqrt(XTX_ii), and falls back to a singular value decomposition of XTX if the matrix is (numerically) singular.
+	 *
+	 * @param XTX The symmetric matrix XTX.
+	 */
+	private void createSolver(double[][] XTX) {
+		double[] scaling = new double[XTX.length];
+		boolean isPositiveDiagonal = true;
+		for(int i=0; i<XTX.length; i++) {
+			isPositiveDiagonal &= XTX[i][i] > 0;
+			scaling[i] = 1.0 / Math.sqrt(XTX[i][i]);
+		}
+
+		if(isPositiveDiagonal) {
+			double[][] XTXScaled = new double[XTX.length][XTX.length];
+			for(int i=0; i<XTX.length; i++) {
+				for(int j=0; j<XTX.length; j++) {
+					XTXScaled[i][j] = scaling[i] * XTX[i][j] * scaling[j];
+				}
+			}
+
+			try {
+				solver = new CholeskyDecomposition(new Array2DRowRealMatrix(XTXScaled, false), CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD, CHOLESKY_POSITIVITY_THRESHOLD).getSolver();
+				solverScaling = scaling;
+				return;
+			}
+			catch(NonPositiveDefiniteMatrixException | NonSymmetricMatrixException e) {
+				// Matrix is (numerically) singular, use SVD below.
+			}
+		}
+
+		solver = new SingularValueDecomposition(new Array2DRowRealMatrix(XTX, false)).getSolver();
+		solverScaling = null;
+	}
+
+	/**
+	 * Calculates the scalar products (averages of the products) of the basis functions with the basis functions (if requested)
+	 * and with the dependents, in a single pass over the paths, without allocating intermediate random variables.
+	 *
+	 * @param basisFunctions The basis functions X.
+	 * @param dependents The dependents y.
+	 * @param isGramMatrixRequired If true, the result contains the scalar products of the basis functions.
+	 * @return An array, where the first basisFunctions.length rows are XTX (if isGramMatrixRequired is true) and the following rows are the vectors XTy for each element of dependents.
+	 */
+	private static double[][] getScalarProducts(RandomVariable[] basisFunctions, RandomVariable[] dependents, boolean isGramMatrixRequired) {
+		final int numberOfBasisFunctions = basisFunctions.length;
+		final int numberOfRows = (isGramMatrixRequired ? numberOfBasisFunctions : 0) + dependents.length;
+
+		// Get the values (as arrays for stochastic random variables, as scalars for deterministic random variables)
+		final double[][] basisFunctionValues = new double[numberOfBasisFunctions][];
+		final double[] basisFunctionScalars = new double[numberOfBasisFunctions];
+		final double[][] dependentValues = new double[dependents.length][];
+		final double[] dependentScalars = new double[dependents.length];
+		int numberOfPaths = 1;
+		for(int i=0; i<numberOfBasisFunctions; i++) {
+			if(basisFunctions[i].isDeterministic()) {
+				basisFunctionScalars[i] = basisFunctions[i].doubleValue();
+			}
+			else {
+				basisFunctionValues[i] = basisFunctions[i].getRealizations();
+				numberOfPaths = Math.max(numberOfPaths, basisFunctionValues[i].length);
+			}
+		}
+		for(int k=0; k<dependents.length; k++) {
+			if(dependents[k].isDeterministic()) {
+				dependentScalars[k] = dependents[k].doubleValue();
+			}
+			else {
+				dependentValues[k] = dependents[k].getRealizations();
+				numberOfPaths = Math.max(numberOfPaths, dependentValues[k].length);
+			}
+		}
+
+		// Accumulate partial sums for each chunk of paths
+		final int size = numberOfPaths;
+		final int numberOfChunks = (size + PATH_CHUNK_SIZE - 1) / PATH_CHUNK_SIZE;
+		final double[][][] partialSums = new double[numberOfChunks][][];
+		IntStream chunks = IntStream.range(0, numberOfChunks);
+		if(numberOfChunks > 1) {
+			chunks = chunks.parallel();
+		}
+		chunks.forEach(chunkIndex -> {
+			final int startIndex = chunkIndex * PATH_CHUNK_SIZE;
+			final int endIndex = Math.min(startIndex + PATH_CHUNK_SIZE, size);
+
+			double[][] sums = new double[numberOfRows][numberOfBasisFunctions];
+			int row = 0;
+			if(isGramMatrixRequired) {
+				for(int i=0; i<numberOfBasisFunctions; i++) {
+					for(int j=i; j<numberOfBasisFunctions; j++) {
+						sums[i][j] = getSumOfProducts(basisFunctionValues[i], basisFunctionScalars[i], basisFunctionValues[j], basisFunctionScalars[j], startIndex, endIndex);
+					}
+				}
+				row = numberOfBasisFunctions;
+			}
+			for(int k=0; k<dependentValues.length; k++) {
+				for(int j=0; j<numberOfBasisFunctions; j++) {
+					sums[row+k][j] = getSumOfProducts(dependentValues[k], dependentScalars[k], basisFunctionValues[j], basisFunctionScalars[j], startIndex, endIndex);
+				}
+			}
+			partialSums[chunkIndex] = sums;
+		});
+
+		// Sum up the partial sums (in a fixed order) and normalize
+		double[][] scalarProducts = new double[numberOfRows][numberOfBasisFunctions];
+		for(double[][] sums : partialSums) {
+			for(int row=0; row<numberOfRows; row++) {
+				for(int j=0; j<numberOfBasisFunctions; j++) {
+					scalarProducts[row][j] += sums[row][j];
+				}
+			}
+		}
+		for(int row=0; row<numberOfRows; row++) {
+			for(int j=0; j<numberOfBasisFunctions; j++) {
+				scalarProducts[row][j] /= size;
+			}
+		}
+
+		if(isGramMatrixRequired) {
+			for(int i=0; i<numberOfBasisFunctions; i++) {
+				for(int j=0; j<i; j++) {
+					scalarProducts[i][j] = scalarProducts[j][i];								// Symmetric matrix
+				}
+			}
+		}
+
+		return scalarProducts;
+	}
+
+	/**
+	 * Returns the sum of x[i] * y[i] for startIndex &le; i &lt; endIndex, where a null array represents the corresponding scalar.
+	 */
+	private static double getSumOfProducts(double[] x, double xScalar, double[] y, double yScalar, int startIndex, int endIndex) {
+		double sum = 0.0;
+		if(x != null && y != null) {
+			for(int i=startIndex; i<endIndex; i++) {
+				sum += x[i] * y[i];
+			}
+		}
+		else if(x != null) {
+			for(int i=startIndex; i<endIndex; i++) {
+				sum += x[i];
+			}
+			sum *= yScalar;
+		}
+		else if(y != null) {
+			for(int i=startIndex; i<endIndex; i++) {
+				sum += y[i];
+			}
+			sum *= xScalar;
+		}
+		else {
+			sum = xScalar * yScalar * (endIndex - startIndex);
+		}
+		return sum;
+	}
+
 	private RandomVariable[] getNonZeroBasisFunctions(RandomVariable[] basisFunctions) {
 		int numberOfNonZeroBasisFunctions = 0;
 		for(int indexBasisFunction = 0; indexBasisFunction<basisFunctions.length; indexBasisFunction++) {
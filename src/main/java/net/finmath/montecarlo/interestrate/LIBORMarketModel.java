@@ -41,4 +41,19 @@ public interface LIBORMarketModel extends LIBORModel {
 	 * @return The integrated instantaneous log-LIBOR covariance.
 	 */
 	double[][][] getIntegratedLIBORCovariance();
+
+	/**
+	 * Returns the integrated instantaneous log-forward rate covariance up to the time with the given index, i.e.,
+	 * \( \int_{0}^{t_i} \mathrm{d} \log(L_{j}) \mathrm{d} \log(L_{k}) \mathrm{d}t \) for fixed i.
+	 *
+	 * The array returned has the parametrization [j][k]. The default implementation returns
+	 * <code>getIntegratedLIBORCovariance()[timeIndex]</code>. Implementations may override this method
+	 * to avoid the construction of the full array of all time indices.
+	 *
+	 * @param timeIndex The time index i.
+	 * @return The integrated instantaneous log-LIBOR covariance up to the time with the given index.
+	 */
+	default double[][] getIntegratedLIBORCovariance(int timeIndex) {
+		return getIntegratedLIBORCovariance()[timeIndex];
+	}
 }
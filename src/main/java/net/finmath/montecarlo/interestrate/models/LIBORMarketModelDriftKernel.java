@@ -0,0 +1,234 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo.interestrate.models;
+
+import java.util.Arrays;
+
+import net.finmath.montecarlo.RandomVariableFromDoubleArray;
+import net.finmath.montecarlo.RandomVariableFromFloatArray;
+import net.finmath.stochastic.RandomVariable;
+
+/**
+ * Calculates the drift of a LIBOR market model (see {@link LIBORMarketModelFromCovarianceModel#getDrift(int, RandomVariable[], RandomVariable[])})
+ * for all components and factors in a single pass over blocks of paths.
+ *
+ * The standard implementation of the drift uses operations on random variables, creating several temporary random variables
+ * per component and factor. This kernel reads the realizations of {@link RandomVariableFromDoubleArray} or
+ * {@link RandomVariableFromFloatArray} block-wise (via {@link RandomVariable#get(int)}, i.e., without copying the realizations)
+ * and only allocates the resulting drift vector and a few buffers of the size of a block. Within a block of paths
+ * the sums of the factor loadings are kept in small arrays, which remain in the cache.
+ *
+ * The floating point operations are performed in the same order as in the standard implementation (using the
+ * constants of the default random variable factory), hence, for {@link RandomVariableFromDoubleArray} the results
+ * are identical (otherwise they may differ by rounding errors). For {@link RandomVariableFromFloatArray} the
+ * intermediate results are kept in double precision and only the drift is stored as float.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+final class LIBORMarketModelDriftKernel {
+
+	/*
+	 * Number of paths processed per block. The factor sums of a block should fit into the L1 cache.
+	 */
+	private static final int BLOCK_SIZE = 512;
+
+	private LIBORMarketModelDriftKernel() {
+	}
+
+	/**
+	 * Returns true, if the kernel can be applied to the given random variables, that is, if all of them are
+	 * instances of {@link RandomVariableFromDoubleArray} or {@link RandomVariableFromFloatArray}.
+	 *
+	 * @param realizationAtTimeIndex The realizations of the LIBORs (the elements from firstLiborIndex are checked).
+	 * @param factorLoadings The factor loadings (the elements from firstLiborIndex are checked).
+	 * @param firstLiborIndex The index of the first component which is not yet fixed.
+	 * @return True, if the kernel can be applied.
+	 */
+	static boolean isApplicable(RandomVariable[] realizationAtTimeIndex, RandomVariable[][] factorLoadings, int firstLiborIndex) {
+		for(int componentIndex=firstLiborIndex; componentIndex<realizationAtTimeIndex.length; componentIndex++) {
+			if(!isSupportedType(realizationAtTimeIndex[componentIndex])) {
+				return false;
+			}
+			for(RandomVariable factorLoading : factorLoadings[componentIndex]) {
+				if(!isSupportedType(factorLoading)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSupportedType(RandomVariable randomVariable) {
+		return randomVariable != null && (randomVariable.getClass() == RandomVariableFromDoubleArray.class || randomVariable.getClass() == RandomVariableFromFloatArray.class);
+	}
+
+	/**
+	 * Calculates the drift of the components firstLiborIndex to n-1 (the other components remain null).
+	 *
+	 * @param time The time of the drift (filtration time of the result).
+	 * @param realizationAtTimeIndex The realizations of the LIBORs L<sub>j</sub>.
+	 * @param factorLoadings The factor loadings &lambda;<sub>j,k</sub>.
+	 * @param periodLengths The period lengths &delta;<sub>j</sub>.
+	 * @param firstLiborIndex The index of the first component which is not yet fixed.
+	 * @param isSpotMeasure If true, the drift is calculated under the spot measure, otherwise under the terminal measure.
+	 * @param isLogNormal If true, the drift is calculated for the log-normal state space (log-coordinates).
+	 * @return The drift vector.
+	 */
+	static RandomVariable[] getDrift(double time, RandomVariable[] realizationAtTimeIndex, RandomVariable[][] factorLoadings, double[] periodLengths, int firstLiborIndex, boolean isSpotMeasure, boolean isLogNormal) {
+		final int numberOfComponents = realizationAtTimeIndex.length;
+		final int numberOfFactors = factorLoadings[firstLiborIndex].length;
+
+		// Get the data (random variables for stochastic random variables, scalars for deterministic random variables)
+		boolean isFloat = false;
+		boolean isDeterministic = true;
+		int numberOfPaths = 1;
+		final RandomVariable[] libor = new RandomVariable[numberOfComponents];
+		final double[] liborScalar = new double[numberOfComponents];
+		final RandomVariable[][] lambda = new RandomVariable[numberOfComponents][numberOfFactors];
+		final double[][] lambdaScalar = new double[numberOfComponents][numberOfFactors];
+		for(int componentIndex=firstLiborIndex; componentIndex<numberOfComponents; componentIndex++) {
+			isFloat |= realizationAtTimeIndex[componentIndex] instanceof RandomVariableFromFloatArray;
+			for(RandomVariable factorLoading : factorLoadings[componentIndex]) {
+				isFloat |= factorLoading instanceof RandomVariableFromFloatArray;
+			}
+			if(realizationAtTimeIndex[componentIndex].isDeterministic()) {
+				liborScalar[componentIndex] = realizationAtTimeIndex[componentIndex].doubleValue();
+			}
+			else {
+				libor[componentIndex] = realizationAtTimeIndex[componentIndex];
+				isDeterministic = false;
+				numberOfPaths = Math.max(numberOfPaths, libor[componentIndex].size());
+			}
+			for(int factorIndex=0; factorIndex<numberOfFactors; factorIndex++) {
+				RandomVariable factorLoading = factorLoadings[componentIndex][factorIndex];
+				if(factorLoading.isDeterministic()) {
+					lambdaScalar[componentIndex][factorIndex] = factorLoading.doubleValue();
+				}
+				else {
+					lambda[componentIndex][factorIndex] = factorLoading;
+					isDeterministic = false;
+					numberOfPaths = Math.max(numberOfPaths, factorLoading.size());
+				}
+			}
+		}
+
+		final double[][] drift = new double[numberOfComponents][];
+		for(int componentIndex=firstLiborIndex; componentIndex<numberOfComponents; componentIndex++) {
+			drift[componentIndex] = new double[numberOfPaths];
+		}
+
+		final int blockSize = Math.min(BLOCK_SIZE, numberOfPaths);
+		final double[][] covarianceFactorSums = new double[numberOfFactors][blockSize];
+		final double[] oneStepMeasureTransform = new double[blockSize];
+		final double[] lambdaOfBlock = new double[blockSize];
+		final double[] liborOfBlock = new double[blockSize];
+
+		for(int blockStart=0; blockStart<numberOfPaths; blockStart += blockSize) {
+			final int blockLength = Math.min(blockSize, numberOfPaths - blockStart);
+
+			for(int factorIndex=0; factorIndex<numberOfFactors; factorIndex++) {
+				Arrays.fill(covarianceFactorSums[factorIndex], 0.0);
+			}
+
+			for(int componentCounter=0; componentCounter<numberOfComponents-firstLiborIndex; componentCounter++) {
+				final int componentIndex = isSpotMeasure ? firstLiborIndex + componentCounter : numberOfComponents - 1 - componentCounter;
+				final double periodLength = periodLengths[componentIndex];
+				final double[] driftOfComponent = drift[componentIndex];
+
+				getBlock(libor[componentIndex], liborScalar[componentIndex], blockStart, blockLength, liborOfBlock);
+				// The one step measure transform periodLength / (1 + libor * periodLength), written as in Scalar.discount
+				final double periodLengthInverse = 1.0 / periodLength;
+				for(int i=0; i<blockLength; i++) {
+					oneStepMeasureTransform[i] = 1.0 / (liborOfBlock[i] + periodLengthInverse);
+				}
+				if(isLogNormal) {
+					// The drift has an additional forward rate factor
+					for(int i=0; i<blockLength; i++) {
+						oneStepMeasureTransform[i] = oneStepMeasureTransform[i] * liborOfBlock[i];
+					}
+				}
+
+				for(int factorIndex=0; factorIndex<numberOfFactors; factorIndex++) {
+					final double[] covarianceFactorSum = covarianceFactorSums[factorIndex];
+					getBlock(lambda[componentIndex][factorIndex], lambdaScalar[componentIndex][factorIndex], blockStart, blockLength, lambdaOfBlock);
+					if(isSpotMeasure) {
+						for(int i=0; i<blockLength; i++) {
+							covarianceFactorSum[i] = covarianceFactorSum[i] + oneStepMeasureTransform[i] * lambdaOfBlock[i];
+							driftOfComponent[blockStart+i] = driftOfComponent[blockStart+i] + covarianceFactorSum[i] * lambdaOfBlock[i];
+						}
+					}
+					else {
+						for(int i=0; i<blockLength; i++) {
+							driftOfComponent[blockStart+i] = driftOfComponent[blockStart+i] + covarianceFactorSum[i] * lambdaOfBlock[i];
+							covarianceFactorSum[i] = covarianceFactorSum[i] - oneStepMeasureTransform[i] * lambdaOfBlock[i];
+						}
+					}
+				}
+			}
+
+			if(isLogNormal) {
+				// Drift adjustment for log-coordinate in each component
+				for(int componentIndex=firstLiborIndex; componentIndex<numberOfComponents; componentIndex++) {
+					final double[] driftOfComponent = drift[componentIndex];
+					final double[] variance = oneStepMeasureTransform;
+					getBlock(lambda[componentIndex][0], lambdaScalar[componentIndex][0], blockStart, blockLength, lambdaOfBlock);
+					for(int i=0; i<blockLength; i++) {
+						variance[i] = lambdaOfBlock[i] * lambdaOfBlock[i];
+					}
+					for(int factorIndex=1; factorIndex<numberOfFactors; factorIndex++) {
+						getBlock(lambda[componentIndex][factorIndex], lambdaScalar[componentIndex][factorIndex], blockStart, blockLength, lambdaOfBlock);
+						for(int i=0; i<blockLength; i++) {
+							variance[i] = variance[i] + lambdaOfBlock[i] * lambdaOfBlock[i];
+						}
+					}
+					for(int i=0; i<blockLength; i++) {
+						driftOfComponent[blockStart+i] = driftOfComponent[blockStart+i] + variance[i] * -0.5;
+					}
+				}
+			}
+		}
+
+		RandomVariable[] driftRandomVariables = new RandomVariable[numberOfComponents];
+		for(int componentIndex=firstLiborIndex; componentIndex<numberOfComponents; componentIndex++) {
+			if(isDeterministic) {
+				driftRandomVariables[componentIndex] = isFloat ? new RandomVariableFromFloatArray(time, drift[componentIndex][0]) : new RandomVariableFromDoubleArray(time, drift[componentIndex][0]);
+			}
+			else {
+				driftRandomVariables[componentIndex] = isFloat ? new RandomVariableFromFloatArray(time, drift[componentIndex]) : new RandomVariableFromDoubleArray(time, drift[componentIndex]);
+			}
+		}
+
+		return driftRandomVariables;
+	}
+
+	/**
+	 * Copies the values of a block of paths into the given buffer.
+	 *
+	 * @param values The (stochastic) random variable, an instance of {@link RandomVariableFromDoubleArray} or {@link RandomVariableFromFloatArray} (or null if the values are given by a scalar).
+	 * @param valueScalar The value if <code>values</code> is null.
+	 * @param blockStart The index of the first path of the block.
+	 * @param blockLength The number of paths of the block.
+	 * @param block The buffer receiving the values.
+	 */
+	private static void getBlock(RandomVariable values, double valueScalar, int blockStart, int blockLength, double[] block) {
+		if(values instanceof RandomVariableFromDoubleArray) {
+			final RandomVariableFromDoubleArray valuesFromDoubleArray = (RandomVariableFromDoubleArray)values;
+			for(int i=0; i<blockLength; i++) {
+				block[i] = valuesFromDoubleArray.get(blockStart+i);
+			}
+		}
+		else if(values instanceof RandomVariableFromFloatArray) {
+			final RandomVariableFromFloatArray valuesFromFloatArray = (RandomVariableFromFloatArray)values;
+			for(int i=0; i<blockLength; i++) {
+				block[i] = valuesFromFloatArray.get(blockStart+i);
+			}
+		}
+		else {
+			Arrays.fill(block, 0, blockLength, valueScalar);
+		}
+	}
+}
@@ -11,12 +11,18 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
 
 import net.finmath.exception.CalculationException;
 import net.finmath.functions.AnalyticFormulas;
@@ -129,6 +135,11 @@ import net.finmath.time.TimeDiscretizationFromArray;
  * 			May be used to limit the simulated valued to prevent values attaining POSITIVE_INFINITY and
  * 			numerical problems. To disable the cap, set <code>liborCap</code> to <code>Double.POSITIVE_INFINITY</code>.
  *		</li>
+ * 		<li>
+ * 			<code>isUseFusedDriftKernel</code>: An optional <code>Boolean</code> value (default: false). If true, the drift is calculated
+ * 			for all components and factors in a single pass over the paths, provided the realizations and factor loadings are
+ * 			instances of <code>RandomVariableFromDoubleArray</code> or <code>RandomVariableFromFloatArray</code> (otherwise the standard calculation is used).
+ *		</li>
  * </ul>
  * <br>
  * The main task of this class is to calculate the risk-neutral drift and the
@@ -172,15 +183,17 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 	private StateSpace			stateSpace					= StateSpace.LOGNORMAL;
 	private InterpolationMethod interpolationMethod			= InterpolationMethod.LOG_LINEAR_UNCORRECTED;
 	private double				liborCap					= 1E5;
+	private boolean				isUseFusedDriftKernel		= false;
 
 	// This is a cache of the integrated covariance.
-	private double[][][]		integratedLIBORCovariance;
-	private transient Object	integratedLIBORCovarianceLazyInitLock = new Object();
+	private IntegratedLIBORCovariance	integratedLIBORCovariance;
+	private transient Object			integratedLIBORCovarianceLazyInitLock = new Object();
+
+	// The most recently calculated integrated covariance of this model and the models cloned from it via getCloneWithModifiedCovarianceModel.
+	private transient AtomicReference<IntegratedLIBORCovariance>	integratedLIBORCovarianceOfRelatedModels;
 
-	// Cache for the numeraires, needs to be invalidated if process changes - move out of the object (to process?)
-	private final ConcurrentHashMap<Integer, RandomVariable>	numeraires;
-	private final ConcurrentHashMap<Double, RandomVariable>	numeraireAdjustments;
-	private transient MonteCarloProcess						numerairesProcess = null;
+	// Cache for the numeraires, valid for the process stored in the cache (the cache is replaced if the process changes)
+	private transient AtomicReference<NumeraireCache>	numeraireCache = new AtomicReference<>();
 
 	/**
 	 * Creates a LIBOR Market Model for given covariance.
@@ -215,6 +228,11 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 	 * 			numerical problems. To disable the cap, set <code>liborCap</code> to <code>Double.POSITIVE_INFINITY</code>.
 	 *		</li>
 	 * 		<li>
+	 * 			<code>isUseFusedDriftKernel</code>: An optional <code>Boolean</code> value (default: false). If true, the drift is calculated
+	 * 			for all components and factors in a single pass over the paths, provided the realizations and factor loadings are
+	 * 			instances of <code>RandomVariableFromDoubleArray</code> or <code>RandomVariableFromFloatArray</code> (otherwise the standard calculation is used).
+	 *		</li>
+	 * 		<li>
 	 * 			<code>calibrationParameters</code>: Possible values:
 	 * 			<ul>
 	 * 				<li>
@@ -264,6 +282,9 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 		if(properties != null && properties.containsKey("liborCap")) {
 			liborCap	= (Double)properties.get("liborCap");
 		}
+		if(properties != null && properties.containsKey("isUseFusedDriftKernel")) {
+			isUseFusedDriftKernel	= (Boolean)properties.get("isUseFusedDriftKernel");
+		}
 
 		Map<String,Object> calibrationParameters = null;
 		if(properties != null && properties.containsKey("calibrationParameters")) {
@@ -276,9 +297,6 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 		this.discountCurve			= discountCurve;
 		this.randomVariableFactory	= randomVariableFactory;
 		this.covarianceModel	= covarianceModel;
-
-		numeraires = new ConcurrentHashMap<>(liborPeriodDiscretization.getNumberOfTimes());
-		numeraireAdjustments = new ConcurrentHashMap<>(liborPeriodDiscretization.getNumberOfTimes());
 	}
 
 	/**
@@ -318,6 +336,11 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 	 * 			numerical problems. To disable the cap, set <code>liborCap</code> to <code>Double.POSITIVE_INFINITY</code>.
 	 *		</li>
 	 * 		<li>
+	 * 			<code>isUseFusedDriftKernel</code>: An optional <code>Boolean</code> value (default: false). If true, the drift is calculated
+	 * 			for all components and factors in a single pass over the paths, provided the realizations and factor loadings are
+	 * 			instances of <code>RandomVariableFromDoubleArray</code> or <code>RandomVariableFromFloatArray</code> (otherwise the standard calculation is used).
+	 *		</li>
+	 * 		<li>
 	 * 			<code>calibrationParameters</code>: Possible values:
 	 * 			<ul>
 	 * 				<li>
@@ -422,6 +445,11 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 	 * 			numerical problems. To disable the cap, set <code>liborCap</code> to <code>Double.POSITIVE_INFINITY</code>.
 	 *		</li>
 	 * 		<li>
+	 * 			<code>isUseFusedDriftKernel</code>: An optional <code>Boolean</code> value (default: false). If true, the drift is calculated
+	 * 			for all components and factors in a single pass over the paths, provided the realizations and factor loadings are
+	 * 			instances of <code>RandomVariableFromDoubleArray</code> or <code>RandomVariableFromFloatArray</code> (otherwise the standard calculation is used).
+	 *		</li>
+	 * 		<li>
 	 * 			<code>calibrationParameters</code>: Possible values:
 	 * 			<ul>
 	 * 				<li>
@@ -474,6 +502,9 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 		if(properties != null && properties.containsKey("liborCap")) {
 			liborCap	= (Double)properties.get("liborCap");
 		}
+		if(properties != null && properties.containsKey("isUseFusedDriftKernel")) {
+			isUseFusedDriftKernel	= (Boolean)properties.get("isUseFusedDriftKernel");
+		}
 
 		Map<String,Object> calibrationParameters = null;
 		if(properties != null && properties.containsKey("calibrationParameters")) {
@@ -501,9 +532,6 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 		else {
 			this.covarianceModel	= covarianceModel;
 		}
-
-		numeraires = new ConcurrentHashMap<>(liborPeriodDiscretization.getNumberOfTimes());
-		numeraireAdjustments = new ConcurrentHashMap<>(liborPeriodDiscretization.getNumberOfTimes());
 	}
 
 	/**
@@ -543,6 +571,11 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 	 * 			numerical problems. To disable the cap, set <code>liborCap</code> to <code>Double.POSITIVE_INFINITY</code>.
 	 *		</li>
 	 * 		<li>
+	 * 			<code>isUseFusedDriftKernel</code>: An optional <code>Boolean</code> value (default: false). If true, the drift is calculated
+	 * 			for all components and factors in a single pass over the paths, provided the realizations and factor loadings are
+	 * 			instances of <code>RandomVariableFromDoubleArray</code> or <code>RandomVariableFromFloatArray</code> (otherwise the standard calculation is used).
+	 *		</li>
+	 * 		<li>
 	 * 			<code>calibrationParameters</code>: Possible values:
 	 * 			<ul>
 	 * 				<li>
@@ -855,28 +888,12 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 		 * Adjust for discounting, i.e. funding or collateralization
 		 */
 		if (discountCurve != null) {
-			synchronized (numeraires) {
-				/*
-				 * Check if numeraire cache is valid (i.e. process did not change)
-				 */
-				if (getProcess() != numerairesProcess) {
-					numeraires.clear();
-					numeraireAdjustments.clear();
-					numerairesProcess = getProcess();
-				}
-
+			final RandomVariable numeraireUnadjusted = numeraire;
+			// This includes a control for zero bonds (calculated once per time)
+			RandomVariable deterministicNumeraireAdjustment = getNumeraireCache().numeraireAdjustments.computeIfAbsent(time,
+					adjustmentTime -> randomVariableFactory.createRandomVariable(numeraireUnadjusted.invert().getAverage() / discountCurve.getDiscountFactor(curveModel, adjustmentTime)));
 
-				RandomVariable deterministicNumeraireAdjustment = numeraireAdjustments.get(time);
-
-				if(deterministicNumeraireAdjustment == null) {
-					// This includes a control for zero bonds
-					deterministicNumeraireAdjustment = randomVariableFactory.createRandomVariable(numeraire.invert().getAverage() / discountCurve.getDiscountFactor(curveModel, time));
-
-					numeraireAdjustments.put(time, deterministicNumeraireAdjustment);
-				}
-
-				numeraire = numeraire.mult(deterministicNumeraireAdjustment);
-			}
+			numeraire = numeraire.mult(deterministicNumeraireAdjustment);
 		}
 		return numeraire;
 	}
@@ -931,66 +948,163 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 	}
 
 	protected RandomVariable getNumerairetUnAdjustedAtLIBORIndex(int liborTimeIndex) throws CalculationException {
+		NumeraireCache cache = getNumeraireCache();
+
 		/*
-		 * synchronize lazy init cache
+		 * Check if numeraire is part of the cache, otherwise register its calculation (lock-free, calculated once)
 		 */
-		synchronized(numeraires) {
+		FutureTask<RandomVariable> numeraireCalculation = cache.numeraires.get(liborTimeIndex);
+		if(numeraireCalculation == null) {
+			FutureTask<RandomVariable> newNumeraireCalculation = new FutureTask<>(() -> calculateNumerairetUnAdjustedAtLIBORIndex(liborTimeIndex));
+			numeraireCalculation = cache.numeraires.putIfAbsent(liborTimeIndex, newNumeraireCalculation);
+			if(numeraireCalculation == null) {
+				numeraireCalculation = newNumeraireCalculation;
+				cache.numberOfCalculations.increment();
+				numeraireCalculation.run();
+			}
+			else {
+				countCacheAccess(cache, numeraireCalculation);
+			}
+		}
+		else {
+			countCacheAccess(cache, numeraireCalculation);
+		}
+
+		try {
+			return numeraireCalculation.get();
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CalculationException(e);
+		}
+		catch(ExecutionException e) {
+			// Do not cache failures
+			cache.numeraires.remove(liborTimeIndex, numeraireCalculation);
+
+			Throwable cause = e.getCause();
+			if(cause instanceof CalculationException) {
+				throw (CalculationException)cause;
+			}
+			else if(cause instanceof RuntimeException) {
+				throw (RuntimeException)cause;
+			}
+			else {
+				throw new CalculationException(cause);
+			}
+		}
+	}
+
+	private static void countCacheAccess(NumeraireCache cache, FutureTask<RandomVariable> numeraireCalculation) {
+		if(numeraireCalculation.isDone()) {
+			cache.numberOfHits.increment();
+		}
+		else {
+			// Another thread is calculating this numeraire
+			cache.numberOfWaits.increment();
+		}
+	}
+
+	private RandomVariable calculateNumerairetUnAdjustedAtLIBORIndex(int liborTimeIndex) throws CalculationException {
+		RandomVariable numeraireUnadjusted;
+		if (measure == Measure.TERMINAL) {
+			int timeIndex = getTimeIndex(liborPeriodDiscretization.getTime(liborTimeIndex));
+			if(timeIndex < 0) timeIndex = -timeIndex -1;
+
+			// Initialize to 1.0
+			numeraireUnadjusted = getRandomVariableForConstant(1.0);
+
 			/*
-			 * Check if numeraire cache is valid (i.e. process did not change)
+			 * Due to time < T_{timeIndex+1} loop is needed.
 			 */
-			if (getProcess() != numerairesProcess) {
-				numeraires.clear();
-				numeraireAdjustments.clear();
-				numerairesProcess = getProcess();
+			for (int liborIndex = liborTimeIndex; liborIndex <= liborPeriodDiscretization.getNumberOfTimeSteps() - 1; liborIndex++) {
+				RandomVariable libor = getLIBOR(timeIndex, liborIndex);
+				double periodLength = liborPeriodDiscretization.getTimeStep(liborIndex);
+				numeraireUnadjusted = numeraireUnadjusted.discount(libor, periodLength);
 			}
-
+		}
+		else if (measure == Measure.SPOT) {
 			/*
-			 * Check if numeraire is part of the cache
+			 * If numeraire is not N(0), multiply (1 + L(Ti-1)*dt) on N(Ti-1)
 			 */
-			RandomVariable numeraireUnadjusted = numeraires.get(liborTimeIndex);
-			if (numeraireUnadjusted == null) {
-				if (measure == Measure.TERMINAL) {
-					int timeIndex = getTimeIndex(liborPeriodDiscretization.getTime(liborTimeIndex));
-					if(timeIndex < 0) timeIndex = -timeIndex -1;
-
-					// Initialize to 1.0
-					numeraireUnadjusted = getRandomVariableForConstant(1.0);
-
-					/*
-					 * Due to time < T_{timeIndex+1} loop is needed.
-					 */
-					for (int liborIndex = liborTimeIndex; liborIndex <= liborPeriodDiscretization.getNumberOfTimeSteps() - 1; liborIndex++) {
-						RandomVariable libor = getLIBOR(timeIndex, liborIndex);
-						double periodLength = liborPeriodDiscretization.getTimeStep(liborIndex);
-						numeraireUnadjusted = numeraireUnadjusted.discount(libor, periodLength);
-					}
-				}
-				else if (measure == Measure.SPOT) {
-					/*
-					 * If numeraire is not N(0), multiply (1 + L(Ti-1)*dt) on N(Ti-1)
-					 */
-					if (liborTimeIndex != 0) {
-						int timeIndex = getTimeIndex(liborPeriodDiscretization.getTime(liborTimeIndex-1));
-						if(timeIndex < 0) timeIndex = -timeIndex -1;
-
-						double periodLength = liborPeriodDiscretization.getTimeStep(liborTimeIndex - 1);
-						RandomVariable libor = getLIBOR(timeIndex, liborTimeIndex - 1);
-						numeraireUnadjusted = getNumerairetUnAdjustedAtLIBORIndex(liborTimeIndex - 1).accrue(libor, periodLength);
-					}
-					else {
-						numeraireUnadjusted = getRandomVariableForConstant(1.0);
-					}
-				} else {
-					throw new CalculationException("Numeraire not implemented for specified measure.");
-				}
-				numeraires.put(liborTimeIndex, numeraireUnadjusted);
+			if (liborTimeIndex != 0) {
+				int timeIndex = getTimeIndex(liborPeriodDiscretization.getTime(liborTimeIndex-1));
+				if(timeIndex < 0) timeIndex = -timeIndex -1;
+
+				double periodLength = liborPeriodDiscretization.getTimeStep(liborTimeIndex - 1);
+				RandomVariable libor = getLIBOR(timeIndex, liborTimeIndex - 1);
+				numeraireUnadjusted = getNumerairetUnAdjustedAtLIBORIndex(liborTimeIndex - 1).accrue(libor, periodLength);
 			}
-			return numeraireUnadjusted;
+			else {
+				numeraireUnadjusted = getRandomVariableForConstant(1.0);
+			}
+		} else {
+			throw new CalculationException("Numeraire not implemented for specified measure.");
+		}
+		return numeraireUnadjusted;
+	}
+
+	/**
+	 * Returns the numeraire cache of the current process. If the process has changed, the cache is replaced.
+	 *
+	 * @return The numeraire cache of the current process.
+	 */
+	private NumeraireCache getNumeraireCache() {
+		MonteCarloProcess process = getProcess();
+		NumeraireCache cache = numeraireCache.get();
+		while(cache == null || cache.process != process) {
+			NumeraireCache cacheOfProcess = new NumeraireCache(process);
+			if(numeraireCache.compareAndSet(cache, cacheOfProcess)) {
+				return cacheOfProcess;
+			}
+			cache = numeraireCache.get();
+		}
+		return cache;
+	}
+
+	/**
+	 * Returns statistics of the numeraire cache for the current process, which allow to monitor the
+	 * contention on the cache when products are valued concurrently. The map contains the keys
+	 * <ul>
+	 * 	<li><code>calculations</code>: the number of numeraires calculated (and stored in the cache),</li>
+	 * 	<li><code>hits</code>: the number of requests served by a completed calculation,</li>
+	 * 	<li><code>waits</code>: the number of requests which had to wait for the calculation of another thread.</li>
+	 * </ul>
+	 *
+	 * @return Map of the numeraire cache statistics.
+	 */
+	public Map<String, Long> getNumeraireCacheStatistics() {
+		NumeraireCache cache = getNumeraireCache();
+
+		Map<String, Long> statistics = new HashMap<>();
+		statistics.put("calculations", cache.numberOfCalculations.sum());
+		statistics.put("hits", cache.numberOfHits.sum());
+		statistics.put("waits", cache.numberOfWaits.sum());
+		return statistics;
+	}
+
+	/**
+	 * Cache of the numeraires and numeraire adjustments of a given process.
+	 *
+	 * The numeraires at the LIBOR times are stored as calculations (futures), such that each numeraire is calculated
+	 * once, while concurrent requests for the same numeraire wait for its calculation and requests for different
+	 * numeraires do not block each other. There is no lock on the path reading a calculated numeraire.
+	 */
+	private static class NumeraireCache {
+		private final MonteCarloProcess										process;
+		private final ConcurrentHashMap<Integer, FutureTask<RandomVariable>>	numeraires				= new ConcurrentHashMap<>();
+		private final ConcurrentHashMap<Double, RandomVariable>				numeraireAdjustments	= new ConcurrentHashMap<>();
+
+		private final LongAdder	numberOfCalculations	= new LongAdder();
+		private final LongAdder	numberOfHits			= new LongAdder();
+		private final LongAdder	numberOfWaits			= new LongAdder();
+
+		NumeraireCache(MonteCarloProcess process) {
+			this.process = process;
 		}
 	}
 
 	public Map<Double, RandomVariable> getNumeraireAdjustments() {
-		return Collections.unmodifiableMap(numeraireAdjustments);
+		return Collections.unmodifiableMap(getNumeraireCache().numeraireAdjustments);
 	}
 
 	@Override
@@ -1038,12 +1152,46 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 	 */
 	@Override
 	public RandomVariable[] getDrift(int timeIndex, RandomVariable[] realizationAtTimeIndex, RandomVariable[] realizationPredictor) {
+		return getDrift(timeIndex, realizationAtTimeIndex, realizationPredictor, null);
+	}
+
+	/**
+	 * Return the drift, see {@link #getDrift(int, RandomVariable[], RandomVariable[])}.
+	 *
+	 * The factor loadings of the components <code>j</code> used in the calculation of the drift (that is, all components
+	 * which are not yet fixed) are stored in <code>factorLoadings[j]</code> (if <code>factorLoadings</code> is not null).
+	 * Each factor loading is calculated only once.
+	 *
+	 * @param timeIndex Time index <i>i</i> for which the drift should be returned <i>&mu;(t<sub>i</sub>)</i>.
+	 * @param realizationAtTimeIndex Time current forward rate vector at time index <i>i</i> which should be used in the calculation.
+	 * @param realizationPredictor The given realization at <code>timeIndex+1</code> or null if no predictor is available.
+	 * @param factorLoadings An array of length <i>n</i> (number of components), which receives the factor loadings (may be null).
+	 * @return The drift vector &mu;(t<sub>i</sub>) as <code>RandomVariableFromDoubleArray[]</code>
+	 */
+	@Override
+	public RandomVariable[] getDrift(int timeIndex, RandomVariable[] realizationAtTimeIndex, RandomVariable[] realizationPredictor, RandomVariable[][] factorLoadings) {
+		if(factorLoadings == null) {
+			factorLoadings = new RandomVariable[getNumberOfComponents()][];
+		}
+
 		double	time				= getTime(timeIndex);
 		int		firstLiborIndex		= this.getLiborPeriodIndex(time)+1;
 		if(firstLiborIndex<0) {
 			firstLiborIndex = -firstLiborIndex-1 + 1;
 		}
 
+		if(isUseFusedDriftKernel) {
+			double[] periodLengths = new double[getNumberOfComponents()];
+			for(int componentIndex=firstLiborIndex; componentIndex<getNumberOfComponents(); componentIndex++) {
+				periodLengths[componentIndex] = liborPeriodDiscretization.getTimeStep(componentIndex);
+				factorLoadings[componentIndex] = getFactorLoading(timeIndex, componentIndex, realizationAtTimeIndex);
+			}
+
+			if(firstLiborIndex < getNumberOfComponents() && LIBORMarketModelDriftKernel.isApplicable(realizationAtTimeIndex, factorLoadings, firstLiborIndex)) {
+				return LIBORMarketModelDriftKernel.getDrift(time, realizationAtTimeIndex, factorLoadings, periodLengths, firstLiborIndex, measure == Measure.SPOT, stateSpace == StateSpace.LOGNORMAL);
+			}
+		}
+
 		RandomVariable		zero	= getRandomVariableForConstant(0.0);
 
 		// Allocate drift vector and initialize to zero (will be used to sum up drift components)
@@ -1069,7 +1217,10 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 					oneStepMeasureTransform = oneStepMeasureTransform.mult(libor);
 				}
 
-				RandomVariable[]	factorLoading   	= getFactorLoading(timeIndex, componentIndex, realizationAtTimeIndex);
+				if(factorLoadings[componentIndex] == null) {
+					factorLoadings[componentIndex] = getFactorLoading(timeIndex, componentIndex, realizationAtTimeIndex);
+				}
+				RandomVariable[]	factorLoading   	= factorLoadings[componentIndex];
 				for(int factorIndex=0; factorIndex<getNumberOfFactors(); factorIndex++) {
 					covarianceFactorSums[factorIndex] = covarianceFactorSums[factorIndex].add(oneStepMeasureTransform.mult(factorLoading[factorIndex]));
 					drift[componentIndex] = drift[componentIndex].addProduct(covarianceFactorSums[factorIndex], factorLoading[factorIndex]);
@@ -1087,7 +1238,10 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 					oneStepMeasureTransform = oneStepMeasureTransform.mult(libor);
 				}
 
-				RandomVariable[]	factorLoading   	= getFactorLoading(timeIndex, componentIndex, realizationAtTimeIndex);
+				if(factorLoadings[componentIndex] == null) {
+					factorLoadings[componentIndex] = getFactorLoading(timeIndex, componentIndex, realizationAtTimeIndex);
+				}
+				RandomVariable[]	factorLoading   	= factorLoadings[componentIndex];
 				for(int factorIndex=0; factorIndex<getNumberOfFactors(); factorIndex++) {
 					drift[componentIndex] = drift[componentIndex].addProduct(covarianceFactorSums[factorIndex], factorLoading[factorIndex]);
 					covarianceFactorSums[factorIndex] = covarianceFactorSums[factorIndex].sub(oneStepMeasureTransform.mult(factorLoading[factorIndex]));
@@ -1098,7 +1252,11 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 		if(stateSpace == StateSpace.LOGNORMAL) {
 			// Drift adjustment for log-coordinate in each component
 			for(int componentIndex=firstLiborIndex; componentIndex<getNumberOfComponents(); componentIndex++) {
-				RandomVariable		variance		= covarianceModel.getCovariance(getTime(timeIndex), componentIndex, componentIndex, realizationAtTimeIndex);
+				RandomVariable[]	factorLoading	= factorLoadings[componentIndex];
+				RandomVariable		variance		= factorLoading[0].squared();
+				for(int factorIndex=1; factorIndex<getNumberOfFactors(); factorIndex++) {
+					variance = variance.addProduct(factorLoading[factorIndex], factorLoading[factorIndex]);
+				}
 				drift[componentIndex] = drift[componentIndex].addProduct(variance, -0.5);
 			}
 		}
@@ -1300,52 +1458,164 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 		return measure;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The integrated covariance is stored as packed upper triangular matrices. The array of full matrices is created from
+	 * this storage on each call. If only the covariance of a few time indices is required,
+	 * {@link #getIntegratedLIBORCovariance(int)} avoids the construction of the full array.
+	 */
 	@Override
 	public double[][][] getIntegratedLIBORCovariance() {
+		IntegratedLIBORCovariance integratedLIBORCovariance = getIntegratedLIBORCovarianceData();
+
+		double[][][] integratedLIBORCovarianceMatrices = new double[integratedLIBORCovariance.integratedCovariance.length][][];
+		for(int timeIndex = 0; timeIndex < integratedLIBORCovarianceMatrices.length; timeIndex++) {
+			integratedLIBORCovarianceMatrices[timeIndex] = integratedLIBORCovariance.getIntegratedCovarianceMatrix(timeIndex);
+		}
+		return integratedLIBORCovarianceMatrices;
+	}
+
+	@Override
+	public double[][] getIntegratedLIBORCovariance(int timeIndex) {
+		return getIntegratedLIBORCovarianceData().getIntegratedCovarianceMatrix(timeIndex);
+	}
+
+	/**
+	 * Returns the (cached) integrated LIBOR covariance.
+	 *
+	 * The calculation reuses the integrated covariance most recently calculated by a model related to this one
+	 * via {@link #getCloneWithModifiedCovarianceModel(LIBORCovarianceModel)}: the integrated covariance
+	 * is only recalculated from the first time index at which the factor loadings differ
+	 * (e.g., if a calibration modifies only the parameters of later times).
+	 *
+	 * @return The integrated LIBOR covariance.
+	 */
+	private IntegratedLIBORCovariance getIntegratedLIBORCovarianceData() {
 		synchronized (integratedLIBORCovarianceLazyInitLock) {
 			if(integratedLIBORCovariance == null) {
-				TimeDiscretization liborPeriodDiscretization = getLiborPeriodDiscretization();
-				TimeDiscretization simulationTimeDiscretization = getTimeDiscretization();
-
-				integratedLIBORCovariance = new double[simulationTimeDiscretization.getNumberOfTimeSteps()][liborPeriodDiscretization.getNumberOfTimeSteps()][liborPeriodDiscretization.getNumberOfTimeSteps()];
-				for(int timeIndex = 0; timeIndex < simulationTimeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
-					double dt = simulationTimeDiscretization.getTime(timeIndex+1) - simulationTimeDiscretization.getTime(timeIndex);
-					RandomVariable[][] factorLoadings = new RandomVariable[liborPeriodDiscretization.getNumberOfTimeSteps()][];
-					// Prefetch factor loadings
-					for(int componentIndex = 0; componentIndex < liborPeriodDiscretization.getNumberOfTimeSteps(); componentIndex++) {
-						factorLoadings[componentIndex] = getFactorLoading(timeIndex, componentIndex, null);
-					}
-					for(int componentIndex1 = 0; componentIndex1 < liborPeriodDiscretization.getNumberOfTimeSteps(); componentIndex1++) {
-						RandomVariable[] factorLoadingOfComponent1 = factorLoadings[componentIndex1];
-						// Sum the libor cross terms (use symmetry)
-						for(int componentIndex2 = componentIndex1; componentIndex2 < liborPeriodDiscretization.getNumberOfTimeSteps(); componentIndex2++) {
-							double integratedLIBORCovarianceValue = 0.0;
-							if(getLiborPeriod(componentIndex1) > getTime(timeIndex)) {
-								RandomVariable[] factorLoadingOfComponent2 = factorLoadings[componentIndex2];
-								for(int factorIndex = 0; factorIndex < getNumberOfFactors(); factorIndex++) {
-									integratedLIBORCovarianceValue += factorLoadingOfComponent1[factorIndex].get(0) * factorLoadingOfComponent2[factorIndex].get(0) * dt;
-								}
-							}
-							integratedLIBORCovariance[timeIndex][componentIndex1][componentIndex2] = integratedLIBORCovarianceValue;
-						}
+				IntegratedLIBORCovariance integratedLIBORCovarianceOfRelatedModel = integratedLIBORCovarianceOfRelatedModels != null ? integratedLIBORCovarianceOfRelatedModels.get() : null;
+				integratedLIBORCovariance = new IntegratedLIBORCovariance(this, integratedLIBORCovarianceOfRelatedModel);
+				if(integratedLIBORCovarianceOfRelatedModels != null) {
+					integratedLIBORCovarianceOfRelatedModels.set(integratedLIBORCovariance);
+				}
+			}
+			return integratedLIBORCovariance;
+		}
+	}
+
+	/**
+	 * The integrated LIBOR covariance together with the factor loadings from which it was calculated.
+	 *
+	 * Since the matrices are symmetric, only the upper triangle (componentIndex1 &le; componentIndex2) is stored
+	 * as packed array (row by row), i.e., the element [j][k] with j &le; k is stored at index
+	 * j * n - j * (j-1) / 2 + (k-j), where n is the number of components.
+	 */
+	private static class IntegratedLIBORCovariance implements Serializable {
+
+		private static final long serialVersionUID = -3218837564591528463L;
+
+		private final double[]		times;
+		private final double[]		liborPeriods;
+		private final int			numberOfFactors;
+
+		// The factor loadings [timeIndex][componentIndex * numberOfFactors + factorIndex]
+		private final double[][]	factorLoadings;
+		// The integrated covariance [timeIndex][packed index]
+		private final double[][]	integratedCovariance;
+
+		/**
+		 * Calculates the integrated covariance of a model.
+		 *
+		 * The covariance of time steps prior to the first time step where the factor loadings of the model differ from
+		 * those of <code>integratedLIBORCovarianceForReuse</code> are reused. The covariance of the remaining time steps
+		 * is calculated in parallel.
+		 *
+		 * @param model The model.
+		 * @param integratedLIBORCovarianceForReuse A previously calculated integrated covariance (may be null).
+		 */
+		IntegratedLIBORCovariance(LIBORMarketModelFromCovarianceModel model, IntegratedLIBORCovariance integratedLIBORCovarianceForReuse) {
+			TimeDiscretization simulationTimeDiscretization = model.getTimeDiscretization();
+			times = simulationTimeDiscretization.getAsDoubleArray();
+			liborPeriods = model.getLiborPeriodDiscretization().getAsDoubleArray();
+			numberOfFactors = model.getNumberOfFactors();
+
+			final int numberOfTimeSteps = simulationTimeDiscretization.getNumberOfTimeSteps();
+			final int numberOfComponents = liborPeriods.length-1;
+
+			// Fetch factor loadings (sequential, since covariance models are not required to be thread safe)
+			factorLoadings = new double[numberOfTimeSteps][numberOfComponents * numberOfFactors];
+			for(int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
+				for(int componentIndex = 0; componentIndex < numberOfComponents; componentIndex++) {
+					RandomVariable[] factorLoading = model.getFactorLoading(timeIndex, componentIndex, null);
+					for(int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
+						factorLoadings[timeIndex][componentIndex * numberOfFactors + factorIndex] = factorLoading[factorIndex].get(0);
 					}
 				}
+			}
 
-				// Integrate over time (i.e. sum up).
-				for(int timeIndex = 1; timeIndex < simulationTimeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
-					double[][] prevIntegratedLIBORCovariance = integratedLIBORCovariance[timeIndex-1];
-					double[][] thisIntegratedLIBORCovariance = integratedLIBORCovariance[timeIndex];
-					for(int componentIndex1 = 0; componentIndex1 < liborPeriodDiscretization.getNumberOfTimeSteps(); componentIndex1++) {
-						for(int componentIndex2 = componentIndex1; componentIndex2 < liborPeriodDiscretization.getNumberOfTimeSteps(); componentIndex2++) {
-							thisIntegratedLIBORCovariance[componentIndex1][componentIndex2] = prevIntegratedLIBORCovariance[componentIndex1][componentIndex2] + thisIntegratedLIBORCovariance[componentIndex1][componentIndex2];
-							thisIntegratedLIBORCovariance[componentIndex2][componentIndex1] = thisIntegratedLIBORCovariance[componentIndex1][componentIndex2];
+			// Determine the time steps which can be reused
+			int firstTimeIndexToCalculate = 0;
+			if(integratedLIBORCovarianceForReuse != null
+					&& Arrays.equals(times, integratedLIBORCovarianceForReuse.times)
+					&& Arrays.equals(liborPeriods, integratedLIBORCovarianceForReuse.liborPeriods)
+					&& numberOfFactors == integratedLIBORCovarianceForReuse.numberOfFactors) {
+				while(firstTimeIndexToCalculate < numberOfTimeSteps && Arrays.equals(factorLoadings[firstTimeIndexToCalculate], integratedLIBORCovarianceForReuse.factorLoadings[firstTimeIndexToCalculate])) {
+					firstTimeIndexToCalculate++;
+				}
+			}
+
+			integratedCovariance = new double[numberOfTimeSteps][];
+			for(int timeIndex = 0; timeIndex < firstTimeIndexToCalculate; timeIndex++) {
+				integratedCovariance[timeIndex] = integratedLIBORCovarianceForReuse.integratedCovariance[timeIndex];
+			}
+
+			// Calculate the covariance of each time step (in parallel)
+			IntStream.range(firstTimeIndexToCalculate, numberOfTimeSteps).parallel().forEach(timeIndex -> {
+				double dt = times[timeIndex+1] - times[timeIndex];
+				double[] factorLoadingsOfTimeStep = factorLoadings[timeIndex];
+				double[] covarianceOfTimeStep = new double[numberOfComponents * (numberOfComponents+1) / 2];
+				int packedIndex = 0;
+				for(int componentIndex1 = 0; componentIndex1 < numberOfComponents; componentIndex1++) {
+					boolean isComponentAlive = liborPeriods[componentIndex1] > times[timeIndex];
+					// Sum the libor cross terms (use symmetry)
+					for(int componentIndex2 = componentIndex1; componentIndex2 < numberOfComponents; componentIndex2++) {
+						double integratedLIBORCovarianceValue = 0.0;
+						if(isComponentAlive) {
+							for(int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
+								integratedLIBORCovarianceValue += factorLoadingsOfTimeStep[componentIndex1 * numberOfFactors + factorIndex] * factorLoadingsOfTimeStep[componentIndex2 * numberOfFactors + factorIndex] * dt;
+							}
 						}
+						covarianceOfTimeStep[packedIndex++] = integratedLIBORCovarianceValue;
 					}
 				}
+				integratedCovariance[timeIndex] = covarianceOfTimeStep;
+			});
+
+			// Integrate over time (i.e. sum up).
+			for(int timeIndex = Math.max(firstTimeIndexToCalculate, 1); timeIndex < numberOfTimeSteps; timeIndex++) {
+				double[] prevIntegratedLIBORCovariance = integratedCovariance[timeIndex-1];
+				double[] thisIntegratedLIBORCovariance = integratedCovariance[timeIndex];
+				for(int packedIndex = 0; packedIndex < thisIntegratedLIBORCovariance.length; packedIndex++) {
+					thisIntegratedLIBORCovariance[packedIndex] = prevIntegratedLIBORCovariance[packedIndex] + thisIntegratedLIBORCovariance[packedIndex];
+				}
 			}
 		}
 
-		return integratedLIBORCovariance;
+		double[][] getIntegratedCovarianceMatrix(int timeIndex) {
+			final int numberOfComponents = liborPeriods.length-1;
+			double[] integratedCovarianceOfTime = integratedCovariance[timeIndex];
+			double[][] integratedCovarianceMatrix = new double[numberOfComponents][numberOfComponents];
+			int packedIndex = 0;
+			for(int componentIndex1 = 0; componentIndex1 < numberOfComponents; componentIndex1++) {
+				for(int componentIndex2 = componentIndex1; componentIndex2 < numberOfComponents; componentIndex2++) {
+					integratedCovarianceMatrix[componentIndex1][componentIndex2] = integratedCovarianceOfTime[packedIndex];
+					integratedCovarianceMatrix[componentIndex2][componentIndex1] = integratedCovarianceOfTime[packedIndex];
+					packedIndex++;
+				}
+			}
+			return integratedCovarianceMatrix;
+		}
 	}
 
 	@Override
@@ -1354,6 +1624,7 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 			Map<String, Object> properties = new HashMap<>();
 			properties.put("measure",		measure.name());
 			properties.put("stateSpace",	stateSpace.name());
+			properties.put("isUseFusedDriftKernel",	isUseFusedDriftKernel);
 			return new LIBORMarketModelFromCovarianceModel(getLiborPeriodDiscretization(), getAnalyticModel(), getForwardRateCurve(), getDiscountCurve(), randomVariableFactory, covarianceModel, new CalibrationProduct[0], properties);
 		} catch (CalculationException e) {
 			return null;
@@ -1397,6 +1668,15 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 	public LIBORMarketModelFromCovarianceModel getCloneWithModifiedCovarianceModel(LIBORCovarianceModel covarianceModel) {
 		LIBORMarketModelFromCovarianceModel model = (LIBORMarketModelFromCovarianceModel)this.clone();
 		model.covarianceModel = covarianceModel;
+
+		// Allow the clone to reuse parts of the integrated covariance (e.g. during calibration)
+		synchronized (integratedLIBORCovarianceLazyInitLock) {
+			if(integratedLIBORCovarianceOfRelatedModels == null) {
+				integratedLIBORCovarianceOfRelatedModels = new AtomicReference<>(integratedLIBORCovariance);
+			}
+			model.integratedLIBORCovarianceOfRelatedModels = integratedLIBORCovarianceOfRelatedModels;
+		}
+
 		return model;
 	}
 
@@ -1411,6 +1691,7 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 		Map<String, Object>				properties					= new HashMap<>();
 		properties.put("measure",		measure.name());
 		properties.put("stateSpace",	stateSpace.name());
+		properties.put("isUseFusedDriftKernel",	isUseFusedDriftKernel);
 
 		if(dataModified != null && dataModified.containsKey("liborPeriodDiscretization")) {
 			liborPeriodDiscretization = (TimeDiscretization)dataModified.get("liborPeriodDiscretization");
@@ -1461,7 +1742,7 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 		}
 
 		// Add numeraire adjustments
-		for(Entry<Double, RandomVariable> numeraireAdjustment : numeraireAdjustments.entrySet()) {
+		for(Entry<Double, RandomVariable> numeraireAdjustment : getNumeraireAdjustments().entrySet()) {
 			modelParameters.put("NUMERAIREADJUSTMENT("+ numeraireAdjustment.getKey() + ")", numeraireAdjustment.getValue());
 		}
 
@@ -1475,6 +1756,7 @@ public class LIBORMarketModelFromCovarianceModel extends AbstractProcessModel im
 		 * Init transient fields
 		 */
 		integratedLIBORCovarianceLazyInitLock = new Object();
+		numeraireCache = new AtomicReference<>();
 	}
 
 	@Override
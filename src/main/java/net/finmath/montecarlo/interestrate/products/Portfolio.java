@@ -8,10 +8,10 @@ package net.finmath.montecarlo.interestrate.products;
 import java.util.Set;
 
 import net.finmath.exception.CalculationException;
-import net.finmath.montecarlo.RandomVariableFromDoubleArray;
 import net.finmath.montecarlo.interestrate.LIBORModelMonteCarloSimulationModel;
 import net.finmath.montecarlo.interestrate.products.components.AbstractProductComponent;
 import net.finmath.stochastic.RandomVariable;
+import net.finmath.stochastic.Scalar;
 
 /**
  * Implements the pricing of a portfolio of AbstractLIBORMonteCarloProduct products
@@ -131,7 +131,7 @@ public class Portfolio extends AbstractProductComponent {
 	 */
 	@Override
 	public RandomVariable getValue(double evaluationTime, LIBORModelMonteCarloSimulationModel model) throws CalculationException {
-		RandomVariable values = new RandomVariableFromDoubleArray(0.0);
+		RandomVariable values = new Scalar(0.0);
 
 		for(int productIndex = 0; productIndex < products.length; productIndex++) {
 			RandomVariable    valueOfProduct = products[productIndex].getValue(evaluationTime, model);
@@ -68,7 +68,7 @@ public class SwaprateCovarianceAnalyticApproximation extends AbstractMonteCarloP
 		double[]  swapCovarianceWeights2  = SwaptionSingleCurveAnalyticApproximation.getLogSwaprateDerivative(model.getLiborPeriodDiscretization(), model.getForwardRateCurve(), swapTenor2).get("values");
 
 		// Get the integrated libor covariance from the model
-		double[][]	integratedLIBORCovariance = model.getIntegratedLIBORCovariance()[optionMaturityIndex];
+		double[][]	integratedLIBORCovariance = model.getIntegratedLIBORCovariance(optionMaturityIndex);
 
 		// Calculate integrated swap rate covariance
 		double integratedSwapRateCovariance = 0.0;
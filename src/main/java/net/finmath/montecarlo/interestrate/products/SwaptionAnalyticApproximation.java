@@ -144,7 +144,7 @@ public class SwaptionAnalyticApproximation extends AbstractLIBORMonteCarloProduc
 		double[]    swapCovarianceWeights  = logSwaprateDerivative.get("values");
 
 		// Get the integrated libor covariance from the model
-		double[][]	integratedLIBORCovariance = model.getIntegratedLIBORCovariance()[optionMaturityIndex];
+		double[][]	integratedLIBORCovariance = model.getIntegratedLIBORCovariance(optionMaturityIndex);
 
 		// Calculate integrated swap rate covariance
 		double integratedSwapRateVariance = 0.0;
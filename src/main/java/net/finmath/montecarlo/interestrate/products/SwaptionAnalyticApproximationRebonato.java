@@ -140,7 +140,7 @@ public class SwaptionAnalyticApproximationRebonato extends AbstractLIBORMonteCar
 		double[]    swapCovarianceWeights  = logSwaprateDerivative.get("values");
 
 		// Get the integrated libor covariance from the model
-		double[][]	integratedLIBORCovariance = model.getIntegratedLIBORCovariance()[optionMaturityIndex];
+		double[][]	integratedLIBORCovariance = model.getIntegratedLIBORCovariance(optionMaturityIndex);
 
 		// Calculate integrated swap rate covariance
 		double integratedSwapRateVariance = 0.0;
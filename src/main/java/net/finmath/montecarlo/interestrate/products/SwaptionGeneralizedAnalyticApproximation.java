@@ -171,7 +171,7 @@ public class SwaptionGeneralizedAnalyticApproximation extends AbstractLIBORMonte
 
 
 		// Get the integrated libor covariance from the model
-		double[][]	integratedLIBORCovariance = model.getIntegratedLIBORCovariance()[optionMaturityIndex];
+		double[][]	integratedLIBORCovariance = model.getIntegratedLIBORCovariance(optionMaturityIndex);
 
 		// Calculate integrated swap rate covariance
 		double integratedSwapRateVariance = 0.0;
@@ -118,7 +118,7 @@ public class SwaptionSingleCurveAnalyticApproximation extends AbstractLIBORMonte
 		double[]    swapAnnuities          = logSwaprateDerivative.get("swapAnnuities");
 
 		// Get the integrated libor covariance from the model
-		double[][]	integratedLIBORCovariance = model.getIntegratedLIBORCovariance()[optionMaturityIndex];
+		double[][]	integratedLIBORCovariance = model.getIntegratedLIBORCovariance(optionMaturityIndex);
 
 		// Calculate integrated swap rate covariance
 		double integratedSwapRateVariance = 0.0;
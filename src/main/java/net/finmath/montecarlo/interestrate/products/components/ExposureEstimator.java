@@ -76,28 +76,69 @@ public class ExposureEstimator extends AbstractProductComponent {
 	 */
 	@Override
 	public RandomVariable getValue(double evaluationTime, LIBORModelMonteCarloSimulationModel model) throws CalculationException {
+		return getExposureEstimates(evaluationTime, model, underlying)[0];
+	}
+
+	/**
+	 * Returns (a numerical approximation of) \( E( V_{i}(t) \vert \mathcal{F}_t ) \) for a collection of underlyings \( V_{i} \),
+	 * where \( V_{i}(t) \) is the (sum of) discounted future value(s) of the underlying \( V_{i} \), discounted to \( t \).
+	 *
+	 * The conditional expectations are estimated by a common regression, i.e., the regression matrix is calculated and decomposed
+	 * only once and the projections of all underlyings are calculated in a single pass over the paths.
+	 * A path is excluded from the regression if it is excluded for one of the underlyings (value being NaN or an outlier).
+	 * For a single underlying the result agrees with the value of the <code>ExposureEstimator</code> of this underlying.
+	 *
+	 * @param evaluationTime The time on which the values should be observed.
+	 * @param model The model used to price the underlyings.
+	 * @param underlyings The underlyings.
+	 * @return The random variables representing the exposure estimates of the underlyings.
+	 * @throws net.finmath.exception.CalculationException Thrown if the valuation fails, specific cause may be available via the <code>cause()</code> method.
+	 */
+	public static RandomVariable[] getExposureEstimates(double evaluationTime, LIBORModelMonteCarloSimulationModel model, AbstractLIBORMonteCarloProduct... underlyings) throws CalculationException {
 
 		final RandomVariable one	= model.getRandomVariableForConstant(1.0);
 		final RandomVariable zero	= model.getRandomVariableForConstant(0.0);
 
-		RandomVariable values = underlying.getValue(evaluationTime, model);
-
-		if(values.getFiltrationTime() > evaluationTime) {
-			RandomVariable filterNaN = values.isNaN().sub(1.0).mult(-1.0);
-			RandomVariable valuesFiltered = values.mult(filterNaN);
-
-			/*
-			 * Cut off two standard deviations from regression
-			 */
-			double valuesMean		= valuesFiltered.getAverage();
-			double valuesStdDev	= valuesFiltered.getStandardDeviation();
-			double valuesFloor		= valuesMean*(1.0-Math.signum(valuesMean)*1E-5)-3.0*valuesStdDev;
-			double valuesCap		= valuesMean*(1.0+Math.signum(valuesMean)*1E-5)+3.0*valuesStdDev;
-			RandomVariable filter = values.sub(valuesFloor).choose(one, zero)
-					.mult(values.sub(valuesCap).mult(-1.0).choose(one, zero));
-			filter = filter.mult(filterNaN);
+		RandomVariable[] values = new RandomVariable[underlyings.length];
+		RandomVariable filter = null;
+		for(int underlyingIndex=0; underlyingIndex<underlyings.length; underlyingIndex++) {
+			values[underlyingIndex] = underlyings[underlyingIndex].getValue(evaluationTime, model);
+
+			if(values[underlyingIndex].getFiltrationTime() > evaluationTime) {
+				RandomVariable filterNaN = values[underlyingIndex].isNaN().sub(1.0).mult(-1.0);
+				RandomVariable valuesFiltered = values[underlyingIndex].mult(filterNaN);
+
+				/*
+				 * Cut off two standard deviations from regression
+				 */
+				double valuesMean		= valuesFiltered.getAverage();
+				double valuesStdDev	= valuesFiltered.getStandardDeviation();
+				double valuesFloor		= valuesMean*(1.0-Math.signum(valuesMean)*1E-5)-3.0*valuesStdDev;
+				double valuesCap		= valuesMean*(1.0+Math.signum(valuesMean)*1E-5)+3.0*valuesStdDev;
+				RandomVariable filterOfUnderlying = values[underlyingIndex].sub(valuesFloor).choose(one, zero)
+						.mult(values[underlyingIndex].sub(valuesCap).mult(-1.0).choose(one, zero));
+				filterOfUnderlying = filterOfUnderlying.mult(filterNaN);
+
+				filter = filter == null ? filterOfUnderlying : filter.mult(filterOfUnderlying);
+			}
+		}
+
+		if(filter != null) {
 			// Filter values and regressionBasisFunctions
-			values = values.mult(filter);
+			int numberOfValuesToRegress = 0;
+			for(RandomVariable value : values) {
+				if(value.getFiltrationTime() > evaluationTime) {
+					numberOfValuesToRegress++;
+				}
+			}
+
+			RandomVariable[] valuesToRegress = new RandomVariable[numberOfValuesToRegress];
+			int indexOfValuesToRegress = 0;
+			for(RandomVariable value : values) {
+				if(value.getFiltrationTime() > evaluationTime) {
+					valuesToRegress[indexOfValuesToRegress++] = value.mult(filter);
+				}
+			}
 
 			RandomVariable[] regressionBasisFunctions			= getRegressionBasisFunctions(evaluationTime, model);
 			RandomVariable[] filteredRegressionBasisFunctions	= new RandomVariable[regressionBasisFunctions.length];
@@ -109,7 +150,14 @@ public class ExposureEstimator extends AbstractProductComponent {
 			MonteCarloConditionalExpectationRegression condExpEstimator = new MonteCarloConditionalExpectationRegression(filteredRegressionBasisFunctions, regressionBasisFunctions);
 
 			// Calculate cond. expectation. Note that no discounting (numeraire division) is required!
-			values         = condExpEstimator.getConditionalExpectation(values);
+			RandomVariable[] conditionalExpectations = condExpEstimator.getConditionalExpectations(valuesToRegress);
+
+			indexOfValuesToRegress = 0;
+			for(int underlyingIndex=0; underlyingIndex<values.length; underlyingIndex++) {
+				if(values[underlyingIndex].getFiltrationTime() > evaluationTime) {
+					values[underlyingIndex] = conditionalExpectations[indexOfValuesToRegress++];
+				}
+			}
 		}
 
 		// Return values
@@ -124,7 +172,7 @@ public class ExposureEstimator extends AbstractProductComponent {
 	 * @return Array of random variables.
 	 * @throws net.finmath.exception.CalculationException Thrown if the valuation fails, specific cause may be available via the <code>cause()</code> method.
 	 */
-	private RandomVariable[] getRegressionBasisFunctions(double evaluationTime, LIBORModelMonteCarloSimulationModel model) throws CalculationException {
+	private static RandomVariable[] getRegressionBasisFunctions(double evaluationTime, LIBORModelMonteCarloSimulationModel model) throws CalculationException {
 
 		ArrayList<RandomVariable> basisFunctions = new ArrayList<>();
 
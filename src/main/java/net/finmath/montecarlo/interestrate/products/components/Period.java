@@ -8,9 +8,9 @@ package net.finmath.montecarlo.interestrate.products.components;
 import java.time.LocalDateTime;
 
 import net.finmath.exception.CalculationException;
-import net.finmath.montecarlo.RandomVariableFromDoubleArray;
 import net.finmath.montecarlo.interestrate.LIBORModelMonteCarloSimulationModel;
 import net.finmath.stochastic.RandomVariable;
+import net.finmath.stochastic.Scalar;
 import net.finmath.time.FloatingpointDate;
 
 /**
@@ -140,7 +140,7 @@ public class Period extends AbstractPeriod {
 		catch(UnsupportedOperationException e) {};
 
 		if(evaluationTime >= productToModelTimeOffset + getPaymentDate()) {
-			return new RandomVariableFromDoubleArray(0.0);
+			return new Scalar(0.0);
 		}
 
 		// Get random variables
@@ -163,7 +163,7 @@ public class Period extends AbstractPeriod {
 			}
 		}
 		else {
-			values = new RandomVariableFromDoubleArray(0.0,0.0);
+			values = new Scalar(0.0);
 		}
 
 		// Apply notional exchange
@@ -122,6 +122,26 @@ public interface ProcessModel {
 	 */
 	RandomVariable[] getDrift(int timeIndex, RandomVariable[] realizationAtTimeIndex, RandomVariable[] realizationPredictor);
 
+	/**
+	 * This method returns the drift (see {@link #getDrift(int, RandomVariable[], RandomVariable[])}) and may
+	 * provide the factor loadings used in its calculation, such that they do not have to be calculated again
+	 * for the diffusion of the same time step.
+	 *
+	 * An implementation may store the factor loading of the component <i>j</i>, i.e., the value of
+	 * <code>getFactorLoading(timeIndex, j, realizationAtTimeIndex)</code>, in <code>factorLoadings[j]</code>.
+	 * Elements which are not set remain null.
+	 * The default implementation calls {@link #getDrift(int, RandomVariable[], RandomVariable[])} and does not store factor loadings.
+	 *
+	 * @param timeIndex The time index (related to the model times discretization).
+	 * @param realizationAtTimeIndex The given realization at timeIndex
+	 * @param realizationPredictor The given realization at <code>timeIndex+1</code> or null if no predictor is available.
+	 * @param factorLoadings An array of length <i>n</i> (number of components), which may receive the factor loadings (may be null).
+	 * @return The drift or average drift from timeIndex to timeIndex+1, i.e. \( \frac{1}{t_{i+1}-t_{i}} \int_{t_{i}}^{t_{i+1}} \mu(\tau) \mathrm{d}\tau \) (or a suitable approximation).
+	 */
+	default RandomVariable[] getDrift(int timeIndex, RandomVariable[] realizationAtTimeIndex, RandomVariable[] realizationPredictor, RandomVariable[][] factorLoadings) {
+		return getDrift(timeIndex, realizationAtTimeIndex, realizationPredictor);
+	}
+
 	/**
 	 * Returns the number of factors <i>m</i>, i.e., the number of independent Brownian drivers.
 	 *
@@ -10,12 +10,13 @@ import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 
 import net.finmath.concurrency.FutureWrapper;
 import net.finmath.montecarlo.BrownianMotion;
 import net.finmath.montecarlo.IndependentIncrements;
+import net.finmath.montecarlo.automaticdifferentiation.AbstractRandomVariableDifferentiableFactory;
 import net.finmath.stochastic.RandomVariable;
 
 /**
@@ -36,6 +37,21 @@ import net.finmath.stochastic.RandomVariable;
  *
  * The dimension is called <code>numberOfComponents</code> here. The default for <code>numberOfFactors</code> is 1.
  *
+ * The components of a time step may be evolved concurrently. The executor used for this may be provided upon construction
+ * (it will not receive a shutdown). If no executor is provided, a process-wide shared {@link ForkJoinPool} is used,
+ * whose parallelism is bounded by the system property
+ * <code>net.finmath.montecarlo.process.EulerSchemeFromProcessModel.numberOfThreads</code> (default: number of available processors).
+ * Each concurrent task evolves a chunk of <code>numberOfComponentsPerTask</code> components. Sequential evolution
+ * may be requested by the constructor or (globally) by setting the system property
+ * <code>net.finmath.montecarlo.process.EulerSchemeFromProcessModel.isUseMultiThreadding</code> to false.
+ *
+ * If a <code>checkpointingFactory</code> is provided, each time step is performed as a checkpointed calculation
+ * (see {@link AbstractRandomVariableDifferentiableFactory#getValuesWithCheckpoint(java.util.function.Supplier)}).
+ * For an AAD factory supporting checkpoints, only the state and the process values of each time step are retained
+ * for the calculation of derivatives, while the intermediate results (e.g. drift and factor loadings) are
+ * recalculated when the derivatives are calculated. Hence, the model must not cache random variables
+ * created during a time step.
+ *
  * @author Christian Fries
  * @see MonteCarloProcess The interface definition contains more details.
  * @version 1.4
@@ -43,9 +59,17 @@ import net.finmath.stochastic.RandomVariable;
 public class EulerSchemeFromProcessModel extends MonteCarloProcessFromProcessModel {
 
 	private static boolean isUseMultiThreadding;
+	private static int numberOfThreads;
 	static {
 		// Default value is true
 		isUseMultiThreadding = Boolean.parseBoolean(System.getProperty("net.finmath.montecarlo.process.EulerSchemeFromProcessModel.isUseMultiThreadding","true"));
+		// Default value is the number of available processors
+		numberOfThreads = Integer.parseInt(System.getProperty("net.finmath.montecarlo.process.EulerSchemeFromProcessModel.numberOfThreads",String.valueOf(Runtime.getRuntime().availableProcessors())));
+	}
+
+	// Lazy init via holder class: the pool is only created when a multi-threadded scheme is used.
+	private static class DefaultExecutorHolder {
+		private static final ExecutorService DEFAULT_EXECUTOR = new ForkJoinPool(Math.max(numberOfThreads, 1));
 	}
 
 	public enum Scheme {
@@ -56,8 +80,17 @@ public class EulerSchemeFromProcessModel extends MonteCarloProcessFromProcessMod
 
 	private Scheme		scheme = Scheme.EULER;
 
-	// Used locally for multi-threadded calculation.
-	private ExecutorService executor;
+	/*
+	 * Used for multi-threadded calculation. If null, the evolution is performed sequentially.
+	 * Note: The executor is shared (e.g. among clones) and will not receive a shutdown.
+	 */
+	private final ExecutorService	executor;
+	private final int				numberOfComponentsPerTask;
+
+	/*
+	 * If non-null, each time step is performed as a checkpointed calculation of this factory.
+	 */
+	private final AbstractRandomVariableDifferentiableFactory	checkpointingFactory;
 
 	/*
 	 * The storage of the simulated stochastic process.
@@ -71,11 +104,53 @@ public class EulerSchemeFromProcessModel extends MonteCarloProcessFromProcessMod
 	 *
 	 * @param stochasticDriver The stochastic driver of the process (e.g. a Brownian motion).
 	 * @param scheme The scheme to use. See {@link Scheme}.
+	 * @param executor The executor used to evolve the components concurrently. If null, the components are evolved sequentially. The executor will not receive a shutdown.
+	 * @param numberOfComponentsPerTask The number of components evolved by a single task submitted to the executor.
+	 * @param checkpointingFactory If non-null, each time step is performed as a checkpointed calculation of this factory (see {@link AbstractRandomVariableDifferentiableFactory#getValuesWithCheckpoint(java.util.function.Supplier)}).
 	 */
-	public EulerSchemeFromProcessModel(IndependentIncrements stochasticDriver, Scheme scheme) {
+	public EulerSchemeFromProcessModel(IndependentIncrements stochasticDriver, Scheme scheme, ExecutorService executor, int numberOfComponentsPerTask, AbstractRandomVariableDifferentiableFactory checkpointingFactory) {
 		super(stochasticDriver.getTimeDiscretization());
+		if(numberOfComponentsPerTask < 1) {
+			throw new IllegalArgumentException("Number of components per task must be positive.");
+		}
 		this.stochasticDriver = stochasticDriver;
 		this.scheme = scheme;
+		this.executor = executor;
+		this.numberOfComponentsPerTask = numberOfComponentsPerTask;
+		this.checkpointingFactory = checkpointingFactory;
+	}
+
+	/**
+	 * Create an Euler discretization scheme.
+	 *
+	 * @param stochasticDriver The stochastic driver of the process (e.g. a Brownian motion).
+	 * @param scheme The scheme to use. See {@link Scheme}.
+	 * @param executor The executor used to evolve the components concurrently. If null, the components are evolved sequentially. The executor will not receive a shutdown.
+	 * @param numberOfComponentsPerTask The number of components evolved by a single task submitted to the executor.
+	 */
+	public EulerSchemeFromProcessModel(IndependentIncrements stochasticDriver, Scheme scheme, ExecutorService executor, int numberOfComponentsPerTask) {
+		this(stochasticDriver, scheme, executor, numberOfComponentsPerTask, null);
+	}
+
+	/**
+	 * Create an Euler discretization scheme.
+	 *
+	 * @param stochasticDriver The stochastic driver of the process (e.g. a Brownian motion).
+	 * @param scheme The scheme to use. See {@link Scheme}.
+	 * @param executor The executor used to evolve the components concurrently. If null, the components are evolved sequentially. The executor will not receive a shutdown.
+	 */
+	public EulerSchemeFromProcessModel(IndependentIncrements stochasticDriver, Scheme scheme, ExecutorService executor) {
+		this(stochasticDriver, scheme, executor, 1);
+	}
+
+	/**
+	 * Create an Euler discretization scheme.
+	 *
+	 * @param stochasticDriver The stochastic driver of the process (e.g. a Brownian motion).
+	 * @param scheme The scheme to use. See {@link Scheme}.
+	 */
+	public EulerSchemeFromProcessModel(IndependentIncrements stochasticDriver, Scheme scheme) {
+		this(stochasticDriver, scheme, getDefaultExecutor());
 	}
 
 	/**
@@ -84,8 +159,16 @@ public class EulerSchemeFromProcessModel extends MonteCarloProcessFromProcessMod
 	 * @param stochasticDriver The stochastic driver of the process (e.g. a Brownian motion).
 	 */
 	public EulerSchemeFromProcessModel(IndependentIncrements stochasticDriver) {
-		super(stochasticDriver.getTimeDiscretization());
-		this.stochasticDriver = stochasticDriver;
+		this(stochasticDriver, Scheme.EULER);
+	}
+
+	/**
+	 * Returns the executor shared by all Euler schemes which did not receive an executor upon construction.
+	 *
+	 * @return The shared executor or null, if multi-threadding is disabled via the system property.
+	 */
+	public static ExecutorService getDefaultExecutor() {
+		return isUseMultiThreadding ? DefaultExecutorHolder.DEFAULT_EXECUTOR : null;
 	}
 
 	/**
@@ -159,138 +242,167 @@ public class EulerSchemeFromProcessModel extends MonteCarloProcessFromProcessMod
 
 		/*
 		 * Evolve the process using an Euler scheme.
-		 * The evolution is performed multi-threadded.
-		 * Each component of the vector runs in its own thread.
+		 * The evolution is performed multi-threadded (if an executor is given).
+		 * Each task evolves a chunk of components of the vector.
 		 */
-		executor = Executors.newCachedThreadPool();
 
 		// Evolve process
 		for (int timeIndex2 = 1; timeIndex2 < getTimeDiscretization().getNumberOfTimeSteps()+1; timeIndex2++) {
 			final int timeIndex = timeIndex2;
-			// Generate process from timeIndex-1 to timeIndex
-			final double deltaT = getTime(timeIndex) - getTime(timeIndex - 1);
+			final RandomVariable[] previousState			= currentState.clone();
+			final RandomVariable[] previousProcessValues	= discreteProcess[timeIndex - 1];
 
-			// Fetch drift vector
-			final RandomVariable[] drift;
-			try {
-				drift = getDrift(timeIndex - 1, discreteProcess[timeIndex - 1], null);
+			// Generate process from timeIndex-1 to timeIndex
+			final RandomVariable[] stateAndProcessValues;
+			if(checkpointingFactory != null) {
+				stateAndProcessValues = checkpointingFactory.getValuesWithCheckpoint(() -> getStateAndProcessValues(timeIndex, previousState, previousProcessValues));
 			}
-			catch(Exception e) {
-				throw new RuntimeException("Drift calculaton failed at time index " + timeIndex + " (time=" + getTime(timeIndex - 1) + ") . See cause of this exception for details.", e);
+			else {
+				stateAndProcessValues = getStateAndProcessValues(timeIndex, previousState, previousProcessValues);
 			}
 
-			// Fetch brownianIncrement vector
-			final RandomVariable[] brownianIncrement	= stochasticDriver.getIncrement(timeIndex - 1);
+			System.arraycopy(stateAndProcessValues, 0, currentState, 0, numberOfComponents);
+			System.arraycopy(stateAndProcessValues, numberOfComponents, discreteProcess[timeIndex], 0, numberOfComponents);
 
-			// Calculate new realization
-			ArrayList<Future<RandomVariable>> discreteProcessAtCurrentTimeIndex = new ArrayList<>(numberOfComponents);
-			for (int componentIndex2 = 0; componentIndex2 < numberOfComponents; componentIndex2++) {
-				final int componentIndex = componentIndex2;
+			// Set Monte-Carlo weights
+			discreteProcessWeights[timeIndex] = discreteProcessWeights[timeIndex - 1];
+		} // End for(timeIndex)
+	}
 
-				final RandomVariable	driftOfComponent	= drift[componentIndex];
+	/**
+	 * Performs a single time step of the scheme. The method does not modify the state of this object.
+	 *
+	 * @param timeIndex The time index of the end of the time step.
+	 * @param previousState The state at the start of the time step.
+	 * @param previousProcessValues The process values at the start of the time step.
+	 * @return An array containing the state at the end of the time step, followed by the process values at the end of the time step.
+	 */
+	private RandomVariable[] getStateAndProcessValues(final int timeIndex, final RandomVariable[] previousState, final RandomVariable[] previousProcessValues) {
+		final int numberOfComponents	= this.getNumberOfComponents();
 
-				// Check if the component process has stopped to evolve
-				if (driftOfComponent == null) {
-					discreteProcessAtCurrentTimeIndex.add(componentIndex, null);
-					continue;
-				}
+		final RandomVariable[] currentState	= previousState.clone();
+		final RandomVariable[] processValues	= new RandomVariable[numberOfComponents];
 
-				Callable<RandomVariable> worker = new  Callable<RandomVariable>() {
-					@Override
-					public RandomVariable call() {
-						if(scheme == Scheme.EULER_FUNCTIONAL) {
-							currentState[componentIndex] = applyStateSpaceTransformInverse(componentIndex, discreteProcess[timeIndex - 1][componentIndex]);
-						}
+		final double deltaT = getTime(timeIndex) - getTime(timeIndex - 1);
 
-						RandomVariable[]	factorLoadings		= getFactorLoading(timeIndex - 1, componentIndex, discreteProcess[timeIndex - 1]);
+		// Fetch drift vector (and the factor loadings used in the calculation of the drift, if provided by the model)
+		final RandomVariable[] drift;
+		final RandomVariable[][] factorLoadingsOfTimeStep = new RandomVariable[numberOfComponents][];
+		try {
+			drift = getDrift(timeIndex - 1, previousProcessValues, null, factorLoadingsOfTimeStep);
+		}
+		catch(Exception e) {
+			throw new RuntimeException("Drift calculaton failed at time index " + timeIndex + " (time=" + getTime(timeIndex - 1) + ") . See cause of this exception for details.", e);
+		}
 
-						// Check if the component process has stopped to evolve
-						if (factorLoadings == null) {
-							return null;
-						}
+		// Fetch brownianIncrement vector
+		final RandomVariable[] brownianIncrement	= stochasticDriver.getIncrement(timeIndex - 1);
+
+		// Calculate new realization
+		ArrayList<Future<RandomVariable[]>> discreteProcessAtCurrentTimeIndex = new ArrayList<>();
+		for (int componentIndexStart2 = 0; componentIndexStart2 < numberOfComponents; componentIndexStart2 += numberOfComponentsPerTask) {
+			final int componentIndexStart	= componentIndexStart2;
+			final int componentIndexEnd		= Math.min(componentIndexStart + numberOfComponentsPerTask, numberOfComponents);
+
+			Callable<RandomVariable[]> worker = new  Callable<RandomVariable[]>() {
+				@Override
+				public RandomVariable[] call() {
+					RandomVariable[] valuesOfChunk = new RandomVariable[componentIndexEnd-componentIndexStart];
+					for(int componentIndex = componentIndexStart; componentIndex < componentIndexEnd; componentIndex++) {
+						valuesOfChunk[componentIndex-componentIndexStart] = getProcessValueOfComponent(componentIndex);
+					}
+					return valuesOfChunk;
+				}
 
-						// Apply drift
-						if(driftOfComponent != null) {
-							currentState[componentIndex] = currentState[componentIndex].addProduct(driftOfComponent, deltaT);
-						}
+				private RandomVariable getProcessValueOfComponent(int componentIndex) {
+					final RandomVariable	driftOfComponent	= drift[componentIndex];
 
-						// Apply diffusion
-						currentState[componentIndex] = currentState[componentIndex].addSumProduct(factorLoadings, brownianIncrement);
+					// Check if the component process has stopped to evolve
+					if (driftOfComponent == null) {
+						return null;
+					}
 
-						// Transform the state space to the value space and return it.
-						return applyStateSpaceTransform(componentIndex, currentState[componentIndex]).cache();
+					if(scheme == Scheme.EULER_FUNCTIONAL) {
+						currentState[componentIndex] = applyStateSpaceTransformInverse(componentIndex, previousProcessValues[componentIndex]);
 					}
-				};
-
-
-				/*
-				 * Optional multi-threadding (asyncronous calculation of the components)
-				 */
-				Future<RandomVariable> result = null;
-				try {
-					if(isUseMultiThreadding) {
-						result = executor.submit(worker);
-					} else {
-						result = new FutureWrapper<>(worker.call());
+
+					RandomVariable[]	factorLoadings		= factorLoadingsOfTimeStep[componentIndex] != null ? factorLoadingsOfTimeStep[componentIndex] : getFactorLoading(timeIndex - 1, componentIndex, previousProcessValues);
+
+					// Check if the component process has stopped to evolve
+					if (factorLoadings == null) {
+						return null;
 					}
-				} catch (Exception e) {
-					throw new RuntimeException("Euler step failed at time index " + timeIndex + " (time=" + getTime(timeIndex) + "). See cause of this exception for details.", e);
+
+					// Apply drift
+					currentState[componentIndex] = currentState[componentIndex].addProduct(driftOfComponent, deltaT);
+
+					// Apply diffusion
+					currentState[componentIndex] = currentState[componentIndex].addSumProduct(factorLoadings, brownianIncrement);
+
+					// Transform the state space to the value space and return it.
+					return applyStateSpaceTransform(componentIndex, currentState[componentIndex]).cache();
 				}
+			};
 
-				// The following line will add the result of the calculation to the vector discreteProcessAtCurrentTimeIndex
-				discreteProcessAtCurrentTimeIndex.add(componentIndex, result);
-			}
 
-			// Fetch results and move to discreteProcess[timeIndex]
-			for (int componentIndex = 0; componentIndex < numberOfComponents; componentIndex++) {
-				try {
-					Future<RandomVariable> discreteProcessAtCurrentTimeIndexAndComponent = discreteProcessAtCurrentTimeIndex.get(componentIndex);
-					if(discreteProcessAtCurrentTimeIndexAndComponent != null) {
-						discreteProcess[timeIndex][componentIndex] = discreteProcessAtCurrentTimeIndexAndComponent.get().cache();
-					} else {
-						discreteProcess[timeIndex][componentIndex] = null;
-					}
-				} catch (InterruptedException e) {
-					throw new RuntimeException("Euler step failed at time index " + timeIndex + " (time=" + getTime(timeIndex) + "). See cause of this exception for details.", e);
-				} catch (ExecutionException e) {
-					throw new RuntimeException("Euler step failed at time index " + timeIndex + " (time=" + getTime(timeIndex) + "). See cause of this exception for details.", e);
+			/*
+			 * Optional multi-threadding (asyncronous calculation of the components)
+			 */
+			Future<RandomVariable[]> result = null;
+			try {
+				if(executor != null) {
+					result = executor.submit(worker);
+				} else {
+					result = new FutureWrapper<>(worker.call());
 				}
+			} catch (Exception e) {
+				throw new RuntimeException("Euler step failed at time index " + timeIndex + " (time=" + getTime(timeIndex) + "). See cause of this exception for details.", e);
 			}
 
-			if (scheme == Scheme.PREDICTOR_CORRECTOR) {
-				// Apply corrector step to realizations at next time step
+			// The following line will add the result of the calculation to the vector discreteProcessAtCurrentTimeIndex
+			discreteProcessAtCurrentTimeIndex.add(result);
+		}
 
-				RandomVariable[] driftWithPredictor = getDrift(timeIndex - 1, discreteProcess[timeIndex], null);
+		// Fetch results and move to processValues
+		for (int chunkIndex = 0; chunkIndex < discreteProcessAtCurrentTimeIndex.size(); chunkIndex++) {
+			try {
+				RandomVariable[] discreteProcessAtCurrentTimeIndexAndChunk = discreteProcessAtCurrentTimeIndex.get(chunkIndex).get();
+				System.arraycopy(discreteProcessAtCurrentTimeIndexAndChunk, 0, processValues, chunkIndex * numberOfComponentsPerTask, discreteProcessAtCurrentTimeIndexAndChunk.length);
+			} catch (InterruptedException e) {
+				throw new RuntimeException("Euler step failed at time index " + timeIndex + " (time=" + getTime(timeIndex) + "). See cause of this exception for details.", e);
+			} catch (ExecutionException e) {
+				throw new RuntimeException("Euler step failed at time index " + timeIndex + " (time=" + getTime(timeIndex) + "). See cause of this exception for details.", e);
+			}
+		}
 
-				for (int componentIndex = 0; componentIndex < getNumberOfComponents(); componentIndex++) {
-					RandomVariable driftWithPredictorOfComponent		= driftWithPredictor[componentIndex];
-					RandomVariable driftWithoutPredictorOfComponent	= drift[componentIndex];
+		if (scheme == Scheme.PREDICTOR_CORRECTOR) {
+			// Apply corrector step to realizations at next time step
 
-					if (driftWithPredictorOfComponent == null || driftWithoutPredictorOfComponent == null) {
-						continue;
-					}
+			RandomVariable[] driftWithPredictor = getDrift(timeIndex - 1, processValues, null);
 
-					// Calculated the predictor corrector drift adjustment
-					RandomVariable driftAdjustment = driftWithPredictorOfComponent.sub(driftWithoutPredictorOfComponent).div(2.0).mult(deltaT);
+			for (int componentIndex = 0; componentIndex < numberOfComponents; componentIndex++) {
+				RandomVariable driftWithPredictorOfComponent		= driftWithPredictor[componentIndex];
+				RandomVariable driftWithoutPredictorOfComponent	= drift[componentIndex];
 
-					// Add drift adjustment
-					currentState[componentIndex] = currentState[componentIndex].add(driftAdjustment);
+				if (driftWithPredictorOfComponent == null || driftWithoutPredictorOfComponent == null) {
+					continue;
+				}
 
-					// Re-apply state space transform
-					discreteProcess[timeIndex][componentIndex] = applyStateSpaceTransform(componentIndex, currentState[componentIndex]);
-				} // End for(componentIndex)
-			} // End if(scheme == Scheme.PREDICTOR_CORRECTOR)
+				// Calculated the predictor corrector drift adjustment
+				RandomVariable driftAdjustment = driftWithPredictorOfComponent.sub(driftWithoutPredictorOfComponent).div(2.0).mult(deltaT);
 
-			// Set Monte-Carlo weights
-			discreteProcessWeights[timeIndex] = discreteProcessWeights[timeIndex - 1];
-		} // End for(timeIndex)
+				// Add drift adjustment
+				currentState[componentIndex] = currentState[componentIndex].add(driftAdjustment);
 
-		try {
-			executor.shutdown();
-		}
-		catch(SecurityException e) {
-			// @TODO Improve exception handling here
-		}
+				// Re-apply state space transform
+				processValues[componentIndex] = applyStateSpaceTransform(componentIndex, currentState[componentIndex]);
+			} // End for(componentIndex)
+		} // End if(scheme == Scheme.PREDICTOR_CORRECTOR)
+
+		RandomVariable[] stateAndProcessValues = new RandomVariable[2 * numberOfComponents];
+		System.arraycopy(currentState, 0, stateAndProcessValues, 0, numberOfComponents);
+		System.arraycopy(processValues, 0, stateAndProcessValues, numberOfComponents, numberOfComponents);
+		return stateAndProcessValues;
 	}
 
 	/**
@@ -340,9 +452,30 @@ public class EulerSchemeFromProcessModel extends MonteCarloProcessFromProcessMod
 		return scheme;
 	}
 
+	/**
+	 * @return Returns the executor used to evolve the components concurrently (null if the evolution is sequential).
+	 */
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * @return Returns the number of components evolved by a single task.
+	 */
+	public int getNumberOfComponentsPerTask() {
+		return numberOfComponentsPerTask;
+	}
+
+	/**
+	 * @return Returns the factory used to checkpoint the time steps (null if the time steps are not checkpointed).
+	 */
+	public AbstractRandomVariableDifferentiableFactory getCheckpointingFactory() {
+		return checkpointingFactory;
+	}
+
 	@Override
 	public EulerSchemeFromProcessModel clone() {
-		return new EulerSchemeFromProcessModel(getStochasticDriver(), scheme);
+		return new EulerSchemeFromProcessModel(getStochasticDriver(), scheme, executor, numberOfComponentsPerTask, checkpointingFactory);
 	}
 
 	@Override
@@ -353,13 +486,13 @@ public class EulerSchemeFromProcessModel extends MonteCarloProcessFromProcessMod
 
 	@Override
 	public Object getCloneWithModifiedSeed(int seed) {
-		return new EulerSchemeFromProcessModel(getBrownianMotion().getCloneWithModifiedSeed(seed));
+		return new EulerSchemeFromProcessModel(getBrownianMotion().getCloneWithModifiedSeed(seed), scheme, executor, numberOfComponentsPerTask, checkpointingFactory);
 	}
 
 	@Override
 	public String toString() {
 		return "EulerSchemeFromProcessModel [stochasticDriver=" + stochasticDriver + ", scheme=" + scheme + ", executor="
-				+ executor + "]";
+				+ executor + ", numberOfComponentsPerTask=" + numberOfComponentsPerTask + ", checkpointingFactory=" + checkpointingFactory + "]";
 	}
 
 }
@@ -0,0 +1,473 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo.process;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import net.finmath.concurrency.FutureWrapper;
+import net.finmath.montecarlo.AbstractRandomVariableFactory;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.IndependentIncrements;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.process.EulerSchemeFromProcessModel.Scheme;
+import net.finmath.stochastic.RandomVariable;
+
+/**
+ * This class implements the Euler schemes of {@link EulerSchemeFromProcessModel}, where the
+ * path dimension is partitioned into blocks and each block is evolved independently (and concurrently).
+ *
+ * While {@link EulerSchemeFromProcessModel} parallelizes across the components of the state vector, this scheme
+ * parallelizes across paths. This results in a speedup for low-dimensional models (e.g. one-factor models like
+ * the Black-Scholes model, the Heston model or the Hull-White model) with a large number of paths.
+ *
+ * For each block, the increments of the stochastic driver are restricted to the paths of the block. The block
+ * is then evolved over all time steps using the drift and factor loadings of the model. Finally, the
+ * realizations of the blocks are reassembled into random variables spanning all paths.
+ *
+ * The scheme requires that the model is path-wise, i.e., drift and factor loadings of a path depend on the
+ * paths only via the realizations passed to the model (this is the case for all models of this library
+ * which do not use conditional expectations in their drift). Since the random variables are sliced and
+ * reassembled via their realizations, the scheme generates values and does not propagate
+ * automatic differentiation across blocks.
+ *
+ * @author Christian Fries
+ * @see MonteCarloProcess The interface definition contains more details.
+ * @version 1.0
+ */
+public class EulerSchemeFromProcessModelWithPathBlocks extends MonteCarloProcessFromProcessModel {
+
+	private final IndependentIncrements stochasticDriver;
+
+	private final Scheme		scheme;
+
+	/*
+	 * Used for multi-threadded calculation. If null, the blocks are evolved sequentially.
+	 * Note: The executor is shared (e.g. among clones) and will not receive a shutdown.
+	 */
+	private final ExecutorService	executor;
+	private final int				numberOfPathBlocks;
+
+	private final AbstractRandomVariableFactory randomVariableFactory;
+
+	/*
+	 * The storage of the simulated stochastic process.
+	 */
+	private transient RandomVariable[][]	discreteProcess = null;
+	private transient RandomVariable[]		discreteProcessWeights;
+
+	/**
+	 * Create an Euler discretization scheme with path blocks.
+	 *
+	 * @param stochasticDriver The stochastic driver of the process (e.g. a Brownian motion).
+	 * @param scheme The scheme to use. See {@link Scheme}.
+	 * @param executor The executor used to evolve the blocks concurrently. If null, the blocks are evolved sequentially. The executor will not receive a shutdown.
+	 * @param numberOfPathBlocks The number of blocks the paths are partitioned into.
+	 * @param randomVariableFactory The factory used to create the random variables of the (sliced and reassembled) realizations.
+	 */
+	public EulerSchemeFromProcessModelWithPathBlocks(IndependentIncrements stochasticDriver, Scheme scheme, ExecutorService executor, int numberOfPathBlocks, AbstractRandomVariableFactory randomVariableFactory) {
+		super(stochasticDriver.getTimeDiscretization());
+		if(numberOfPathBlocks < 1) {
+			throw new IllegalArgumentException("Number of path blocks must be positive.");
+		}
+		this.stochasticDriver = stochasticDriver;
+		this.scheme = scheme;
+		this.executor = executor;
+		this.numberOfPathBlocks = Math.min(numberOfPathBlocks, stochasticDriver.getNumberOfPaths());
+		this.randomVariableFactory = randomVariableFactory;
+	}
+
+	/**
+	 * Create an Euler discretization scheme with path blocks.
+	 *
+	 * @param stochasticDriver The stochastic driver of the process (e.g. a Brownian motion).
+	 * @param scheme The scheme to use. See {@link Scheme}.
+	 * @param executor The executor used to evolve the blocks concurrently. If null, the blocks are evolved sequentially. The executor will not receive a shutdown.
+	 * @param numberOfPathBlocks The number of blocks the paths are partitioned into.
+	 */
+	public EulerSchemeFromProcessModelWithPathBlocks(IndependentIncrements stochasticDriver, Scheme scheme, ExecutorService executor, int numberOfPathBlocks) {
+		this(stochasticDriver, scheme, executor, numberOfPathBlocks, new RandomVariableFactory());
+	}
+
+	/**
+	 * Create an Euler discretization scheme with path blocks, using the executor
+	 * {@link EulerSchemeFromProcessModel#getDefaultExecutor()} and one block per available processor.
+	 *
+	 * @param stochasticDriver The stochastic driver of the process (e.g. a Brownian motion).
+	 * @param scheme The scheme to use. See {@link Scheme}.
+	 */
+	public EulerSchemeFromProcessModelWithPathBlocks(IndependentIncrements stochasticDriver, Scheme scheme) {
+		this(stochasticDriver, scheme, EulerSchemeFromProcessModel.getDefaultExecutor(), Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Create an Euler discretization scheme with path blocks, using the executor
+	 * {@link EulerSchemeFromProcessModel#getDefaultExecutor()} and one block per available processor.
+	 *
+	 * @param stochasticDriver The stochastic driver of the process (e.g. a Brownian motion).
+	 */
+	public EulerSchemeFromProcessModelWithPathBlocks(IndependentIncrements stochasticDriver) {
+		this(stochasticDriver, Scheme.EULER);
+	}
+
+	@Override
+	public RandomVariable getProcessValue(int timeIndex, int componentIndex) {
+		// Thread safe lazy initialization
+		synchronized(this) {
+			if (discreteProcess == null || discreteProcess.length == 0) {
+				doPrecalculateProcess();
+			}
+		}
+
+		if(discreteProcess[timeIndex][componentIndex] == null) {
+			throw new NullPointerException("Generation of process component " + componentIndex + " at time index " + timeIndex + " failed. Likely due to out of memory");
+		}
+
+		// Return value of process
+		return discreteProcess[timeIndex][componentIndex];
+	}
+
+	@Override
+	public RandomVariable getMonteCarloWeights(int timeIndex) {
+		// Thread safe lazy initialization
+		synchronized(this) {
+			if (discreteProcessWeights == null || discreteProcessWeights.length == 0) {
+				doPrecalculateProcess();
+			}
+		}
+
+		// Return value of process
+		return discreteProcessWeights[timeIndex];
+	}
+
+	/**
+	 * Calculates the whole (discrete) process by evolving each path block and reassembling the blocks.
+	 */
+	private void doPrecalculateProcess() {
+		if (discreteProcess != null && discreteProcess.length != 0) {
+			return;
+		}
+
+		final int numberOfPaths			= this.getNumberOfPaths();
+		final int numberOfComponents	= this.getNumberOfComponents();
+		final int numberOfTimes			= getTimeDiscretization().getNumberOfTimeSteps() + 1;
+
+		// Submit the evolution of the blocks
+		List<Future<RandomVariable[][]>> blockResults = new ArrayList<>(numberOfPathBlocks);
+		final int[] blockStart = new int[numberOfPathBlocks+1];
+		for(int blockIndex = 0; blockIndex < numberOfPathBlocks; blockIndex++) {
+			blockStart[blockIndex+1] = (int)((long)numberOfPaths * (blockIndex+1) / numberOfPathBlocks);
+		}
+
+		for(int blockIndex = 0; blockIndex < numberOfPathBlocks; blockIndex++) {
+			final int pathStart	= blockStart[blockIndex];
+			final int pathEnd	= blockStart[blockIndex+1];
+
+			Callable<RandomVariable[][]> worker = new Callable<RandomVariable[][]>() {
+				@Override
+				public RandomVariable[][] call() {
+					return evolveBlock(pathStart, pathEnd);
+				}
+			};
+
+			try {
+				if(executor != null) {
+					blockResults.add(executor.submit(worker));
+				} else {
+					blockResults.add(new FutureWrapper<>(worker.call()));
+				}
+			} catch (Exception e) {
+				throw new RuntimeException("Euler scheme failed for path block " + blockIndex + ". See cause of this exception for details.", e);
+			}
+		}
+
+		// Fetch results
+		RandomVariable[][][] discreteProcessOfBlocks = new RandomVariable[numberOfPathBlocks][][];
+		for(int blockIndex = 0; blockIndex < numberOfPathBlocks; blockIndex++) {
+			try {
+				discreteProcessOfBlocks[blockIndex] = blockResults.get(blockIndex).get();
+			} catch (InterruptedException | ExecutionException e) {
+				throw new RuntimeException("Euler scheme failed for path block " + blockIndex + ". See cause of this exception for details.", e);
+			}
+		}
+
+		// Reassemble blocks
+		RandomVariable[][] discreteProcess = new RandomVariable[numberOfTimes][numberOfComponents];
+		for(int timeIndex = 0; timeIndex < numberOfTimes; timeIndex++) {
+			for(int componentIndex = 0; componentIndex < numberOfComponents; componentIndex++) {
+				RandomVariable[] valueOfBlocks = new RandomVariable[numberOfPathBlocks];
+				for(int blockIndex = 0; blockIndex < numberOfPathBlocks; blockIndex++) {
+					valueOfBlocks[blockIndex] = discreteProcessOfBlocks[blockIndex][timeIndex][componentIndex];
+					discreteProcessOfBlocks[blockIndex][timeIndex][componentIndex] = null;		// Release memory
+				}
+				discreteProcess[timeIndex][componentIndex] = getRandomVariableFromBlocks(valueOfBlocks, blockStart);
+			}
+		}
+
+		// Set Monte-Carlo weights
+		RandomVariable[] discreteProcessWeights = new RandomVariable[numberOfTimes];
+		Arrays.fill(discreteProcessWeights, stochasticDriver.getRandomVariableForConstant(1.0 / numberOfPaths));
+
+		this.discreteProcessWeights = discreteProcessWeights;
+		this.discreteProcess = discreteProcess;
+	}
+
+	/**
+	 * Evolve the process for the paths pathStart (inclusive) to pathEnd (exclusive).
+	 *
+	 * @param pathStart The first path of the block.
+	 * @param pathEnd The end of the block (exclusive).
+	 * @return The process realizations of the block as array [timeIndex][componentIndex].
+	 */
+	private RandomVariable[][] evolveBlock(int pathStart, int pathEnd) {
+		final int numberOfFactors		= this.getNumberOfFactors();
+		final int numberOfComponents	= this.getNumberOfComponents();
+
+		RandomVariable[][] discreteProcessOfBlock = new RandomVariable[getTimeDiscretization().getNumberOfTimeSteps() + 1][numberOfComponents];
+
+		// Set initial value
+		RandomVariable[] initialState = getInitialState();
+		final RandomVariable[] currentState = new RandomVariable[numberOfComponents];
+		for (int componentIndex = 0; componentIndex < numberOfComponents; componentIndex++) {
+			currentState[componentIndex] = getRandomVariableForBlock(initialState[componentIndex], pathStart, pathEnd);
+			discreteProcessOfBlock[0][componentIndex] = applyStateSpaceTransform(componentIndex, currentState[componentIndex]);
+		}
+
+		// Evolve process
+		for (int timeIndex = 1; timeIndex < getTimeDiscretization().getNumberOfTimeSteps()+1; timeIndex++) {
+			// Generate process from timeIndex-1 to timeIndex
+			final double deltaT = getTime(timeIndex) - getTime(timeIndex - 1);
+
+			// Fetch drift vector
+			final RandomVariable[] drift;
+			try {
+				drift = getDrift(timeIndex - 1, discreteProcessOfBlock[timeIndex - 1], null);
+			}
+			catch(Exception e) {
+				throw new RuntimeException("Drift calculaton failed at time index " + timeIndex + " (time=" + getTime(timeIndex - 1) + ") . See cause of this exception for details.", e);
+			}
+
+			// Fetch brownianIncrement vector, restricted to the block
+			final RandomVariable[] brownianIncrement = new RandomVariable[numberOfFactors];
+			for(int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
+				brownianIncrement[factorIndex] = getRandomVariableForBlock(stochasticDriver.getIncrement(timeIndex - 1, factorIndex), pathStart, pathEnd);
+			}
+
+			// Calculate new realization
+			for (int componentIndex = 0; componentIndex < numberOfComponents; componentIndex++) {
+				final RandomVariable	driftOfComponent	= drift[componentIndex];
+
+				// Check if the component process has stopped to evolve
+				if (driftOfComponent == null) {
+					discreteProcessOfBlock[timeIndex][componentIndex] = null;
+					continue;
+				}
+
+				if(scheme == Scheme.EULER_FUNCTIONAL) {
+					currentState[componentIndex] = applyStateSpaceTransformInverse(componentIndex, discreteProcessOfBlock[timeIndex - 1][componentIndex]);
+				}
+
+				RandomVariable[]	factorLoadings		= getFactorLoading(timeIndex - 1, componentIndex, discreteProcessOfBlock[timeIndex - 1]);
+
+				// Check if the component process has stopped to evolve
+				if (factorLoadings == null) {
+					discreteProcessOfBlock[timeIndex][componentIndex] = null;
+					continue;
+				}
+
+				// Apply drift
+				currentState[componentIndex] = currentState[componentIndex].addProduct(driftOfComponent, deltaT);
+
+				// Apply diffusion
+				currentState[componentIndex] = currentState[componentIndex].addSumProduct(factorLoadings, brownianIncrement);
+
+				// Transform the state space to the value space
+				discreteProcessOfBlock[timeIndex][componentIndex] = applyStateSpaceTransform(componentIndex, currentState[componentIndex]).cache();
+			}
+
+			if (scheme == Scheme.PREDICTOR_CORRECTOR) {
+				// Apply corrector step to realizations at next time step
+				RandomVariable[] driftWithPredictor = getDrift(timeIndex - 1, discreteProcessOfBlock[timeIndex], null);
+
+				for (int componentIndex = 0; componentIndex < numberOfComponents; componentIndex++) {
+					RandomVariable driftWithPredictorOfComponent		= driftWithPredictor[componentIndex];
+					RandomVariable driftWithoutPredictorOfComponent	= drift[componentIndex];
+
+					if (driftWithPredictorOfComponent == null || driftWithoutPredictorOfComponent == null) {
+						continue;
+					}
+
+					// Calculated the predictor corrector drift adjustment
+					RandomVariable driftAdjustment = driftWithPredictorOfComponent.sub(driftWithoutPredictorOfComponent).div(2.0).mult(deltaT);
+
+					// Add drift adjustment
+					currentState[componentIndex] = currentState[componentIndex].add(driftAdjustment);
+
+					// Re-apply state space transform
+					discreteProcessOfBlock[timeIndex][componentIndex] = applyStateSpaceTransform(componentIndex, currentState[componentIndex]);
+				}
+			}
+		}
+
+		return discreteProcessOfBlock;
+	}
+
+	/**
+	 * Returns the restriction of a random variable to the paths pathStart (inclusive) to pathEnd (exclusive).
+	 * Deterministic random variables are returned as is.
+	 */
+	private RandomVariable getRandomVariableForBlock(RandomVariable randomVariable, int pathStart, int pathEnd) {
+		if(randomVariable == null || randomVariable.isDeterministic()) {
+			return randomVariable;
+		}
+		// Use get(int) since getRealizations() may return a copy of all paths
+		double[] realizationsOfBlock = new double[pathEnd-pathStart];
+		for(int pathIndex = pathStart; pathIndex < pathEnd; pathIndex++) {
+			realizationsOfBlock[pathIndex-pathStart] = randomVariable.get(pathIndex);
+		}
+		return randomVariableFactory.createRandomVariable(randomVariable.getFiltrationTime(), realizationsOfBlock);
+	}
+
+	/**
+	 * Reassembles a random variable from its restrictions to the path blocks.
+	 */
+	private RandomVariable getRandomVariableFromBlocks(RandomVariable[] valueOfBlocks, int[] blockStart) {
+		if(valueOfBlocks[0] == null) {
+			return null;
+		}
+
+		// If all blocks agree on a deterministic value, the result is deterministic
+		boolean isDeterministic = true;
+		for(RandomVariable valueOfBlock : valueOfBlocks) {
+			isDeterministic &= valueOfBlock.isDeterministic() && valueOfBlock.get(0) == valueOfBlocks[0].get(0);
+		}
+		if(isDeterministic) {
+			return valueOfBlocks[0];
+		}
+
+		double filtrationTime = Double.NEGATIVE_INFINITY;
+		double[] realizations = new double[blockStart[blockStart.length-1]];
+		for(int blockIndex = 0; blockIndex < valueOfBlocks.length; blockIndex++) {
+			RandomVariable valueOfBlock = valueOfBlocks[blockIndex];
+			filtrationTime = Math.max(filtrationTime, valueOfBlock.getFiltrationTime());
+			if(valueOfBlock.isDeterministic()) {
+				Arrays.fill(realizations, blockStart[blockIndex], blockStart[blockIndex+1], valueOfBlock.get(0));
+			}
+			else {
+				for(int pathIndex = blockStart[blockIndex]; pathIndex < blockStart[blockIndex+1]; pathIndex++) {
+					realizations[pathIndex] = valueOfBlock.get(pathIndex-blockStart[blockIndex]);
+				}
+			}
+		}
+
+		return randomVariableFactory.createRandomVariable(filtrationTime, realizations);
+	}
+
+	/**
+	 * @return Returns the numberOfPaths.
+	 */
+	@Override
+	public int getNumberOfPaths() {
+		return this.stochasticDriver.getNumberOfPaths();
+	}
+
+	/**
+	 * @return Returns the numberOfFactors.
+	 */
+	@Override
+	public int getNumberOfFactors() {
+		return this.stochasticDriver.getNumberOfFactors();
+	}
+
+	/**
+	 * @return Returns the independent increments interface used in the generation of the process
+	 */
+	@Override
+	public IndependentIncrements getStochasticDriver() {
+		return stochasticDriver;
+	}
+
+	/**
+	 * @return Returns the Brownian motion used in the generation of the process
+	 * @deprecated Please use getStochasticDriver() instead.
+	 */
+	@Override
+	@Deprecated
+	public BrownianMotion getBrownianMotion() {
+		return (BrownianMotion)stochasticDriver;
+	}
+
+	/**
+	 * @return Returns the scheme.
+	 */
+	public Scheme getScheme() {
+		return scheme;
+	}
+
+	/**
+	 * @return Returns the number of path blocks.
+	 */
+	public int getNumberOfPathBlocks() {
+		return numberOfPathBlocks;
+	}
+
+	@Override
+	public EulerSchemeFromProcessModelWithPathBlocks clone() {
+		return new EulerSchemeFromProcessModelWithPathBlocks(getStochasticDriver(), scheme, executor, numberOfPathBlocks, randomVariableFactory);
+	}
+
+	/**
+	 * Returns a clone of this process where the specified properties have been modified.
+	 *
+	 * The keys <code>seed</code> (<code>Integer</code>), <code>scheme</code> (<code>Scheme</code> or its name) and
+	 * <code>numberOfPathBlocks</code> (<code>Integer</code>) are supported; other keys are ignored.
+	 *
+	 * @param dataModified Key-value-map of parameters to modify.
+	 * @return A clone of this process (or this process if no parameter was modified).
+	 */
+	@Override
+	public MonteCarloProcess getCloneWithModifiedData(Map<String, Object> dataModified) {
+		IndependentIncrements	newStochasticDriver		= stochasticDriver;
+		Scheme					newScheme				= scheme;
+		int						newNumberOfPathBlocks	= numberOfPathBlocks;
+
+		if(dataModified != null) {
+			if(dataModified.get("seed") != null) {
+				newStochasticDriver = stochasticDriver.getCloneWithModifiedSeed(((Number)dataModified.get("seed")).intValue());
+			}
+			if(dataModified.get("scheme") != null) {
+				Object schemeModified = dataModified.get("scheme");
+				newScheme = schemeModified instanceof Scheme ? (Scheme)schemeModified : Scheme.valueOf(schemeModified.toString().toUpperCase());
+			}
+			if(dataModified.get("numberOfPathBlocks") != null) {
+				newNumberOfPathBlocks = ((Number)dataModified.get("numberOfPathBlocks")).intValue();
+			}
+		}
+
+		if(newStochasticDriver == stochasticDriver && newScheme == scheme && newNumberOfPathBlocks == numberOfPathBlocks) {
+			return this;
+		}
+
+		return new EulerSchemeFromProcessModelWithPathBlocks(newStochasticDriver, newScheme, executor, newNumberOfPathBlocks, randomVariableFactory);
+	}
+
+	@Override
+	public Object getCloneWithModifiedSeed(int seed) {
+		return new EulerSchemeFromProcessModelWithPathBlocks(stochasticDriver.getCloneWithModifiedSeed(seed), scheme, executor, numberOfPathBlocks, randomVariableFactory);
+	}
+
+	@Override
+	public String toString() {
+		return "EulerSchemeFromProcessModelWithPathBlocks [stochasticDriver=" + stochasticDriver + ", scheme=" + scheme + ", executor="
+				+ executor + ", numberOfPathBlocks=" + numberOfPathBlocks + "]";
+	}
+}
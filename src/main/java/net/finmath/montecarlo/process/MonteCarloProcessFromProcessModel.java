@@ -63,6 +63,10 @@ public abstract class MonteCarloProcessFromProcessModel implements MonteCarloPro
 		return model.getDrift(timeIndex, realizationAtTimeIndex, realizationPredictor);
 	}
 
+	public RandomVariable[]	getDrift(int timeIndex, RandomVariable[] realizationAtTimeIndex, RandomVariable[] realizationPredictor, RandomVariable[][] factorLoadings) {
+		return model.getDrift(timeIndex, realizationAtTimeIndex, realizationPredictor, factorLoadings);
+	}
+
 	public RandomVariable[]	getFactorLoading(int timeIndex, int component, RandomVariable[] realizationAtTimeIndex) {
 		// Delegate to model
 		return model.getFactorLoading(timeIndex, component, realizationAtTimeIndex);
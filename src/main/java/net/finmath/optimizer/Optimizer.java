@@ -23,6 +23,25 @@ public interface Optimizer {
 		void setValues(double[] parameters, double[] values) throws SolverException;
 	}
 
+	/**
+	 * Interface for an objective function which may provide the derivatives of its values with respect to the parameters
+	 * (e.g. calculated analytically), such that the optimizer does not need to calculate them by finite differences.
+	 *
+	 * @author Christian Fries
+	 */
+	interface ObjectiveFunctionWithDerivatives extends ObjectiveFunction {
+
+		/**
+		 * Calculate the derivatives of the values with respect to the parameters.
+		 *
+		 * @param parameters Input value. The parameter vector.
+		 * @param derivatives Output value, where derivatives[i][j] is d(value(j)) / d(parameters(i)).
+		 * @return True, if the derivatives have been calculated, false if they are not available (the optimizer then uses finite differences).
+		 * @throws SolverException Thrown if the valuation fails, specific cause may be available via the <code>cause()</code> method.
+		 */
+		boolean setDerivatives(double[] parameters, double[][] derivatives) throws SolverException;
+	}
+
 	/**
 	 * Get the best fit parameter vector.
 	 *
@@ -7,6 +7,7 @@
 package net.finmath.optimizer;
 
 import net.finmath.optimizer.Optimizer.ObjectiveFunction;
+import net.finmath.optimizer.Optimizer.ObjectiveFunctionWithDerivatives;
 
 /**
  * @author Christian Fries
@@ -60,6 +61,13 @@ public class OptimizerFactoryLevenbergMarquardt implements OptimizerFactory {
 			public void setValues(double[] parameters, double[] values) throws SolverException {
 				objectiveFunction.setValues(parameters, values);
 			}
+
+			@Override
+			public void setDerivatives(double[] parameters, double[][] derivatives) throws SolverException {
+				if(!(objectiveFunction instanceof ObjectiveFunctionWithDerivatives) || !((ObjectiveFunctionWithDerivatives)objectiveFunction).setDerivatives(parameters, derivatives)) {
+					super.setDerivatives(parameters, derivatives);
+				}
+			}
 		})
 				.setErrorTolerance(errorTolerance)
 				.setParameterSteps(parameterSteps);
@@ -0,0 +1,369 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.randomnumbers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implements a multi-dimensional Sobol sequence (quasi random numbers).
+ *
+ * The sequence is generated incrementally using the Gray code ordering (Antonov and Saleev),
+ * i.e., each new point requires a single XOR per dimension. Random access to the point with a given index is
+ * provided via {@link #skipTo(long)}.
+ *
+ * The direction numbers of the first 1000 dimensions are the ones of Joe and Kuo (new-joe-kuo-6, as distributed with commons-math).
+ * Additional dimensions use the subsequent primitive polynomials (ordered by degree and coefficients) with
+ * initial direction numbers drawn deterministically from a uniform distribution (as proposed by J&auml;ckel, 2002).
+ * Hence, the dimension is only limited by the number of primitive polynomials of degree less than 32.
+ *
+ * The sequence may optionally be randomized by a scrambling, see {@link ScramblingType}.
+ * The numbers are generated with a resolution of 32 bits and mapped to the midpoint of their interval, i.e.,
+ * all numbers lie in the open interval (0,1). Since the first point of an unscrambled Sobol sequence is the origin,
+ * the unscrambled sequence starts with the point of index 1.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class SobolSequence implements RandomNumberGenerator {
+
+	/**
+	 * The randomization applied to the Sobol sequence.
+	 */
+	public enum ScramblingType {
+		/**
+		 * No scrambling (the sequence starts with the point of index 1).
+		 */
+		NONE,
+
+		/**
+		 * A random digital shift, i.e., each dimension is XORed with a random 32 bit integer.
+		 */
+		DIGITAL_SHIFT,
+
+		/**
+		 * A nested uniform (Owen type) scrambling, implemented by a hash based permutation of the bit reversed numbers (Laine and Karras, 2011; Burley, 2020).
+		 */
+		OWEN
+	}
+
+	private static final int		BITS = 32;
+	private static final double		SCALE = 1.0 / (1L << BITS);
+	private static final String		JOE_KUO_DIRECTION_NUMBERS = "/assets/org/apache/commons/math3/random/new-joe-kuo-6.1000";
+
+	// Cache of direction numbers (shared by all instances), grows on demand
+	private static final List<int[]>	directionNumbersCache = new ArrayList<>();
+	private static int					lastPolynomialDegree = 0;
+	private static int					lastPolynomialCoefficients = 0;
+
+	private final int				dimension;
+	private final int[][]			directionNumbers;
+	private final ScramblingType	scramblingType;
+	private final int[]				scramblingSeeds;
+
+	private final int[]		currentPoint;
+	private long			currentIndex;
+
+	/**
+	 * Constructs a Sobol sequence of the given dimension, randomized by the given scrambling.
+	 *
+	 * @param dimension The dimension of the sequence.
+	 * @param scramblingType The scrambling applied to the sequence.
+	 * @param seed The seed of the scrambling (ignored for {@link ScramblingType#NONE}).
+	 */
+	public SobolSequence(int dimension, ScramblingType scramblingType, long seed) {
+		if(dimension < 1) {
+			throw new IllegalArgumentException("Dimension must be positive.");
+		}
+
+		this.dimension = dimension;
+		this.directionNumbers = getDirectionNumbers(dimension);
+		this.scramblingType = scramblingType;
+
+		this.scramblingSeeds = new int[dimension];
+		if(scramblingType != ScramblingType.NONE) {
+			SplitMix64 randomNumberGenerator = new SplitMix64(seed);
+			for(int i=0; i<dimension; i++) {
+				// Cast via long: a double in [2^31, 2^32) cast to int would saturate at Integer.MAX_VALUE
+				scramblingSeeds[i] = (int)(long)(randomNumberGenerator.nextDouble() * (1L << BITS));
+			}
+		}
+
+		this.currentPoint = new int[dimension];
+		this.currentIndex = 0;
+
+		if(scramblingType == ScramblingType.NONE) {
+			skipTo(1);
+		}
+	}
+
+	/**
+	 * Constructs an (unscrambled) Sobol sequence of the given dimension.
+	 *
+	 * @param dimension The dimension of the sequence.
+	 */
+	public SobolSequence(int dimension) {
+		this(dimension, ScramblingType.NONE, 0);
+	}
+
+	@Override
+	public double[] getNext() {
+		double[] x = new double[dimension];
+		for(int i=0; i<dimension; i++) {
+			x[i] = getScrambledValue(currentPoint[i], i);
+		}
+
+		// Gray code increment: the next point differs in the direction number of the lowest zero bit of the current index.
+		int bit = Long.numberOfTrailingZeros(currentIndex+1);
+		if(bit >= BITS) {
+			throw new IllegalStateException("Maximum number of points of the Sobol sequence exceeded.");
+		}
+		for(int i=0; i<dimension; i++) {
+			currentPoint[i] ^= directionNumbers[i][bit];
+		}
+		currentIndex++;
+
+		return x;
+	}
+
+	/**
+	 * Moves the sequence such that the next call of {@link #getNext()} returns the point with the given index.
+	 *
+	 * @param index The index of the next point (the point with index 0 is the origin of the unscrambled sequence).
+	 */
+	public void skipTo(long index) {
+		if(index < 0 || index >= (1L << BITS)) {
+			throw new IllegalArgumentException("Index out of range of the Sobol sequence.");
+		}
+
+		long grayCode = index ^ (index >>> 1);
+		for(int i=0; i<dimension; i++) {
+			int point = 0;
+			for(int bit=0; bit<BITS; bit++) {
+				if(((grayCode >>> bit) & 1) == 1) {
+					point ^= directionNumbers[i][bit];
+				}
+			}
+			currentPoint[i] = point;
+		}
+		currentIndex = index;
+	}
+
+	/**
+	 * Returns the index of the point returned by the next call of {@link #getNext()}.
+	 *
+	 * @return The index of the next point.
+	 */
+	public long getNextIndex() {
+		return currentIndex;
+	}
+
+	@Override
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * @return Returns the scrambling type.
+	 */
+	public ScramblingType getScramblingType() {
+		return scramblingType;
+	}
+
+	/**
+	 * Returns the 32 bit key used in the scrambling of the given dimension.
+	 *
+	 * @param dimensionIndex The index of the dimension.
+	 * @return The key of the scrambling (0 for {@link ScramblingType#NONE}).
+	 */
+	int getScramblingSeed(int dimensionIndex) {
+		return scramblingSeeds[dimensionIndex];
+	}
+
+	private double getScrambledValue(int point, int dimensionIndex) {
+		switch(scramblingType) {
+		case DIGITAL_SHIFT:
+			point ^= scramblingSeeds[dimensionIndex];
+			break;
+		case OWEN:
+			point = Integer.reverse(point);
+			point += scramblingSeeds[dimensionIndex];
+			point ^= point * 0x6c50b47c;
+			point ^= point * 0xb82f1e52;
+			point ^= point * 0xc7afe638;
+			point ^= point * 0x8d22f6e6;
+			point = Integer.reverse(point);
+			break;
+		case NONE:
+		default:
+			break;
+		}
+
+		return ((point & 0xFFFFFFFFL) + 0.5) * SCALE;
+	}
+
+	/*
+	 * Generation of direction numbers
+	 */
+
+	private static synchronized int[][] getDirectionNumbers(int dimension) {
+		if(directionNumbersCache.isEmpty()) {
+			// First dimension: van der Corput sequence
+			int[] directionNumbersOfFirstDimension = new int[BITS];
+			for(int bit=0; bit<BITS; bit++) {
+				directionNumbersOfFirstDimension[bit] = 1 << (BITS-1-bit);
+			}
+			directionNumbersCache.add(directionNumbersOfFirstDimension);
+
+			readJoeKuoDirectionNumbers();
+		}
+
+		while(directionNumbersCache.size() < dimension) {
+			// Find next primitive polynomial
+			do {
+				lastPolynomialCoefficients++;
+				if(lastPolynomialCoefficients >= (1 << (lastPolynomialDegree-1))) {
+					lastPolynomialDegree++;
+					lastPolynomialCoefficients = 0;
+				}
+				if(lastPolynomialDegree >= BITS) {
+					throw new IllegalArgumentException("Dimension " + dimension + " exceeds the maximum dimension of the Sobol sequence.");
+				}
+			}
+			while(!isPrimitivePolynomial(lastPolynomialDegree, lastPolynomialCoefficients));
+
+			// Draw initial direction numbers m_k (odd, less than 2^k)
+			SplitMix64 randomNumberGenerator = new SplitMix64(directionNumbersCache.size());
+			int[] m = new int[lastPolynomialDegree];
+			for(int k=0; k<m.length; k++) {
+				m[k] = 2 * (int)(randomNumberGenerator.nextDouble() * (1 << k)) + 1;
+			}
+
+			directionNumbersCache.add(getDirectionNumbers(lastPolynomialDegree, lastPolynomialCoefficients, m));
+		}
+
+		return directionNumbersCache.subList(0, dimension).toArray(new int[dimension][]);
+	}
+
+	private static void readJoeKuoDirectionNumbers() {
+		InputStream inputStream = org.apache.commons.math3.random.SobolSequenceGenerator.class.getResourceAsStream(JOE_KUO_DIRECTION_NUMBERS);
+		if(inputStream == null) {
+			// Resource not available: all dimensions will be generated.
+			lastPolynomialDegree = 1;
+			lastPolynomialCoefficients = -1;
+			return;
+		}
+
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.US_ASCII))) {
+			// Skip header
+			String line = reader.readLine();
+			while((line = reader.readLine()) != null) {
+				String[] tokens = line.trim().split("\\s+");
+				int degree			= Integer.parseInt(tokens[1]);
+				int coefficients	= Integer.parseInt(tokens[2]);
+				int[] m = new int[degree];
+				for(int k=0; k<degree; k++) {
+					m[k] = Integer.parseInt(tokens[3+k]);
+				}
+				directionNumbersCache.add(getDirectionNumbers(degree, coefficients, m));
+				lastPolynomialDegree		= degree;
+				lastPolynomialCoefficients	= coefficients;
+			}
+		}
+		catch(IOException | RuntimeException e) {
+			throw new IllegalStateException("Failed to read direction numbers of the Sobol sequence.", e);
+		}
+	}
+
+	/**
+	 * Calculate the direction numbers from the primitive polynomial and the initial direction numbers (see Joe and Kuo, 2008).
+	 *
+	 * @param degree The degree s of the polynomial.
+	 * @param coefficients The coefficients a_1,...,a_{s-1} of the polynomial encoded as bits (a_1 being the most significant bit).
+	 * @param m The initial direction numbers m_1,...,m_s.
+	 * @return The direction numbers.
+	 */
+	private static int[] getDirectionNumbers(int degree, int coefficients, int[] m) {
+		int[] v = new int[BITS];
+		for(int bit=0; bit<Math.min(degree, BITS); bit++) {
+			v[bit] = m[bit] << (BITS-1-bit);
+		}
+		for(int bit=degree; bit<BITS; bit++) {
+			v[bit] = v[bit-degree] ^ (v[bit-degree] >>> degree);
+			for(int k=1; k<degree; k++) {
+				if(((coefficients >>> (degree-1-k)) & 1) == 1) {
+					v[bit] ^= v[bit-k];
+				}
+			}
+		}
+		return v;
+	}
+
+	/**
+	 * Check if x^s + a_1 x^{s-1} + ... + a_{s-1} x + 1 is a primitive polynomial over GF(2).
+	 *
+	 * The polynomial is primitive if and only if the order of x modulo the polynomial is 2^s-1.
+	 */
+	private static boolean isPrimitivePolynomial(int degree, int coefficients) {
+		long polynomial = (1L << degree) | ((long)coefficients << 1) | 1L;
+		long order = (1L << degree) - 1;
+
+		if(powerOfXModulo(order, polynomial, degree) != 1) {
+			return false;
+		}
+
+		// Check all prime factors of the order
+		long remainder = order;
+		for(long factor = 2; factor*factor <= remainder; factor++) {
+			if(remainder % factor == 0) {
+				if(powerOfXModulo(order / factor, polynomial, degree) == 1) {
+					return false;
+				}
+				while(remainder % factor == 0) {
+					remainder /= factor;
+				}
+			}
+		}
+		if(remainder > 1 && remainder != order && powerOfXModulo(order / remainder, polynomial, degree) == 1) {
+			return false;
+		}
+
+		return true;
+	}
+
+	private static long powerOfXModulo(long exponent, long polynomial, int degree) {
+		long result = 1;
+		long base = degree > 1 ? 2 : (2 ^ polynomial);	// x mod polynomial
+		while(exponent > 0) {
+			if((exponent & 1) == 1) {
+				result = multiplyModulo(result, base, polynomial, degree);
+			}
+			base = multiplyModulo(base, base, polynomial, degree);
+			exponent >>>= 1;
+		}
+		return result;
+	}
+
+	private static long multiplyModulo(long a, long b, long polynomial, int degree) {
+		long result = 0;
+		while(b != 0) {
+			if((b & 1) == 1) {
+				result ^= a;
+			}
+			b >>>= 1;
+			a <<= 1;
+			if(((a >>> degree) & 1) == 1) {
+				a ^= polynomial;
+			}
+		}
+		return result;
+	}
+}
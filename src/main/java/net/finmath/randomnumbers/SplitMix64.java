@@ -0,0 +1,78 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.randomnumbers;
+
+import java.io.Serializable;
+
+/**
+ * Implements the counter based random number generator SplitMix64 (see Steele, Lea, Flood (2014)).
+ *
+ * The i-th number of the sequence is a function of the seed and the index i only,
+ * hence the generator allows random access (jump ahead) to any element of the sequence
+ * via {@link #getDouble(long)}. This allows to generate disjoint parts of a sequence
+ * concurrently, with a result which does not depend on the number of threads used.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class SplitMix64 implements RandomNumberGenerator, Serializable {
+
+	private static final long serialVersionUID = 4307862915452263419L;
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+	private final long seed;
+
+	private long currentIndex = 0;
+
+	/**
+	 * Create the generator for a given seed.
+	 *
+	 * @param seed The seed.
+	 */
+	public SplitMix64(long seed) {
+		super();
+		// Mix the seed, such that neighbouring seeds do not generate shifted sequences.
+		this.seed = mix64(seed);
+	}
+
+	/**
+	 * Returns the next random number in the sequence.
+	 *
+	 * @return The next random number in the sequence.
+	 */
+	public double nextDouble() {
+		return getDouble(currentIndex++);
+	}
+
+	/**
+	 * Returns the random number with the given index in the sequence.
+	 * The random number is uniform distributed in the open interval (0,1).
+	 *
+	 * @param index The index of the random number in the sequence (starting at 0).
+	 * @return The random number with the given index.
+	 */
+	public double getDouble(long index) {
+		return ((mix64(seed + (index+1) * GOLDEN_GAMMA) >>> 11) + 0.5) * DOUBLE_UNIT;
+	}
+
+	@Override
+	public double[] getNext() {
+		return new double[] { nextDouble() };
+	}
+
+	@Override
+	public int getDimension() {
+		return 1;
+	}
+
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -22,4 +22,23 @@ public interface ConditionalExpectationEstimator {
 	 * @return The conditional expectation of <code>randomVariable</code>.
 	 */
 	RandomVariable getConditionalExpectation(RandomVariable randomVariable);
+
+	/**
+	 * Return the conditional expectations of given random variables.
+	 * Implementations may calculate the conditional expectations of all random variables together
+	 * (e.g., in a single pass over the paths).
+	 *
+	 * The default implementation calls {@link RandomVariable#getConditionalExpectation(ConditionalExpectationEstimator)}
+	 * for each random variable.
+	 *
+	 * @param randomVariables Given random variables.
+	 * @return The conditional expectations of the <code>randomVariables</code>.
+	 */
+	default RandomVariable[] getConditionalExpectations(RandomVariable[] randomVariables) {
+		RandomVariable[] conditionalExpectations = new RandomVariable[randomVariables.length];
+		for(int i=0; i<randomVariables.length; i++) {
+			conditionalExpectations[i] = randomVariables[i].getConditionalExpectation(this);
+		}
+		return conditionalExpectations;
+	}
 }
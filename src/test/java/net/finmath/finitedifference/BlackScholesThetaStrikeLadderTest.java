@@ -0,0 +1,125 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.finitedifference;
+
+import java.util.Random;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.finitedifference.models.FDMBlackScholesModel;
+import net.finmath.finitedifference.models.FiniteDifference1DModel;
+import net.finmath.finitedifference.products.FDMEuropeanCallOption;
+import net.finmath.finitedifference.solvers.TridiagonalMatrix;
+import net.finmath.functions.AnalyticFormulas;
+
+/**
+ * Tests the valuation of a strike ladder of European options with the theta method
+ * (all payoffs rolled back at once) and the tridiagonal solver.
+ *
+ * @author Christian Fries
+ */
+public class BlackScholesThetaStrikeLadderTest {
+
+	private final double riskFreeRate = 0.06;
+	private final double volatility = 0.4;
+	private final double optionMaturity = 1;
+
+	@Test
+	public void testStrikeLadder() {
+		FiniteDifference1DModel model = new FDMBlackScholesModel(
+				35,		// numTimesteps
+				120,	// numSpacesteps
+				5,		// numStandardDeviations
+				50,		// center of the grid
+				0.5,	// theta
+				50,		// initialValue
+				riskFreeRate,
+				volatility);
+
+		int numberOfStrikes = 2000;
+		double[] optionStrikes = new double[numberOfStrikes];
+		for(int i=0; i<numberOfStrikes; i++) {
+			optionStrikes[i] = 40.0 + 20.0 * i / (numberOfStrikes-1);
+		}
+
+		long millisStart = System.currentTimeMillis();
+		double[][] values = FDMEuropeanCallOption.getValues(0.0, model, optionMaturity, optionStrikes);
+		long millisEnd = System.currentTimeMillis();
+		System.out.println("Valuation of " + numberOfStrikes + " strikes took " + (millisEnd-millisStart) + " ms.");
+
+		Assert.assertEquals(1 + numberOfStrikes, values.length);
+
+		// The batched valuation agrees with the valuation of the single option
+		for(int i=0; i<numberOfStrikes; i+=199) {
+			double[][] valueOfSingleOption = new FDMEuropeanCallOption(optionMaturity, optionStrikes[i]).getValue(0.0, model);
+			Assert.assertArrayEquals("States", valueOfSingleOption[0], values[0], 0.0);
+			Assert.assertArrayEquals("Strike " + optionStrikes[i], valueOfSingleOption[1], values[1+i], 1E-12);
+		}
+
+		// The values agree with the analytic formula
+		double[] stockPrices = values[0];
+		double maxError = 0.0;
+		for(int i=0; i<numberOfStrikes; i++) {
+			for(int j=0; j<stockPrices.length; j++) {
+				double valueAnalytic = AnalyticFormulas.blackScholesOptionValue(stockPrices[j], riskFreeRate, volatility, optionMaturity, optionStrikes[i], true);
+				maxError = Math.max(maxError, Math.abs(values[1+i][j] - valueAnalytic));
+			}
+		}
+		System.out.println("Maximum deviation from analytic value: " + maxError);
+		Assert.assertEquals(0.0, maxError, 2.5e-2);
+	}
+
+	@Test
+	public void testTridiagonalSolverAgreesWithLUDecomposition() {
+		int size = 50;
+		int numberOfColumns = 3;
+		Random random = new Random(3141);
+
+		double[] lowerDiagonal = new double[size];
+		double[] diagonal = new double[size];
+		double[] upperDiagonal = new double[size];
+		double[][] matrix = new double[size][size];
+		for(int i=0; i<size; i++) {
+			lowerDiagonal[i] = random.nextDouble() - 0.5;
+			upperDiagonal[i] = random.nextDouble() - 0.5;
+			diagonal[i] = 2.0 + random.nextDouble();
+			matrix[i][i] = diagonal[i];
+			if(i > 0) {
+				matrix[i][i-1] = lowerDiagonal[i];
+			}
+			if(i < size-1) {
+				matrix[i][i+1] = upperDiagonal[i];
+			}
+		}
+
+		double[][] rightHandSides = new double[size][numberOfColumns];
+		double[] rightHandSidesInterleaved = new double[size * numberOfColumns];
+		for(int i=0; i<size; i++) {
+			for(int j=0; j<numberOfColumns; j++) {
+				rightHandSides[i][j] = random.nextGaussian();
+				rightHandSidesInterleaved[i * numberOfColumns + j] = rightHandSides[i][j];
+			}
+		}
+
+		TridiagonalMatrix tridiagonalMatrix = new TridiagonalMatrix(lowerDiagonal, diagonal, upperDiagonal);
+
+		double[][] product = new Array2DRowRealMatrix(matrix).multiply(new Array2DRowRealMatrix(rightHandSides)).getData();
+		double[] productInterleaved = tridiagonalMatrix.multiply(rightHandSidesInterleaved, numberOfColumns, new double[size * numberOfColumns]);
+
+		double[][] solution = new LUDecomposition(new Array2DRowRealMatrix(matrix)).getSolver().solve(new Array2DRowRealMatrix(rightHandSides)).getData();
+		double[] solutionInterleaved = tridiagonalMatrix.solve(rightHandSidesInterleaved, numberOfColumns);
+
+		for(int i=0; i<size; i++) {
+			for(int j=0; j<numberOfColumns; j++) {
+				Assert.assertEquals("Product", product[i][j], productInterleaved[i * numberOfColumns + j], 1E-12);
+				Assert.assertEquals("Solution", solution[i][j], solutionInterleaved[i * numberOfColumns + j], 1E-12);
+			}
+		}
+	}
+}
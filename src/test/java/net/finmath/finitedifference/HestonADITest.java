@@ -0,0 +1,118 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.finitedifference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.finitedifference.models.FDMHestonModel;
+import net.finmath.finitedifference.models.FiniteDifference2DModel;
+import net.finmath.finitedifference.products.FDMAmericanPutOption;
+import net.finmath.finitedifference.products.FDMEuropeanCallOption;
+import net.finmath.finitedifference.solvers.FDMADIMethod;
+import net.finmath.fouriermethod.models.HestonModel;
+import net.finmath.fouriermethod.products.EuropeanOption;
+
+/**
+ * Tests the valuation of options in the Heston model using the ADI finite difference schemes
+ * against the valuation using Fourier transforms ({@link net.finmath.fouriermethod.models.HestonModel}).
+ *
+ * @author Christian Fries
+ */
+public class HestonADITest {
+
+	// Model properties
+	private final double initialValue	= 100.0;
+	private final double riskFreeRate	= 0.03;
+	private final double discountRate	= 0.03;
+	private final double volatility		= 0.20;
+	private final double theta			= 0.04;
+	private final double kappa			= 1.5;
+	private final double xi				= 0.3;
+	private final double rho			= -0.6;
+
+	private final double optionMaturity	= 1.0;
+	private final double[] optionStrikes = { 80.0, 100.0, 120.0 };
+
+	@Test
+	public void testEuropeanCallOption() throws CalculationException {
+		HestonModel modelFourier = new HestonModel(initialValue, riskFreeRate, volatility, discountRate, theta, kappa, xi, rho);
+
+		for(FDMADIMethod.Scheme scheme : FDMADIMethod.Scheme.values()) {
+			for(double optionStrike : optionStrikes) {
+				FiniteDifference2DModel model = createModel(scheme, optionStrike);
+
+				long millisStart = System.currentTimeMillis();
+				double[][] valuesOnGrid = new FDMEuropeanCallOption(optionMaturity, optionStrike).getValue(0.0, model);
+				double value = FDMADIMethod.getValueByInterpolation(valuesOnGrid, model.getInitialValue(), model.getInitialVariance());
+				long millisFDM = System.currentTimeMillis() - millisStart;
+
+				millisStart = System.currentTimeMillis();
+				double valueFourier = new EuropeanOption(optionMaturity, optionStrike).getValue(modelFourier);
+				long millisFourier = System.currentTimeMillis() - millisStart;
+
+				System.out.println(String.format("%-22s strike %6.1f  ADI %10.6f (%4d ms)  Fourier %10.6f (%4d ms)  error %10.2E",
+						scheme, optionStrike, value, millisFDM, valueFourier, millisFourier, value - valueFourier));
+				Assert.assertEquals(scheme + " strike " + optionStrike, valueFourier, value, 1E-2);
+			}
+		}
+	}
+
+	/**
+	 * Tests the valuation of an American put against the reference values of
+	 * S. Ikonen, J. Toivanen: Operator splitting methods for pricing American options under stochastic volatility, 2009.
+	 */
+	@Test
+	public void testAmericanPutOption() {
+		double optionStrike = 10.0;
+		double[] initialValues = { 8.0, 9.0, 10.0, 11.0, 12.0 };
+		double[] valuesReference = { 2.000000, 1.107621, 0.520030, 0.213677, 0.082044 };
+
+		FiniteDifference2DModel model = new FDMHestonModel(
+				50,		// numTimesteps
+				100,	// numSpacestepsAsset
+				50,		// numSpacestepsVariance
+				5,		// numStandardDeviations
+				optionStrike,
+				FDMADIMethod.Scheme.MODIFIED_CRAIG_SNEYD,
+				10.0,	// initialValue
+				0.1,	// riskFreeRate
+				0.25,	// volatility
+				0.1,	// discountRate
+				0.16,	// theta
+				5.0,	// kappa
+				0.9,	// xi
+				0.1);	// rho
+
+		double[][] valuesOnGrid = new FDMAmericanPutOption(0.25, optionStrike).getValue(0.0, model);
+		for(int i=0; i<initialValues.length; i++) {
+			double value = FDMADIMethod.getValueByInterpolation(valuesOnGrid, initialValues[i], model.getInitialVariance());
+
+			System.out.println(String.format("American put spot %6.1f  ADI %10.6f  reference %10.6f  error %10.2E", initialValues[i], value, valuesReference[i], value - valuesReference[i]));
+			Assert.assertTrue("Intrinsic value", value >= optionStrike - initialValues[i]);
+			Assert.assertEquals("Spot " + initialValues[i], valuesReference[i], value, 1E-3);
+		}
+	}
+
+	private FiniteDifference2DModel createModel(FDMADIMethod.Scheme scheme, double center) {
+		return new FDMHestonModel(
+				50,		// numTimesteps
+				100,	// numSpacestepsAsset
+				50,		// numSpacestepsVariance
+				5,		// numStandardDeviations
+				center,
+				scheme,
+				initialValue,
+				riskFreeRate,
+				volatility,
+				discountRate,
+				theta,
+				kappa,
+				xi,
+				rho);
+	}
+}
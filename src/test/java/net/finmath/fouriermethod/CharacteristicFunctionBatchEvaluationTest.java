@@ -0,0 +1,109 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+
+package net.finmath.fouriermethod;
+
+import org.apache.commons.math3.complex.Complex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.fouriermethod.models.BatesModel;
+import net.finmath.fouriermethod.models.BlackScholesModel;
+import net.finmath.fouriermethod.models.CharacteristicFunctionModel;
+import net.finmath.fouriermethod.models.HestonModel;
+import net.finmath.fouriermethod.products.EuropeanOption;
+import net.finmath.integration.RealIntegral;
+import net.finmath.integration.SimpsonRealIntegrator;
+
+/**
+ * Tests the batch evaluation of characteristic functions using primitive complex arithmetic
+ * against the evaluation using {@link Complex}.
+ *
+ * @author Christian Fries
+ */
+public class CharacteristicFunctionBatchEvaluationTest {
+
+	private static final double[] linesOfIntegration = { -2.5, -1.5, -0.5, 0.25, 1.5 };
+
+	private final CharacteristicFunctionModel[] models = {
+			new BlackScholesModel(100.0, 0.03, 0.25, 0.02),
+			new HestonModel(100.0, 0.03, 0.20, 0.02, 0.04, 1.5, 0.3, -0.6),
+			new BatesModel(100.0, 0.03, 0.20, 0.04, 1.5, 0.3, -0.6, 0.1, 0.5, -0.05, 0.1),
+			new BatesModel(100.0, 0.03,
+					new double[] { 0.2, 0.15 }, new double[] { 0.04, 0.02 }, new double[] { 1.5, 0.8 }, new double[] { 0.3, 0.2 }, new double[] { -0.6, -0.3 },
+					new double[] { 0.1, 0.5, 1.0 }, -0.05, 0.1)
+	};
+
+	@Test
+	public void testModelCharacteristicFunctions() {
+		for(CharacteristicFunctionModel model : models) {
+			for(double maturity : new double[] { 0.1, 1.0, 10.0 }) {
+				assertBatchEvaluationAgreesWithComplex(model.getClass().getSimpleName(), model.apply(maturity));
+			}
+		}
+	}
+
+	@Test
+	public void testProductTransform() {
+		for(double strike : new double[] { 50.0, 100.0, 150.0 }) {
+			assertBatchEvaluationAgreesWithComplex("EuropeanOption", new EuropeanOption(1.0, strike));
+		}
+	}
+
+	@Test
+	public void testEuropeanOptionValue() throws CalculationException {
+		for(CharacteristicFunctionModel model : models) {
+			for(double strike : new double[] { 80.0, 100.0, 120.0 }) {
+				final EuropeanOption product = new EuropeanOption(1.0, strike);
+
+				final double value = product.getValue(model);
+				final double valueReference = getValueByComplexIntegration(product, model);
+
+				System.out.println(String.format("%-20s strike %6.1f  value %16.12f  reference %16.12f", model.getClass().getSimpleName(), strike, value, valueReference));
+				Assert.assertEquals(model.getClass().getSimpleName() + " strike " + strike, valueReference, value, 1E-10 * valueReference);
+			}
+		}
+	}
+
+	private static void assertBatchEvaluationAgreesWithComplex(String name, CharacteristicFunction characteristicFunction) {
+		final int numberOfPoints = 401;
+		final double[] argumentsReal = new double[numberOfPoints * linesOfIntegration.length];
+		final double[] argumentsImaginary = new double[argumentsReal.length];
+		for(int j=0; j<linesOfIntegration.length; j++) {
+			for(int i=0; i<numberOfPoints; i++) {
+				argumentsReal[j*numberOfPoints+i] = -100.0 + 200.0 * i / (numberOfPoints-1);
+				argumentsImaginary[j*numberOfPoints+i] = linesOfIntegration[j];
+			}
+		}
+
+		final double[] valuesReal = new double[argumentsReal.length];
+		final double[] valuesImaginary = new double[argumentsReal.length];
+		characteristicFunction.apply(argumentsReal, argumentsImaginary, valuesReal, valuesImaginary);
+
+		for(int i=0; i<argumentsReal.length; i++) {
+			final Complex value = characteristicFunction.apply(new Complex(argumentsReal[i], argumentsImaginary[i]));
+			final double tolerance = 1E-12 * Math.max(value.abs(), 1E-100);
+			Assert.assertEquals(name + " real part at " + argumentsReal[i] + "+i" + argumentsImaginary[i], value.getReal(), valuesReal[i], tolerance);
+			Assert.assertEquals(name + " imaginary part at " + argumentsReal[i] + "+i" + argumentsImaginary[i], value.getImaginary(), valuesImaginary[i], tolerance);
+		}
+	}
+
+	/*
+	 * The valuation using Complex and the SimpsonRealIntegrator.
+	 */
+	private static double getValueByComplexIntegration(EuropeanOption product, CharacteristicFunctionModel model) {
+		final CharacteristicFunction modelCF = model.apply(product.getMaturity());
+
+		final double lineOfIntegration = 0.5 * product.getIntegrationDomainImagUpperBound()+product.getIntegrationDomainImagLowerBound();
+		final RealIntegral integrator = new SimpsonRealIntegrator(-100.0, 100.0, 20000, false);
+
+		return integrator.integrate(real -> {
+			final Complex z = new Complex(real, lineOfIntegration);
+			return modelCF.apply(z.negate()).multiply(product.apply(z)).getReal();
+		}) / 2.0 / Math.PI;
+	}
+}
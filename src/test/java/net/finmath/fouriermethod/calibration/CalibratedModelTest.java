@@ -0,0 +1,170 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+
+package net.finmath.fouriermethod.calibration;
+
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.fouriermethod.calibration.CalibratedModel.OptimizationResult;
+import net.finmath.fouriermethod.calibration.models.CalibratableHestonModel;
+import net.finmath.fouriermethod.models.CharacteristicFunctionModel;
+import net.finmath.fouriermethod.products.smile.EuropeanOptionSmileByCOS;
+import net.finmath.functions.AnalyticFormulas;
+import net.finmath.marketdata.model.curves.CurveInterpolation.ExtrapolationMethod;
+import net.finmath.marketdata.model.curves.CurveInterpolation.InterpolationEntity;
+import net.finmath.marketdata.model.curves.CurveInterpolation.InterpolationMethod;
+import net.finmath.marketdata.model.curves.DiscountCurve;
+import net.finmath.marketdata.model.curves.DiscountCurveInterpolation;
+import net.finmath.marketdata.model.volatilities.OptionSmileData;
+import net.finmath.marketdata.model.volatilities.OptionSurfaceData;
+import net.finmath.marketdata.model.volatilities.VolatilitySurface.QuotingConvention;
+import net.finmath.modelling.descriptor.HestonModelDescriptor;
+import net.finmath.optimizer.Optimizer;
+import net.finmath.optimizer.OptimizerFactoryLevenbergMarquardt;
+import net.finmath.optimizer.SolverException;
+
+/**
+ * Tests the calibration of a Heston model to a volatility surface with multiple maturities
+ * using the COS method, concurrent evaluation of the maturities and the analytic Jacobian.
+ *
+ * @author Christian Fries
+ */
+public class CalibratedModelTest {
+
+	private static final LocalDate referenceDate = LocalDate.of(2010, 8, 1);
+	private static final double initialValue = 6149.62;
+	private static final double riskFreeRate = 0.01;
+
+	private static final double[] maturities = { 0.1, 0.25, 0.5, 1.0, 2.0 };
+	private static final double[] strikes = { 5000, 5300, 5600, 5900, 6200, 6500, 6800, 7100, 7400 };
+
+	// Parameters used to generate the surface (volatility, theta, kappa, xi, rho)
+	private static final double[] parametersOfSurface = { 0.22, 0.06, 1.2, 0.6, -0.65 };
+
+	@Test
+	public void testDerivatives() throws SolverException, CalculationException {
+		CalibratableHestonModel model = createModel();
+		CalibratedModel problem = new CalibratedModel(createSurface(model), model, new OptimizerFactoryLevenbergMarquardt(100, 0),
+				new EuropeanOptionSmileByCOS(maturities[0], strikes), parametersOfSurface, null);
+
+		Optimizer.ObjectiveFunctionWithDerivatives objectiveFunction = problem.getObjectiveFunction();
+
+		double[] parameters = { 0.2, 0.05, 1.0, 0.5, -0.5 };
+		int numberOfValues = maturities.length * strikes.length;
+
+		double[][] derivatives = new double[parameters.length][numberOfValues];
+		Assert.assertTrue("Derivatives available", objectiveFunction.setDerivatives(parameters, derivatives));
+
+		for(int parameterIndex=0; parameterIndex<parameters.length; parameterIndex++) {
+			double shift = 1E-5;
+			double[] parametersUp = parameters.clone();
+			double[] parametersDown = parameters.clone();
+			parametersUp[parameterIndex] += shift;
+			parametersDown[parameterIndex] -= shift;
+
+			double[] valuesUp = new double[numberOfValues];
+			double[] valuesDown = new double[numberOfValues];
+			objectiveFunction.setValues(parametersUp, valuesUp);
+			objectiveFunction.setValues(parametersDown, valuesDown);
+
+			double maxError = 0.0;
+			for(int i=0; i<numberOfValues; i++) {
+				double derivativeFiniteDifference = (valuesUp[i] - valuesDown[i]) / (2 * shift);
+				maxError = Math.max(maxError, Math.abs(derivatives[parameterIndex][i] - derivativeFiniteDifference));
+				Assert.assertEquals("Derivative " + parameterIndex + " value " + i, derivativeFiniteDifference, derivatives[parameterIndex][i], 1E-5 + 1E-4 * Math.abs(derivativeFiniteDifference));
+			}
+			System.out.println("Parameter " + parameterIndex + ": maximum deviation of analytic derivative from finite difference " + maxError);
+		}
+	}
+
+	@Test
+	public void testCalibration() throws SolverException, CalculationException {
+		CalibratableHestonModel model = createModel();
+		OptionSurfaceData surface = createSurface(model);
+
+		double[] initialParameters = { 0.2, 0.05, 1.0, 0.5, -0.5 };
+
+		ExecutorService executor = Executors.newFixedThreadPool(maturities.length);
+		try {
+			CalibratedModel problem = new CalibratedModel(surface, model, new OptimizerFactoryLevenbergMarquardt(100, 0),
+					new EuropeanOptionSmileByCOS(maturities[0], strikes), initialParameters, null, executor);
+
+			long startMillis = System.currentTimeMillis();
+			OptimizationResult result = problem.getCalibration();
+			long endMillis = System.currentTimeMillis();
+
+			System.out.println("Calibration completed in " + (endMillis-startMillis)/1000.0 + " seconds, " + result.getIterations() + " iterations, RMSQE " + result.getRootMeanSquaredError());
+			System.out.println("Parameters: " + java.util.Arrays.toString(result.getBestFitParameters()));
+
+			Assert.assertEquals("RMSQE", 0.0, result.getRootMeanSquaredError(), 1E-6);
+			for(int i=0; i<parametersOfSurface.length; i++) {
+				Assert.assertEquals("Parameter " + i, parametersOfSurface[i], result.getBestFitParameters()[i], 1E-3);
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	private static CalibratableHestonModel createModel() {
+		HestonModelDescriptor hestonModelDescriptor = new HestonModelDescriptor(referenceDate, initialValue,
+				getDiscountCurve("forward curve", referenceDate, riskFreeRate), getDiscountCurve("discount curve", referenceDate, riskFreeRate),
+				parametersOfSurface[0], parametersOfSurface[1], parametersOfSurface[2], parametersOfSurface[3], parametersOfSurface[4]);
+
+		return new CalibratableHestonModel(hestonModelDescriptor,
+				new ScalarParameterInformationImplementation(true, new BoundConstraint(0.01,1.0)),
+				new ScalarParameterInformationImplementation(true, new BoundConstraint(0.01,0.2)),
+				new ScalarParameterInformationImplementation(true, new BoundConstraint(0.01,5.0)),
+				new ScalarParameterInformationImplementation(true, new BoundConstraint(0.01,1.0)),
+				new ScalarParameterInformationImplementation(true, new BoundConstraint(-1.0,1.0)),
+				false);
+	}
+
+	/*
+	 * Create a surface of log-normal volatilities from the model with the parameters parametersOfSurface.
+	 */
+	private static OptionSurfaceData createSurface(CalibratableHestonModel model) throws CalculationException {
+		DiscountCurve discountCurve = getDiscountCurve("discountCurve", referenceDate, riskFreeRate);
+		DiscountCurve equityForwardCurve = DiscountCurveInterpolation.createDiscountCurveFromDiscountFactors(
+				"forwardCurve",
+				new double[] { 0.0, 1.0, 2.0, 3.0 },
+				new double[] { initialValue, initialValue*Math.exp(riskFreeRate*1.0), initialValue*Math.exp(riskFreeRate*2.0), initialValue*Math.exp(riskFreeRate*3.0) },
+				InterpolationMethod.LINEAR, ExtrapolationMethod.CONSTANT, InterpolationEntity.LOG_OF_VALUE);
+
+		CharacteristicFunctionModel modelFourier = model.getCloneForModifiedParameters(parametersOfSurface).getCharacteristicFunctionModel();
+
+		OptionSmileData[] smiles = new OptionSmileData[maturities.length];
+		for(int t=0; t<maturities.length; t++) {
+			double maturity = maturities[t];
+			double forward = equityForwardCurve.getDiscountFactor(maturity);
+			double payoffUnit = discountCurve.getDiscountFactor(maturity);
+
+			double[] volatilities = new double[strikes.length];
+			for(int i=0; i<strikes.length; i++) {
+				double price = new EuropeanOptionSmileByCOS(maturity, strikes).getValue(0.0, modelFourier).get("valuePerStrike").apply(strikes[i]);
+				volatilities[i] = AnalyticFormulas.blackScholesOptionImpliedVolatility(forward, maturity, strikes[i], payoffUnit, price);
+			}
+			smiles[t] = new OptionSmileData("DAX", referenceDate, strikes, maturity, volatilities, QuotingConvention.VOLATILITYLOGNORMAL);
+		}
+
+		return new OptionSurfaceData(smiles, discountCurve, equityForwardCurve);
+	}
+
+	private static DiscountCurve getDiscountCurve(String name, LocalDate referenceDate, double riskFreeRate) {
+		double[] times = new double[] { 1.0 };
+		double[] givenAnnualizedZeroRates = new double[] { riskFreeRate };
+		InterpolationMethod interpolationMethod = InterpolationMethod.LINEAR;
+		InterpolationEntity interpolationEntity = InterpolationEntity.LOG_OF_VALUE_PER_TIME;
+		ExtrapolationMethod extrapolationMethod = ExtrapolationMethod.CONSTANT;
+		return DiscountCurveInterpolation.createDiscountCurveFromAnnualizedZeroRates(name, referenceDate, times, givenAnnualizedZeroRates, interpolationMethod, extrapolationMethod, interpolationEntity);
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+
+package net.finmath.fouriermethod.products;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.fouriermethod.models.BatesModel;
+import net.finmath.fouriermethod.models.BlackScholesModel;
+import net.finmath.fouriermethod.models.CharacteristicFunctionModel;
+import net.finmath.fouriermethod.models.HestonModel;
+import net.finmath.fouriermethod.products.smile.EuropeanOptionSmile;
+import net.finmath.fouriermethod.products.smile.EuropeanOptionSmileByCOS;
+import net.finmath.functions.AnalyticFormulas;
+
+/**
+ * Tests the COS method against the Black-Scholes closed-form solution and against the
+ * valuation by direct integration of the characteristic function.
+ *
+ * @author Christian Fries
+ */
+public class COSMethodTest {
+
+	private static final double initialValue	= 100.0;
+	private static final double volatility		= 0.25;
+	private static final double riskFreeRate	= 0.05;
+
+	@Test
+	public void testBlackScholesSmile() throws CalculationException {
+		final double maturity = 3.0;
+		final double[] strikes = new double[20];
+		for(int i = 0; i<strikes.length; i++) {
+			strikes[i] = 10 + i*10;
+		}
+
+		final CharacteristicFunctionModel model = new BlackScholesModel(initialValue, riskFreeRate, volatility);
+
+		final EuropeanOptionSmile smile = new EuropeanOptionSmileByCOS(maturity, strikes);
+		final Map<String, Function<Double, Double>> results = smile.getValue(0.0, model);
+
+		System.out.println("Number of terms: " + new COSMethod(model, maturity).getNumberOfTerms());
+		for(int i = 0; i<strikes.length; i++) {
+			final double valueAnalytic = AnalyticFormulas.blackScholesOptionValue(initialValue, riskFreeRate, volatility, maturity, strikes[i]);
+			final double value = results.get("valuePerStrike").apply(strikes[i]);
+			System.out.println("COS Value: " + value + "\tAnalytic Value: " + valueAnalytic + ". \t Error: " + (value-valueAnalytic) + ".");
+			Assert.assertEquals("Value", valueAnalytic, value, 1E-10);
+		}
+
+		// Strike not in the smile
+		Assert.assertEquals("Value", AnalyticFormulas.blackScholesOptionValue(initialValue, riskFreeRate, volatility, maturity, 97.5), results.get("valuePerStrike").apply(97.5), 1E-10);
+	}
+
+	@Test
+	public void testBlackScholesDigitalOption() {
+		final CharacteristicFunctionModel model = new BlackScholesModel(initialValue, riskFreeRate, volatility);
+
+		for(double maturity : new double[] { 0.1, 1.0, 10.0 }) {
+			for(double strike : new double[] { 60.0, 100.0, 140.0 }) {
+				final double valueAnalytic = AnalyticFormulas.blackScholesDigitalOptionValue(initialValue, riskFreeRate, volatility, maturity, strike);
+				final double value = new DigitalOptionByCOS(maturity, strike).getValue(0.0, model);
+				Assert.assertEquals("Value", valueAnalytic, value, 1E-10);
+			}
+		}
+	}
+
+	@Test
+	public void testStochasticVolatilityModels() throws CalculationException {
+		final CharacteristicFunctionModel[] models = {
+				new HestonModel(initialValue, riskFreeRate, 0.20, 0.02, 0.04, 1.5, 0.3, -0.6),
+				new BatesModel(initialValue, riskFreeRate, 0.20, 0.04, 1.5, 0.3, -0.6, 0.1, 0.5, -0.05, 0.1)
+		};
+
+		for(CharacteristicFunctionModel model : models) {
+			for(double maturity : new double[] { 0.25, 1.0, 5.0 }) {
+				for(double strike : new double[] { 70.0, 100.0, 130.0 }) {
+					final double valueIntegration = new EuropeanOption(maturity, strike).getValue(model);
+					final double value = new EuropeanOptionByCOS(maturity, strike).getValue(model);
+
+					System.out.println(String.format("%-16s maturity %5.2f  strike %6.1f  COS %14.10f  integration %14.10f  terms %5d",
+							model.getClass().getSimpleName(), maturity, strike, value, valueIntegration, new COSMethod(model, maturity).getNumberOfTerms()));
+					Assert.assertEquals(model.getClass().getSimpleName() + " maturity " + maturity + " strike " + strike, valueIntegration, value, 1E-7);
+				}
+			}
+		}
+	}
+}
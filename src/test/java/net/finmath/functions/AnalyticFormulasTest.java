@@ -50,6 +50,35 @@ public class AnalyticFormulasTest {
 		}
 	}
 
+	@Test
+	public void testBlackScholesOptionImpliedVolatilityOfSmile() {
+		double spot = 100;
+		double riskFreeRate = 0.05;
+		for(double optionMaturity = 0.5; optionMaturity < 10; optionMaturity += 0.5) {
+			double forward = spot * Math.exp(riskFreeRate * optionMaturity);
+			double payoffUnit = Math.exp(-riskFreeRate * optionMaturity);
+
+			double[] optionStrikes = new double[25];
+			double[] volatilities = new double[optionStrikes.length];
+			double[] optionValues = new double[optionStrikes.length];
+			for(int i=0; i<optionStrikes.length; i++) {
+				optionStrikes[i] = forward * Math.exp(-0.6 + 0.05 * i);
+				volatilities[i] = 0.15 + 0.1 * Math.abs(Math.log(optionStrikes[i] / forward));
+				optionValues[i] = AnalyticFormulas.blackScholesGeneralizedOptionValue(forward, volatilities[i], optionMaturity, optionStrikes[i], payoffUnit);
+			}
+
+			double[] impliedVolatilities = AnalyticFormulas.blackScholesOptionImpliedVolatility(forward, optionMaturity, optionStrikes, payoffUnit, optionValues);
+
+			for(int i=0; i<optionStrikes.length; i++) {
+				double impliedVolatility = AnalyticFormulas.blackScholesOptionImpliedVolatility(forward, optionMaturity, optionStrikes[i], payoffUnit, optionValues[i]);
+
+				if(isPrintOutVerbose) System.out.println(formatterReal2.format(optionMaturity) + " \t" + formatterReal2.format(optionStrikes[i]) + " \t" + impliedVolatilities[i] + " \t" + impliedVolatility);
+				Assert.assertEquals(volatilities[i], impliedVolatilities[i], 1E-8);
+				Assert.assertEquals(impliedVolatility, impliedVolatilities[i], 1E-13 * impliedVolatility);
+			}
+		}
+	}
+
 	@Test
 	public void testBachelierOptionDelta() {
 		double spot = 100;
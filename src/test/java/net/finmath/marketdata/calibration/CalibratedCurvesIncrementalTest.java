@@ -0,0 +1,133 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.marketdata.calibration;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.marketdata.calibration.CalibratedCurves.CalibrationSpec;
+import net.finmath.marketdata.model.AnalyticModel;
+import net.finmath.marketdata.model.AnalyticModelFromCurvesAndVols;
+import net.finmath.marketdata.model.curves.Curve;
+import net.finmath.marketdata.model.curves.CurveInterpolation.ExtrapolationMethod;
+import net.finmath.marketdata.model.curves.CurveInterpolation.InterpolationEntity;
+import net.finmath.marketdata.model.curves.CurveInterpolation.InterpolationMethod;
+import net.finmath.marketdata.model.curves.DiscountCurve;
+import net.finmath.marketdata.model.curves.DiscountCurveInterpolation;
+import net.finmath.marketdata.model.curves.ForwardCurve;
+import net.finmath.marketdata.model.curves.ForwardCurveFromDiscountCurve;
+import net.finmath.optimizer.SolverException;
+import net.finmath.time.Schedule;
+import net.finmath.time.ScheduleGenerator;
+import net.finmath.time.businessdaycalendar.BusinessdayCalendarExcludingTARGETHolidays;
+
+/**
+ * Tests the incremental recalibration {@link CalibratedCurves#getCloneWithModifiedQuotes(Map)}.
+ *
+ * @author Christian Fries
+ */
+public class CalibratedCurvesIncrementalTest {
+
+	private static final LocalDate referenceDate = LocalDate.of(2012, 1, 10);
+
+	private final BiFunction<String, Double, CalibrationSpec> deposit = (maturity, rate) -> {
+		Schedule scheduleInterfaceRec = ScheduleGenerator.createScheduleFromConventions(referenceDate, 2, "0D", maturity, "tenor", "act/360", "first", "following", new BusinessdayCalendarExcludingTARGETHolidays(), 0, 0);
+		double calibrationTime = scheduleInterfaceRec.getPayment(scheduleInterfaceRec.getNumberOfPeriods()-1);
+		return new CalibrationSpec("EUR-OIS-" + maturity, "Deposit", scheduleInterfaceRec, "", rate, "discount-EUR-OIS", null, null, 0.0, null, "discount-EUR-OIS", calibrationTime);
+	};
+
+	private final BiFunction<String, Double, CalibrationSpec> swap = (maturity, rate) -> {
+		Schedule scheduleInterfaceRec = ScheduleGenerator.createScheduleFromConventions(referenceDate, 2, "0D", maturity, "annual", "act/360", "first", "modified_following", new BusinessdayCalendarExcludingTARGETHolidays(), 0, 1);
+		Schedule scheduleInterfacePay = ScheduleGenerator.createScheduleFromConventions(referenceDate, 2, "0D", maturity, "annual", "act/360", "first", "modified_following", new BusinessdayCalendarExcludingTARGETHolidays(), 0, 1);
+		double calibrationTime = scheduleInterfaceRec.getPayment(scheduleInterfaceRec.getNumberOfPeriods() - 1);
+		return new CalibrationSpec("EUR-OIS-" + maturity, "Swap", scheduleInterfaceRec, "forward-EUR-OIS", 0.0, "discount-EUR-OIS", scheduleInterfacePay, "", rate, "discount-EUR-OIS", "discount-EUR-OIS", calibrationTime);
+	};
+
+	@Test
+	public void testIncrementalRecalibrationAgreesWithFullCalibration() throws SolverException, CloneNotSupportedException {
+		List<CalibrationSpec> calibrationSpecs = new ArrayList<>();
+		calibrationSpecs.add(deposit.apply("1W", 0.195 / 100.0));
+		calibrationSpecs.add(deposit.apply("1M", 0.191 / 100.0));
+		calibrationSpecs.add(deposit.apply("3M", 0.180 / 100.0));
+		calibrationSpecs.add(deposit.apply("6M", 0.156 / 100.0));
+		calibrationSpecs.add(deposit.apply("12M", 0.129 / 100.0));
+		calibrationSpecs.add(swap.apply("2Y", 0.101 / 100.0));
+		calibrationSpecs.add(swap.apply("3Y", 0.194 / 100.0));
+		calibrationSpecs.add(swap.apply("5Y", 0.534 / 100.0));
+		calibrationSpecs.add(swap.apply("7Y", 0.895 / 100.0));
+		calibrationSpecs.add(swap.apply("10Y", 1.310 / 100.0));
+		calibrationSpecs.add(swap.apply("15Y", 1.723 / 100.0));
+		calibrationSpecs.add(swap.apply("20Y", 1.826 / 100.0));
+		calibrationSpecs.add(swap.apply("30Y", 1.910 / 100.0));
+
+		AnalyticModel model = createModel();
+		CalibratedCurves calibratedCurves = new CalibratedCurves(calibrationSpecs, model, 0.0, 0.0);
+		System.out.println("Full calibration:        iterations = " + calibratedCurves.getLastNumberOfInterations() + ", accuracy = " + calibratedCurves.getLastAccuracy());
+
+		// A sequence of quote updates (ticks)
+		String[] symbols = { "EUR-OIS-5Y", "EUR-OIS-1M", "EUR-OIS-5Y", "EUR-OIS-10Y", "EUR-OIS-30Y" };
+		double[] quoteChanges = { 0.1 / 10000.0, -0.05 / 10000.0, 0.2 / 10000.0, -0.1 / 10000.0, 0.3 / 10000.0 };
+
+		List<CalibrationSpec> calibrationSpecsModified = new ArrayList<>(calibrationSpecs);
+		for(int tick=0; tick<symbols.length; tick++) {
+			Map<String, Double> quotes = new HashMap<>();
+			for(int i=0; i<calibrationSpecsModified.size(); i++) {
+				CalibrationSpec calibrationSpec = calibrationSpecsModified.get(i);
+				if(calibrationSpec.getSymbol().equals(symbols[tick])) {
+					quotes.put(symbols[tick], calibrationSpec.getQuote() + quoteChanges[tick]);
+					calibrationSpecsModified.set(i, calibrationSpec.getCloneWithModifiedQuote(calibrationSpec.getQuote() + quoteChanges[tick]));
+				}
+			}
+
+			long timeStart = System.nanoTime();
+			calibratedCurves = calibratedCurves.getCloneWithModifiedQuotes(quotes);
+			long timeEnd = System.nanoTime();
+
+			CalibratedCurves calibratedCurvesFull = new CalibratedCurves(calibrationSpecsModified, model, 0.0, 0.0);
+
+			System.out.println("Incremental calibration: iterations = " + calibratedCurves.getLastNumberOfInterations() + ", accuracy = " + calibratedCurves.getLastAccuracy()
+			+ ", time = " + (timeEnd-timeStart)/1E6 + " ms (full calibration: iterations = " + calibratedCurvesFull.getLastNumberOfInterations() + ").");
+
+			Assert.assertTrue("Accuracy", calibratedCurves.getLastAccuracy() < 1E-14);
+
+			DiscountCurve discountCurve = calibratedCurves.getModel().getDiscountCurve("discount-EUR-OIS");
+			DiscountCurve discountCurveFull = calibratedCurvesFull.getModel().getDiscountCurve("discount-EUR-OIS");
+			for(double time = 0.0; time <= 30.0; time += 0.25) {
+				Assert.assertEquals("Discount factor", discountCurveFull.getDiscountFactor(time), discountCurve.getDiscountFactor(time), 1E-12);
+			}
+		}
+	}
+
+	@Test
+	public void testCloneWithUnmodifiedQuotes() throws SolverException, CloneNotSupportedException {
+		List<CalibrationSpec> calibrationSpecs = new ArrayList<>();
+		calibrationSpecs.add(deposit.apply("1M", 0.191 / 100.0));
+		calibrationSpecs.add(swap.apply("2Y", 0.101 / 100.0));
+		calibrationSpecs.add(swap.apply("5Y", 0.534 / 100.0));
+
+		CalibratedCurves calibratedCurves = new CalibratedCurves(calibrationSpecs, createModel(), 0.0, 0.0);
+		CalibratedCurves calibratedCurvesRecalibrated = calibratedCurves.getCloneWithModifiedQuotes(new HashMap<>());
+
+		DiscountCurve discountCurve = calibratedCurves.getModel().getDiscountCurve("discount-EUR-OIS");
+		DiscountCurve discountCurveRecalibrated = calibratedCurvesRecalibrated.getModel().getDiscountCurve("discount-EUR-OIS");
+		for(double time = 0.0; time <= 5.0; time += 0.25) {
+			Assert.assertEquals("Discount factor", discountCurve.getDiscountFactor(time), discountCurveRecalibrated.getDiscountFactor(time), 1E-15);
+		}
+	}
+
+	private static AnalyticModel createModel() {
+		DiscountCurveInterpolation discountCurveOIS = DiscountCurveInterpolation.createDiscountCurveFromDiscountFactors("discount-EUR-OIS", referenceDate, new double[] { 0.0 }, new double[] { 1.0 }, new boolean[] { false }, InterpolationMethod.LINEAR, ExtrapolationMethod.CONSTANT, InterpolationEntity.LOG_OF_VALUE);
+		ForwardCurve forwardCurveOIS = new ForwardCurveFromDiscountCurve("forward-EUR-OIS", "discount-EUR-OIS", referenceDate, "3M");
+		return new AnalyticModelFromCurvesAndVols(new Curve[] { discountCurveOIS, forwardCurveOIS });
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.marketdata2.calibration;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.Vector;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.marketdata2.model.AnalyticModel;
+import net.finmath.marketdata2.model.AnalyticModelFromCurvesAndVols;
+import net.finmath.marketdata2.model.curves.Curve;
+import net.finmath.marketdata2.model.curves.CurveInterpolation.ExtrapolationMethod;
+import net.finmath.marketdata2.model.curves.CurveInterpolation.InterpolationEntity;
+import net.finmath.marketdata2.model.curves.CurveInterpolation.InterpolationMethod;
+import net.finmath.marketdata2.model.curves.DiscountCurveInterpolation;
+import net.finmath.marketdata2.model.curves.ForwardCurveFromDiscountCurve;
+import net.finmath.marketdata2.products.AnalyticProduct;
+import net.finmath.marketdata2.products.Swap;
+import net.finmath.optimizer.SolverException;
+import net.finmath.optimizer.StochasticOptimizer;
+import net.finmath.optimizer.StochasticPathwiseOptimizerFactoryLevenbergMarquardt;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.RegularSchedule;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * Tests the Jacobian calculated by algorithmic differentiation in {@link Solver}.
+ *
+ * @author Christian Fries
+ */
+public class SolverTest {
+
+	private final DiscountCurveInterpolation discountCurve = DiscountCurveInterpolation.createDiscountCurveFromDiscountFactors(
+			"discountCurve"								/* name */,
+			new double[] {0.0,  1.0,  2.0,  4.0,  5.0}	/* maturities */,
+			new double[] {1.0, 0.95, 0.90, 0.85, 0.80}	/* discount factors */,
+			InterpolationMethod.LINEAR,
+			ExtrapolationMethod.CONSTANT,
+			InterpolationEntity.LOG_OF_VALUE
+			);
+
+	private final ForwardCurveFromDiscountCurve forwardCurve = new ForwardCurveFromDiscountCurve(discountCurve.getName(), null, null);
+
+	private final AnalyticModel model = new AnalyticModelFromCurvesAndVols(new Curve[] { discountCurve, forwardCurve });
+
+	private final Vector<AnalyticProduct> calibrationProducts = new Vector<>();
+	{
+		calibrationProducts.add(createSwap(1, 1.0, 0.05));
+		calibrationProducts.add(createSwap(2, 1.0, 0.04));
+		calibrationProducts.add(createSwap(8, 0.5, 0.03));
+		calibrationProducts.add(createSwap(10, 0.5, 0.04));
+	}
+
+	@Test
+	public void testJacobianAgreesWithFiniteDifferences() throws SolverException {
+		StochasticOptimizer.ObjectiveFunction objectiveFunction = (parameters, values) -> {
+			try {
+				Map<ParameterObject, RandomVariable[]> curvesParameterPairs = new HashMap<>();
+				curvesParameterPairs.put(discountCurve, parameters);
+				AnalyticModel modelClone = model.getCloneForParameter(curvesParameterPairs);
+				for(int i=0; i<calibrationProducts.size(); i++) {
+					values[i] = calibrationProducts.get(i).getValue(0.0, modelClone);
+				}
+			} catch (CloneNotSupportedException e) {
+				throw new SolverException(e);
+			}
+		};
+
+		RandomVariable[] parameters = discountCurve.getParameter();
+		RandomVariable[][] derivatives = new RandomVariable[parameters.length][calibrationProducts.size()];
+		Assert.assertTrue("Algorithmic differentiation applicable", Solver.setDerivativesByAlgorithmicDifferentiation(objectiveFunction, parameters, derivatives));
+
+		double shift = 1E-7;
+		RandomVariable[] values = new RandomVariable[calibrationProducts.size()];
+		objectiveFunction.setValues(parameters.clone(), values);
+		for(int parameterIndex=0; parameterIndex<parameters.length; parameterIndex++) {
+			RandomVariable[] parametersShifted = parameters.clone();
+			parametersShifted[parameterIndex] = parametersShifted[parameterIndex].add(shift);
+			RandomVariable[] valuesShifted = new RandomVariable[calibrationProducts.size()];
+			objectiveFunction.setValues(parametersShifted, valuesShifted);
+			for(int valueIndex=0; valueIndex<values.length; valueIndex++) {
+				double derivativeFiniteDifference = valuesShifted[valueIndex].sub(values[valueIndex]).div(shift).doubleValue();
+				Assert.assertEquals("d value(" + valueIndex + ") / d parameter(" + parameterIndex + ")", derivativeFiniteDifference, derivatives[parameterIndex][valueIndex].doubleValue(), 1E-5);
+			}
+		}
+	}
+
+	@Test
+	public void testCalibrationAgreesWithFiniteDifferenceSolver() throws SolverException {
+		Set<ParameterObject> curvesToCalibrate = new HashSet<>();
+		curvesToCalibrate.add(discountCurve);
+
+		Solver solver = new Solver(model, calibrationProducts);
+		AnalyticModel calibratedModel = solver.getCalibratedModel(curvesToCalibrate);
+
+		Solver solverFiniteDifferences = new Solver(model, calibrationProducts, null, null, 0.0, new StochasticPathwiseOptimizerFactoryLevenbergMarquardt(1000, 0.0, 1));
+		AnalyticModel calibratedModelFiniteDifferences = solverFiniteDifferences.getCalibratedModel(curvesToCalibrate);
+
+		System.out.println("Iterations with algorithmic differentiation: " + solver.getIterations() + ", with finite differences: " + solverFiniteDifferences.getIterations());
+		for(int i=0; i<calibrationProducts.size(); i++) {
+			double value = calibrationProducts.get(i).getValue(0.0, calibratedModel).doubleValue();
+			double valueFiniteDifferences = calibrationProducts.get(i).getValue(0.0, calibratedModelFiniteDifferences).doubleValue();
+			Assert.assertEquals("Calibration product " + i, valueFiniteDifferences, value, 1E-8);
+		}
+	}
+
+	private Swap createSwap(int numberOfPeriods, double periodLength, double rate) {
+		RegularSchedule schedule = new RegularSchedule(new TimeDiscretizationFromArray(0.0, numberOfPeriods, periodLength));
+		return new Swap(schedule, null, rate, discountCurve.getName(), schedule, forwardCurve.getName(), 0.0, discountCurve.getName());
+	}
+}
@@ -15,6 +15,8 @@ import java.io.ObjectOutputStream;
 import java.text.DecimalFormat;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.DoubleUnaryOperator;
 
 import org.junit.Assert;
@@ -24,8 +26,10 @@ import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 
 import net.finmath.functions.JarqueBeraTest;
+import net.finmath.montecarlo.BrownianMotionLazyInit.RandomNumberGeneratorType;
 import net.finmath.montecarlo.automaticdifferentiation.backward.RandomVariableDifferentiableAADFactory;
 import net.finmath.montecarlo.automaticdifferentiation.forward.RandomVariableDifferentiableADFactory;
+import net.finmath.randomnumbers.SobolSequence.ScramblingType;
 import net.finmath.stochastic.RandomVariable;
 import net.finmath.time.TimeDiscretization;
 import net.finmath.time.TimeDiscretizationFromArray;
@@ -290,4 +294,95 @@ public class BrownianMotionTest {
 		Assert.assertTrue("Comparing random variable from original and deserialized object: equals().", value.equals(valueClone));
 	}
 
+	@Test
+	public void testCounterBasedGeneratorIndependentOfNumberOfThreads() throws InterruptedException, ExecutionException {
+		// The parameters
+		int numberOfPaths	= 100000;
+		int seed			= 53252;
+
+		// Create the time discretization
+		TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, 20, 0.1);
+
+		RandomVariable[] valuesSingleThread = new ForkJoinPool(1).submit(() -> {
+			BrownianMotion brownian = new BrownianMotionLazyInit(timeDiscretization, 2, numberOfPaths, seed, randomVariableFactory, RandomNumberGeneratorType.COUNTER_BASED);
+			return new RandomVariable[] { brownian.getBrownianIncrement(0, 0), brownian.getBrownianIncrement(19, 1) };
+		}).get();
+
+		RandomVariable[] valuesMultiThread = new ForkJoinPool(4).submit(() -> {
+			BrownianMotion brownian = new BrownianMotionLazyInit(timeDiscretization, 2, numberOfPaths, seed, randomVariableFactory, RandomNumberGeneratorType.COUNTER_BASED);
+			return new RandomVariable[] { brownian.getBrownianIncrement(0, 0), brownian.getBrownianIncrement(19, 1) };
+		}).get();
+
+		for(int i=0; i<valuesSingleThread.length; i++) {
+			Assert.assertTrue("Realizations independent of number of threads.", Arrays.equals(valuesSingleThread[i].getRealizations(), valuesMultiThread[i].getRealizations()));
+
+			double mean		= valuesSingleThread[i].getAverage();
+			double variance	= valuesSingleThread[i].getVariance();
+			Assert.assertEquals("Mean", 0.0, mean, 3.0 * Math.sqrt(0.1) / Math.sqrt(numberOfPaths));
+			Assert.assertEquals("Variance", 0.1, variance, 3.0 * 0.1 * Math.sqrt(2.0) / Math.sqrt(numberOfPaths));
+		}
+
+		// Different factors have to be uncorrelated
+		BrownianMotion brownian = new BrownianMotionLazyInit(timeDiscretization, 2, numberOfPaths, seed, randomVariableFactory, RandomNumberGeneratorType.COUNTER_BASED);
+		double covariance = brownian.getBrownianIncrement(5, 0).mult(brownian.getBrownianIncrement(5, 1)).getAverage();
+		Assert.assertEquals("Covariance", 0.0, covariance, 3.0 * 0.1 / Math.sqrt(numberOfPaths));
+	}
+
+	@Test
+	public void testLazyTimeSlicesAgreeWithFullGeneration() {
+		// The parameters
+		int numberOfPaths	= 10000;
+		int seed			= 53252;
+
+		// Create the time discretization
+		TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, 20, 0.1);
+
+		BrownianMotion brownian = new BrownianMotionLazyInit(timeDiscretization, 3, numberOfPaths, seed, randomVariableFactory, RandomNumberGeneratorType.COUNTER_BASED);
+		BrownianMotion brownianLazyTimeSlices = new BrownianMotionLazyTimeSlices(timeDiscretization, 3, numberOfPaths, seed, 2 /* numberOfRetainedTimeSlices */, randomVariableFactory);
+
+		// Request the slices in reverse order and twice, such that slices are released and regenerated
+		for(int pass=0; pass<2; pass++) {
+			for(int timeIndex=timeDiscretization.getNumberOfTimeSteps()-1; timeIndex>=0; timeIndex--) {
+				for(int factor=0; factor<3; factor++) {
+					RandomVariable value = brownian.getBrownianIncrement(timeIndex, factor);
+					RandomVariable valueLazyTimeSlices = brownianLazyTimeSlices.getBrownianIncrement(timeIndex, factor);
+					Assert.assertTrue("Realizations of time slice " + timeIndex, Arrays.equals(value.getRealizations(), valueLazyTimeSlices.getRealizations()));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSobolSequenceWithBrownianBridge() {
+		// The parameters
+		int numberOfPaths	= 1 << 14;
+		int seed			= 53252;
+
+		// Create the time discretization (not equidistant)
+		TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, 0.1, 0.25, 0.5, 1.0, 1.5, 2.0, 3.0, 4.0, 5.0);
+
+		for(ScramblingType scramblingType : ScramblingType.values()) {
+			BrownianMotion brownian = new BrownianMotionFromSobolSequence(timeDiscretization, 2, numberOfPaths, seed, scramblingType, randomVariableFactory);
+
+			RandomVariable[] brownianMotion = new RandomVariable[] { brownian.getRandomVariableForConstant(0.0), brownian.getRandomVariableForConstant(0.0) };
+			for(int timeIndex=0; timeIndex<timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
+				double deltaT = timeDiscretization.getTimeStep(timeIndex);
+				for(int factor=0; factor<2; factor++) {
+					RandomVariable increment = brownian.getBrownianIncrement(timeIndex, factor);
+
+					// Quasi random numbers: the error decays faster than 1/sqrt(n), we check against the Monte-Carlo bound
+					Assert.assertEquals(scramblingType + ": mean of increment", 0.0, increment.getAverage(), 3.0 * Math.sqrt(deltaT / numberOfPaths));
+					Assert.assertEquals(scramblingType + ": variance of increment", deltaT, increment.getVariance(), 3.0 * deltaT * Math.sqrt(2.0 / numberOfPaths));
+
+					brownianMotion[factor] = brownianMotion[factor].add(increment);
+				}
+			}
+
+			// The terminal value is given by the first dimension(s) of the Sobol sequence
+			double lastTime = timeDiscretization.getTime(timeDiscretization.getNumberOfTimeSteps());
+			Assert.assertEquals(scramblingType + ": mean of terminal value", 0.0, brownianMotion[0].getAverage(), 1E-3 * Math.sqrt(lastTime));
+			Assert.assertEquals(scramblingType + ": variance of terminal value", lastTime, brownianMotion[0].getVariance(), 1E-2 * lastTime);
+			Assert.assertEquals(scramblingType + ": covariance of factors", 0.0, brownianMotion[0].mult(brownianMotion[1]).getAverage(), 1E-2 * lastTime);
+		}
+	}
 }
@@ -0,0 +1,80 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.montecarlo.DoubleArrayExecutionPolicy.OperationType;
+import net.finmath.stochastic.RandomVariable;
+
+/**
+ * Tests that the operations of {@link RandomVariableFromDoubleArray} give identical results
+ * for sequential and parallel execution (see {@link DoubleArrayExecutionPolicy}).
+ *
+ * @author Christian Fries
+ */
+public class DoubleArrayExecutionPolicyTest {
+
+	private final int numberOfPaths = 100003;
+
+	@Test
+	public void testSequentialAndParallelExecutionGiveIdenticalResults() {
+		Random random = new Random(3141);
+		double[] values1 = new double[numberOfPaths];
+		double[] values2 = new double[numberOfPaths];
+		for(int i=0; i<numberOfPaths; i++) {
+			values1[i] = random.nextDouble();
+			values2[i] = random.nextGaussian();
+		}
+		RandomVariable randomVariable1 = new RandomVariableFromDoubleArray(0.0, values1);
+		RandomVariable randomVariable2 = new RandomVariableFromDoubleArray(0.0, values2);
+
+		int[] parallelThresholds = new int[OperationType.values().length];
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			for(OperationType operationType : OperationType.values()) {
+				parallelThresholds[operationType.ordinal()] = DoubleArrayExecutionPolicy.getParallelThreshold(operationType);
+				DoubleArrayExecutionPolicy.setParallelThreshold(operationType, Integer.MAX_VALUE);
+			}
+			RandomVariable[] resultsSequential = getResultsOfOperations(randomVariable1, randomVariable2);
+
+			DoubleArrayExecutionPolicy.setForkJoinPool(pool);
+			for(OperationType operationType : OperationType.values()) {
+				DoubleArrayExecutionPolicy.setParallelThreshold(operationType, 0);
+			}
+			RandomVariable[] resultsParallel = getResultsOfOperations(randomVariable1, randomVariable2);
+
+			for(int i=0; i<resultsSequential.length; i++) {
+				Assert.assertArrayEquals("Operation " + i, resultsSequential[i].getRealizations(), resultsParallel[i].getRealizations(), 0.0);
+			}
+		}
+		finally {
+			for(OperationType operationType : OperationType.values()) {
+				DoubleArrayExecutionPolicy.setParallelThreshold(operationType, parallelThresholds[operationType.ordinal()]);
+			}
+			DoubleArrayExecutionPolicy.setForkJoinPool(null);
+			pool.shutdown();
+		}
+	}
+
+	private RandomVariable[] getResultsOfOperations(RandomVariable randomVariable1, RandomVariable randomVariable2) {
+		return new RandomVariable[] {
+				randomVariable1.add(randomVariable2),
+				randomVariable1.mult(2.0),
+				randomVariable1.discount(randomVariable2, 0.5),
+				randomVariable1.exp(),
+				randomVariable1.log(),
+				randomVariable1.pow(1.5),
+				randomVariable1.apply(x -> x * x),
+				randomVariable1.apply((x, y) -> x + y, randomVariable2),
+				new RandomVariableFromDoubleArray(0.0, i -> i * 0.5, numberOfPaths)
+		};
+	}
+}
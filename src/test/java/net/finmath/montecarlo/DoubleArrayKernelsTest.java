@@ -0,0 +1,91 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.stochastic.RandomVariable;
+
+/**
+ * Tests that the kernels of {@link DoubleArrayKernels} give results identical to the
+ * default implementation of {@link RandomVariableFromDoubleArray}.
+ *
+ * @author Christian Fries
+ */
+public class DoubleArrayKernelsTest {
+
+	private final int numberOfPaths = 10007;		// Not a multiple of the block size
+
+	private final Random random = new Random(3141);
+
+	@Test
+	public void testBinaryKernels() {
+		double[] x = createValues();
+		double[] y = createValues();
+		RandomVariable randomVariableX = new RandomVariableFromDoubleArray(0.0, x);
+		RandomVariable randomVariableY = new RandomVariableFromDoubleArray(0.0, y);
+
+		Assert.assertArrayEquals(randomVariableX.add(randomVariableY).getRealizations(), DoubleArrayKernels.add(x, y), 0.0);
+		Assert.assertArrayEquals(randomVariableX.mult(randomVariableY).getRealizations(), DoubleArrayKernels.mult(x, y), 0.0);
+		Assert.assertArrayEquals(randomVariableX.cap(randomVariableY).getRealizations(), DoubleArrayKernels.cap(x, y), 0.0);
+		Assert.assertArrayEquals(randomVariableX.floor(randomVariableY).getRealizations(), DoubleArrayKernels.floor(x, y), 0.0);
+		Assert.assertArrayEquals(randomVariableX.accrue(randomVariableY, 0.5).getRealizations(), DoubleArrayKernels.accrue(x, y, 0.5), 0.0);
+		Assert.assertArrayEquals(randomVariableX.discount(randomVariableY, 0.5).getRealizations(), DoubleArrayKernels.discount(x, y, 0.5), 0.0);
+		Assert.assertArrayEquals(randomVariableX.addProduct(randomVariableY, 1.7).getRealizations(), DoubleArrayKernels.addProduct(x, y, 1.7), 0.0);
+	}
+
+	@Test
+	public void testTernaryKernels() {
+		double[] x = createValues();
+		double[] y = createValues();
+		double[] z = createValues();
+		RandomVariable randomVariableX = new RandomVariableFromDoubleArray(0.0, x);
+		RandomVariable randomVariableY = new RandomVariableFromDoubleArray(0.0, y);
+		RandomVariable randomVariableZ = new RandomVariableFromDoubleArray(0.0, z);
+
+		Assert.assertArrayEquals(randomVariableX.addProduct(randomVariableY, randomVariableZ).getRealizations(), DoubleArrayKernels.addProduct(x, y, z), 0.0);
+		Assert.assertArrayEquals(randomVariableX.choose(randomVariableY, randomVariableZ).getRealizations(), DoubleArrayKernels.choose(x, y, z), 0.0);
+	}
+
+	@Test
+	public void testFusedAddSumProduct() {
+		double[] x = createValues();
+		double[][] y = new double[][] { createValues(), null, createValues(), null };
+		double[] yScalar = new double[] { Double.NaN, 0.3, Double.NaN, 0.7 };
+		double[][] z = new double[][] { createValues(), createValues(), null, null };
+		double[] zScalar = new double[] { Double.NaN, Double.NaN, 1.1, -0.4 };
+
+		RandomVariable[] factor1 = new RandomVariable[y.length];
+		RandomVariable[] factor2 = new RandomVariable[z.length];
+		for(int k=0; k<y.length; k++) {
+			factor1[k] = y[k] != null ? new RandomVariableFromDoubleArray(0.0, y[k]) : new RandomVariableFromDoubleArray(0.0, yScalar[k]);
+			factor2[k] = z[k] != null ? new RandomVariableFromDoubleArray(0.0, z[k]) : new RandomVariableFromDoubleArray(0.0, zScalar[k]);
+		}
+		List<RandomVariable> factor1List = Arrays.asList(factor1);
+		List<RandomVariable> factor2List = Arrays.asList(factor2);
+
+		// Stochastic summand
+		double[] expected = new RandomVariableFromDoubleArray(0.0, x).addSumProduct(factor1List, factor2List).getRealizations();
+		Assert.assertArrayEquals(expected, DoubleArrayKernels.addSumProduct(x, Double.NaN, numberOfPaths, y, yScalar, z, zScalar), 0.0);
+
+		// Deterministic summand
+		double[] expectedWithDeterministicSummand = new RandomVariableFromDoubleArray(0.0, 2.5).addSumProduct(factor1List, factor2List).getRealizations();
+		Assert.assertArrayEquals(expectedWithDeterministicSummand, DoubleArrayKernels.addSumProduct(null, 2.5, numberOfPaths, y, yScalar, z, zScalar), 0.0);
+	}
+
+	private double[] createValues() {
+		double[] values = new double[numberOfPaths];
+		for(int i=0; i<numberOfPaths; i++) {
+			values[i] = random.nextGaussian();
+		}
+		return values;
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.stochastic.Scalar;
+
+/**
+ * Tests {@link RandomVariableFromFloatArray} against {@link RandomVariableFromDoubleArray}:
+ * the results of operations keep the float storage and agree up to the float precision.
+ *
+ * @author Christian Fries
+ */
+public class RandomVariableFromFloatArrayTest {
+
+	private final int numberOfPaths = 10000;
+
+	@Test
+	public void testOperationsKeepFloatStorage() {
+		Random random = new Random(3141);
+		double[] values1 = new double[numberOfPaths];
+		double[] values2 = new double[numberOfPaths];
+		for(int i=0; i<numberOfPaths; i++) {
+			values1[i] = 0.5 + random.nextDouble();
+			values2[i] = random.nextGaussian();
+		}
+		// Use values representable as floats, such that both implementations start from the same values
+		RandomVariable float1 = new RandomVariableFromFloatArray(0.0, values1);
+		RandomVariable float2 = new RandomVariableFromFloatArray(0.0, values2);
+		RandomVariable double1 = new RandomVariableFromDoubleArray(0.0, float1.getRealizations());
+		RandomVariable double2 = new RandomVariableFromDoubleArray(0.0, float2.getRealizations());
+
+		for(RandomVariable constant : new RandomVariable[] { new Scalar(0.3), new RandomVariableFromDoubleArray(0.3), new RandomVariableFromFloatArray(0.3) }) {
+			for(BinaryOperator<RandomVariable> operation : getOperations()) {
+				RandomVariable[][] arguments = new RandomVariable[][] {
+					{ float1, float2, double1, double2 },
+					{ float1, constant, double1, constant },
+					{ constant, float2, constant, double2 }
+				};
+				for(RandomVariable[] argument : arguments) {
+					if(argument[0] instanceof RandomVariableFromDoubleArray) {
+						// A RandomVariableFromDoubleArray (having the same type priority) determines the type of the result
+						continue;
+					}
+					RandomVariable resultFloat = operation.apply(argument[0], argument[1]);
+					RandomVariable resultDouble = operation.apply(argument[2], argument[3]);
+
+					Assert.assertTrue("Float storage", resultFloat instanceof RandomVariableFromFloatArray);
+					double[] realizationsFloat = resultFloat.getRealizations();
+					double[] realizationsDouble = resultDouble.getRealizations();
+					for(int i=0; i<realizationsFloat.length; i++) {
+						Assert.assertEquals(realizationsDouble[i], realizationsFloat[i], 1E-6 * (1.0 + Math.abs(realizationsDouble[i])));
+					}
+					// The averages use compensated double precision summation
+					Assert.assertEquals(resultDouble.getAverage(), resultFloat.getAverage(), 1E-6 * (1.0 + Math.abs(resultDouble.getAverage())));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testAverageOfFloatUsesCompensatedSummation() {
+		// The sum of many small values is accurate, even though each realization is stored as float.
+		float[] values = new float[1000000];
+		java.util.Arrays.fill(values, 0.1f);
+		RandomVariable randomVariable = new RandomVariableFromFloatArray(0.0, values).add(new RandomVariableFromFloatArray(0.0, values));
+		Assert.assertTrue(randomVariable instanceof RandomVariableFromFloatArray);
+		Assert.assertEquals(0.2f, randomVariable.getAverage(), 1E-15);
+		Assert.assertEquals(0.0, randomVariable.getVariance(), 1E-15);
+	}
+
+	private static List<BinaryOperator<RandomVariable>> getOperations() {
+		return Arrays.<BinaryOperator<RandomVariable>>asList(
+				(x, y) -> x.add(y).mult(y).sub(x),
+				(x, y) -> x.bus(y).div(y.squared().add(1.0)),
+				(x, y) -> x.cap(y).floor(y.mult(0.5)).vid(y.abs().add(1.0)),
+				(x, y) -> x.accrue(y, 0.5).discount(y, 0.25),
+				(x, y) -> x.addProduct(y, 0.3).addProduct(x, y),
+				(x, y) -> x.squared().add(1.0).addRatio(y, x.squared().add(1.0)).subRatio(y, x.abs().add(2.0)),
+				(x, y) -> x.sub(0.4).choose(x, y).add(y.exp().sqrt()),
+				(x, y) -> x.mult(y).exp().log().apply(v -> v * 0.5)
+				);
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * Tests {@link RandomVariableLazyExpression} against {@link RandomVariableFromDoubleArray}.
+ *
+ * @author Christian Fries
+ */
+public class RandomVariableLazyExpressionTest {
+
+	private final int numberOfPaths = 10007;
+
+	@Test
+	public void testOperationsGiveIdenticalResults() {
+		Random random = new Random(3141);
+		double[] values1 = new double[numberOfPaths];
+		double[] values2 = new double[numberOfPaths];
+		double[] values3 = new double[numberOfPaths];
+		for(int i=0; i<numberOfPaths; i++) {
+			values1[i] = 0.5 + random.nextDouble();
+			values2[i] = random.nextGaussian();
+			values3[i] = random.nextGaussian();
+		}
+
+		RandomVariable[] argumentsExpected = new RandomVariable[] {
+				new RandomVariableFromDoubleArray(0.0, values1),
+				new RandomVariableFromDoubleArray(1.0, values2),
+				new RandomVariableFromDoubleArray(2.0, values3),
+				new RandomVariableFromDoubleArray(0.5, 0.25)
+		};
+		RandomVariable[] arguments = new RandomVariable[] {
+				new RandomVariableLazyExpression(0.0, values1),
+				new RandomVariableLazyExpression(1.0, values2),
+				new RandomVariableLazyExpression(2.0, values3),
+				new RandomVariableLazyExpression(0.5, 0.25)
+		};
+
+		for(Function<RandomVariable[], RandomVariable> operation : getOperations()) {
+			for(int permutation=0; permutation<4; permutation++) {
+				RandomVariable[] x = permute(arguments, permutation);
+				RandomVariable[] y = permute(argumentsExpected, permutation);
+
+				RandomVariable expected = operation.apply(y);
+				RandomVariable actualForAverage = operation.apply(x);
+				RandomVariable actual = operation.apply(x);
+
+				// The average is calculated in a fused pass (without storing the realizations)
+				Assert.assertEquals("Average", expected.getAverage(), actualForAverage.getAverage(), 0.0);
+				Assert.assertEquals("Filtration time", expected.getFiltrationTime(), actual.getFiltrationTime(), 0.0);
+				Assert.assertEquals("Deterministic", expected.isDeterministic(), actual.isDeterministic());
+				Assert.assertArrayEquals("Realizations", expected.getRealizations(), actual.getRealizations(), 0.0);
+			}
+		}
+	}
+
+	@Test
+	public void testCommonSubexpressionsAndSharedExpressions() {
+		Random random = new Random(3141);
+		double[] values = new double[numberOfPaths];
+		for(int i=0; i<numberOfPaths; i++) {
+			values[i] = random.nextGaussian();
+		}
+		RandomVariable x = new RandomVariableLazyExpression(0.0, values);
+		RandomVariable xExpected = new RandomVariableFromDoubleArray(0.0, values);
+
+		// Structurally identical subexpressions (created twice)
+		RandomVariable value = x.mult(0.2).exp().add(x.mult(0.2).exp().squared()).sub(1.0);
+		RandomVariable valueExpected = xExpected.mult(0.2).exp().add(xExpected.mult(0.2).exp().squared()).sub(1.0);
+		Assert.assertEquals(valueExpected.getAverage(), value.getAverage(), 0.0);
+
+		// An expression used by two other expressions is stored on the first evaluation
+		RandomVariable shared = x.mult(0.2).exp();
+		RandomVariable value1 = shared.add(1.0);
+		RandomVariable value2 = shared.mult(shared);
+		Assert.assertTrue(((RandomVariableLazyExpression)shared).getNumberOfPendingOperations() > 0);
+		Assert.assertEquals(xExpected.mult(0.2).exp().add(1.0).getAverage(), value1.getAverage(), 0.0);
+		Assert.assertEquals(0, ((RandomVariableLazyExpression)shared).getNumberOfPendingOperations());
+		Assert.assertArrayEquals(xExpected.mult(0.2).exp().squared().getRealizations(), value2.getRealizations(), 0.0);
+
+		// Long expressions are evaluated (bounding the size of the graph)
+		RandomVariable sum = x;
+		RandomVariable sumExpected = xExpected;
+		for(int i=0; i<1000; i++) {
+			sum = sum.addProduct(x, 0.001);
+			sumExpected = sumExpected.addProduct(xExpected, 0.001);
+		}
+		Assert.assertTrue(((RandomVariableLazyExpression)sum).getNumberOfPendingOperations() <= 256);
+		Assert.assertArrayEquals(sumExpected.getRealizations(), sum.getRealizations(), 0.0);
+	}
+
+	@Test
+	public void testMonteCarloSimulationWithFactory() {
+		BrownianMotion brownianMotion = new BrownianMotionLazyInit(new TimeDiscretizationFromArray(0.0, 10, 0.1), 1, numberOfPaths, 3141);
+		BrownianMotion brownianMotionLazy = new BrownianMotionLazyInit(new TimeDiscretizationFromArray(0.0, 10, 0.1), 1, numberOfPaths, 3141, new RandomVariableLazyExpressionFactory());
+
+		RandomVariable value = new RandomVariableFromDoubleArray(1.0);
+		RandomVariable valueLazy = new RandomVariableLazyExpressionFactory().createRandomVariable(1.0);
+		for(int timeIndex=0; timeIndex<10; timeIndex++) {
+			value = value.mult(brownianMotion.getBrownianIncrement(timeIndex, 0).mult(0.2).sub(0.5*0.2*0.2*0.1).exp()).cache();
+			valueLazy = valueLazy.mult(brownianMotionLazy.getBrownianIncrement(timeIndex, 0).mult(0.2).sub(0.5*0.2*0.2*0.1).exp());
+		}
+		Assert.assertTrue(valueLazy instanceof RandomVariableLazyExpression);
+		Assert.assertEquals(value.floor(1.0).sub(1.0).getAverage(), valueLazy.floor(1.0).sub(1.0).getAverage(), 0.0);
+		Assert.assertArrayEquals(value.getRealizations(), valueLazy.getRealizations(), 0.0);
+	}
+
+	private static RandomVariable[] permute(RandomVariable[] arguments, int permutation) {
+		RandomVariable[] permuted = new RandomVariable[arguments.length];
+		for(int i=0; i<arguments.length; i++) {
+			permuted[i] = arguments[(i+permutation) % arguments.length];
+		}
+		return permuted;
+	}
+
+	private static List<Function<RandomVariable[], RandomVariable>> getOperations() {
+		return Arrays.<Function<RandomVariable[], RandomVariable>>asList(
+				x -> x[0].cap(0.7),
+				x -> x[0].floor(0.7),
+				x -> x[0].add(0.7).sub(0.3).mult(1.7).div(3.0),
+				x -> x[0].abs().pow(1.5).sqrt().squared(),
+				x -> x[0].exp().log().sin().cos(),
+				x -> x[0].invert().abs().isNaN().add(x[0]),
+				x -> x[0].apply(v -> v * v + 1.0),
+				x -> x[0].apply((u, v) -> u * v - 1.0, x[1]),
+				x -> x[0].apply((u, v, w) -> u * v - w, x[1], x[2]),
+				x -> x[0].add(x[1]).sub(x[2]).mult(x[1]).div(x[2]),
+				x -> x[0].bus(x[1]).vid(x[2]),
+				x -> x[0].cap(x[1]).floor(x[2]),
+				x -> x[0].accrue(x[1], 0.5).discount(x[2], 0.25),
+				x -> x[0].choose(x[1], x[2]),
+				x -> x[0].addProduct(x[1], 0.3).addProduct(x[1], x[2]),
+				x -> x[0].addRatio(x[1], x[2]).subRatio(x[2], x[1]),
+				x -> x[0].sub(x[1].exp()).mult(x[0].sub(x[1].exp())).add(x[2].mult(x[2]))
+				);
+	}
+}
@@ -10,6 +10,7 @@ import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Random;
@@ -444,7 +445,9 @@ public class RandomVariableDifferentiableAADPerformanceTest {
 			new RandomVariableFactory(),
 			//			new RandomVariableDifferentiableAADPathwiseFactory(),
 			//			new RandomVariableDifferentiableAADStochasticNonOptimizedFactory(),
-			new RandomVariableDifferentiableAADFactory()
+			new RandomVariableDifferentiableAADFactory(),
+			new RandomVariableDifferentiableAADFactory(new RandomVariableFactory(), Collections.singletonMap("numberOfPathChunksInReverseSweep", (Object)Runtime.getRuntime().availableProcessors())),
+			new RandomVariableDifferentiableTapeAADFactory()
 	};
 
 	private static int numberOfPaths = 10000;//10000;		/* In the paper we use 100000 */
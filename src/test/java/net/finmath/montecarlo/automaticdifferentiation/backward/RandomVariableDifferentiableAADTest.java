@@ -7,9 +7,13 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import net.finmath.montecarlo.AbstractRandomVariableFactory;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionLazyInit;
 import net.finmath.montecarlo.RandomVariableFactory;
 import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiable;
+import net.finmath.montecarlo.conditionalexpectation.MonteCarloConditionalExpectationRegression;
 import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretizationFromArray;
 
 /**
  * Basic test for RandomVariableDifferentiableAAD.
@@ -60,4 +64,46 @@ public class RandomVariableDifferentiableAADTest {
 
 		Assert.assertEquals(derivativeExpected, derivativeAAD, 1E-15);
 	}
+
+	@Test
+	public void testReverseSweepWithPathChunks() {
+		BrownianMotion brownianMotion = new BrownianMotionLazyInit(new TimeDiscretizationFromArray(0.0, 2, 1.0), 1, 10007, 3141);
+		RandomVariable increment1 = brownianMotion.getBrownianIncrement(0, 0);
+		RandomVariable increment2 = brownianMotion.getBrownianIncrement(1, 0);
+
+		Map<String, Object> properties = new HashMap<String, Object>();
+		properties.put("numberOfPathChunksInReverseSweep", 7);
+
+		RandomVariableDifferentiableAADFactory factorySequential = new RandomVariableDifferentiableAADFactory();
+		RandomVariableDifferentiableAADFactory factoryWithPathChunks = new RandomVariableDifferentiableAADFactory(new RandomVariableFactory(), properties);
+
+		double[] derivativesSequential = getDerivativesOfBermudanLikeProduct(factorySequential, increment1, increment2);
+		double[] derivativesWithPathChunks = getDerivativesOfBermudanLikeProduct(factoryWithPathChunks, increment1, increment2);
+
+		for(int i = 0; i < derivativesSequential.length; i++) {
+			Assert.assertEquals("Derivative " + i, derivativesSequential[i], derivativesWithPathChunks[i], 1E-12 * Math.abs(derivativesSequential[i]));
+		}
+	}
+
+	/*
+	 * A product using path-wise operators as well as operators requiring all paths (average, conditional expectation, Dirac delta approximation).
+	 */
+	private double[] getDerivativesOfBermudanLikeProduct(RandomVariableDifferentiableAADFactory factory, RandomVariable increment1, RandomVariable increment2) {
+		RandomVariableDifferentiable initialValue = factory.createRandomVariable(100.0);
+		RandomVariableDifferentiable volatility = factory.createRandomVariable(0.2);
+
+		RandomVariable value1 = initialValue.mult(volatility.mult(increment1).exp());
+		RandomVariable value2 = value1.mult(volatility.mult(increment2).exp());
+
+		RandomVariable exerciseValue = value1.sub(100.0).floor(0.0);
+		RandomVariable continuationValue = value2.sub(100.0).floor(0.0).getConditionalExpectation(new MonteCarloConditionalExpectationRegression(new RandomVariable[] { value1.getValues().mult(0.0).add(1.0), value1.getValues(), value1.getValues().squared() }));
+		RandomVariable value = exerciseValue.sub(continuationValue).choose(exerciseValue, value2.sub(100.0).floor(0.0)).average();
+
+		Map<Long, RandomVariable> gradient = ((RandomVariableDifferentiable)value).getGradient();
+
+		return new double[] {
+				gradient.get(initialValue.getID()).getAverage(),
+				gradient.get(volatility.getID()).getAverage()
+		};
+	}
 }
@@ -0,0 +1,106 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo.automaticdifferentiation.backward;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiable;
+import net.finmath.stochastic.RandomVariable;
+
+/**
+ * Tests the assignment of ids and the lifetime of the tape of {@link RandomVariableDifferentiableTapeAAD}.
+ *
+ * @author Christian Fries
+ */
+public class RandomVariableDifferentiableTapeAADTest {
+
+	@Test
+	public void testIDsAreNotReusedAfterCheckpoint() {
+		RandomVariableDifferentiableTapeAADFactory factory = new RandomVariableDifferentiableTapeAADFactory();
+
+		RandomVariableDifferentiable x = factory.createRandomVariable(2.0);
+
+		// The intermediate result of the checkpointed calculation is released from the tape
+		RandomVariable[] intermediate = new RandomVariable[1];
+		RandomVariable[] results = factory.getValuesWithCheckpoint(() -> {
+			intermediate[0] = x.squared();
+			return new RandomVariable[] { intermediate[0].mult(3.0) };
+		});
+		Long idOfReleased = ((RandomVariableDifferentiable)intermediate[0]).getID();
+
+		// Operations recorded after the checkpoint re-use the position of the released intermediate result
+		RandomVariableDifferentiable y = (RandomVariableDifferentiable)x.mult(5.0);
+		RandomVariableDifferentiable z = (RandomVariableDifferentiable)y.add(results[0]);
+
+		Assert.assertFalse("Id of released operation re-used", idOfReleased.equals(y.getID()));
+		Assert.assertFalse("Id of released operation re-used", idOfReleased.equals(z.getID()));
+
+		// A stale id must not match an operation on the tape
+		Map<Long, RandomVariable> gradientWithRespectToReleased = z.getGradient(Collections.singleton(idOfReleased));
+		Assert.assertTrue("Gradient with respect to released operation", gradientWithRespectToReleased.isEmpty());
+
+		// d/dx (5x + 3x^2) = 5 + 6x
+		Map<Long, RandomVariable> gradient = z.getGradient();
+		Assert.assertEquals("Derivative", 17.0, gradient.get(x.getID()).getAverage(), 1E-12);
+		Assert.assertEquals("Size of gradient", 1, gradient.size());
+	}
+
+	/**
+	 * Repeated valuations where each valuation starts a new tape and creates its leaves on the new tape:
+	 * the size of the tape is bounded by the size of a single valuation.
+	 */
+	@Test
+	public void testTapeLifetimeBoundToValuation() {
+		RandomVariableDifferentiableTapeAADFactory factory = new RandomVariableDifferentiableTapeAADFactory();
+
+		int sizeOfTapeOfFirstValuation = -1;
+		OperatorTape tapeOfPreviousValuation = null;
+		for(int valuationIndex = 0; valuationIndex < 10; valuationIndex++) {
+			factory.startNewTape();
+
+			double parameterValue = 1.0 + valuationIndex;
+			RandomVariableDifferentiable parameter = factory.createRandomVariable(parameterValue);
+
+			RandomVariable value = parameter;
+			for(int i=0; i<100; i++) {
+				value = value.mult(1.01).add(parameter.squared());
+			}
+			Map<Long, RandomVariable> gradient = ((RandomVariableDifferentiable)value).getGradient();
+
+			double derivative = 0.0;
+			for(int i=0; i<100; i++) {
+				derivative = derivative * 1.01 + 2.0 * parameterValue;
+			}
+			derivative += Math.pow(1.01, 100);
+			Assert.assertEquals("Derivative", derivative, gradient.get(parameter.getID()).getAverage(), 1E-10 * derivative);
+
+			OperatorTape tape = factory.getTape();
+			Assert.assertNotSame("New tape", tapeOfPreviousValuation, tape);
+			if(sizeOfTapeOfFirstValuation < 0) {
+				sizeOfTapeOfFirstValuation = tape.size();
+			}
+			Assert.assertEquals("Size of tape", sizeOfTapeOfFirstValuation, tape.size());
+
+			tapeOfPreviousValuation = tape;
+		}
+
+		// Mixing a leaf of a previous tape with the new tape is not supported
+		RandomVariableDifferentiable leafOfPreviousTape = factory.createRandomVariable(1.0);
+		factory.startNewTape();
+		RandomVariableDifferentiable leafOfNewTape = factory.createRandomVariable(1.0);
+		try {
+			leafOfNewTape.add(leafOfPreviousTape);
+			Assert.fail("Combining random variables of different tapes should fail.");
+		}
+		catch(IllegalArgumentException e) {
+			// Expected
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo.conditionalexpectation;
+
+import java.util.Random;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.DecompositionSolver;
+import org.apache.commons.math3.linear.SingularValueDecomposition;
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.montecarlo.RandomVariableFromDoubleArray;
+import net.finmath.stochastic.RandomVariable;
+
+/**
+ * Tests the regression parameters of {@link MonteCarloConditionalExpectationRegression}
+ * against a direct calculation of the normal equations.
+ *
+ * @author Christian Fries
+ */
+public class MonteCarloConditionalExpectationRegressionTest {
+
+	private final int numberOfPaths = 100000;
+
+	private final Random random = new Random(3141);
+
+	@Test
+	public void testRegressionParameters() {
+		RandomVariable underlying = createRandomVariable();
+		RandomVariable[] basisFunctions = new RandomVariable[] {
+				new RandomVariableFromDoubleArray(1.0),
+				underlying,
+				underlying.squared(),
+				underlying.pow(3.0).mult(100.0)
+		};
+		RandomVariable dependents = underlying.exp().add(createRandomVariable());
+
+		MonteCarloConditionalExpectationRegression regression = new MonteCarloConditionalExpectationRegression(basisFunctions);
+		double[] expected = getLinearRegressionParametersDirect(basisFunctions, dependents);
+
+		// Repeated calls use the cached decomposition
+		for(int call=0; call<2; call++) {
+			double[] parameters = regression.getLinearRegressionParameters(dependents);
+			for(int i=0; i<expected.length; i++) {
+				Assert.assertEquals("Parameter " + i, expected[i], parameters[i], 1E-10 * Math.abs(expected[i]));
+			}
+		}
+
+		// Deterministic dependents
+		RandomVariable constant = new RandomVariableFromDoubleArray(2.0);
+		Assert.assertArrayEquals(getLinearRegressionParametersDirect(basisFunctions, constant), regression.getLinearRegressionParameters(constant), 1E-10);
+	}
+
+	@Test
+	public void testRegressionParametersForSingularBasisFunctions() {
+		RandomVariable underlying = createRandomVariable();
+		RandomVariable[] basisFunctions = new RandomVariable[] {
+				new RandomVariableFromDoubleArray(1.0),
+				underlying,
+				underlying.mult(2.0)			// Linear dependent basis function
+		};
+		RandomVariable dependents = underlying.squared();
+
+		double[] expected = getLinearRegressionParametersDirect(basisFunctions, dependents);
+		double[] parameters = new MonteCarloConditionalExpectationRegression(basisFunctions).getLinearRegressionParameters(dependents);
+
+		Assert.assertArrayEquals(expected, parameters, 1E-10);
+	}
+
+	@Test
+	public void testConditionalExpectationsOfManyRandomVariables() {
+		RandomVariable underlying = createRandomVariable();
+		RandomVariable[] basisFunctions = new RandomVariable[] {
+				new RandomVariableFromDoubleArray(1.0),
+				underlying,
+				underlying.squared()
+		};
+		RandomVariable[] randomVariables = new RandomVariable[] {
+				underlying.exp(),
+				underlying.add(createRandomVariable()),
+				new RandomVariableFromDoubleArray(2.0),
+				underlying.abs()
+		};
+
+		RandomVariable[] conditionalExpectations = new MonteCarloConditionalExpectationRegression(basisFunctions).getConditionalExpectations(randomVariables);
+
+		for(int k=0; k<randomVariables.length; k++) {
+			RandomVariable expected = new MonteCarloConditionalExpectationRegression(basisFunctions).getConditionalExpectation(randomVariables[k]);
+			Assert.assertArrayEquals("Random variable " + k, expected.getRealizations(), conditionalExpectations[k].getRealizations(), 1E-12);
+		}
+	}
+
+	private double[] getLinearRegressionParametersDirect(RandomVariable[] basisFunctions, RandomVariable dependents) {
+		double[][] XTX = new double[basisFunctions.length][basisFunctions.length];
+		double[] XTy = new double[basisFunctions.length];
+		for(int i=0; i<basisFunctions.length; i++) {
+			for(int j=0; j<basisFunctions.length; j++) {
+				XTX[i][j] = basisFunctions[i].mult(basisFunctions[j]).getAverage();
+			}
+			XTy[i] = dependents.mult(basisFunctions[i]).getAverage();
+		}
+		DecompositionSolver solver = new SingularValueDecomposition(new Array2DRowRealMatrix(XTX, false)).getSolver();
+		return solver.solve(new ArrayRealVector(XTy)).toArray();
+	}
+
+	private RandomVariable createRandomVariable() {
+		double[] values = new double[numberOfPaths];
+		for(int i=0; i<numberOfPaths; i++) {
+			values[i] = random.nextGaussian();
+		}
+		return new RandomVariableFromDoubleArray(0.0, values);
+	}
+}
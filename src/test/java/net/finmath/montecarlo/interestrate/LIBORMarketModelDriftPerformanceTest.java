@@ -0,0 +1,128 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo.interestrate;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.marketdata.model.curves.DiscountCurveFromForwardCurve;
+import net.finmath.marketdata.model.curves.ForwardCurveInterpolation;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionLazyInit;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.RandomVariableFromDoubleArray;
+import net.finmath.montecarlo.interestrate.models.LIBORMarketModelFromCovarianceModel;
+import net.finmath.montecarlo.interestrate.models.covariance.BlendedLocalVolatilityModel;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORCorrelationModelExponentialDecay;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORCovarianceModel;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORCovarianceModelFromVolatilityAndCorrelation;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORVolatilityModel;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORVolatilityModelFourParameterExponentialForm;
+import net.finmath.montecarlo.process.EulerSchemeFromProcessModel;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * Compares the calculation time of the drift of {@link LIBORMarketModelFromCovarianceModel}
+ * using the fused drift kernel with the standard calculation of the drift, for a 40x3 and a 120x5 model.
+ *
+ * @author Christian Fries
+ */
+public class LIBORMarketModelDriftPerformanceTest {
+
+	private static final DecimalFormat formatTime = new DecimalFormat("###0.00", new DecimalFormatSymbols(Locale.ENGLISH));
+
+	private static final int numberOfPaths			= 10000;
+	private static final int numberOfRepetitions	= 10;
+
+	public static void main(String[] args) throws CalculationException {
+		(new LIBORMarketModelDriftPerformanceTest()).testPerformanceOfFusedDriftKernel();
+	}
+
+	@Test
+	public void testPerformanceOfFusedDriftKernel() throws CalculationException {
+		Random random = new Random(3141);
+
+		for(int[] modelSize : new int[][] { { 40, 3 }, { 120, 5 } }) {
+			int numberOfComponents = modelSize[0];
+			int numberOfFactors = modelSize[1];
+			double periodLength = 20.0 / numberOfComponents;
+			TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, numberOfComponents, periodLength);
+			TimeDiscretization liborPeriodDiscretization = new TimeDiscretizationFromArray(0.0, numberOfComponents, periodLength);
+
+			ForwardCurveInterpolation forwardCurve = ForwardCurveInterpolation.createForwardCurveFromForwards(
+					"forwardCurve", new double[] {0.5 , 1.0 , 2.0 , 5.0 , 40.0}, new double[] {0.05, 0.05, 0.05, 0.05, 0.05}, periodLength);
+
+			LIBORVolatilityModel volatilityModel = new LIBORVolatilityModelFourParameterExponentialForm(timeDiscretization, liborPeriodDiscretization, 0.2, 0.0, 0.25, 0.3, false);
+			LIBORCorrelationModelExponentialDecay correlationModel = new LIBORCorrelationModelExponentialDecay(timeDiscretization, liborPeriodDiscretization, numberOfFactors, 0.1);
+			// Local volatility model, such that the factor loadings are stochastic
+			BlendedLocalVolatilityModel covarianceModel = new BlendedLocalVolatilityModel(new LIBORCovarianceModelFromVolatilityAndCorrelation(timeDiscretization, liborPeriodDiscretization, volatilityModel, correlationModel), forwardCurve, 0.5, false);
+
+			// Realizations of the LIBORs
+			RandomVariable[] realizations = new RandomVariable[numberOfComponents];
+			for(int componentIndex=0; componentIndex<numberOfComponents; componentIndex++) {
+				double[] values = new double[numberOfPaths];
+				for(int pathIndex=0; pathIndex<numberOfPaths; pathIndex++) {
+					values[pathIndex] = 0.05 * Math.exp(0.2 * random.nextGaussian());
+				}
+				realizations[componentIndex] = new RandomVariableFromDoubleArray(0.0, values);
+			}
+
+			BrownianMotion brownianMotion = new BrownianMotionLazyInit(timeDiscretization, numberOfFactors, numberOfPaths, 3141 /* seed */);
+
+			for(LIBORMarketModelFromCovarianceModel.Measure measure : LIBORMarketModelFromCovarianceModel.Measure.values()) {
+				for(LIBORMarketModelFromCovarianceModel.StateSpace stateSpace : LIBORMarketModelFromCovarianceModel.StateSpace.values()) {
+					LIBORMarketModelFromCovarianceModel model = createModel(liborPeriodDiscretization, forwardCurve, covarianceModel, measure, stateSpace, false, brownianMotion);
+					LIBORMarketModelFromCovarianceModel modelWithFusedDriftKernel = createModel(liborPeriodDiscretization, forwardCurve, covarianceModel, measure, stateSpace, true, brownianMotion);
+
+					long timeStandard = getCalculationTimeOfDrift(model, realizations);
+					long timeFused = getCalculationTimeOfDrift(modelWithFusedDriftKernel, realizations);
+
+					System.out.println("Drift of " + numberOfComponents + "x" + numberOfFactors + " model (" + measure + ", " + stateSpace + "):"
+							+ "\t standard " + formatTime.format(timeStandard/1E6) + " ms,"
+							+ "\t fused kernel " + formatTime.format(timeFused/1E6) + " ms.");
+
+					Assert.assertTrue("Calculation time", timeStandard > 0 && timeFused > 0);
+				}
+			}
+		}
+	}
+
+	private static LIBORMarketModelFromCovarianceModel createModel(TimeDiscretization liborPeriodDiscretization, ForwardCurveInterpolation forwardCurve, LIBORCovarianceModel covarianceModel,
+			LIBORMarketModelFromCovarianceModel.Measure measure, LIBORMarketModelFromCovarianceModel.StateSpace stateSpace, boolean isUseFusedDriftKernel, BrownianMotion brownianMotion) throws CalculationException {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("measure", measure.name());
+		properties.put("stateSpace", stateSpace.name());
+		properties.put("isUseFusedDriftKernel", isUseFusedDriftKernel);
+		LIBORMarketModelFromCovarianceModel model = new LIBORMarketModelFromCovarianceModel(liborPeriodDiscretization, null, forwardCurve, new DiscountCurveFromForwardCurve(forwardCurve), new RandomVariableFactory(), covarianceModel, properties);
+
+		// Associate the model with a time discretization
+		new LIBORMonteCarloSimulationFromLIBORModel(model, new EulerSchemeFromProcessModel(brownianMotion));
+		return model;
+	}
+
+	/**
+	 * Returns the minimum calculation time of the drift of the first time step over a number of repetitions.
+	 */
+	private static long getCalculationTimeOfDrift(LIBORMarketModelFromCovarianceModel model, RandomVariable[] realizations) {
+		long minimumTime = Long.MAX_VALUE;
+		for(int repetition=0; repetition<numberOfRepetitions; repetition++) {
+			long start = System.nanoTime();
+			model.getDrift(1, realizations, null);
+			minimumTime = Math.min(minimumTime, System.nanoTime() - start);
+		}
+		return minimumTime;
+	}
+}
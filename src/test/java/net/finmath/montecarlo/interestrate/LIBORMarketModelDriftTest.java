@@ -0,0 +1,150 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo.interestrate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.marketdata.model.curves.DiscountCurveFromForwardCurve;
+import net.finmath.marketdata.model.curves.ForwardCurveInterpolation;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.RandomVariableFromDoubleArray;
+import net.finmath.montecarlo.interestrate.models.LIBORMarketModelFromCovarianceModel;
+import net.finmath.montecarlo.interestrate.models.covariance.BlendedLocalVolatilityModel;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORCorrelationModelExponentialDecay;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORCovarianceModelFromVolatilityAndCorrelation;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORVolatilityModel;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORVolatilityModelFourParameterExponentialForm;
+import net.finmath.montecarlo.process.EulerSchemeFromProcessModel;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * Tests for the calculation of the drift of {@link LIBORMarketModelFromCovarianceModel} within the simulation.
+ *
+ * @author Christian Fries
+ */
+public class LIBORMarketModelDriftTest {
+
+	private static final int numberOfPaths		= 1000;
+	private static final int numberOfFactors	= 3;
+
+	@Test
+	public void testFactorLoadingIsCalculatedOncePerTimeStepAndComponent() throws CalculationException {
+		TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, 20, 0.5);
+		TimeDiscretization liborPeriodDiscretization = new TimeDiscretizationFromArray(0.0, 20, 0.5);
+
+		LIBORVolatilityModel volatilityModel = new LIBORVolatilityModelFourParameterExponentialForm(timeDiscretization, liborPeriodDiscretization, 0.2, 0.0, 0.25, 0.3, false);
+		LIBORCorrelationModelExponentialDecay correlationModel = new LIBORCorrelationModelExponentialDecay(timeDiscretization, liborPeriodDiscretization, numberOfFactors, 0.1);
+
+		final AtomicInteger numberOfFactorLoadingCalculations = new AtomicInteger();
+		LIBORCovarianceModelFromVolatilityAndCorrelation covarianceModel = new LIBORCovarianceModelFromVolatilityAndCorrelation(timeDiscretization, liborPeriodDiscretization, volatilityModel, correlationModel) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public RandomVariable[] getFactorLoading(int timeIndex, int component, RandomVariable[] realizationAtTimeIndex) {
+				numberOfFactorLoadingCalculations.incrementAndGet();
+				return super.getFactorLoading(timeIndex, component, realizationAtTimeIndex);
+			}
+		};
+
+		ForwardCurveInterpolation forwardCurve = ForwardCurveInterpolation.createForwardCurveFromForwards(
+				"forwardCurve", new double[] {0.5 , 1.0 , 2.0 , 5.0 , 40.0}, new double[] {0.05, 0.05, 0.05, 0.05, 0.05}, 0.5);
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put("measure", LIBORMarketModelFromCovarianceModel.Measure.SPOT.name());
+		properties.put("stateSpace", LIBORMarketModelFromCovarianceModel.StateSpace.LOGNORMAL.name());
+
+		LIBORMarketModelFromCovarianceModel liborMarketModel = new LIBORMarketModelFromCovarianceModel(liborPeriodDiscretization, null, forwardCurve, new DiscountCurveFromForwardCurve(forwardCurve), new RandomVariableFactory(), covarianceModel, properties);
+
+		BrownianMotion brownianMotion = new net.finmath.montecarlo.BrownianMotionLazyInit(timeDiscretization, numberOfFactors, numberOfPaths, 3141 /* seed */);
+		EulerSchemeFromProcessModel process = new EulerSchemeFromProcessModel(brownianMotion, EulerSchemeFromProcessModel.Scheme.EULER);
+		LIBORModelMonteCarloSimulationModel simulation = new LIBORMonteCarloSimulationFromLIBORModel(liborMarketModel, process);
+
+		numberOfFactorLoadingCalculations.set(0);
+		simulation.getLIBOR(timeDiscretization.getNumberOfTimeSteps()-1, liborPeriodDiscretization.getNumberOfTimeSteps()-1);
+
+		// In each time step, the factor loading of each component which is not yet fixed is calculated once (for drift and diffusion)
+		int expectedNumberOfFactorLoadingCalculations = 0;
+		for(int timeIndex=0; timeIndex<timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
+			int firstLiborIndex = liborPeriodDiscretization.getTimeIndexNearestLessOrEqual(timeDiscretization.getTime(timeIndex)) + 1;
+			expectedNumberOfFactorLoadingCalculations += liborPeriodDiscretization.getNumberOfTimeSteps() - firstLiborIndex;
+		}
+
+		Assert.assertEquals("Number of factor loading calculations", expectedNumberOfFactorLoadingCalculations, numberOfFactorLoadingCalculations.get());
+	}
+
+	@Test
+	public void testFusedDriftKernelGivesIdenticalDrift() throws CalculationException {
+		final int numberOfPathsForDrift = 10000;
+		Random random = new Random(3141);
+
+		for(int[] modelSize : new int[][] { { 40, 3 }, { 120, 5 } }) {
+			int numberOfComponents = modelSize[0];
+			int numberOfFactorsOfModel = modelSize[1];
+			double periodLength = 20.0 / numberOfComponents;
+			TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, numberOfComponents, periodLength);
+			TimeDiscretization liborPeriodDiscretization = new TimeDiscretizationFromArray(0.0, numberOfComponents, periodLength);
+
+			ForwardCurveInterpolation forwardCurve = ForwardCurveInterpolation.createForwardCurveFromForwards(
+					"forwardCurve", new double[] {0.5 , 1.0 , 2.0 , 5.0 , 40.0}, new double[] {0.05, 0.05, 0.05, 0.05, 0.05}, periodLength);
+
+			LIBORVolatilityModel volatilityModel = new LIBORVolatilityModelFourParameterExponentialForm(timeDiscretization, liborPeriodDiscretization, 0.2, 0.0, 0.25, 0.3, false);
+			LIBORCorrelationModelExponentialDecay correlationModel = new LIBORCorrelationModelExponentialDecay(timeDiscretization, liborPeriodDiscretization, numberOfFactorsOfModel, 0.1);
+			// Local volatility model, such that the factor loadings are stochastic
+			BlendedLocalVolatilityModel covarianceModel = new BlendedLocalVolatilityModel(new LIBORCovarianceModelFromVolatilityAndCorrelation(timeDiscretization, liborPeriodDiscretization, volatilityModel, correlationModel), forwardCurve, 0.5, false);
+
+			// Realizations of the LIBORs
+			RandomVariable[] realizations = new RandomVariable[numberOfComponents];
+			for(int componentIndex=0; componentIndex<numberOfComponents; componentIndex++) {
+				double[] values = new double[numberOfPathsForDrift];
+				for(int pathIndex=0; pathIndex<numberOfPathsForDrift; pathIndex++) {
+					values[pathIndex] = 0.05 * Math.exp(0.2 * random.nextGaussian());
+				}
+				realizations[componentIndex] = new RandomVariableFromDoubleArray(0.0, values);
+			}
+
+			for(LIBORMarketModelFromCovarianceModel.Measure measure : LIBORMarketModelFromCovarianceModel.Measure.values()) {
+				for(LIBORMarketModelFromCovarianceModel.StateSpace stateSpace : LIBORMarketModelFromCovarianceModel.StateSpace.values()) {
+					Map<String, Object> properties = new HashMap<>();
+					properties.put("measure", measure.name());
+					properties.put("stateSpace", stateSpace.name());
+					LIBORMarketModelFromCovarianceModel model = new LIBORMarketModelFromCovarianceModel(liborPeriodDiscretization, null, forwardCurve, new DiscountCurveFromForwardCurve(forwardCurve), new RandomVariableFactory(), covarianceModel, properties);
+
+					properties.put("isUseFusedDriftKernel", true);
+					LIBORMarketModelFromCovarianceModel modelWithFusedDriftKernel = new LIBORMarketModelFromCovarianceModel(liborPeriodDiscretization, null, forwardCurve, new DiscountCurveFromForwardCurve(forwardCurve), new RandomVariableFactory(), covarianceModel, properties);
+
+					// Associate the models with a time discretization
+					BrownianMotion brownianMotion = new net.finmath.montecarlo.BrownianMotionLazyInit(timeDiscretization, numberOfFactorsOfModel, numberOfPathsForDrift, 3141 /* seed */);
+					new LIBORMonteCarloSimulationFromLIBORModel(model, new EulerSchemeFromProcessModel(brownianMotion));
+					new LIBORMonteCarloSimulationFromLIBORModel(modelWithFusedDriftKernel, new EulerSchemeFromProcessModel(brownianMotion));
+
+					for(int timeIndex : new int[] { 0, numberOfComponents / 2 }) {
+						RandomVariable[] drift = model.getDrift(timeIndex, realizations, null);
+						RandomVariable[] driftWithFusedDriftKernel = modelWithFusedDriftKernel.getDrift(timeIndex, realizations, null);
+
+						for(int componentIndex=0; componentIndex<numberOfComponents; componentIndex++) {
+							if(drift[componentIndex] == null) {
+								Assert.assertNull(driftWithFusedDriftKernel[componentIndex]);
+							}
+							else {
+								Assert.assertArrayEquals(measure + " " + stateSpace + " component " + componentIndex, drift[componentIndex].getRealizations(), driftWithFusedDriftKernel[componentIndex].getRealizations(), 0.0);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+}
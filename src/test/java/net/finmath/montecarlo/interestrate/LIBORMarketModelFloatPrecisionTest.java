@@ -0,0 +1,109 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo.interestrate;
+
+import java.text.DecimalFormat;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.marketdata.model.curves.DiscountCurveFromForwardCurve;
+import net.finmath.marketdata.model.curves.ForwardCurveInterpolation;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionLazyInit;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.RandomVariableFromFloatArray;
+import net.finmath.montecarlo.interestrate.models.LIBORMarketModelFromCovarianceModel;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORCorrelationModelExponentialDecay;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORCovarianceModelFromVolatilityAndCorrelation;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORVolatilityModel;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORVolatilityModelFourParameterExponentialForm;
+import net.finmath.montecarlo.interestrate.products.AbstractLIBORMonteCarloProduct;
+import net.finmath.montecarlo.interestrate.products.Caplet;
+import net.finmath.montecarlo.interestrate.products.Swaption;
+import net.finmath.montecarlo.process.EulerSchemeFromProcessModel;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * Compares the valuation of caplets and swaptions in a LIBOR market model simulated with float storage
+ * (<code>RandomVariableFactory(false)</code>) to the simulation with double storage, reporting the differences
+ * relative to the Monte-Carlo error.
+ *
+ * @author Christian Fries
+ */
+public class LIBORMarketModelFloatPrecisionTest {
+
+	private static final int numberOfPaths		= 20000;
+	private static final int numberOfFactors	= 3;
+
+	private static final DecimalFormat formatterValue		= new DecimalFormat(" 0.000000E0;-0.000000E0");
+	private static final DecimalFormat formatterDeviation	= new DecimalFormat(" 0.0000%;-0.0000%");
+
+	@Test
+	public void testFloatStorageAgreesWithDoubleStorage() throws CalculationException {
+		for(LIBORMarketModelFromCovarianceModel.Measure measure : LIBORMarketModelFromCovarianceModel.Measure.values()) {
+			LIBORModelMonteCarloSimulationModel simulationDouble = createSimulation(measure, new RandomVariableFactory(true));
+			LIBORModelMonteCarloSimulationModel simulationFloat = createSimulation(measure, new RandomVariableFactory(false));
+
+			// The paths are stored as float
+			Assert.assertTrue(simulationFloat.getBrownianMotion().getBrownianIncrement(0, 0) instanceof RandomVariableFromFloatArray);
+			Assert.assertTrue(simulationFloat.getLIBOR(10, simulationFloat.getNumberOfLibors()-1) instanceof RandomVariableFromFloatArray);
+
+			System.out.println("Float vs. double storage (" + measure + "):");
+			System.out.println("Product                 \tValue (double)\tValue (float)\tDifference\tDifference/Std.Error");
+
+			double maxDeviationRelativeToError = 0.0;
+			for(double maturity = 1.0; maturity < 10.0; maturity += 2.0) {
+				for(AbstractLIBORMonteCarloProduct product : new AbstractLIBORMonteCarloProduct[] {
+						new Caplet(maturity, 0.5, 0.05),
+						new Swaption(maturity, new TimeDiscretizationFromArray(maturity, 10, 0.5), 0.05)
+				}) {
+					RandomVariable valueDouble = product.getValue(0.0, simulationDouble);
+					RandomVariable valueFloat = product.getValue(0.0, simulationFloat);
+
+					double difference = valueFloat.getAverage() - valueDouble.getAverage();
+					double standardError = valueDouble.getStandardError();
+					double deviationRelativeToError = Math.abs(difference) / standardError;
+					maxDeviationRelativeToError = Math.max(maxDeviationRelativeToError, deviationRelativeToError);
+
+					System.out.println(String.format("%-24s", product.getClass().getSimpleName() + " " + maturity) + "\t"
+							+ formatterValue.format(valueDouble.getAverage()) + "\t" + formatterValue.format(valueFloat.getAverage()) + "\t"
+							+ formatterValue.format(difference) + "\t" + formatterDeviation.format(deviationRelativeToError));
+				}
+			}
+			System.out.println();
+
+			// The error from float storage is small compared to the Monte-Carlo error
+			Assert.assertTrue("Deviation relative to Monte-Carlo error", maxDeviationRelativeToError < 0.01);
+		}
+	}
+
+	private static LIBORModelMonteCarloSimulationModel createSimulation(LIBORMarketModelFromCovarianceModel.Measure measure, RandomVariableFactory randomVariableFactory) throws CalculationException {
+		TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, 40, 0.5);
+		TimeDiscretization liborPeriodDiscretization = new TimeDiscretizationFromArray(0.0, 40, 0.5);
+
+		LIBORVolatilityModel volatilityModel = new LIBORVolatilityModelFourParameterExponentialForm(timeDiscretization, liborPeriodDiscretization, 0.2, 0.0, 0.25, 0.3, false);
+		LIBORCorrelationModelExponentialDecay correlationModel = new LIBORCorrelationModelExponentialDecay(timeDiscretization, liborPeriodDiscretization, numberOfFactors, 0.1);
+		LIBORCovarianceModelFromVolatilityAndCorrelation covarianceModel = new LIBORCovarianceModelFromVolatilityAndCorrelation(timeDiscretization, liborPeriodDiscretization, volatilityModel, correlationModel);
+
+		ForwardCurveInterpolation forwardCurve = ForwardCurveInterpolation.createForwardCurveFromForwards(
+				"forwardCurve", new double[] {0.5 , 1.0 , 2.0 , 5.0 , 40.0}, new double[] {0.05, 0.05, 0.05, 0.05, 0.05}, 0.5);
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put("measure", measure.name());
+
+		LIBORMarketModelFromCovarianceModel liborMarketModel = new LIBORMarketModelFromCovarianceModel(liborPeriodDiscretization, null, forwardCurve, new DiscountCurveFromForwardCurve(forwardCurve), randomVariableFactory, covarianceModel, properties);
+
+		BrownianMotion brownianMotion = new BrownianMotionLazyInit(timeDiscretization, numberOfFactors, numberOfPaths, 3141 /* seed */, randomVariableFactory);
+		EulerSchemeFromProcessModel process = new EulerSchemeFromProcessModel(brownianMotion);
+		return new LIBORMonteCarloSimulationFromLIBORModel(liborMarketModel, process);
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo.interestrate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.marketdata.model.curves.DiscountCurveFromForwardCurve;
+import net.finmath.marketdata.model.curves.ForwardCurveInterpolation;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionLazyInit;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.interestrate.models.LIBORMarketModelFromCovarianceModel;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORCorrelationModelExponentialDecay;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORCovarianceModel;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORCovarianceModelFromVolatilityAndCorrelation;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORVolatilityModelFromGivenMatrix;
+import net.finmath.montecarlo.process.EulerSchemeFromProcessModel;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * Tests the integrated LIBOR covariance of {@link LIBORMarketModelFromCovarianceModel}.
+ *
+ * @author Christian Fries
+ */
+public class LIBORMarketModelIntegratedCovarianceTest {
+
+	private static final int numberOfFactors = 3;
+
+	private final TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, 40, 0.5);
+	private final TimeDiscretization liborPeriodDiscretization = new TimeDiscretizationFromArray(0.0, 40, 0.5);
+	private final ForwardCurveInterpolation forwardCurve = ForwardCurveInterpolation.createForwardCurveFromForwards(
+			"forwardCurve", new double[] {0.5 , 1.0 , 2.0 , 5.0 , 40.0}, new double[] {0.05, 0.05, 0.05, 0.05, 0.05}, 0.5);
+
+	@Test
+	public void testIntegratedCovarianceAgreesWithDirectCalculation() throws CalculationException {
+		LIBORMarketModelFromCovarianceModel model = createModel(createCovarianceModel(0.20, 0.20, timeDiscretization.getNumberOfTimeSteps()));
+
+		double[][][] integratedLIBORCovariance = model.getIntegratedLIBORCovariance();
+		double[][][] integratedLIBORCovarianceExpected = getIntegratedLIBORCovarianceByDirectCalculation(model);
+
+		for(int timeIndex = 0; timeIndex < timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
+			double[][] integratedLIBORCovarianceOfTime = model.getIntegratedLIBORCovariance(timeIndex);
+			for(int componentIndex = 0; componentIndex < liborPeriodDiscretization.getNumberOfTimeSteps(); componentIndex++) {
+				Assert.assertArrayEquals(integratedLIBORCovarianceExpected[timeIndex][componentIndex], integratedLIBORCovariance[timeIndex][componentIndex], 0.0);
+				Assert.assertArrayEquals(integratedLIBORCovarianceExpected[timeIndex][componentIndex], integratedLIBORCovarianceOfTime[componentIndex], 0.0);
+			}
+		}
+	}
+
+	@Test
+	public void testIntegratedCovarianceOfTimeIndex() throws CalculationException {
+		LIBORMarketModelFromCovarianceModel model = createModel(createCovarianceModel(0.20, 0.25, timeDiscretization.getNumberOfTimeSteps() / 2));
+
+		int numberOfComponents = liborPeriodDiscretization.getNumberOfTimeSteps();
+		for(int timeIndex = 0; timeIndex < timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
+			double[][] integratedLIBORCovarianceOfTime = model.getIntegratedLIBORCovariance(timeIndex);
+
+			// The matrix unpacked from the upper triangular storage is symmetric
+			Assert.assertEquals(numberOfComponents, integratedLIBORCovarianceOfTime.length);
+			for(int componentIndex1 = 0; componentIndex1 < numberOfComponents; componentIndex1++) {
+				Assert.assertEquals(numberOfComponents, integratedLIBORCovarianceOfTime[componentIndex1].length);
+				for(int componentIndex2 = 0; componentIndex2 < componentIndex1; componentIndex2++) {
+					Assert.assertEquals(integratedLIBORCovarianceOfTime[componentIndex2][componentIndex1], integratedLIBORCovarianceOfTime[componentIndex1][componentIndex2], 0.0);
+				}
+			}
+
+			// The returned matrix is a copy: modifying it does not modify the model
+			double expected = integratedLIBORCovarianceOfTime[0][numberOfComponents-1];
+			integratedLIBORCovarianceOfTime[0][numberOfComponents-1] = Double.NaN;
+			Assert.assertEquals(expected, model.getIntegratedLIBORCovariance(timeIndex)[0][numberOfComponents-1], 0.0);
+			Assert.assertEquals(expected, model.getIntegratedLIBORCovariance()[timeIndex][0][numberOfComponents-1], 0.0);
+		}
+	}
+
+	@Test
+	public void testIntegratedCovarianceOfCloneWithModifiedCovarianceModel() throws CalculationException {
+		int numberOfTimeSteps = timeDiscretization.getNumberOfTimeSteps();
+		LIBORMarketModelFromCovarianceModel model = createModel(createCovarianceModel(0.20, 0.20, numberOfTimeSteps));
+		model.getIntegratedLIBORCovariance(0);
+
+		// Modify the volatility of later times (the integrated covariance of earlier times may be reused), then of all times.
+		for(int firstModifiedTimeIndex : new int[] { numberOfTimeSteps / 2, numberOfTimeSteps / 4, 0 }) {
+			LIBORCovarianceModel covarianceModelModified = createCovarianceModel(0.20, 0.25, firstModifiedTimeIndex);
+
+			LIBORMarketModelFromCovarianceModel modelCloned = model.getCloneWithModifiedCovarianceModel(covarianceModelModified);
+			new LIBORMonteCarloSimulationFromLIBORModel(modelCloned, createProcess());
+
+			double[][][] integratedLIBORCovariance = modelCloned.getIntegratedLIBORCovariance();
+			double[][][] integratedLIBORCovarianceExpected = createModel(covarianceModelModified).getIntegratedLIBORCovariance();
+			for(int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
+				for(int componentIndex = 0; componentIndex < liborPeriodDiscretization.getNumberOfTimeSteps(); componentIndex++) {
+					Assert.assertArrayEquals("Time index " + timeIndex, integratedLIBORCovarianceExpected[timeIndex][componentIndex], integratedLIBORCovariance[timeIndex][componentIndex], 0.0);
+				}
+			}
+		}
+	}
+
+	private LIBORCovarianceModel createCovarianceModel(double volatility, double volatilityOfLaterTimes, int firstTimeIndexOfLaterTimes) {
+		double[][] volatilities = new double[timeDiscretization.getNumberOfTimeSteps()][liborPeriodDiscretization.getNumberOfTimeSteps()];
+		for(int timeIndex = 0; timeIndex < volatilities.length; timeIndex++) {
+			for(int componentIndex = 0; componentIndex < volatilities[timeIndex].length; componentIndex++) {
+				volatilities[timeIndex][componentIndex] = (timeIndex < firstTimeIndexOfLaterTimes ? volatility : volatilityOfLaterTimes) * (1.0 + 0.01 * componentIndex);
+			}
+		}
+		LIBORVolatilityModelFromGivenMatrix volatilityModel = new LIBORVolatilityModelFromGivenMatrix(timeDiscretization, liborPeriodDiscretization, volatilities);
+		LIBORCorrelationModelExponentialDecay correlationModel = new LIBORCorrelationModelExponentialDecay(timeDiscretization, liborPeriodDiscretization, numberOfFactors, 0.1);
+		return new LIBORCovarianceModelFromVolatilityAndCorrelation(timeDiscretization, liborPeriodDiscretization, volatilityModel, correlationModel);
+	}
+
+	private LIBORMarketModelFromCovarianceModel createModel(LIBORCovarianceModel covarianceModel) throws CalculationException {
+		Map<String, Object> properties = new HashMap<>();
+		LIBORMarketModelFromCovarianceModel model = new LIBORMarketModelFromCovarianceModel(liborPeriodDiscretization, null, forwardCurve, new DiscountCurveFromForwardCurve(forwardCurve), new RandomVariableFactory(), covarianceModel, properties);
+
+		// Associate the model with a time discretization
+		new LIBORMonteCarloSimulationFromLIBORModel(model, createProcess());
+		return model;
+	}
+
+	private EulerSchemeFromProcessModel createProcess() {
+		BrownianMotion brownianMotion = new BrownianMotionLazyInit(timeDiscretization, numberOfFactors, 100, 3141 /* seed */);
+		return new EulerSchemeFromProcessModel(brownianMotion);
+	}
+
+	private static double[][][] getIntegratedLIBORCovarianceByDirectCalculation(LIBORMarketModelFromCovarianceModel model) {
+		int numberOfComponents = model.getLiborPeriodDiscretization().getNumberOfTimeSteps();
+		double[][][] integratedLIBORCovariance = new double[model.getTimeDiscretization().getNumberOfTimeSteps()][numberOfComponents][numberOfComponents];
+		for(int timeIndex = 0; timeIndex < integratedLIBORCovariance.length; timeIndex++) {
+			double dt = model.getTime(timeIndex+1) - model.getTime(timeIndex);
+			for(int componentIndex1 = 0; componentIndex1 < numberOfComponents; componentIndex1++) {
+				RandomVariable[] factorLoading1 = model.getFactorLoading(timeIndex, componentIndex1, null);
+				for(int componentIndex2 = componentIndex1; componentIndex2 < numberOfComponents; componentIndex2++) {
+					RandomVariable[] factorLoading2 = model.getFactorLoading(timeIndex, componentIndex2, null);
+					double covariance = 0.0;
+					if(model.getLiborPeriod(componentIndex1) > model.getTime(timeIndex)) {
+						for(int factorIndex = 0; factorIndex < model.getNumberOfFactors(); factorIndex++) {
+							covariance += factorLoading1[factorIndex].get(0) * factorLoading2[factorIndex].get(0) * dt;
+						}
+					}
+					double previousIntegratedCovariance = timeIndex > 0 ? integratedLIBORCovariance[timeIndex-1][componentIndex1][componentIndex2] : 0.0;
+					integratedLIBORCovariance[timeIndex][componentIndex1][componentIndex2] = timeIndex > 0 ? previousIntegratedCovariance + covariance : covariance;
+					integratedLIBORCovariance[timeIndex][componentIndex2][componentIndex1] = integratedLIBORCovariance[timeIndex][componentIndex1][componentIndex2];
+				}
+			}
+		}
+		return integratedLIBORCovariance;
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo.interestrate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.marketdata.model.curves.DiscountCurveFromForwardCurve;
+import net.finmath.marketdata.model.curves.ForwardCurveInterpolation;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionLazyInit;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.interestrate.models.LIBORMarketModelFromCovarianceModel;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORCorrelationModelExponentialDecay;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORCovarianceModelFromVolatilityAndCorrelation;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORVolatilityModel;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORVolatilityModelFourParameterExponentialForm;
+import net.finmath.montecarlo.process.EulerSchemeFromProcessModel;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * Tests the numeraire cache of {@link LIBORMarketModelFromCovarianceModel} under concurrent access.
+ *
+ * @author Christian Fries
+ */
+public class LIBORMarketModelNumeraireCacheTest {
+
+	private static final int numberOfPaths		= 2000;
+	private static final int numberOfFactors	= 3;
+	private static final int numberOfThreads	= 8;
+
+	@Test
+	public void testConcurrentNumeraireRequestsGiveIdenticalResults() throws Exception {
+		for(LIBORMarketModelFromCovarianceModel.Measure measure : LIBORMarketModelFromCovarianceModel.Measure.values()) {
+			LIBORModelMonteCarloSimulationModel simulationSequential = createSimulation(measure);
+			LIBORModelMonteCarloSimulationModel simulationConcurrent = createSimulation(measure);
+			TimeDiscretization liborPeriodDiscretization = simulationSequential.getLiborPeriodDiscretization();
+
+			List<double[]> numerairesSequential = new ArrayList<>();
+			for(int liborIndex=0; liborIndex<liborPeriodDiscretization.getNumberOfTimes(); liborIndex++) {
+				numerairesSequential.add(getRealizations(simulationSequential.getNumeraire(liborPeriodDiscretization.getTime(liborIndex))));
+			}
+
+			// Each thread requests all numeraires (in different order)
+			ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+			try {
+				List<Future<double[][]>> results = new ArrayList<>();
+				for(int threadIndex=0; threadIndex<numberOfThreads; threadIndex++) {
+					final boolean isReverseOrder = threadIndex % 2 == 1;
+					Callable<double[][]> worker = () -> {
+						double[][] numeraires = new double[liborPeriodDiscretization.getNumberOfTimes()][];
+						for(int i=0; i<liborPeriodDiscretization.getNumberOfTimes(); i++) {
+							int liborIndex = isReverseOrder ? liborPeriodDiscretization.getNumberOfTimes()-1-i : i;
+							numeraires[liborIndex] = getRealizations(simulationConcurrent.getNumeraire(liborPeriodDiscretization.getTime(liborIndex)));
+						}
+						return numeraires;
+					};
+					results.add(executor.submit(worker));
+				}
+
+				for(Future<double[][]> result : results) {
+					double[][] numeraires = result.get();
+					for(int liborIndex=0; liborIndex<liborPeriodDiscretization.getNumberOfTimes(); liborIndex++) {
+						Assert.assertArrayEquals(measure + " numeraire " + liborIndex, numerairesSequential.get(liborIndex), numeraires[liborIndex], 0.0);
+					}
+				}
+			}
+			finally {
+				executor.shutdown();
+			}
+
+			// Each numeraire is calculated once
+			Map<String, Long> statistics = ((LIBORMarketModelFromCovarianceModel)simulationConcurrent.getModel()).getNumeraireCacheStatistics();
+			System.out.println("Numeraire cache statistics (" + measure + "): " + statistics);
+			Assert.assertEquals("Number of numeraire calculations", liborPeriodDiscretization.getNumberOfTimes(), statistics.get("calculations").longValue());
+		}
+	}
+
+	private static double[] getRealizations(RandomVariable randomVariable) {
+		return randomVariable.isDeterministic() ? new double[] { randomVariable.doubleValue() } : randomVariable.getRealizations();
+	}
+
+	private static LIBORModelMonteCarloSimulationModel createSimulation(LIBORMarketModelFromCovarianceModel.Measure measure) throws CalculationException {
+		TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, 20, 0.5);
+		TimeDiscretization liborPeriodDiscretization = new TimeDiscretizationFromArray(0.0, 20, 0.5);
+
+		LIBORVolatilityModel volatilityModel = new LIBORVolatilityModelFourParameterExponentialForm(timeDiscretization, liborPeriodDiscretization, 0.2, 0.0, 0.25, 0.3, false);
+		LIBORCorrelationModelExponentialDecay correlationModel = new LIBORCorrelationModelExponentialDecay(timeDiscretization, liborPeriodDiscretization, numberOfFactors, 0.1);
+		LIBORCovarianceModelFromVolatilityAndCorrelation covarianceModel = new LIBORCovarianceModelFromVolatilityAndCorrelation(timeDiscretization, liborPeriodDiscretization, volatilityModel, correlationModel);
+
+		ForwardCurveInterpolation forwardCurve = ForwardCurveInterpolation.createForwardCurveFromForwards(
+				"forwardCurve", new double[] {0.5 , 1.0 , 2.0 , 5.0 , 40.0}, new double[] {0.05, 0.05, 0.05, 0.05, 0.05}, 0.5);
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put("measure", measure.name());
+
+		LIBORMarketModelFromCovarianceModel liborMarketModel = new LIBORMarketModelFromCovarianceModel(liborPeriodDiscretization, null, forwardCurve, new DiscountCurveFromForwardCurve(forwardCurve), new RandomVariableFactory(), covarianceModel, properties);
+
+		BrownianMotion brownianMotion = new BrownianMotionLazyInit(timeDiscretization, numberOfFactors, numberOfPaths, 3141 /* seed */);
+		EulerSchemeFromProcessModel process = new EulerSchemeFromProcessModel(brownianMotion);
+		return new LIBORMonteCarloSimulationFromLIBORModel(liborMarketModel, process);
+	}
+}
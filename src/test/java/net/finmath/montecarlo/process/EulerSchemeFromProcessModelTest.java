@@ -0,0 +1,164 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo.process;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.marketdata.model.curves.DiscountCurveFromForwardCurve;
+import net.finmath.marketdata.model.curves.ForwardCurveInterpolation;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionLazyInit;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.assetderivativevaluation.MonteCarloAssetModel;
+import net.finmath.montecarlo.assetderivativevaluation.models.BlackScholesModel;
+import net.finmath.montecarlo.assetderivativevaluation.products.AsianOption;
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiable;
+import net.finmath.montecarlo.automaticdifferentiation.backward.RandomVariableDifferentiableTapeAADFactory;
+import net.finmath.montecarlo.interestrate.LIBORMarketModel;
+import net.finmath.montecarlo.interestrate.LIBORModelMonteCarloSimulationModel;
+import net.finmath.montecarlo.interestrate.LIBORMonteCarloSimulationFromLIBORModel;
+import net.finmath.montecarlo.interestrate.models.LIBORMarketModelFromCovarianceModel;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORCorrelationModelExponentialDecay;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORCovarianceModelFromVolatilityAndCorrelation;
+import net.finmath.montecarlo.interestrate.models.covariance.LIBORVolatilityModelFourParameterExponentialForm;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * Tests that the different execution strategies of the {@link EulerSchemeFromProcessModel}
+ * (sequential, shared executor, custom executor with chunks of components) generate identical paths
+ * and that checkpointed time steps give identical derivatives.
+ *
+ * @author Christian Fries
+ */
+public class EulerSchemeFromProcessModelTest {
+
+	private final int numberOfPaths		= 5000;
+	private final int numberOfFactors	= 3;
+	private final int seed				= 3141;
+
+	@Test
+	public void testExecutionStrategiesGiveIdenticalPaths() throws CalculationException {
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			LIBORModelMonteCarloSimulationModel sequential	= createLIBORMarketModel(null, 1);
+			LIBORModelMonteCarloSimulationModel shared		= createLIBORMarketModel(EulerSchemeFromProcessModel.getDefaultExecutor(), 1);
+			LIBORModelMonteCarloSimulationModel chunked		= createLIBORMarketModel(executor, 7);
+
+			for(int timeIndex = 0; timeIndex < sequential.getTimeDiscretization().getNumberOfTimes(); timeIndex++) {
+				for(int componentIndex = 0; componentIndex < sequential.getNumberOfLibors(); componentIndex++) {
+					// Fixed LIBORs have stopped to evolve
+					if(sequential.getLiborPeriod(componentIndex) < sequential.getTime(timeIndex)) {
+						continue;
+					}
+
+					RandomVariable valueSequential	= sequential.getLIBOR(timeIndex, componentIndex);
+					RandomVariable valueShared		= shared.getLIBOR(timeIndex, componentIndex);
+					RandomVariable valueChunked		= chunked.getLIBOR(timeIndex, componentIndex);
+
+					Assert.assertEquals("Deviation (shared executor)", 0.0, valueSequential.sub(valueShared).abs().getMax(), 0.0);
+					Assert.assertEquals("Deviation (chunked components)", 0.0, valueSequential.sub(valueChunked).abs().getMax(), 0.0);
+				}
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testCloneKeepsExecutionStrategy() {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, 10, 0.5);
+			EulerSchemeFromProcessModel process = new EulerSchemeFromProcessModel(new BrownianMotionLazyInit(timeDiscretization, 1, 100, seed), EulerSchemeFromProcessModel.Scheme.EULER, executor, 4);
+
+			EulerSchemeFromProcessModel clone = process.clone();
+			Assert.assertSame(executor, clone.getExecutor());
+			Assert.assertEquals(4, clone.getNumberOfComponentsPerTask());
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testCheckpointedTimeStepsGiveIdenticalGradient() throws CalculationException {
+		TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, 50, 0.1);
+		AsianOption option = new AsianOption(5.0, 110.0, new TimeDiscretizationFromArray(1.0, 40, 0.1));
+
+		RandomVariableDifferentiableTapeAADFactory factoryWithoutCheckpoints = new RandomVariableDifferentiableTapeAADFactory(new RandomVariableFactory());
+		RandomVariableDifferentiable[] parametersWithoutCheckpoints = createBlackScholesParameters(factoryWithoutCheckpoints);
+		RandomVariable valueWithoutCheckpoints = option.getValue(0.0, new MonteCarloAssetModel(
+				new BlackScholesModel(parametersWithoutCheckpoints[0], parametersWithoutCheckpoints[1], parametersWithoutCheckpoints[2], factoryWithoutCheckpoints),
+				new EulerSchemeFromProcessModel(new BrownianMotionLazyInit(timeDiscretization, 1, numberOfPaths, seed), EulerSchemeFromProcessModel.Scheme.EULER_FUNCTIONAL)));
+
+		RandomVariableDifferentiableTapeAADFactory factoryWithCheckpoints = new RandomVariableDifferentiableTapeAADFactory(new RandomVariableFactory());
+		RandomVariableDifferentiable[] parametersWithCheckpoints = createBlackScholesParameters(factoryWithCheckpoints);
+		RandomVariable valueWithCheckpoints = option.getValue(0.0, new MonteCarloAssetModel(
+				new BlackScholesModel(parametersWithCheckpoints[0], parametersWithCheckpoints[1], parametersWithCheckpoints[2], factoryWithCheckpoints),
+				new EulerSchemeFromProcessModel(new BrownianMotionLazyInit(timeDiscretization, 1, numberOfPaths, seed), EulerSchemeFromProcessModel.Scheme.EULER_FUNCTIONAL, null, 1, factoryWithCheckpoints)));
+
+		Assert.assertEquals("Value", valueWithoutCheckpoints.getAverage(), valueWithCheckpoints.getAverage(), 0.0);
+
+		Map<Long, RandomVariable> gradientWithoutCheckpoints = ((RandomVariableDifferentiable)valueWithoutCheckpoints).getGradient();
+		Map<Long, RandomVariable> gradientWithCheckpoints = ((RandomVariableDifferentiable)valueWithCheckpoints).getGradient();
+
+		for(int parameterIndex = 0; parameterIndex < parametersWithCheckpoints.length; parameterIndex++) {
+			double derivativeWithoutCheckpoints = gradientWithoutCheckpoints.get(parametersWithoutCheckpoints[parameterIndex].getID()).getAverage();
+			double derivativeWithCheckpoints = gradientWithCheckpoints.get(parametersWithCheckpoints[parameterIndex].getID()).getAverage();
+
+			Assert.assertEquals("Derivative with respect to parameter " + parameterIndex, derivativeWithoutCheckpoints, derivativeWithCheckpoints, 1E-12 * Math.abs(derivativeWithoutCheckpoints));
+		}
+	}
+
+	private RandomVariableDifferentiable[] createBlackScholesParameters(RandomVariableDifferentiableTapeAADFactory factory) {
+		return new RandomVariableDifferentiable[] {
+				factory.createRandomVariable(100.0),	/* initialValue */
+				factory.createRandomVariable(0.05),		/* riskFreeRate */
+				factory.createRandomVariable(0.30)		/* volatility */
+		};
+	}
+
+	private LIBORModelMonteCarloSimulationModel createLIBORMarketModel(ExecutorService executor, int numberOfComponentsPerTask) throws CalculationException {
+		double liborPeriodLength	= 0.5;
+		double liborRateTimeHorzion	= 10.0;
+		TimeDiscretization liborPeriodDiscretization = new TimeDiscretizationFromArray(0.0, (int) (liborRateTimeHorzion / liborPeriodLength), liborPeriodLength);
+
+		ForwardCurveInterpolation forwardCurveInterpolation = ForwardCurveInterpolation.createForwardCurveFromForwards(
+				"forwardCurve"								/* name of the curve */,
+				new double[] {0.5 , 1.0 , 2.0 , 5.0 , 40.0}	/* fixings of the forward */,
+				new double[] {0.05, 0.05, 0.05, 0.05, 0.05}	/* forwards */,
+				liborPeriodLength							/* tenor / period length */
+				);
+
+		TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, 20, 0.5);
+
+		LIBORCovarianceModelFromVolatilityAndCorrelation covarianceModel = new LIBORCovarianceModelFromVolatilityAndCorrelation(timeDiscretization, liborPeriodDiscretization,
+				new LIBORVolatilityModelFourParameterExponentialForm(timeDiscretization, liborPeriodDiscretization, 0.2, 0.0, 0.25, 0.3, false),
+				new LIBORCorrelationModelExponentialDecay(timeDiscretization, liborPeriodDiscretization, numberOfFactors, 0.1));
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put("measure", LIBORMarketModelFromCovarianceModel.Measure.SPOT.name());
+		properties.put("stateSpace", LIBORMarketModelFromCovarianceModel.StateSpace.LOGNORMAL.name());
+
+		LIBORMarketModel liborMarketModel = new LIBORMarketModelFromCovarianceModel(liborPeriodDiscretization, null /* analyticModel */, forwardCurveInterpolation, new DiscountCurveFromForwardCurve(forwardCurveInterpolation), new RandomVariableFactory(), covarianceModel, properties);
+
+		BrownianMotion brownianMotion = new BrownianMotionLazyInit(timeDiscretization, numberOfFactors, numberOfPaths, seed);
+
+		EulerSchemeFromProcessModel process = new EulerSchemeFromProcessModel(brownianMotion, EulerSchemeFromProcessModel.Scheme.PREDICTOR_CORRECTOR, executor, numberOfComponentsPerTask);
+
+		return new LIBORMonteCarloSimulationFromLIBORModel(liborMarketModel, process);
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.montecarlo.process;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionLazyInit;
+import net.finmath.montecarlo.assetderivativevaluation.AssetModelMonteCarloSimulationModel;
+import net.finmath.montecarlo.assetderivativevaluation.MonteCarloAssetModel;
+import net.finmath.montecarlo.assetderivativevaluation.models.BlackScholesModel;
+import net.finmath.montecarlo.assetderivativevaluation.models.HestonModel;
+import net.finmath.montecarlo.model.AbstractProcessModel;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * Tests that the {@link EulerSchemeFromProcessModelWithPathBlocks} generates the same paths as the
+ * {@link EulerSchemeFromProcessModel}.
+ *
+ * @author Christian Fries
+ */
+public class EulerSchemeFromProcessModelWithPathBlocksTest {
+
+	private final int		numberOfPaths		= 10001;
+	private final int		numberOfTimeSteps	= 20;
+	private final double	deltaT				= 0.25;
+	private final int		seed				= 31415;
+
+	@Test
+	public void testBlackScholesModel() throws CalculationException {
+		TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, numberOfTimeSteps, deltaT);
+		BrownianMotion brownianMotion = new BrownianMotionLazyInit(timeDiscretization, 1, numberOfPaths, seed);
+
+		AssetModelMonteCarloSimulationModel simulation = new MonteCarloAssetModel(
+				new BlackScholesModel(1.0, 0.05, 0.30),
+				new EulerSchemeFromProcessModel(brownianMotion));
+
+		AssetModelMonteCarloSimulationModel simulationWithPathBlocks = new MonteCarloAssetModel(
+				new BlackScholesModel(1.0, 0.05, 0.30),
+				new EulerSchemeFromProcessModelWithPathBlocks(brownianMotion, EulerSchemeFromProcessModel.Scheme.EULER, EulerSchemeFromProcessModel.getDefaultExecutor(), 7));
+
+		assertSamePaths(simulation, simulationWithPathBlocks, 1);
+	}
+
+	@Test
+	public void testHestonModel() throws CalculationException {
+		TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, numberOfTimeSteps, deltaT);
+		BrownianMotion brownianMotion = new BrownianMotionLazyInit(timeDiscretization, 2, numberOfPaths, seed);
+
+		AbstractProcessModel model = new HestonModel(1.0, 0.05, 0.30, 0.09, 1.0, 0.5, -0.3, HestonModel.Scheme.FULL_TRUNCATION);
+		AbstractProcessModel modelForPathBlocks = new HestonModel(1.0, 0.05, 0.30, 0.09, 1.0, 0.5, -0.3, HestonModel.Scheme.FULL_TRUNCATION);
+
+		AssetModelMonteCarloSimulationModel simulation = new MonteCarloAssetModel(
+				model,
+				new EulerSchemeFromProcessModel(brownianMotion));
+
+		AssetModelMonteCarloSimulationModel simulationWithPathBlocks = new MonteCarloAssetModel(
+				modelForPathBlocks,
+				new EulerSchemeFromProcessModelWithPathBlocks(brownianMotion, EulerSchemeFromProcessModel.Scheme.EULER, null /* sequential */, 4));
+
+		assertSamePaths(simulation, simulationWithPathBlocks, 2);
+	}
+
+	@Test
+	public void testCloneWithModifiedData() throws CalculationException {
+		TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, numberOfTimeSteps, deltaT);
+		BrownianMotion brownianMotion = new BrownianMotionLazyInit(timeDiscretization, 1, numberOfPaths, seed);
+
+		EulerSchemeFromProcessModelWithPathBlocks process = new EulerSchemeFromProcessModelWithPathBlocks(brownianMotion, EulerSchemeFromProcessModel.Scheme.EULER, null /* sequential */, 4);
+
+		Assert.assertSame("Unmodified", process, process.getCloneWithModifiedData(new HashMap<>()));
+
+		Map<String, Object> dataModified = new HashMap<>();
+		dataModified.put("seed", seed+1);
+		dataModified.put("numberOfPathBlocks", 3);
+		MonteCarloProcess processModified = process.getCloneWithModifiedData(dataModified);
+
+		Assert.assertEquals("Number of path blocks", 3, ((EulerSchemeFromProcessModelWithPathBlocks)processModified).getNumberOfPathBlocks());
+
+		AssetModelMonteCarloSimulationModel simulation = new MonteCarloAssetModel(
+				new BlackScholesModel(1.0, 0.05, 0.30),
+				new EulerSchemeFromProcessModel(new BrownianMotionLazyInit(timeDiscretization, 1, numberOfPaths, seed+1)));
+
+		AssetModelMonteCarloSimulationModel simulationModified = new MonteCarloAssetModel(
+				new BlackScholesModel(1.0, 0.05, 0.30),
+				processModified);
+
+		assertSamePaths(simulation, simulationModified, 1);
+	}
+
+	private void assertSamePaths(AssetModelMonteCarloSimulationModel expected, AssetModelMonteCarloSimulationModel actual, int numberOfComponents) throws CalculationException {
+		for(int timeIndex = 0; timeIndex <= numberOfTimeSteps; timeIndex++) {
+			for(int componentIndex = 0; componentIndex < numberOfComponents; componentIndex++) {
+				RandomVariable valueExpected	= expected.getAssetValue(timeIndex, componentIndex);
+				RandomVariable valueActual		= actual.getAssetValue(timeIndex, componentIndex);
+
+				Assert.assertEquals("Number of paths", numberOfPaths, valueActual.isDeterministic() ? numberOfPaths : valueActual.size());
+				Assert.assertEquals("Deviation", 0.0, valueExpected.sub(valueActual).abs().getMax(), 1E-15);
+			}
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 18.10.2026
+ */
+package net.finmath.randomnumbers;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.randomnumbers.SobolSequence.ScramblingType;
+
+public class SobolSequenceTest {
+
+	@Test
+	public void testAgreementWithCommonsMath() {
+		int dimension = 1000;
+
+		SobolSequence sobolSequence = new SobolSequence(dimension);
+		SobolSequenceGenerator sobolSequenceGenerator = new SobolSequenceGenerator(dimension);
+		sobolSequenceGenerator.nextVector();		// The first point of commons-math is the origin
+
+		for(int i=0; i<10000; i++) {
+			double[] point = sobolSequence.getNext();
+			double[] pointCommonsMath = sobolSequenceGenerator.nextVector();
+			for(int j=0; j<dimension; j++) {
+				// Our sequence uses 32 bit and maps numbers to the midpoint of their interval
+				Assert.assertEquals("Point " + i + ", dimension " + j, pointCommonsMath[j], point[j], 1.0 / (1L << 32));
+			}
+		}
+	}
+
+	@Test
+	public void testStratification() {
+		int dimension = 5000;
+		int log2NumberOfPoints = 10;
+		int numberOfPoints = 1 << log2NumberOfPoints;
+
+		for(ScramblingType scramblingType : ScramblingType.values()) {
+			SobolSequence sobolSequence = new SobolSequence(dimension, scramblingType, 3141);
+			sobolSequence.skipTo(0);
+
+			// Each interval [k/n,(k+1)/n) has to contain exactly one point (this holds for all scramblings)
+			int[][] numberOfPointsInInterval = new int[dimension][numberOfPoints];
+			for(int i=0; i<numberOfPoints; i++) {
+				double[] point = sobolSequence.getNext();
+				for(int j=0; j<dimension; j++) {
+					Assert.assertTrue(point[j] > 0 && point[j] < 1);
+					numberOfPointsInInterval[j][(int)(point[j] * numberOfPoints)]++;
+				}
+			}
+
+			for(int j=0; j<dimension; j++) {
+				for(int k=0; k<numberOfPoints; k++) {
+					Assert.assertEquals(scramblingType + ": Points in interval " + k + " of dimension " + j, 1, numberOfPointsInInterval[j][k]);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSkipTo() {
+		SobolSequence sobolSequence = new SobolSequence(100, ScramblingType.OWEN, 3141);
+		sobolSequence.skipTo(0);
+		double[] point = null;
+		for(int i=0; i<=1234; i++) {
+			point = sobolSequence.getNext();
+		}
+
+		SobolSequence sobolSequenceSkipped = new SobolSequence(100, ScramblingType.OWEN, 3141);
+		sobolSequenceSkipped.skipTo(1234);
+
+		Assert.assertArrayEquals(point, sobolSequenceSkipped.getNext(), 0.0);
+	}
+
+	@Test
+	public void testScramblingSeeds() {
+		int dimension = 1000;
+		long[] seeds = { 3141, 3142, 2718 };
+
+		Set<Integer> keys = new HashSet<>();
+		int numberOfKeysWithHighestBit = 0;
+		for(long seed : seeds) {
+			SobolSequence sobolSequence = new SobolSequence(dimension, ScramblingType.OWEN, seed);
+			for(int j=0; j<dimension; j++) {
+				int key = sobolSequence.getScramblingSeed(j);
+				Assert.assertTrue("Key of seed " + seed + ", dimension " + j + " not unique", keys.add(key));
+				if(key < 0) {
+					numberOfKeysWithHighestBit++;
+				}
+			}
+		}
+
+		// The highest bit of the keys has to be randomized too (with probability 1/2)
+		double fractionOfKeysWithHighestBit = (double)numberOfKeysWithHighestBit / (seeds.length * dimension);
+		Assert.assertEquals("Fraction of keys with highest bit set", 0.5, fractionOfKeysWithHighestBit, 0.05);
+	}
+}